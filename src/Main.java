@@ -1,15 +1,39 @@
 import gui.LoginContentPanel;
 import gui.DatabaseLoginPanel;
+import gui.ImageCache;
 import database.DatabaseManager;
+import database.DbExecutor;
+import database.EntityCache;
+import diagnostics.StartupProfiler;
 import javax.swing.*;
 import java.awt.*;
 import java.sql.SQLException;
+import java.util.concurrent.CompletableFuture;
 
 public class Main {
     public static void main(String[] args) {
         try {
-            UIManager.setLookAndFeel(UIManager.getSystemLookAndFeelClassName());
+            StartupProfiler.Phase lookAndFeel = StartupProfiler.begin("look and feel");
+            try {
+                UIManager.setLookAndFeel(UIManager.getSystemLookAndFeelClassName());
+            } finally {
+                lookAndFeel.end();
+            }
 
+            // Report pool, statement cache and entity cache usage on exit
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                if (DatabaseManager.getPoolStats() != null) {
+                    System.out.println("Database pool: " + DatabaseManager.getPoolStats());
+                    for (EntityCache.Stats stats : DatabaseManager.getEntityCacheStats()) {
+                        System.out.println("Entity cache " + stats);
+                    }
+                }
+            }));
+
+            // Decode the hostel banner in the background while the user sets up the database
+            ImageCache.load(ImageCache.HOSTEL_IMAGE);
+
+            StartupProfiler.Phase setupWindow = StartupProfiler.begin("setup window");
             JFrame loginFrame = new JFrame("Hostel Management System - Database Setup");
             loginFrame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
             
@@ -20,31 +44,51 @@ public class Main {
             loginFrame.setResizable(false);
             loginFrame.setLocationRelativeTo(null);
             loginFrame.setVisible(true);
+            setupWindow.end();
 
-            new Thread(() -> {
-                while (!loginPanel.isSetupComplete()) {
+            // Once the database is ready (on the EDT) the sample data import and cache
+            // warm-up start side by side in the background and the login window opens
+            // straight away
+            loginPanel.getSetupFuture().thenRun(() -> {
+                StartupProfiler.Phase background = StartupProfiler.begin("background startup");
+                CompletableFuture<Void> sampleData = DbExecutor.submit(() -> {
+                    StartupProfiler.Phase seeding = StartupProfiler.begin("sample data");
                     try {
-                        Thread.sleep(100);
-                    } catch (InterruptedException e) {
-                        e.printStackTrace();
+                        DatabaseManager.seedNewDatabase();
+                    } finally {
+                        seeding.end();
                     }
-                }
+                    return null;
+                });
+                CompletableFuture<Void> warmUp = DbExecutor.run(() -> {
+                    StartupProfiler.Phase warming = StartupProfiler.begin("cache warm-up");
+                    try {
+                        DatabaseManager.warmUpCaches();
+                    } finally {
+                        warming.end();
+                    }
+                });
 
+                StartupProfiler.Phase loginWindow = StartupProfiler.begin("login window");
                 try {
-                    DatabaseManager.importSampleData();
-                } catch (Exception e) {
-                    e.printStackTrace();
-                    JOptionPane.showMessageDialog(null,
-                        "Error initializing sample data: " + e.getMessage(),
-                        "Warning",
-                        JOptionPane.WARNING_MESSAGE);
-                }
-
-                SwingUtilities.invokeLater(() -> {
                     loginFrame.dispose();
                     showLoginPanel();
+                } finally {
+                    loginWindow.end();
+                }
+                // Runs after the events queued by showing the window, including its first paint
+                SwingUtilities.invokeLater(StartupProfiler::markInteractive);
+
+                sampleData.exceptionally(error -> {
+                    error.printStackTrace();
+                    SwingUtilities.invokeLater(() -> JOptionPane.showMessageDialog(null,
+                        "Error initializing sample data: " + error.getMessage(),
+                        "Warning",
+                        JOptionPane.WARNING_MESSAGE));
+                    return null;
                 });
-            }).start();
+                CompletableFuture.allOf(sampleData, warmUp).whenComplete((ignored, error) -> background.end());
+            });
 
         } catch (Exception e) {
             e.printStackTrace();
@@ -0,0 +1,316 @@
+package database;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import model.AllocationRequest;
+import model.AllocationResult;
+import model.AllocationResult.Status;
+import model.Room;
+
+/**
+ * Allocates rooms to a whole intake list at once.
+ *
+ * Requests are processed in chunks, each in one transaction: the chunk's
+ * students and candidate rooms are locked and read with two queries, beds
+ * are assigned in memory, and the students, rooms, room_history and
+ * payment_history writes go out as JDBC batches. A chunk that fails is
+ * rolled back and its students are reported as FAILED; other chunks are
+ * unaffected. Beds held by {@link BedReservations} are left alone.
+ */
+public final class BatchAllocator {
+    public static final int DEFAULT_CHUNK_SIZE = 500;
+
+    private static final String REASON = "Initial room assignment";
+
+    private BatchAllocator() {
+    }
+
+    public static List<AllocationResult> allocate(List<AllocationRequest> requests) {
+        return allocate(requests, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Allocates every request and returns one result per request, in the
+     * same order.
+     */
+    public static List<AllocationResult> allocate(List<AllocationRequest> requests, int chunkSize) {
+        long start = System.nanoTime();
+        Map<AllocationRequest, AllocationResult> results = new HashMap<>();
+        Set<String> seen = new HashSet<>();
+        List<AllocationRequest> pending = new ArrayList<>();
+
+        for (AllocationRequest request : requests) {
+            // A student listed twice is only allocated once
+            if (!seen.add(request.getRollNo())) {
+                results.put(request, new AllocationResult(request.getRollNo(), Status.ALREADY_ASSIGNED, null,
+                    "Listed more than once"));
+            } else {
+                pending.add(request);
+            }
+        }
+
+        for (int from = 0; from < pending.size(); from += chunkSize) {
+            List<AllocationRequest> chunk = pending.subList(from, Math.min(from + chunkSize, pending.size()));
+            try (Connection conn = DatabaseManager.openConnection()) {
+                conn.setAutoCommit(false);
+                try {
+                    results.putAll(allocateChunk(conn, chunk));
+                    conn.commit();
+                } catch (SQLException e) {
+                    conn.rollback();
+                    throw e;
+                }
+            } catch (SQLException e) {
+                System.out.println("❌ Error allocating rooms: " + e.getMessage());
+                for (AllocationRequest request : chunk) {
+                    results.put(request, new AllocationResult(request.getRollNo(), Status.FAILED, null, e.getMessage()));
+                }
+            }
+        }
+
+        // Bulk change: let the shared index and dashboard counters reload
+        DatabaseManager.invalidateRoomIndex();
+        DatabaseManager.invalidateDashboardStats();
+
+        List<AllocationResult> report = new ArrayList<>(requests.size());
+        Set<String> changedRooms = new LinkedHashSet<>();
+        int allocated = 0;
+        for (AllocationRequest request : requests) {
+            AllocationResult result = results.get(request);
+            report.add(result);
+            if (result.isAllocated()) {
+                allocated++;
+                ChangeBus.updated(ChangeEvent.Entity.STUDENT, result.getRollNo());
+                changedRooms.add(result.getRoomNo());
+            }
+        }
+        for (String roomNo : changedRooms) {
+            ChangeBus.updated(ChangeEvent.Entity.ROOM, roomNo);
+        }
+        System.out.printf("✓ Allocated %d of %d students in %d ms%n",
+            allocated, requests.size(), (System.nanoTime() - start) / 1_000_000);
+        return report;
+    }
+
+    private static Map<AllocationRequest, AllocationResult> allocateChunk(Connection conn, List<AllocationRequest> chunk)
+            throws SQLException {
+        Map<AllocationRequest, AllocationResult> results = new HashMap<>();
+        Map<String, String> currentRooms = lockStudents(conn, chunk);
+        Map<String, Room> rooms = lockRooms(conn, chunk);
+
+        // Free beds as of the locks, minus beds other desks are holding
+        List<Room> snapshot = new ArrayList<>(rooms.size());
+        for (Room room : rooms.values()) {
+            snapshot.add(new Room(room.getRoomNo(), room.getRoomType(), room.getSharingType(), room.getCapacity(),
+                room.getCurrentOccupancy() + BedReservations.held(room.getRoomNo()),
+                room.getBlockName(), room.getFloorNo()));
+        }
+        RoomAvailabilityIndex beds = new RoomAvailabilityIndex(snapshot);
+
+        Map<String, Integer> roomIncrements = new LinkedHashMap<>();
+        List<AllocationRequest> allocated = new ArrayList<>();
+        Map<AllocationRequest, String> assignedRooms = new HashMap<>();
+
+        for (AllocationRequest request : chunk) {
+            String rollNo = request.getRollNo();
+            if (!currentRooms.containsKey(rollNo)) {
+                results.put(request, new AllocationResult(rollNo, Status.STUDENT_NOT_FOUND, null, null));
+                continue;
+            }
+            String currentRoom = currentRooms.get(rollNo);
+            if (currentRoom != null) {
+                results.put(request, new AllocationResult(rollNo, Status.ALREADY_ASSIGNED, currentRoom, null));
+                continue;
+            }
+
+            String roomNo = request.isSpecificRoom()
+                ? request.getRoomNo()
+                : beds.findFreeRoom(request.getRoomType(), request.getSharingType(),
+                                    request.getBlockName(), request.getFloorNo());
+            if (roomNo == null || !beds.occupy(roomNo)) {
+                String message = request.isSpecificRoom() && !beds.contains(roomNo) ? "Room not found" : null;
+                results.put(request, new AllocationResult(rollNo, Status.NO_ROOM_AVAILABLE, null, message));
+                continue;
+            }
+
+            roomIncrements.merge(roomNo, 1, Integer::sum);
+            assignedRooms.put(request, roomNo);
+            allocated.add(request);
+        }
+
+        if (!allocated.isEmpty()) {
+            writeRooms(conn, roomIncrements);
+            writeAssignments(conn, allocated, assignedRooms, rooms);
+        }
+        for (AllocationRequest request : allocated) {
+            results.put(request, new AllocationResult(request.getRollNo(), Status.ALLOCATED, assignedRooms.get(request), null));
+        }
+        return results;
+    }
+
+    // Current room of each student in the chunk (null if none); missing students are absent
+    private static Map<String, String> lockStudents(Connection conn, List<AllocationRequest> chunk) throws SQLException {
+        Map<String, String> currentRooms = new HashMap<>();
+        String sql = "SELECT roll_no, room_no FROM students WHERE roll_no IN (" + placeholders(chunk.size()) + ") " +
+                    "ORDER BY roll_no FOR UPDATE";
+        // SQL text varies with the chunk, so bypass the per-connection statement cache
+        try (PreparedStatement stmt = conn.prepareStatement(sql, Statement.NO_GENERATED_KEYS)) {
+            int i = 1;
+            for (AllocationRequest request : chunk) {
+                stmt.setString(i++, request.getRollNo());
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    currentRooms.put(rs.getString("roll_no"), rs.getString("room_no"));
+                }
+            }
+        }
+        return currentRooms;
+    }
+
+    // Every room the chunk could be placed in, locked in room number order
+    private static Map<String, Room> lockRooms(Connection conn, List<AllocationRequest> chunk) throws SQLException {
+        Set<String> roomNos = new LinkedHashSet<>();
+        Set<List<String>> preferences = new LinkedHashSet<>();
+        for (AllocationRequest request : chunk) {
+            if (request.isSpecificRoom()) {
+                roomNos.add(request.getRoomNo());
+            } else {
+                preferences.add(Arrays.asList(request.getRoomType(), request.getSharingType()));
+            }
+        }
+
+        StringBuilder where = new StringBuilder();
+        if (!roomNos.isEmpty()) {
+            where.append("room_no IN (").append(placeholders(roomNos.size())).append(")");
+        }
+        for (int i = 0; i < preferences.size(); i++) {
+            if (where.length() > 0) {
+                where.append(" OR ");
+            }
+            where.append("(room_type = ? AND sharing_type = ?)");
+        }
+
+        Map<String, Room> rooms = new LinkedHashMap<>();
+        String sql = "SELECT room_no, room_type, sharing_type, block_name, floor_no, capacity, current_occupancy " +
+                    "FROM rooms WHERE " + where + " ORDER BY room_no FOR UPDATE";
+        try (PreparedStatement stmt = conn.prepareStatement(sql, Statement.NO_GENERATED_KEYS)) {
+            int i = 1;
+            for (String roomNo : roomNos) {
+                stmt.setString(i++, roomNo);
+            }
+            for (List<String> preference : preferences) {
+                stmt.setString(i++, preference.get(0));
+                stmt.setString(i++, preference.get(1));
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    Room room = new Room(
+                        rs.getString("room_no"),
+                        rs.getString("room_type"),
+                        rs.getString("sharing_type"),
+                        rs.getInt("capacity"),
+                        rs.getInt("current_occupancy"),
+                        rs.getString("block_name"),
+                        rs.getInt("floor_no"));
+                    rooms.put(room.getRoomNo(), room);
+                }
+            }
+        }
+        return rooms;
+    }
+
+    private static void writeRooms(Connection conn, Map<String, Integer> roomIncrements) throws SQLException {
+        // The capacity condition is a safety net; the rows are locked, so it should always hold
+        String sql = "UPDATE rooms SET current_occupancy = current_occupancy + ? " +
+                    "WHERE room_no = ? AND current_occupancy + ? <= capacity";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            for (Map.Entry<String, Integer> entry : roomIncrements.entrySet()) {
+                stmt.setInt(1, entry.getValue());
+                stmt.setString(2, entry.getKey());
+                stmt.setInt(3, entry.getValue());
+                stmt.addBatch();
+                OccupancyVerifier.markDirty(entry.getKey());
+            }
+            int[] counts = stmt.executeBatch();
+            for (int count : counts) {
+                if (count == 0) {
+                    throw new SQLException("A room filled up during allocation");
+                }
+            }
+        }
+    }
+
+    private static void writeAssignments(Connection conn, List<AllocationRequest> allocated,
+                                         Map<AllocationRequest, String> assignedRooms, Map<String, Room> rooms)
+            throws SQLException {
+        String studentSql =
+            "UPDATE students SET room_no = ?, room_type = ?, sharing_type = ?, " +
+            "block_name = ?, floor_no = ?, amount_due = amount_due + ? WHERE roll_no = ?";
+        String historySql =
+            "INSERT INTO room_history " +
+            "(student_id, room_no, room_type, sharing_type, block, floor, reason) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?)";
+        String paymentSql =
+            "INSERT INTO payment_history (student_id, amount, type, reason) " +
+            "VALUES (?, ?, 'CHARGE', ?)";
+
+        try (PreparedStatement studentStmt = conn.prepareStatement(studentSql);
+             PreparedStatement historyStmt = conn.prepareStatement(historySql);
+             PreparedStatement paymentStmt = conn.prepareStatement(paymentSql)) {
+            boolean charges = false;
+            for (AllocationRequest request : allocated) {
+                Room room = rooms.get(assignedRooms.get(request));
+                double fee = DatabaseManager.calculateRoomFee(room.getRoomType(), room.getSharingType());
+
+                studentStmt.setString(1, room.getRoomNo());
+                studentStmt.setString(2, room.getRoomType());
+                studentStmt.setString(3, room.getSharingType());
+                studentStmt.setString(4, room.getBlockName());
+                studentStmt.setInt(5, room.getFloorNo());
+                studentStmt.setDouble(6, fee);
+                studentStmt.setString(7, request.getRollNo());
+                studentStmt.addBatch();
+
+                historyStmt.setString(1, request.getRollNo());
+                historyStmt.setString(2, room.getRoomNo());
+                historyStmt.setString(3, room.getRoomType());
+                historyStmt.setString(4, room.getSharingType());
+                historyStmt.setString(5, room.getBlockName());
+                historyStmt.setInt(6, room.getFloorNo());
+                historyStmt.setString(7, REASON);
+                historyStmt.addBatch();
+
+                if (fee > 0) {
+                    paymentStmt.setString(1, request.getRollNo());
+                    paymentStmt.setDouble(2, fee);
+                    paymentStmt.setString(3, "Room allocation charge");
+                    paymentStmt.addBatch();
+                    charges = true;
+                }
+            }
+            studentStmt.executeBatch();
+            historyStmt.executeBatch();
+            if (charges) {
+                paymentStmt.executeBatch();
+            }
+        }
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+}
@@ -0,0 +1,172 @@
+package database;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Hands out beds to concurrent allocations without overbooking a room.
+ *
+ * {@link #reserve(String)} holds a bed in memory and returns a
+ * {@link Reservation} token; {@link #confirm} then assigns the student in the
+ * database, where the bed is claimed with a single conditional UPDATE
+ * ({@code current_occupancy < capacity}) so even allocations from another
+ * process cannot push a room past its capacity. Holds are counted per room
+ * under one of a fixed set of striped locks, so allocations to different
+ * rooms never wait on each other. A confirmation keeps the room's lock until
+ * its hold is released, so the beds on hold never outnumber the free beds.
+ *
+ * Unconfirmed reservations expire after {@link #DEFAULT_HOLD_MILLIS} and
+ * their beds become available again.
+ */
+public final class BedReservations {
+    public static final long DEFAULT_HOLD_MILLIS = 2 * 60 * 1000;
+
+    private static final int STRIPES = 32;
+    private static final ReentrantLock[] locks = new ReentrantLock[STRIPES];
+    static {
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    // Outstanding reservations by token, and how many beds each room has on hold
+    private static final Map<String, Reservation> reservations = new ConcurrentHashMap<>();
+    private static final Map<String, Integer> heldBeds = new ConcurrentHashMap<>();
+
+    private BedReservations() {
+    }
+
+    /**
+     * Holds a bed in the room for {@link #DEFAULT_HOLD_MILLIS}. Returns null
+     * if the room is unknown or has no bed left once other holds are counted.
+     */
+    public static Reservation reserve(String roomNo) throws SQLException {
+        return reserve(roomNo, DEFAULT_HOLD_MILLIS);
+    }
+
+    public static Reservation reserve(String roomNo, long holdMillis) throws SQLException {
+        ReentrantLock lock = lockFor(roomNo);
+        lock.lock();
+        try {
+            if (unheldBeds(roomNo) <= 0) {
+                return null;
+            }
+            Reservation reservation = new Reservation(
+                UUID.randomUUID().toString(), roomNo, System.currentTimeMillis() + holdMillis);
+            reservations.put(reservation.getToken(), reservation);
+            heldBeds.merge(roomNo, 1, Integer::sum);
+            return reservation;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Assigns the student to the reserved bed. The hold is used up whether
+     * or not the assignment succeeds; on failure the caller gets the
+     * database error and may reserve again.
+     */
+    public static void confirm(Reservation reservation, String rollNo, String reason) throws SQLException {
+        // Held throughout, so nobody sees the bed both taken in the index and still on hold
+        ReentrantLock lock = lockFor(reservation.getRoomNo());
+        lock.lock();
+        try {
+            if (!reservations.remove(reservation.getToken(), reservation)) {
+                throw new SQLException("Reservation " + reservation.getToken() + " has expired or was cancelled");
+            }
+            try {
+                DatabaseManager.updateStudentRoom(rollNo, reservation.getRoomNo(), reason);
+            } catch (RuntimeException e) {
+                if (e.getCause() instanceof SQLException) {
+                    throw (SQLException) e.getCause();
+                }
+                throw e;
+            } finally {
+                releaseHold(reservation.getRoomNo());
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gives the bed back. Returns false if the reservation had already been
+     * confirmed, cancelled or expired.
+     */
+    public static boolean cancel(Reservation reservation) {
+        if (!reservations.remove(reservation.getToken(), reservation)) {
+            return false;
+        }
+        releaseHold(reservation.getRoomNo());
+        return true;
+    }
+
+    /**
+     * Beds currently on hold in the room.
+     */
+    public static int held(String roomNo) {
+        Integer count = heldBeds.get(roomNo);
+        return count == null ? 0 : count;
+    }
+
+    /**
+     * Free beds in the room that are not on hold; never negative while
+     * reservations go through this class.
+     */
+    static int unheldBeds(String roomNo) throws SQLException {
+        ReentrantLock lock = lockFor(roomNo);
+        lock.lock();
+        try {
+            expireHolds(roomNo);
+            return freeBeds(roomNo) - held(roomNo);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static void releaseHold(String roomNo) {
+        ReentrantLock lock = lockFor(roomNo);
+        lock.lock();
+        try {
+            heldBeds.computeIfPresent(roomNo, (room, count) -> count > 1 ? count - 1 : null);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Caller holds the room's stripe lock
+    private static void expireHolds(String roomNo) {
+        Iterator<Reservation> it = reservations.values().iterator();
+        while (it.hasNext()) {
+            Reservation reservation = it.next();
+            if (reservation.getRoomNo().equals(roomNo) && reservation.isExpired()
+                    && reservations.remove(reservation.getToken(), reservation)) {
+                heldBeds.computeIfPresent(roomNo, (room, count) -> count > 1 ? count - 1 : null);
+            }
+        }
+    }
+
+    // Free beds from the availability index, or from the database if it is not loaded
+    private static int freeBeds(String roomNo) throws SQLException {
+        RoomAvailabilityIndex index = DatabaseManager.getRoomIndex();
+        if (index != null) {
+            return Math.max(0, index.freeBeds(roomNo));
+        }
+        PreparedStatement pstmt = DatabaseManager.getConnection().prepareStatement(
+            "SELECT capacity - current_occupancy AS free_beds FROM rooms WHERE room_no = ?");
+        pstmt.setString(1, roomNo);
+        try (ResultSet rs = pstmt.executeQuery()) {
+            return rs.next() ? Math.max(0, rs.getInt("free_beds")) : 0;
+        }
+    }
+
+    private static ReentrantLock lockFor(String roomNo) {
+        return locks[(roomNo.hashCode() & 0x7fffffff) % STRIPES];
+    }
+}
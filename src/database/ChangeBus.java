@@ -0,0 +1,60 @@
+package database;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Tells interested parties which rows a write changed, so they can update
+ * just those rows instead of reloading whole tables.
+ *
+ * Write paths publish after their change is committed, one event per
+ * changed row. Listeners are called on the publishing thread, which may be
+ * the EDT or a background thread; Swing listeners hand the event on to the
+ * EDT themselves. A listener that throws does not stop the others.
+ */
+public final class ChangeBus {
+    public interface Listener {
+        void changed(ChangeEvent event);
+    }
+
+    private static final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    private ChangeBus() {
+    }
+
+    public static void subscribe(Listener listener) {
+        listeners.add(listener);
+    }
+
+    public static void unsubscribe(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    public static void publish(ChangeEvent event) {
+        for (Listener listener : listeners) {
+            try {
+                listener.changed(event);
+            } catch (RuntimeException e) {
+                System.err.println("Warning: Change listener failed on " + event + ": " + e.getMessage());
+            }
+        }
+    }
+
+    public static void inserted(ChangeEvent.Entity entity, String key) {
+        publish(new ChangeEvent(entity, ChangeEvent.Kind.INSERTED, key));
+    }
+
+    /**
+     * Publishes an update of {@code key}; does nothing for a null key, so
+     * callers can pass a room number that may be unset.
+     */
+    public static void updated(ChangeEvent.Entity entity, String key) {
+        if (key != null) {
+            publish(new ChangeEvent(entity, ChangeEvent.Kind.UPDATED, key));
+        }
+    }
+
+    public static void deleted(ChangeEvent.Entity entity, String key) {
+        publish(new ChangeEvent(entity, ChangeEvent.Kind.DELETED, key));
+    }
+}
@@ -0,0 +1,40 @@
+package database;
+
+/**
+ * One row inserted, updated or deleted by a write path, identified by its
+ * key: roll number, room number, warden id, complaint id, plan type for meal
+ * plan details, menu date (yyyy-MM-dd) for the daily menu, or, for meal
+ * plans and meal feedback, the student's roll number.
+ */
+public final class ChangeEvent {
+    public enum Entity { STUDENT, ROOM, WARDEN, COMPLAINT, MEAL_PLAN, FEEDBACK, MEAL_PLAN_DETAILS, DAILY_MENU }
+
+    public enum Kind { INSERTED, UPDATED, DELETED }
+
+    private final Entity entity;
+    private final Kind kind;
+    private final String key;
+
+    public ChangeEvent(Entity entity, Kind kind, String key) {
+        this.entity = entity;
+        this.kind = kind;
+        this.key = key;
+    }
+
+    public Entity getEntity() {
+        return entity;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    @Override
+    public String toString() {
+        return entity + " " + key + " " + kind.name().toLowerCase();
+    }
+}
@@ -0,0 +1,453 @@
+package database;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded, thread-safe pool of MySQL connections.
+ *
+ * Connections handed out by {@link #borrow()} are proxies: calling close() on
+ * them returns the physical connection to the pool instead of closing it.
+ * Idle connections are validated before reuse, evicted after sitting idle for
+ * too long and retired once they reach their maximum lifetime.
+ */
+public class ConnectionPool {
+    // Pool defaults
+    public static final int DEFAULT_MAX_SIZE = 10;
+    public static final long DEFAULT_BORROW_TIMEOUT_MS = 30_000;
+    public static final long DEFAULT_IDLE_TIMEOUT_MS = 10 * 60_000;
+    public static final long DEFAULT_MAX_LIFETIME_MS = 30 * 60_000;
+
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+    private static final long VALIDATE_AFTER_IDLE_MS = 5_000;
+    private static final long HOUSEKEEPING_INTERVAL_MS = 30_000;
+
+    private final String url;
+    private final String username;
+    private final String password;
+    private final int maxSize;
+    private final long borrowTimeoutNanos;
+    private final long idleTimeoutMs;
+    private final long maxLifetimeMs;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition available = lock.newCondition();
+    private final ArrayDeque<PooledConnection> idle = new ArrayDeque<>();
+    private int totalConnections = 0;
+    private int waiters = 0;
+    private boolean closed = false;
+
+    // Statistics
+    private final AtomicLong borrowCount = new AtomicLong();
+    private final AtomicLong borrowNanosTotal = new AtomicLong();
+    private final AtomicLong borrowNanosMax = new AtomicLong();
+    private final AtomicLong timeoutCount = new AtomicLong();
+    private final AtomicLong createdCount = new AtomicLong();
+    private final AtomicLong retiredCount = new AtomicLong();
+    private final AtomicLong statementHits = new AtomicLong();
+    private final AtomicLong statementMisses = new AtomicLong();
+    private final AtomicLong statementEvictions = new AtomicLong();
+
+    private final ScheduledExecutorService housekeeper;
+
+    public ConnectionPool(String url, String username, String password) {
+        this(url, username, password, DEFAULT_MAX_SIZE, DEFAULT_BORROW_TIMEOUT_MS,
+             DEFAULT_IDLE_TIMEOUT_MS, DEFAULT_MAX_LIFETIME_MS);
+    }
+
+    public ConnectionPool(String url, String username, String password, int maxSize,
+                          long borrowTimeoutMs, long idleTimeoutMs, long maxLifetimeMs) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Pool size must be at least 1");
+        }
+        this.url = url;
+        this.username = username;
+        this.password = password;
+        this.maxSize = maxSize;
+        this.borrowTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(borrowTimeoutMs);
+        this.idleTimeoutMs = idleTimeoutMs;
+        this.maxLifetimeMs = maxLifetimeMs;
+
+        housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "db-pool-housekeeper");
+            t.setDaemon(true);
+            return t;
+        });
+        housekeeper.scheduleWithFixedDelay(this::evictIdleConnections,
+            HOUSEKEEPING_INTERVAL_MS, HOUSEKEEPING_INTERVAL_MS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Borrows a connection, waiting up to the borrow timeout for one to become
+     * free. The caller must close() the returned connection to give it back.
+     */
+    public Connection borrow() throws SQLException {
+        long start = System.nanoTime();
+        long deadline = start + borrowTimeoutNanos;
+
+        while (true) {
+            PooledConnection candidate;
+            lock.lock();
+            try {
+                while (!closed && idle.isEmpty() && totalConnections >= maxSize) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        timeoutCount.incrementAndGet();
+                        throw new SQLTimeoutException("Timed out after " +
+                            TimeUnit.NANOSECONDS.toMillis(borrowTimeoutNanos) +
+                            " ms waiting for a database connection (" + statsLocked() + ")");
+                    }
+                    waiters++;
+                    try {
+                        available.awaitNanos(remaining);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new SQLException("Interrupted while waiting for a database connection", e);
+                    } finally {
+                        waiters--;
+                    }
+                }
+                if (closed) {
+                    throw new SQLException("Connection pool is closed");
+                }
+                candidate = idle.pollFirst();
+                if (candidate == null) {
+                    // Reserve a slot; the physical connection is opened outside the lock
+                    totalConnections++;
+                }
+            } finally {
+                lock.unlock();
+            }
+
+            if (candidate == null) {
+                try {
+                    candidate = new PooledConnection(DriverManager.getConnection(url, username, password));
+                    createdCount.incrementAndGet();
+                } catch (SQLException e) {
+                    releaseSlot();
+                    throw e;
+                }
+            } else if (!isUsable(candidate)) {
+                retire(candidate);
+                continue;
+            }
+
+            recordBorrow(System.nanoTime() - start);
+            return candidate.lease();
+        }
+    }
+
+    /**
+     * Returns a physical connection to the pool. Called by the proxy's close().
+     */
+    private void giveBack(PooledConnection pc) {
+        boolean healthy;
+        try {
+            healthy = !pc.physical.isClosed() && resetState(pc.physical);
+        } catch (SQLException e) {
+            healthy = false;
+        }
+        if (!healthy || isExpired(pc, System.currentTimeMillis())) {
+            retire(pc);
+            return;
+        }
+
+        lock.lock();
+        try {
+            if (closed) {
+                totalConnections--;
+                closeQuietly(pc);
+                return;
+            }
+            pc.lastReturnedAt = System.currentTimeMillis();
+            // Most recently used first, so hot connections stay warm and cold ones age out
+            idle.addFirst(pc);
+            available.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Stats getStats() {
+        lock.lock();
+        try {
+            return statsLocked();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Closes all idle connections and refuses further borrows. Connections that
+     * are still leased are closed as they are returned.
+     */
+    public void shutdown() {
+        housekeeper.shutdownNow();
+        List<PooledConnection> toClose;
+        lock.lock();
+        try {
+            closed = true;
+            toClose = new ArrayList<>(idle);
+            totalConnections -= idle.size();
+            idle.clear();
+            available.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        for (PooledConnection pc : toClose) {
+            closeQuietly(pc);
+        }
+    }
+
+    private void evictIdleConnections() {
+        long now = System.currentTimeMillis();
+        List<PooledConnection> evicted = new ArrayList<>();
+        lock.lock();
+        try {
+            Iterator<PooledConnection> it = idle.iterator();
+            while (it.hasNext()) {
+                PooledConnection pc = it.next();
+                if (now - pc.lastReturnedAt > idleTimeoutMs || isExpired(pc, now)) {
+                    it.remove();
+                    totalConnections--;
+                    evicted.add(pc);
+                }
+            }
+            if (!evicted.isEmpty()) {
+                available.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+        for (PooledConnection pc : evicted) {
+            retiredCount.incrementAndGet();
+            closeQuietly(pc);
+        }
+    }
+
+    private boolean isUsable(PooledConnection pc) {
+        long now = System.currentTimeMillis();
+        if (isExpired(pc, now)) {
+            return false;
+        }
+        // Only round-trip to the server for connections that have been sitting idle
+        if (now - pc.lastReturnedAt < VALIDATE_AFTER_IDLE_MS) {
+            return true;
+        }
+        try {
+            return pc.physical.isValid(VALIDATION_TIMEOUT_SECONDS);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private boolean isExpired(PooledConnection pc, long now) {
+        return now - pc.createdAt > maxLifetimeMs;
+    }
+
+    private boolean resetState(Connection physical) throws SQLException {
+        // A borrower that left a transaction open must not leak it to the next one
+        if (!physical.getAutoCommit()) {
+            physical.rollback();
+            physical.setAutoCommit(true);
+        }
+        return true;
+    }
+
+    private void retire(PooledConnection pc) {
+        retiredCount.incrementAndGet();
+        closeQuietly(pc);
+        releaseSlot();
+    }
+
+    private void releaseSlot() {
+        lock.lock();
+        try {
+            totalConnections--;
+            available.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void closeQuietly(PooledConnection pc) {
+        pc.statements.clear();
+        try {
+            pc.physical.close();
+        } catch (SQLException e) {
+            System.err.println("Warning: Could not close pooled connection: " + e.getMessage());
+        }
+    }
+
+    private void recordBorrow(long nanos) {
+        borrowCount.incrementAndGet();
+        borrowNanosTotal.addAndGet(nanos);
+        long max;
+        while (nanos > (max = borrowNanosMax.get())) {
+            if (borrowNanosMax.compareAndSet(max, nanos)) {
+                break;
+            }
+        }
+    }
+
+    private Stats statsLocked() {
+        long borrows = borrowCount.get();
+        return new Stats(
+            totalConnections - idle.size(),
+            idle.size(),
+            waiters,
+            maxSize,
+            borrows,
+            borrows == 0 ? 0 : borrowNanosTotal.get() / borrows,
+            borrowNanosMax.get(),
+            timeoutCount.get(),
+            createdCount.get(),
+            retiredCount.get(),
+            statementHits.get(),
+            statementMisses.get(),
+            statementEvictions.get()
+        );
+    }
+
+    /**
+     * A physical connection owned by the pool.
+     */
+    private final class PooledConnection {
+        final Connection physical;
+        final StatementCache statements;
+        final long createdAt = System.currentTimeMillis();
+        long lastReturnedAt = createdAt;
+
+        PooledConnection(Connection physical) {
+            this.physical = physical;
+            this.statements = new StatementCache(physical, StatementCache.DEFAULT_CAPACITY,
+                statementHits, statementMisses, statementEvictions);
+        }
+
+        Connection lease() {
+            return (Connection) Proxy.newProxyInstance(
+                ConnectionPool.class.getClassLoader(),
+                new Class<?>[] { Connection.class },
+                new Lease(this));
+        }
+    }
+
+    /**
+     * One borrow of a pooled connection. Once closed, the lease can no longer
+     * reach the physical connection, even if the caller kept a reference.
+     */
+    private final class Lease implements InvocationHandler {
+        final PooledConnection pooled;
+        private volatile boolean released = false;
+
+        Lease(PooledConnection pooled) {
+            this.pooled = pooled;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            switch (name) {
+                case "close":
+                    if (!released) {
+                        released = true;
+                        giveBack(pooled);
+                    }
+                    return null;
+                case "isClosed":
+                    return released || pooled.physical.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PooledConnection[" + pooled.physical + (released ? ", released" : "") + "]";
+                default:
+                    break;
+            }
+            if (released) {
+                throw new SQLException("Connection has already been returned to the pool");
+            }
+            if (name.equals("prepareStatement") || name.equals("createStatement") || name.equals("prepareCall")) {
+                EdtGuard.check(name);
+            }
+            // Plain prepareStatement(sql) goes through the per-connection statement cache
+            if (name.equals("prepareStatement") && args.length == 1) {
+                return pooled.statements.prepare((String) args[0], (Connection) proxy);
+            }
+            try {
+                return method.invoke(pooled.physical, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    /**
+     * Point-in-time snapshot of pool usage.
+     */
+    public static final class Stats {
+        public final int active;
+        public final int idle;
+        public final int waiters;
+        public final int maxSize;
+        public final long borrows;
+        public final long avgBorrowNanos;
+        public final long maxBorrowNanos;
+        public final long timeouts;
+        public final long created;
+        public final long retired;
+        public final long statementHits;
+        public final long statementMisses;
+        public final long statementEvictions;
+
+        Stats(int active, int idle, int waiters, int maxSize, long borrows, long avgBorrowNanos,
+              long maxBorrowNanos, long timeouts, long created, long retired,
+              long statementHits, long statementMisses, long statementEvictions) {
+            this.active = active;
+            this.idle = idle;
+            this.waiters = waiters;
+            this.maxSize = maxSize;
+            this.borrows = borrows;
+            this.avgBorrowNanos = avgBorrowNanos;
+            this.maxBorrowNanos = maxBorrowNanos;
+            this.timeouts = timeouts;
+            this.created = created;
+            this.retired = retired;
+            this.statementHits = statementHits;
+            this.statementMisses = statementMisses;
+            this.statementEvictions = statementEvictions;
+        }
+
+        public double getStatementHitRatio() {
+            long lookups = statementHits + statementMisses;
+            return lookups == 0 ? 0.0 : (double) statementHits / lookups;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(
+                "active=%d, idle=%d, waiters=%d, max=%d, borrows=%d, avgBorrow=%.2f ms, maxBorrow=%.2f ms, " +
+                "timeouts=%d, created=%d, retired=%d, stmtHits=%d, stmtMisses=%d, stmtEvictions=%d",
+                active, idle, waiters, maxSize, borrows, avgBorrowNanos / 1_000_000.0,
+                maxBorrowNanos / 1_000_000.0, timeouts, created, retired,
+                statementHits, statementMisses, statementEvictions);
+        }
+    }
+}
@@ -0,0 +1,375 @@
+package database;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.sql.BatchUpdateException;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import model.ImportReport;
+
+/**
+ * Streams students, rooms or wardens from a CSV file into the database.
+ *
+ * The first line must be a header naming the columns (any order, case
+ * insensitive). The file is read one record at a time; valid rows are
+ * inserted with JDBC batches of {@code chunkSize} rows, one transaction per
+ * chunk. A row that fails validation or is rejected by the database (a
+ * duplicate key, say) is reported with its line number and skipped; the rest
+ * of the file is still imported.
+ */
+public final class CsvImporter {
+    public static final int DEFAULT_CHUNK_SIZE = 1000;
+
+    // Only this many error messages are kept; the failed count is always exact
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    public enum Target {
+        STUDENTS("INSERT INTO students (roll_no, name, college, department, semester, age, mobile, password) " +
+                 "VALUES (?, ?, ?, ?, ?, ?, ?, ?)",
+                 new String[] {"roll_no", "name", "password"},
+                 new String[] {"college", "department", "semester", "age", "mobile"}),
+        ROOMS("INSERT INTO rooms (room_no, room_type, sharing_type, capacity, current_occupancy, block_name, floor_no) " +
+              "VALUES (?, ?, ?, ?, 0, ?, ?)",
+              new String[] {"room_no", "room_type", "sharing_type"},
+              new String[] {"capacity", "block_name", "floor_no"}),
+        WARDENS("INSERT INTO wardens (warden_id, name, age, mobile, assigned_hostel, block_name, joining_date) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?)",
+                new String[] {"warden_id", "name"},
+                new String[] {"age", "mobile", "assigned_hostel", "block_name", "joining_date"});
+
+        final String insertSql;
+        final String[] required;
+        final String[] optional;
+
+        Target(String insertSql, String[] required, String[] optional) {
+            this.insertSql = insertSql;
+            this.required = required;
+            this.optional = optional;
+        }
+
+        /**
+         * Header columns this target reads, for display.
+         */
+        public String describeColumns() {
+            return "Required: " + String.join(", ", required) + "   Optional: " + String.join(", ", optional);
+        }
+    }
+
+    /**
+     * Receives progress while an import runs, on the importing thread.
+     */
+    public interface Progress {
+        /**
+         * {@code fraction} is the share of the file read so far, 0 to 1.
+         */
+        void update(long rowsRead, long imported, long failed, double fraction);
+
+        /**
+         * Checked between chunks; returning true stops the import after the
+         * current chunk is committed.
+         */
+        default boolean isCancelled() {
+            return false;
+        }
+    }
+
+    private CsvImporter() {
+    }
+
+    public static ImportReport importFile(File file, Target target, Progress progress) throws IOException, SQLException {
+        return importFile(file, target, DEFAULT_CHUNK_SIZE, progress);
+    }
+
+    /**
+     * Imports the file. Throws only if the file cannot be read, its header
+     * is unusable or the database is unreachable; row problems end up in the
+     * report.
+     */
+    public static ImportReport importFile(File file, Target target, int chunkSize, Progress progress)
+            throws IOException, SQLException {
+        long start = System.nanoTime();
+        long totalChars = Math.max(1, file.length());
+        Run run = new Run(target);
+
+        try (BufferedReader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8);
+             Connection conn = DatabaseManager.openConnection()) {
+            conn.setAutoCommit(false);
+            CsvReader csv = new CsvReader(reader);
+            List<String> header = csv.next();
+            if (header == null) {
+                throw new IOException("File is empty");
+            }
+            run.bindHeader(header);
+
+            try (PreparedStatement insert = conn.prepareStatement(target.insertSql)) {
+                List<String> record;
+                while ((record = csv.next()) != null) {
+                    if (record.size() == 1 && record.get(0).trim().isEmpty()) {
+                        continue;  // Blank line
+                    }
+                    run.rowsRead++;
+                    run.add(csv.recordLine, record);
+                    if (run.pending.size() >= chunkSize) {
+                        run.flush(conn, insert);
+                        if (progress != null) {
+                            progress.update(run.rowsRead, run.imported, run.failed,
+                                Math.min(1.0, (double) csv.charsRead / totalChars));
+                            if (progress.isCancelled()) {
+                                run.cancelled = true;
+                                break;
+                            }
+                        }
+                    }
+                }
+                if (!run.cancelled) {
+                    run.flush(conn, insert);
+                }
+            }
+        }
+
+        if (run.imported > 0) {
+            if (target == Target.ROOMS) {
+                DatabaseManager.invalidateRoomIndex();
+            } else {
+                DatabaseManager.invalidateSearchIndexes();
+            }
+            DatabaseManager.invalidateDashboardStats();
+        }
+        if (progress != null) {
+            progress.update(run.rowsRead, run.imported, run.failed, 1.0);
+        }
+        ImportReport report = new ImportReport(run.rowsRead, run.imported, run.failed, run.errors,
+            run.cancelled, (System.nanoTime() - start) / 1_000_000);
+        System.out.println("✓ Imported " + target.name().toLowerCase(Locale.ROOT) + " from " + file.getName() + ": " + report);
+        return report;
+    }
+
+    /**
+     * State of one import: column positions, the rows waiting to be written
+     * and the running counts.
+     */
+    private static final class Run {
+        final Target target;
+        final Map<String, Integer> columns = new HashMap<>();
+        final List<Row> pending = new ArrayList<>();
+        final List<String> errors = new ArrayList<>();
+        long rowsRead = 0;
+        long imported = 0;
+        long failed = 0;
+        boolean cancelled = false;
+
+        Run(Target target) {
+            this.target = target;
+        }
+
+        void bindHeader(List<String> header) throws IOException {
+            for (int i = 0; i < header.size(); i++) {
+                String name = header.get(i).trim().toLowerCase(Locale.ROOT).replace(' ', '_');
+                // A UTF-8 byte order mark sticks to the first column name
+                if (i == 0 && name.startsWith("\uFEFF")) {
+                    name = name.substring(1);
+                }
+                columns.put(name, i);
+            }
+            for (String column : target.required) {
+                if (!columns.containsKey(column)) {
+                    throw new IOException("Missing required column '" + column + "' in header");
+                }
+            }
+        }
+
+        // Validates the record and queues it, or records why it was rejected
+        void add(long line, List<String> record) {
+            try {
+                pending.add(new Row(line, validate(record)));
+            } catch (IllegalArgumentException e) {
+                fail(line, e.getMessage());
+            }
+        }
+
+        void flush(Connection conn, PreparedStatement insert) throws SQLException {
+            if (pending.isEmpty()) {
+                return;
+            }
+            try {
+                for (Row row : pending) {
+                    bind(insert, row.values);
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+                conn.commit();
+                imported += pending.size();
+            } catch (BatchUpdateException e) {
+                // Find the offending rows by retrying the chunk one row at a time;
+                // a failed statement does not undo the others in the transaction
+                conn.rollback();
+                insert.clearBatch();
+                for (Row row : pending) {
+                    try {
+                        bind(insert, row.values);
+                        insert.executeUpdate();
+                        imported++;
+                    } catch (SQLException rowError) {
+                        fail(row.line, rowError.getMessage());
+                    }
+                }
+                conn.commit();
+            }
+            pending.clear();
+        }
+
+        private void fail(long line, String message) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add("Line " + line + ": " + message);
+            }
+        }
+
+        private String value(List<String> record, String column) {
+            Integer index = columns.get(column);
+            if (index == null || index >= record.size()) {
+                return null;
+            }
+            String value = record.get(index).trim();
+            return value.isEmpty() ? null : value;
+        }
+
+        private Object[] validate(List<String> record) {
+            for (String column : target.required) {
+                if (value(record, column) == null) {
+                    throw new IllegalArgumentException("Missing value for " + column);
+                }
+            }
+            switch (target) {
+                case STUDENTS:
+                    return new Object[] {
+                        value(record, "roll_no"),
+                        value(record, "name"),
+                        value(record, "college"),
+                        value(record, "department"),
+                        value(record, "semester"),
+                        intValue(record, "age"),
+                        mobile(record),
+                        value(record, "password")
+                    };
+                case ROOMS: {
+                    String sharingType = sharingType(value(record, "sharing_type"));
+                    Integer capacity = intValue(record, "capacity");
+                    if (capacity == null) {
+                        capacity = Character.getNumericValue(sharingType.charAt(0));
+                    } else if (capacity <= 0) {
+                        throw new IllegalArgumentException("Capacity must be positive");
+                    }
+                    return new Object[] {
+                        value(record, "room_no"),
+                        roomType(value(record, "room_type")),
+                        sharingType,
+                        capacity,
+                        value(record, "block_name"),
+                        intValue(record, "floor_no")
+                    };
+                }
+                case WARDENS:
+                default:
+                    return new Object[] {
+                        value(record, "warden_id"),
+                        value(record, "name"),
+                        intValue(record, "age"),
+                        mobile(record),
+                        value(record, "assigned_hostel"),
+                        value(record, "block_name"),
+                        date(record, "joining_date")
+                    };
+            }
+        }
+
+        private Integer intValue(List<String> record, String column) {
+            String value = value(record, column);
+            if (value == null) {
+                return null;
+            }
+            try {
+                return Integer.parseInt(value);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException(column + " must be a whole number, got '" + value + "'");
+            }
+        }
+
+        private String mobile(List<String> record) {
+            String mobile = value(record, "mobile");
+            if (mobile != null && !mobile.matches("\\d{10}")) {
+                throw new IllegalArgumentException("mobile must be 10 digits, got '" + mobile + "'");
+            }
+            return mobile;
+        }
+
+        private Date date(List<String> record, String column) {
+            String value = value(record, column);
+            if (value == null) {
+                return Date.valueOf(LocalDate.now());
+            }
+            try {
+                return Date.valueOf(LocalDate.parse(value));
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException(column + " must be YYYY-MM-DD, got '" + value + "'");
+            }
+        }
+    }
+
+    static String roomType(String value) {
+        if (value.equalsIgnoreCase("Standard")) {
+            return "Standard";
+        }
+        if (value.equalsIgnoreCase("Luxury")) {
+            return "Luxury";
+        }
+        throw new IllegalArgumentException("room_type must be Standard or Luxury, got '" + value + "'");
+    }
+
+    // Accepts "2 Sharing", "2-sharing" or "2" and stores the schema's "2 Sharing" form
+    static String sharingType(String value) {
+        String digits = value.replaceAll("(?i)[\\s-]*sharing$", "").trim();
+        if (digits.equals("1") || digits.equals("2") || digits.equals("4")) {
+            return digits + " Sharing";
+        }
+        throw new IllegalArgumentException("sharing_type must be 1, 2 or 4 Sharing, got '" + value + "'");
+    }
+
+    private static void bind(PreparedStatement stmt, Object[] values) throws SQLException {
+        for (int i = 0; i < values.length; i++) {
+            Object value = values[i];
+            if (value == null) {
+                stmt.setNull(i + 1, Types.VARCHAR);
+            } else if (value instanceof Integer) {
+                stmt.setInt(i + 1, (Integer) value);
+            } else if (value instanceof Date) {
+                stmt.setDate(i + 1, (Date) value);
+            } else {
+                stmt.setString(i + 1, (String) value);
+            }
+        }
+    }
+
+    private static final class Row {
+        final long line;
+        final Object[] values;
+
+        Row(long line, Object[] values) {
+            this.line = line;
+            this.values = values;
+        }
+    }
+}
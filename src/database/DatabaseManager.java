@@ -4,11 +4,29 @@ import java.sql.*;
 import java.util.Scanner;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.concurrent.atomic.AtomicLong;
+import diagnostics.StartupProfiler;
+import model.Complaint;
+import model.DashboardStats;
+import model.Dates;
+import model.Page;
+import model.PaymentTxn;
+import model.Room;
+import model.Student;
+import model.Warden;
 
 public class DatabaseManager {
-    private static Connection connection = null;
+    private static ConnectionPool pool = null;
+    
+    // Connection leased to each thread by getConnection(), borrowed lazily from the pool
+    private static final ThreadLocal<Connection> threadConnection = new ThreadLocal<>();
     
     // Room pricing constants
     private static final double LUXURY_BASE_PRICE = 60000.0;    // Base price for luxury rooms
@@ -17,7 +35,85 @@ public class DatabaseManager {
     
     private static boolean sampleDataInitialized = false;
     
-    public static void initializeDatabase(String host, String port, String username, String password, String databaseName) {
+    // Whether the last connect applied the baseline migration that creates the tables
+    private static boolean schemaCreated = false;
+    
+    // Default number of rows per page for the paginated listings
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    
+    // Hot queries served by the indexes of schema migration 2. QueryPlanCheckTest
+    // explains these same statements, so keep them here rather than inline.
+    static final String COMPLAINTS_BY_STATUS_SQL =
+        "SELECT c.*, s.name FROM complaints c " +
+        "JOIN students s ON c.student_roll_no = s.roll_no " +
+        "WHERE c.status = ?";
+    static final String STUDENT_COMPLAINTS_SQL =
+        "SELECT * FROM complaints WHERE student_roll_no = ? ORDER BY filing_date DESC";
+    static final String PAYMENT_SUMMARY_SQL =
+        "SELECT " +
+        "SUM(CASE WHEN type = 'PAYMENT' THEN amount ELSE 0 END) as total_paid, " +
+        "SUM(CASE WHEN type = 'CHARGE' THEN amount ELSE 0 END) as total_charges, " +
+        "SUM(CASE WHEN type = 'REFUND' THEN amount ELSE 0 END) as total_refunds " +
+        "FROM payment_history WHERE student_id = ?";
+    static final String CLOSE_ROOM_HISTORY_SQL =
+        "UPDATE room_history SET check_out = CURRENT_TIMESTAMP, reason = ? " +
+        "WHERE student_id = ? AND room_no = ? AND check_out IS NULL";
+    static final String AVAILABLE_ROOMS_SQL =
+        "SELECT room_no FROM rooms " +
+        "WHERE room_type = ? AND sharing_type = ? " +
+        "AND current_occupancy < capacity " +
+        "ORDER BY room_no";
+    
+    // Dashboard counters are served from cache for this long before being recomputed
+    private static final long DASHBOARD_STATS_TTL_MILLIS = 5000;
+    private static volatile DashboardStats cachedDashboardStats = null;
+    
+    // Students, rooms and wardens read by key, for detail views and single-row
+    // refreshes. Subscribed to the change bus below at class initialization,
+    // so a changed row is dropped before any screen's listener re-reads it.
+    private static final EntityCache<String, Student> studentCache = new EntityCache<>("students", 1024);
+    private static final EntityCache<String, Room> roomCache = new EntityCache<>("rooms", 256);
+    private static final EntityCache<String, Warden> wardenCache = new EntityCache<>("wardens", 64);
+    
+    // The rows the dashboard counters are computed from
+    private static final Set<ChangeEvent.Entity> DASHBOARD_ENTITIES = EnumSet.of(
+        ChangeEvent.Entity.STUDENT, ChangeEvent.Entity.ROOM, ChangeEvent.Entity.WARDEN, ChangeEvent.Entity.COMPLAINT);
+    
+    static {
+        ChangeBus.subscribe(event -> {
+            switch (event.getEntity()) {
+                case STUDENT: studentCache.invalidate(event.getKey()); break;
+                case ROOM: roomCache.invalidate(event.getKey()); break;
+                case WARDEN: wardenCache.invalidate(event.getKey()); break;
+                default: break;
+            }
+            if (DASHBOARD_ENTITIES.contains(event.getEntity())) {
+                invalidateDashboardStats();
+            }
+        });
+    }
+    
+    // Free-bed index used for room lookups; null until (re)built from the database.
+    // Rebuilds and transfer commits hold roomIndexLock so a commit is applied to the
+    // index exactly once; the version discards rebuilds that raced an invalidation.
+    private static volatile RoomAvailabilityIndex roomIndex = null;
+    private static final Object roomIndexLock = new Object();
+    private static final AtomicLong roomIndexVersion = new AtomicLong();
+    
+    // Substring indexes for student and warden search; null until loaded in the
+    // background, during which searches go to the database. Single-record updates
+    // are applied under searchIndexLock, and the version discards a load that
+    // raced one of them.
+    private static volatile SearchIndex studentSearchIndex = null;
+    private static volatile SearchIndex wardenSearchIndex = null;
+    private static final Object searchIndexLock = new Object();
+    private static final AtomicLong searchIndexVersion = new AtomicLong();
+    private static final AtomicBoolean searchIndexLoading = new AtomicBoolean(false);
+    
+    // Search results are fetched by primary key in IN lists of at most this many keys
+    private static final int SEARCH_FETCH_CHUNK = 500;
+    
+    public static void initializeDatabase(String host, String port, String username, String password, String databaseName) throws SQLException {
         try {
             // Load MySQL JDBC Driver
             Class.forName("com.mysql.cj.jdbc.Driver");
@@ -42,189 +138,82 @@ public class DatabaseManager {
             // Now connect to the specific database
             connectToDatabase(host, port, username, password, databaseName);
 
-            // Initialize database tables by dropping and recreating them with correct schemas
-            try (Statement stmt = connection.createStatement()) {
-                // Temporarily disable foreign key checks to allow dropping tables
-                stmt.execute("SET FOREIGN_KEY_CHECKS = 0");
-
-                // Drop tables in reverse order of dependencies
-                dropTableIfExists("meal_feedback");
-                dropTableIfExists("daily_menu");
-                dropTableIfExists("meal_plans");
-                dropTableIfExists("meal_plan_details");
-                dropTableIfExists("payment_history");
-                dropTableIfExists("room_history");
-                dropTableIfExists("complaints");
-                dropTableIfExists("students");
-                dropTableIfExists("rooms");
-                dropTableIfExists("wardens");
-                dropTableIfExists("admins");
-
-                // Create tables with complete and correct schemas
-                stmt.executeUpdate(
-                    "CREATE TABLE admins (" +
-                    "username VARCHAR(50) PRIMARY KEY," +
-                    "password VARCHAR(50) NOT NULL" +
-                    ")"
-                );
-
-                stmt.executeUpdate(
-                    "CREATE TABLE wardens (" +
-                    "warden_id VARCHAR(20) PRIMARY KEY," +
-                    "name VARCHAR(100) NOT NULL," +
-                    "age INT," +
-                    "mobile VARCHAR(15)," +
-                    "assigned_hostel VARCHAR(50)," +
-                    "block_name VARCHAR(20)," +
-                    "joining_date DATE" +
-                    ")"
-                );
-
-                stmt.executeUpdate(
-                    "CREATE TABLE rooms (" +
-                    "room_no VARCHAR(10) PRIMARY KEY," +
-                    "room_type ENUM('Standard', 'Luxury') NOT NULL," +
-                    "sharing_type ENUM('1 Sharing', '2 Sharing', '4 Sharing') NOT NULL," +
-                    "capacity INT NOT NULL," +
-                    "current_occupancy INT DEFAULT 0," +
-                    "block_name VARCHAR(20)," +
-                    "floor_no INT" +
-                    ")"
-                );
-
-                stmt.executeUpdate(
-                    "CREATE TABLE students (" +
-                    "roll_no VARCHAR(20) PRIMARY KEY," +
-                    "name VARCHAR(100) NOT NULL," +
-                    "college VARCHAR(100)," +
-                    "department VARCHAR(50)," +
-                    "semester VARCHAR(20)," +
-                    "age INT," +
-                    "mobile VARCHAR(15)," +
-                    "room_no VARCHAR(10)," +
-                    "room_type ENUM('Standard', 'Luxury')," +
-                    "sharing_type ENUM('1 Sharing', '2 Sharing', '4 Sharing')," +
-                    "block_name VARCHAR(20)," +
-                    "floor_no INT," +
-                    "amount_paid DECIMAL(10,2) DEFAULT 0.00," +
-                    "amount_due DECIMAL(10,2) DEFAULT 0.00," +
-                    "payment_method VARCHAR(20)," +
-                    "password VARCHAR(50) NOT NULL," +
-                    "FOREIGN KEY (room_no) REFERENCES rooms(room_no) ON DELETE SET NULL" +
-                    ")"
-                );
-
-                stmt.executeUpdate(
-                    "CREATE TABLE payment_history (" +
-                    "id INT AUTO_INCREMENT PRIMARY KEY," +
-                    "student_id VARCHAR(20)," +
-                    "amount DECIMAL(10,2) NOT NULL," +
-                    "type ENUM('PAYMENT', 'REFUND', 'CHARGE') NOT NULL," +
-                    "reason VARCHAR(100)," +
-                    "transaction_date TIMESTAMP DEFAULT CURRENT_TIMESTAMP," +
-                    "FOREIGN KEY (student_id) REFERENCES students(roll_no) ON DELETE SET NULL" +
-                    ")"
-                );
-
-                stmt.executeUpdate(
-                    "CREATE TABLE complaints (" +
-                    "complaint_id INT AUTO_INCREMENT PRIMARY KEY," +
-                    "student_roll_no VARCHAR(20)," +
-                    "complaint_text TEXT," +
-                    "status VARCHAR(20) DEFAULT 'Pending'," +
-                    "filing_date TIMESTAMP DEFAULT CURRENT_TIMESTAMP," +
-                    "resolution_date TIMESTAMP NULL," +
-                    "FOREIGN KEY (student_roll_no) REFERENCES students(roll_no) ON DELETE SET NULL" +
-                    ")"
-                );
-
-                stmt.executeUpdate(
-                    "CREATE TABLE meal_plan_details (" +
-                    "plan_type ENUM('Basic', 'Standard', 'Premium') PRIMARY KEY," +
-                    "price DECIMAL(10,2) NOT NULL," +
-                    "features TEXT NOT NULL," +
-                    "sample_menu TEXT NOT NULL" +
-                    ")"
-                );
-
-                stmt.executeUpdate(
-                    "CREATE TABLE meal_plans (" +
-                    "id INT AUTO_INCREMENT PRIMARY KEY," +
-                    "student_roll_no VARCHAR(20)," +
-                    "plan_type ENUM('Basic', 'Standard', 'Premium')," +
-                    "start_date DATE NOT NULL," +
-                    "end_date DATE NOT NULL," +
-                    "payment_status ENUM('Pending', 'Paid') DEFAULT 'Pending'," +
-                    "payment_method VARCHAR(20)," +
-                    "payment_details VARCHAR(100)," +
-                    "amount_paid_for_plan DECIMAL(10,2) DEFAULT 0.00," + // Added column
-                    "FOREIGN KEY (student_roll_no) REFERENCES students(roll_no) ON DELETE CASCADE," +
-                    "FOREIGN KEY (plan_type) REFERENCES meal_plan_details(plan_type)," +
-                    "UNIQUE KEY unique_student (student_roll_no)" +
-                    ")"
-                );
-
-                stmt.executeUpdate(
-                    "CREATE TABLE daily_menu (" +
-                    "menu_date DATE PRIMARY KEY," +
-                    "breakfast TEXT," +
-                    "lunch TEXT," +
-                    "dinner TEXT" +
-                    ")"
-                );
-
-                stmt.executeUpdate(
-                    "CREATE TABLE meal_feedback (" +
-                    "id INT AUTO_INCREMENT PRIMARY KEY," +
-                    "student_roll_no VARCHAR(20)," +
-                    "feedback_text TEXT NOT NULL," +
-                    "feedback_date DATE NOT NULL," +
-                    "FOREIGN KEY (student_roll_no) REFERENCES students(roll_no) ON DELETE CASCADE," +
-                    "UNIQUE KEY unique_daily_feedback (student_roll_no, feedback_date)" +
-                    ")"
-                );
-
-                stmt.executeUpdate(
-                    "CREATE TABLE room_history (" +
-                    "id INT AUTO_INCREMENT PRIMARY KEY," +
-                    "student_id VARCHAR(20)," +
-                    "room_no VARCHAR(10)," +
-                    "room_type VARCHAR(20)," +
-                    "sharing_type VARCHAR(20)," +
-                    "block VARCHAR(20)," +
-                    "floor INT," +
-                    "check_in TIMESTAMP DEFAULT CURRENT_TIMESTAMP," +
-                    "check_out TIMESTAMP NULL," +
-                    "reason VARCHAR(100)," +
-                    "FOREIGN KEY (student_id) REFERENCES students(roll_no) ON DELETE SET NULL" +
-                    ")"
-                );
-
-                // Re-enable foreign key checks
-                stmt.execute("SET FOREIGN_KEY_CHECKS = 1");
-
-            }
-
-            // Initialize sample data
-            importSampleData();
-
             System.out.println("✓ Database initialized successfully!");
-        } catch (SQLException | ClassNotFoundException e) {
+        } catch (ClassNotFoundException e) {
+            System.err.println("Error initializing database: " + e.getMessage());
+            throw new SQLException("MySQL JDBC Driver not found: " + e.getMessage());
+        } catch (SQLException e) {
             System.err.println("Error initializing database: " + e.getMessage());
-            // Consider adding more robust error handling or logging here
+            throw e;
+        }
+    }
+
+    /**
+     * Imports the sample data if the last connect created the tables of an
+     * empty database. May run alongside {@link #warmUpCaches()}: the indexes
+     * it drops afterwards are rebuilt on next use.
+     */
+    public static void seedNewDatabase() throws SQLException {
+        // The baseline migration also runs once on databases set up before
+        // migrations existed, which already hold rooms
+        if (schemaCreated && countRooms() == 0) {
+            importSampleData();
+            invalidateRoomIndex();
+            invalidateSearchIndexes();
         }
     }
 
+    /**
+     * Loads the free-bed and search indexes ahead of their first use, so the
+     * first room lookup or search after login is instant.
+     */
+    public static void warmUpCaches() {
+        getRoomIndex();
+        getStudentSearchIndex();
+    }
+
     public static void connectToDatabase(String host, String port, String username, String password, String database) throws SQLException {
         try {
             // Load MySQL JDBC Driver
             Class.forName("com.mysql.cj.jdbc.Driver");
             
             // Connect to the database
-            String url = "jdbc:mysql://" + host + ":" + port + "/" + database;
-            connection = DriverManager.getConnection(url, username, password);
+            // Server-side prepared statements, so statements kept in the pool's cache stay compiled;
+            // batched writes are sent as multi-row statements
+            String url = "jdbc:mysql://" + host + ":" + port + "/" + database +
+                        "?useServerPrepStmts=true&rewriteBatchedStatements=true";
+            ConnectionPool newPool = new ConnectionPool(url, username, password);
+            
+            // Borrow once up front so bad credentials fail here rather than on first use
+            try (Connection probe = newPool.borrow()) {
+                probe.isValid(2);
+            } catch (SQLException e) {
+                newPool.shutdown();
+                throw e;
+            }
+            
+            releaseConnection();
+            if (pool != null) {
+                pool.shutdown();
+            }
+            pool = newPool;
             
             System.out.println("✓ Connected to database successfully!");
+            
+            // Bring the schema up to date; does nothing if every migration is already applied
+            StartupProfiler.Phase migrations = StartupProfiler.begin("schema migrations");
+            try (Connection conn = openConnection()) {
+                schemaCreated = SchemaMigrator.migrate(conn).contains(SchemaMigrator.BASELINE_VERSION);
+                // Full-text search falls back to an in-memory index where the migration could not add one
+                TextSearch.checkIndexes(conn);
+            } finally {
+                migrations.end();
+            }
+            
+            // Indexes built for the previous database are stale; warmUpCaches() reloads them
+            invalidateRoomIndex();
+            invalidateSearchIndexes();
+            invalidateEntityCaches();
         } catch (ClassNotFoundException e) {
             throw new SQLException("MySQL JDBC Driver not found: " + e.getMessage());
         }
@@ -234,26 +223,32 @@ public class DatabaseManager {
         if (sampleDataInitialized) {
             return;  // Silently return if already initialized
         }
-        initializeSampleData();
+        StartupProfiler.Phase phase = StartupProfiler.begin("importSampleData");
+        try {
+            initializeSampleData();
+        } finally {
+            phase.end();
+        }
         sampleDataInitialized = true;
     }
     
     public static void initializeSampleData() throws SQLException {
-        try (Statement stmt = connection.createStatement()) {
+        try (Statement stmt = getConnection().createStatement()) {
             // Add sample wardens
             stmt.execute("INSERT IGNORE INTO wardens (warden_id, name, age, mobile, assigned_hostel, block_name, joining_date) VALUES " +
                        "('W001', 'Rajesh Kumar', 35, '9898989898', 'DHHP Hostel', 'A Block', '2023-01-01'), " +
                        "('W002', 'Priya Sharma', 32, '9797979797', 'DHHP Hostel', 'B Block', '2023-02-01'), " +
                        "('W003', 'Amit Patel', 40, '9696969696', 'DHHP Hostel', 'B Block', '2023-03-01')");
 
-            // Add rooms with different sharing types and appropriate capacities
+            // Add rooms with different sharing types and appropriate capacities; each
+            // starts with the one sample student below, as occupancy is no longer recounted
             stmt.execute("INSERT IGNORE INTO rooms (room_no, room_type, sharing_type, capacity, current_occupancy, block_name, floor_no) VALUES " +
-                       "('101', 'Standard', '4 Sharing', 4, 0, 'A Block', 1), " +  // 4-sharing standard
-                       "('102', 'Standard', '2 Sharing', 2, 0, 'A Block', 1), " +  // 2-sharing standard
-                       "('103', 'Standard', '1 Sharing', 1, 0, 'A Block', 1), " +  // 1-sharing standard
-                       "('201', 'Luxury', '4 Sharing', 4, 0, 'B Block', 2), " +    // 4-sharing luxury
-                       "('202', 'Luxury', '2 Sharing', 2, 0, 'B Block', 2), " +    // 2-sharing luxury
-                       "('203', 'Luxury', '1 Sharing', 1, 0, 'B Block', 2)");      // 1-sharing luxury
+                       "('101', 'Standard', '4 Sharing', 4,1, 'A Block', 1), " +  // 4-sharing standard
+                       "('102', 'Standard', '2 Sharing', 2,1, 'A Block', 1), " +  // 2-sharing standard
+                       "('103', 'Standard', '1 Sharing', 1,1, 'A Block', 1), " +  // 1-sharing standard
+                       "('201', 'Luxury', '4 Sharing', 4,1, 'B Block', 2), " +    // 4-sharing luxury
+                       "('202', 'Luxury', '2 Sharing', 2,1, 'B Block', 2), " +    // 2-sharing luxury
+                       "('203', 'Luxury', '1 Sharing', 1,1, 'B Block', 2)");      // 1-sharing luxury
             
             // Add sample students with different sharing types and correct pricing
             stmt.execute("INSERT IGNORE INTO students (roll_no, name, college, department, semester, age, mobile, room_no, room_type, sharing_type, block_name, floor_no, amount_paid, amount_due, payment_method, password) VALUES " +
@@ -303,231 +298,78 @@ public class DatabaseManager {
         }
     }
     
-    private static void createOtherTables(Statement stmt) throws SQLException {
-        // Create admins table
-        stmt.executeUpdate(
-            "CREATE TABLE IF NOT EXISTS admins (" +
-            "username VARCHAR(50) PRIMARY KEY," +
-            "password VARCHAR(50) NOT NULL" +
-            ")"
-        );
-        
-        // Create wardens table
-        stmt.executeUpdate(
-            "CREATE TABLE IF NOT EXISTS wardens (" +
-            "warden_id VARCHAR(20) PRIMARY KEY," +
-            "name VARCHAR(100) NOT NULL," +
-            "age INT," +
-            "mobile VARCHAR(15)," +
-            "assigned_hostel VARCHAR(50)," +
-            "block_name VARCHAR(20)," +
-            "joining_date DATE" +
-            ")"
-        );
-
-        // Create complaints table
-        stmt.executeUpdate(
-            "CREATE TABLE IF NOT EXISTS complaints (" +
-            "complaint_id INT AUTO_INCREMENT PRIMARY KEY," +
-            "student_roll_no VARCHAR(20)," +
-            "complaint_text TEXT," +
-            "status VARCHAR(20)," +
-            "filing_date DATETIME," +
-            "resolution_date DATETIME," +
-            "FOREIGN KEY (student_roll_no) REFERENCES students(roll_no)" +
-            ")"
-        );
-
-        // Create meal_plan_details table
-        stmt.executeUpdate(
-            "CREATE TABLE IF NOT EXISTS meal_plan_details (" +
-            "plan_type ENUM('Basic', 'Standard', 'Premium') PRIMARY KEY," +
-            "price DECIMAL(10,2) NOT NULL," +
-            "features TEXT NOT NULL," +
-            "sample_menu TEXT NOT NULL" +
-            ")"
-        );
-
-        // Create meal_plans table
-        stmt.executeUpdate(
-            "CREATE TABLE IF NOT EXISTS meal_plans (" +
-            "id INT AUTO_INCREMENT PRIMARY KEY," +
-            "student_roll_no VARCHAR(20)," +
-            "plan_type ENUM('Basic', 'Standard', 'Premium') NOT NULL," +
-            "start_date DATE NOT NULL," +
-            "end_date DATE NOT NULL," +
-            "payment_status ENUM('Pending', 'Paid') DEFAULT 'Pending'," +
-            "FOREIGN KEY (student_roll_no) REFERENCES students(roll_no) ON DELETE CASCADE," +
-            "UNIQUE KEY unique_student (student_roll_no)" +
-            ")"
-        );
-
-        // Create daily_menu table
-        stmt.executeUpdate(
-            "CREATE TABLE IF NOT EXISTS daily_menu (" +
-            "id INT AUTO_INCREMENT PRIMARY KEY," +
-            "menu_date DATE NOT NULL," +
-            "breakfast TEXT," +
-            "lunch TEXT," +
-            "dinner TEXT," +
-            "UNIQUE KEY unique_date (menu_date)" +
-            ")"
-        );
-
-        // Create meal_feedback table
-        stmt.executeUpdate(
-            "CREATE TABLE IF NOT EXISTS meal_feedback (" +
-            "id INT AUTO_INCREMENT PRIMARY KEY," +
-            "student_roll_no VARCHAR(20)," +
-            "feedback_text TEXT NOT NULL," +
-            "feedback_date DATE NOT NULL," +
-            "FOREIGN KEY (student_roll_no) REFERENCES students(roll_no) ON DELETE CASCADE" +
-            ")"
-        );
+    /**
+     * Returns the connection leased to the calling thread, borrowing one from the
+     * pool on first use. Callers must not close it; threads other than the EDT
+     * should call {@link #releaseConnection()} when they are done.
+     */
+    public static Connection getConnection() {
+        if (pool == null) {
+            return null;
+        }
+        Connection leased = threadConnection.get();
+        try {
+            if (leased == null || leased.isClosed()) {
+                leased = pool.borrow();
+                threadConnection.set(leased);
+            }
+            return leased;
+        } catch (SQLException e) {
+            System.out.println("❌ Error getting database connection: " + e.getMessage());
+            return null;
+        }
     }
     
-    private static void createTables(Statement stmt) throws SQLException {
-        // Admin table
-        stmt.executeUpdate(
-            "CREATE TABLE IF NOT EXISTS admins (" +
-            "username VARCHAR(50) PRIMARY KEY," +
-            "password VARCHAR(50) NOT NULL" +
-            ")"
-        );
-        
-        // Student table
-        stmt.executeUpdate(
-            "CREATE TABLE IF NOT EXISTS students (" +
-            "roll_no VARCHAR(20) PRIMARY KEY," +
-            "name VARCHAR(100) NOT NULL," +
-            "college VARCHAR(100)," +
-            "department VARCHAR(50)," +
-            "semester VARCHAR(20)," +
-            "age INT," +
-            "mobile VARCHAR(15)," +
-            "room_no VARCHAR(10)," +
-            "room_type VARCHAR(20)," +
-            "sharing_type VARCHAR(20)," +
-            "block_name VARCHAR(20)," +
-            "floor_no INT," +
-            "amount_paid DECIMAL(10,2)," +
-            "amount_due DECIMAL(10,2)," +
-            "payment_method VARCHAR(20)," + // Added payment_method column
-            "password VARCHAR(50) NOT NULL" +
-            ")"
-        );
-
-        // Wardens table
-        stmt.executeUpdate(
-            "CREATE TABLE IF NOT EXISTS wardens (" +
-            "warden_id VARCHAR(20) PRIMARY KEY," +
-            "name VARCHAR(100) NOT NULL," +
-            "age INT," +
-            "mobile VARCHAR(15)," +
-            "assigned_hostel VARCHAR(50)," +
-            "block_name VARCHAR(20)," +
-            "joining_date DATE" +
-            ")"
-        );
-
-        // Complaints table
-        stmt.executeUpdate(
-            "CREATE TABLE IF NOT EXISTS complaints (" +
-            "complaint_id INT AUTO_INCREMENT PRIMARY KEY," +
-            "student_roll_no VARCHAR(20)," +
-            "complaint_text TEXT," +
-            "status VARCHAR(20)," +
-            "filing_date DATETIME," +
-            "resolution_date DATETIME," +
-            "FOREIGN KEY (student_roll_no) REFERENCES students(roll_no)" +
-            ")"
-        );
-
-        // Drop existing rooms table if exists to update schema
-        stmt.executeUpdate("DROP TABLE IF EXISTS rooms");
-
-        // Rooms table with sharing_type column
-        stmt.executeUpdate(
-            "CREATE TABLE IF NOT EXISTS rooms (" +
-            "room_no VARCHAR(10) PRIMARY KEY," +
-            "room_type VARCHAR(20) NOT NULL," +
-            "capacity INT NOT NULL," +
-            "current_occupancy INT DEFAULT 0," +
-            "floor_no INT," +
-            "block_name VARCHAR(20)," +
-            "sharing_type VARCHAR(20) NOT NULL" +
-            ")"
-        );
-
-        // Meal Plans table
-                stmt.executeUpdate(
-            "CREATE TABLE IF NOT EXISTS meal_plans (" +
-            "id INT AUTO_INCREMENT PRIMARY KEY," +
-            "student_roll_no VARCHAR(20)," +
-            "plan_type ENUM('Basic', 'Standard', 'Premium') NOT NULL," +
-            "start_date DATE NOT NULL," +
-            "end_date DATE NOT NULL," +
-            "payment_status ENUM('Pending', 'Paid') DEFAULT 'Pending'," +
-            "FOREIGN KEY (student_roll_no) REFERENCES students(roll_no) ON DELETE CASCADE," +
-            "UNIQUE KEY unique_student (student_roll_no)" +
-            ")"
-        );
-
-        // Daily Menu table
-                stmt.executeUpdate(
-            "CREATE TABLE IF NOT EXISTS daily_menu (" +
-            "id INT AUTO_INCREMENT PRIMARY KEY," +
-            "menu_date DATE NOT NULL," +
-            "breakfast TEXT," +
-            "lunch TEXT," +
-            "dinner TEXT," +
-            "UNIQUE KEY unique_date (menu_date)" +
-            ")"
-        );
-
-        // Meal Feedback table
-        stmt.executeUpdate(
-            "CREATE TABLE IF NOT EXISTS meal_feedback (" +
-            "id INT AUTO_INCREMENT PRIMARY KEY," +
-            "student_roll_no VARCHAR(20)," +
-            "feedback_text TEXT NOT NULL," +
-            "feedback_date DATE NOT NULL," +
-            "FOREIGN KEY (student_roll_no) REFERENCES students(roll_no) ON DELETE CASCADE" +
-            ")"
-        );
-
-        // Meal Plan Details table
-        stmt.executeUpdate(
-            "CREATE TABLE IF NOT EXISTS meal_plan_details (" +
-            "plan_type ENUM('Basic', 'Standard', 'Premium') PRIMARY KEY," +
-            "price DECIMAL(10,2) NOT NULL," +
-            "features TEXT NOT NULL," +
-            "sample_menu TEXT NOT NULL" +
-            ")"
-        );
-
-        // Create room_history table if it doesn't exist
-        createRoomHistoryTable();
+    /**
+     * Returns the calling thread's leased connection to the pool. Safe to call
+     * when the thread holds no connection. A lease that has outlived the pool's
+     * maximum lifetime is retired by the pool at this point.
+     */
+    public static void releaseConnection() {
+        Connection leased = threadConnection.get();
+        threadConnection.remove();
+        if (leased != null) {
+            try {
+                leased.close();
+            } catch (SQLException e) {
+                System.err.println("Warning: Could not release connection: " + e.getMessage());
+            }
+        }
     }
     
-    private static void insertInitialData(Statement stmt) throws SQLException {
-        // Insert default admin
-        stmt.executeUpdate(
-            "INSERT IGNORE INTO admins (username, password) VALUES " +
-            "('admin', 'admin123')"
-        );
-        
-        System.out.println("✓ Admin credentials initialized successfully!");
+    /**
+     * Borrows a dedicated connection for a unit of work such as a transaction.
+     * Use with try-with-resources; closing it returns it to the pool.
+     */
+    public static Connection openConnection() throws SQLException {
+        if (pool == null) {
+            throw new SQLException("Not connected to database");
+        }
+        return pool.borrow();
     }
     
-    public static Connection getConnection() {
-        return connection;
+    public static ConnectionPool.Stats getPoolStats() {
+        return pool == null ? null : pool.getStats();
+    }
+    
+    public static List<EntityCache.Stats> getEntityCacheStats() {
+        return Arrays.asList(studentCache.getStats(), roomCache.getStats(), wardenCache.getStats());
+    }
+    
+    /**
+     * Drops every cached student, room and warden, e.g. after connecting to
+     * another database.
+     */
+    public static void invalidateEntityCaches() {
+        studentCache.invalidateAll();
+        roomCache.invalidateAll();
+        wardenCache.invalidateAll();
     }
     
     // CRUD Operations for Students
     public static void displayAllStudents() {
         try {
-            Statement stmt = connection.createStatement();
+            Statement stmt = getConnection().createStatement();
             ResultSet rs = stmt.executeQuery("SELECT * FROM students");
             
             System.out.println("\n=== Student Records ===");
@@ -551,7 +393,7 @@ public class DatabaseManager {
         try {
             // First check if student exists
             String checkSql = "SELECT * FROM students WHERE roll_no = ?";
-            PreparedStatement checkStmt = connection.prepareStatement(checkSql);
+            PreparedStatement checkStmt = getConnection().prepareStatement(checkSql);
             checkStmt.setString(1, rollNo);
             ResultSet rs = checkStmt.executeQuery();
             
@@ -587,7 +429,7 @@ public class DatabaseManager {
                         return;
                     }
                     sql = "UPDATE students SET name = ? WHERE roll_no = ?";
-                    stmt = connection.prepareStatement(sql);
+                    stmt = getConnection().prepareStatement(sql);
                     stmt.setString(1, newName);
                     stmt.setString(2, rollNo);
                     break;
@@ -600,7 +442,7 @@ public class DatabaseManager {
                         return;
                     }
                     sql = "UPDATE students SET mobile = ? WHERE roll_no = ?";
-                    stmt = connection.prepareStatement(sql);
+                    stmt = getConnection().prepareStatement(sql);
                     stmt.setString(1, newMobile);
                     stmt.setString(2, rollNo);
                     break;
@@ -616,7 +458,7 @@ public class DatabaseManager {
                     }
                     // First check if the new room exists and has space
                     String checkRoomSql = "SELECT capacity, current_occupancy, room_type, block_name, floor_no FROM rooms WHERE room_no = ?";
-                    PreparedStatement checkRoomStmt = connection.prepareStatement(checkRoomSql);
+                    PreparedStatement checkRoomStmt = getConnection().prepareStatement(checkRoomSql);
                     checkRoomStmt.setString(1, newRoom);
                     ResultSet roomRs = checkRoomStmt.executeQuery();
                     
@@ -633,19 +475,38 @@ public class DatabaseManager {
                     // Get current sharing type from student's record
                     String currentSharingType = rs.getString("sharing_type");
                     
-                    // Update student's room with all related information
-                    sql = "UPDATE students SET room_no = ?, room_type = ?, block_name = ?, floor_no = ? WHERE roll_no = ?";
-                    stmt = connection.prepareStatement(sql);
-                    stmt.setString(1, newRoom);
-                    stmt.setString(2, roomRs.getString("room_type"));
-                    stmt.setString(3, roomRs.getString("block_name"));
-                    stmt.setInt(4, roomRs.getInt("floor_no"));
-                    stmt.setString(5, rollNo);
-                    int roomUpdateResult = stmt.executeUpdate();
+                    // Update student's room with all related information, moving
+                    // their bed in the same transaction
+                    int roomUpdateResult;
+                    try (Connection conn = openConnection()) {
+                        conn.setAutoCommit(false);
+                        try {
+                            sql = "UPDATE students SET room_no = ?, room_type = ?, block_name = ?, floor_no = ? WHERE roll_no = ?";
+                            try (PreparedStatement moveStmt = conn.prepareStatement(sql)) {
+                                moveStmt.setString(1, newRoom);
+                                moveStmt.setString(2, roomRs.getString("room_type"));
+                                moveStmt.setString(3, roomRs.getString("block_name"));
+                                moveStmt.setInt(4, roomRs.getInt("floor_no"));
+                                moveStmt.setString(5, rollNo);
+                                roomUpdateResult = moveStmt.executeUpdate();
+                            }
+                            if (roomUpdateResult > 0) {
+                                releaseBed(conn, currentRoom);
+                                claimBed(conn, newRoom);
+                                commitBedMove(conn, currentRoom, newRoom);
+                            } else {
+                                conn.rollback();
+                            }
+                        } catch (SQLException e) {
+                            conn.rollback();
+                            throw e;
+                        }
+                    }
                     
                     if (roomUpdateResult > 0) {
-                        // Update room occupancy
-                        updateRoomOccupancy();
+                        ChangeBus.updated(ChangeEvent.Entity.STUDENT, rollNo);
+                        ChangeBus.updated(ChangeEvent.Entity.ROOM, currentRoom);
+                        ChangeBus.updated(ChangeEvent.Entity.ROOM, newRoom);
                         System.out.println("✓ Room updated successfully!");
                         return;
                     } else {
@@ -665,13 +526,14 @@ public class DatabaseManager {
                     double newAmountDue = totalFee - newAmountPaid;
                     
                     sql = "UPDATE students SET amount_paid = ?, amount_due = ? WHERE roll_no = ?";
-                    stmt = connection.prepareStatement(sql);
+                    stmt = getConnection().prepareStatement(sql);
                     stmt.setDouble(1, newAmountPaid);
                     stmt.setDouble(2, newAmountDue);
                     stmt.setString(3, rollNo);
                     int paymentUpdateResult = stmt.executeUpdate();
                     
                     if (paymentUpdateResult > 0) {
+                        ChangeBus.updated(ChangeEvent.Entity.STUDENT, rollNo);
                         System.out.println("✓ Payment status updated successfully!");
                         System.out.printf("New Payment Status: Paid=%.2f, Due=%.2f\n", newAmountPaid, newAmountDue);
                         return;
@@ -688,6 +550,8 @@ public class DatabaseManager {
             int rowsAffected = stmt.executeUpdate();
             if (rowsAffected > 0) {
                 System.out.println("✓ Student details updated successfully!");
+                reindexStudent(rollNo);
+                ChangeBus.updated(ChangeEvent.Entity.STUDENT, rollNo);
             } else {
                 System.out.println("❌ Failed to update student details!");
             }
@@ -701,7 +565,7 @@ public class DatabaseManager {
     
     public static boolean validateStudentLogin(String rollNo, String password) {
         try {
-            PreparedStatement pstmt = connection.prepareStatement(
+            PreparedStatement pstmt = getConnection().prepareStatement(
                 "SELECT * FROM students WHERE roll_no = ? AND password = ?"
             );
             pstmt.setString(1, rollNo);
@@ -716,7 +580,7 @@ public class DatabaseManager {
     
     public static boolean validateAdminLogin(String username, String password) {
         try {
-            PreparedStatement pstmt = connection.prepareStatement(
+            PreparedStatement pstmt = getConnection().prepareStatement(
                 "SELECT * FROM admins WHERE username = ? AND password = ?"
             );
             pstmt.setString(1, username);
@@ -732,7 +596,7 @@ public class DatabaseManager {
     // Warden Management Methods
     public static void displayAllWardens() {
         try {
-            Statement stmt = connection.createStatement();
+            Statement stmt = getConnection().createStatement();
             ResultSet rs = stmt.executeQuery("SELECT * FROM wardens");
             
             System.out.println("\n=== Warden Records ===");
@@ -777,7 +641,7 @@ public class DatabaseManager {
             String blockName = scanner.nextLine();
 
             String sql = "INSERT INTO wardens VALUES (?, ?, ?, ?, ?, ?, CURDATE())";
-            PreparedStatement pstmt = connection.prepareStatement(sql);
+            PreparedStatement pstmt = getConnection().prepareStatement(sql);
             pstmt.setString(1, wardenId);
             pstmt.setString(2, name);
             pstmt.setInt(3, age);
@@ -786,6 +650,8 @@ public class DatabaseManager {
             pstmt.setString(6, blockName);
             
             pstmt.executeUpdate();
+            reindexWarden(wardenId);
+            ChangeBus.inserted(ChangeEvent.Entity.WARDEN, wardenId);
             System.out.println("✓ Warden added successfully!");
         } catch (SQLException e) {
             System.out.println("❌ Error adding warden: " + e.getMessage());
@@ -832,12 +698,14 @@ public class DatabaseManager {
                     return;
             }
             
-            PreparedStatement pstmt = connection.prepareStatement(sql);
+            PreparedStatement pstmt = getConnection().prepareStatement(sql);
             pstmt.setString(1, newValue);
             pstmt.setString(2, wardenId);
             
             if (pstmt.executeUpdate() > 0) {
                 System.out.println("✓ Warden updated successfully!");
+                reindexWarden(wardenId);
+                ChangeBus.updated(ChangeEvent.Entity.WARDEN, wardenId);
             } else {
                 System.out.println("❌ Warden not found!");
             }
@@ -849,11 +717,13 @@ public class DatabaseManager {
     public static void deleteWarden(String wardenId) {
         try {
             String sql = "DELETE FROM wardens WHERE warden_id = ?";
-            PreparedStatement pstmt = connection.prepareStatement(sql);
+            PreparedStatement pstmt = getConnection().prepareStatement(sql);
             pstmt.setString(1, wardenId);
             
             if (pstmt.executeUpdate() > 0) {
                 System.out.println("✓ Warden deleted successfully!");
+                reindexWarden(wardenId);
+                ChangeBus.deleted(ChangeEvent.Entity.WARDEN, wardenId);
             } else {
                 System.out.println("❌ Warden not found!");
             }
@@ -865,7 +735,7 @@ public class DatabaseManager {
     public static void displayPendingComplaints() {
         try {
             String sql = "SELECT c.*, s.name FROM complaints c JOIN students s ON c.student_roll_no = s.roll_no WHERE c.status = 'Pending'";
-            Statement stmt = connection.createStatement();
+            Statement stmt = getConnection().createStatement();
             ResultSet rs = stmt.executeQuery(sql);
             
             System.out.println("\n=== Pending Complaints ===");
@@ -892,11 +762,12 @@ public class DatabaseManager {
             String complaintText = scanner.nextLine();
             
             String sql = "INSERT INTO complaints (student_roll_no, complaint_text, status, filing_date) VALUES (?, ?, 'Pending', NOW())";
-            PreparedStatement pstmt = connection.prepareStatement(sql);
+            PreparedStatement pstmt = getConnection().prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
             pstmt.setString(1, rollNo);
             pstmt.setString(2, complaintText);
             
             pstmt.executeUpdate();
+            publishInsertedComplaint(pstmt);
             System.out.println("✓ Complaint added successfully!");
         } catch (SQLException e) {
             System.out.println("❌ Error adding complaint: " + e.getMessage());
@@ -906,10 +777,11 @@ public class DatabaseManager {
     public static void deleteComplaint(int complaintId) {
         try {
             String sql = "DELETE FROM complaints WHERE complaint_id = ?";
-            PreparedStatement pstmt = connection.prepareStatement(sql);
+            PreparedStatement pstmt = getConnection().prepareStatement(sql);
             pstmt.setInt(1, complaintId);
             
             if (pstmt.executeUpdate() > 0) {
+                ChangeBus.deleted(ChangeEvent.Entity.COMPLAINT, String.valueOf(complaintId));
                 System.out.println("✓ Complaint deleted successfully!");
             } else {
                 System.out.println("❌ Complaint not found!");
@@ -919,10 +791,18 @@ public class DatabaseManager {
         }
     }
 
+    private static void publishInsertedComplaint(PreparedStatement insert) throws SQLException {
+        try (ResultSet keys = insert.getGeneratedKeys()) {
+            if (keys.next()) {
+                ChangeBus.inserted(ChangeEvent.Entity.COMPLAINT, String.valueOf(keys.getInt(1)));
+            }
+        }
+    }
+
     public static void searchStudentByRoll(String rollNo) {
         try {
             String sql = "SELECT * FROM students WHERE roll_no = ?";
-            PreparedStatement pstmt = connection.prepareStatement(sql);
+            PreparedStatement pstmt = getConnection().prepareStatement(sql);
             pstmt.setString(1, rollNo);
             ResultSet rs = pstmt.executeQuery();
             
@@ -939,7 +819,7 @@ public class DatabaseManager {
     public static void searchStudentByName(String name) {
         try {
             String sql = "SELECT * FROM students WHERE name LIKE ?";
-            PreparedStatement pstmt = connection.prepareStatement(sql);
+            PreparedStatement pstmt = getConnection().prepareStatement(sql);
             pstmt.setString(1, "%" + name + "%");
             ResultSet rs = pstmt.executeQuery();
             
@@ -959,13 +839,10 @@ public class DatabaseManager {
 
     public static void displayStudentDetails(String rollNo) {
         try {
-            String sql = "SELECT * FROM students WHERE roll_no = ?";
-            PreparedStatement pstmt = connection.prepareStatement(sql);
-            pstmt.setString(1, rollNo);
-            ResultSet rs = pstmt.executeQuery();
+            Student student = findStudent(rollNo);
             
-            if (rs.next()) {
-                displayStudentRecord(rs);
+            if (student != null) {
+                displayStudentRecord(student);
             } else {
                 System.out.println("❌ Student details not found!");
             }
@@ -976,16 +853,13 @@ public class DatabaseManager {
 
     public static void displayRoomDetails(String rollNo) {
         try {
-            String sql = "SELECT room_no, room_type, sharing_type FROM students WHERE roll_no = ?";
-            PreparedStatement pstmt = connection.prepareStatement(sql);
-            pstmt.setString(1, rollNo);
-            ResultSet rs = pstmt.executeQuery();
+            Student student = findStudent(rollNo);
             
-            if (rs.next()) {
+            if (student != null) {
                 System.out.println("\n=== Room Details ===");
-                System.out.println("Room Number: " + rs.getString("room_no"));
-                System.out.println("Room Type: " + rs.getString("room_type"));
-                System.out.println("Sharing Type: " + rs.getString("sharing_type"));
+                System.out.println("Room Number: " + student.getRoomNo());
+                System.out.println("Room Type: " + student.getRoomType());
+                System.out.println("Sharing Type: " + student.getSharingType());
             } else {
                 System.out.println("❌ Room details not found!");
             }
@@ -996,15 +870,12 @@ public class DatabaseManager {
 
     public static void displayPaymentStatus(String rollNo) {
         try {
-            String sql = "SELECT amount_paid, amount_due FROM students WHERE roll_no = ?";
-            PreparedStatement pstmt = connection.prepareStatement(sql);
-            pstmt.setString(1, rollNo);
-            ResultSet rs = pstmt.executeQuery();
+            Student student = findStudent(rollNo);
             
-            if (rs.next()) {
+            if (student != null) {
                 System.out.println("\n=== Payment Status ===");
-                System.out.println("Amount Paid: Rs." + rs.getDouble("amount_paid"));
-                System.out.println("Amount Due: Rs." + rs.getDouble("amount_due"));
+                System.out.println("Amount Paid: Rs." + student.getAmountPaid());
+                System.out.println("Amount Due: Rs." + student.getAmountDue());
             } else {
                 System.out.println("❌ Payment details not found!");
             }
@@ -1030,21 +901,35 @@ public class DatabaseManager {
         System.out.println("------------------------");
     }
 
+    private static void displayStudentRecord(Student student) {
+        System.out.println("\n=== Student Details ===");
+        System.out.println("Roll Number: " + student.getRollNo());
+        System.out.println("Name: " + student.getName());
+        System.out.println("College: " + student.getCollege());
+        System.out.println("Department: " + student.getDepartment());
+        System.out.println("Semester: " + student.getSemester());
+        System.out.println("Age: " + student.getAge());
+        System.out.println("Mobile: " + student.getMobile());
+        if (student.getRoomNo() != null) {
+            System.out.println("Room: " + student.getRoomNo() + " (" + student.getRoomType() + ", " + student.getSharingType() + ")");
+            System.out.println("Block: " + student.getBlockName());
+            System.out.println("Floor: " + student.getFloorNo());
+        }
+        System.out.println("------------------------");
+    }
+
     public static void searchWardenById(String wardenId) {
         try {
-            String sql = "SELECT * FROM wardens WHERE warden_id = ?";
-            PreparedStatement pstmt = connection.prepareStatement(sql);
-            pstmt.setString(1, wardenId);
-            ResultSet rs = pstmt.executeQuery();
+            Warden warden = findWarden(wardenId);
             
-            if (rs.next()) {
+            if (warden != null) {
                 System.out.println("\n=== Warden Details ===");
-                System.out.println("Warden ID: " + rs.getString("warden_id"));
-                System.out.println("Name: " + rs.getString("name"));
-                System.out.println("Age: " + rs.getInt("age"));
-                System.out.println("Mobile: " + rs.getString("mobile"));
-                System.out.println("Assigned Hostel: " + rs.getString("assigned_hostel"));
-                System.out.println("Joining Date: " + rs.getDate("joining_date"));
+                System.out.println("Warden ID: " + warden.getWardenId());
+                System.out.println("Name: " + warden.getName());
+                System.out.println("Age: " + warden.getAge());
+                System.out.println("Mobile: " + warden.getMobile());
+                System.out.println("Assigned Hostel: " + warden.getAssignedHostel());
+                System.out.println("Joining Date: " + warden.getJoiningDate());
             } else {
                 System.out.println("❌ Warden not found!");
             }
@@ -1056,7 +941,7 @@ public class DatabaseManager {
     public static void searchWardenByName(String name) {
         try {
             String sql = "SELECT * FROM wardens WHERE name LIKE ?";
-            PreparedStatement pstmt = connection.prepareStatement(sql);
+            PreparedStatement pstmt = getConnection().prepareStatement(sql);
             pstmt.setString(1, "%" + name + "%");
             ResultSet rs = pstmt.executeQuery();
             
@@ -1086,7 +971,7 @@ public class DatabaseManager {
             String sql = "SELECT c.*, s.name FROM complaints c " +
                         "JOIN students s ON c.student_roll_no = s.roll_no " +
                         "WHERE c.student_roll_no = ?";
-            PreparedStatement pstmt = connection.prepareStatement(sql);
+            PreparedStatement pstmt = getConnection().prepareStatement(sql);
             pstmt.setString(1, rollNo);
             ResultSet rs = pstmt.executeQuery();
             
@@ -1115,10 +1000,7 @@ public class DatabaseManager {
 
     public static void searchComplaintsByStatus(String status) {
         try {
-            String sql = "SELECT c.*, s.name FROM complaints c " +
-                        "JOIN students s ON c.student_roll_no = s.roll_no " +
-                        "WHERE c.status = ?";
-            PreparedStatement pstmt = connection.prepareStatement(sql);
+            PreparedStatement pstmt = getConnection().prepareStatement(COMPLAINTS_BY_STATUS_SQL);
             pstmt.setString(1, status);
             ResultSet rs = pstmt.executeQuery();
             
@@ -1152,11 +1034,12 @@ public class DatabaseManager {
             String complaintText = scanner.nextLine();
             
             String sql = "INSERT INTO complaints (student_roll_no, complaint_text, status, filing_date) VALUES (?, ?, 'Pending', NOW())";
-            PreparedStatement pstmt = connection.prepareStatement(sql);
+            PreparedStatement pstmt = getConnection().prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
             pstmt.setString(1, rollNo);
             pstmt.setString(2, complaintText);
             
             pstmt.executeUpdate();
+            publishInsertedComplaint(pstmt);
             System.out.println("✓ Complaint filed successfully!");
         } catch (SQLException e) {
             System.out.println("❌ Error filing complaint: " + e.getMessage());
@@ -1165,8 +1048,7 @@ public class DatabaseManager {
 
     public static void viewMyComplaints(String rollNo) {
         try {
-            String sql = "SELECT * FROM complaints WHERE student_roll_no = ? ORDER BY filing_date DESC";
-            PreparedStatement pstmt = connection.prepareStatement(sql);
+            PreparedStatement pstmt = getConnection().prepareStatement(STUDENT_COMPLAINTS_SQL);
             pstmt.setString(1, rollNo);
             ResultSet rs = pstmt.executeQuery();
             
@@ -1196,7 +1078,7 @@ public class DatabaseManager {
     public static void displayAllRooms() {
         try {
             String sql = "SELECT * FROM rooms ORDER BY room_no";
-            Statement stmt = connection.createStatement();
+            Statement stmt = getConnection().createStatement();
             ResultSet rs = stmt.executeQuery(sql);
             
             System.out.println("\n=== Room Details ===");
@@ -1254,7 +1136,7 @@ public class DatabaseManager {
             
             String sql = "INSERT INTO rooms (room_no, room_type, capacity, current_occupancy, floor_no, block_name) " +
                         "VALUES (?, ?, ?, 0, ?, ?)";
-            PreparedStatement pstmt = connection.prepareStatement(sql);
+            PreparedStatement pstmt = getConnection().prepareStatement(sql);
             pstmt.setString(1, roomNo);
             pstmt.setString(2, roomType);
             pstmt.setInt(3, capacity);
@@ -1262,6 +1144,8 @@ public class DatabaseManager {
             pstmt.setString(5, blockName);
             
             pstmt.executeUpdate();
+            invalidateRoomIndex();
+            ChangeBus.inserted(ChangeEvent.Entity.ROOM, roomNo);
             System.out.println("✓ Room added successfully!");
         } catch (SQLException e) {
             System.out.println("❌ Error adding room: " + e.getMessage());
@@ -1289,7 +1173,7 @@ public class DatabaseManager {
                     System.out.println("New Room Type (1. Standard, 2. Luxury): ");
                     String roomType = scanner.nextLine().equals("1") ? "Standard" : "Luxury";
                     sql = "UPDATE rooms SET room_type = ? WHERE room_no = ?";
-                    PreparedStatement pstmt = connection.prepareStatement(sql);
+                    PreparedStatement pstmt = getConnection().prepareStatement(sql);
                     pstmt.setString(1, roomType);
                     pstmt.setString(2, roomNo);
                     pstmt.executeUpdate();
@@ -1299,7 +1183,7 @@ public class DatabaseManager {
                     System.out.println("New Capacity (1-4): ");
                     int capacity = Integer.parseInt(scanner.nextLine());
                     sql = "UPDATE rooms SET capacity = ? WHERE room_no = ?";
-                    pstmt = connection.prepareStatement(sql);
+                    pstmt = getConnection().prepareStatement(sql);
                     pstmt.setInt(1, capacity);
                     pstmt.setString(2, roomNo);
                     pstmt.executeUpdate();
@@ -1309,12 +1193,14 @@ public class DatabaseManager {
                     System.out.print("New Block Name: ");
                     String blockName = scanner.nextLine();
                     sql = "UPDATE rooms SET block_name = ? WHERE room_no = ?";
-                    pstmt = connection.prepareStatement(sql);
+                    pstmt = getConnection().prepareStatement(sql);
                     pstmt.setString(1, blockName);
                     pstmt.setString(2, roomNo);
                     pstmt.executeUpdate();
                     break;
             }
+            invalidateRoomIndex();
+            ChangeBus.updated(ChangeEvent.Entity.ROOM, roomNo);
             System.out.println("✓ Room updated successfully!");
         } catch (SQLException e) {
             System.out.println("❌ Error updating room: " + e.getMessage());
@@ -1330,7 +1216,7 @@ public class DatabaseManager {
             
             // Check if room is occupied
             String checkSql = "SELECT current_occupancy FROM rooms WHERE room_no = ?";
-            PreparedStatement checkStmt = connection.prepareStatement(checkSql);
+            PreparedStatement checkStmt = getConnection().prepareStatement(checkSql);
             checkStmt.setString(1, roomNo);
             ResultSet rs = checkStmt.executeQuery();
             
@@ -1340,10 +1226,12 @@ public class DatabaseManager {
             }
             
             String sql = "DELETE FROM rooms WHERE room_no = ?";
-            PreparedStatement pstmt = connection.prepareStatement(sql);
+            PreparedStatement pstmt = getConnection().prepareStatement(sql);
             pstmt.setString(1, roomNo);
             
             if (pstmt.executeUpdate() > 0) {
+                invalidateRoomIndex();
+                ChangeBus.deleted(ChangeEvent.Entity.ROOM, roomNo);
                 System.out.println("✓ Room deleted successfully!");
             } else {
                 System.out.println("❌ Room not found!");
@@ -1363,60 +1251,15 @@ public class DatabaseManager {
         }
     }
 
-    // Add this method to update room occupancy
-    public static void updateRoomOccupancy() {
-        try {
-            // First display current student room allocations
-            System.out.println("\n=== Current Room Allocations ===");
-            String selectSql = "SELECT roll_no, name, room_no, room_type, sharing_type FROM students " +
-                              "WHERE room_no IS NOT NULL";
-            Statement selectStmt = connection.createStatement();
-            ResultSet rs = selectStmt.executeQuery(selectSql);
-            
-            while (rs.next()) {
-                System.out.printf("Room %s: %s (%s) - %s, %s\n",
-                    rs.getString("room_no"),
-                    rs.getString("name"),
-                    rs.getString("roll_no"),
-                    rs.getString("room_type"),
-                    rs.getString("sharing_type"));
-            }
-
-            // Update room occupancies
-            String updateSql = "UPDATE rooms r SET current_occupancy = (" +
-                              "SELECT COUNT(*) FROM students s WHERE s.room_no = r.room_no)";
-            Statement updateStmt = connection.createStatement();
-            updateStmt.executeUpdate(updateSql);
-
-            // Display updated room occupancies
-            System.out.println("\n=== Updated Room Occupancies ===");
-            String roomsSql = "SELECT room_no, room_type, capacity, current_occupancy FROM rooms " +
-                             "WHERE current_occupancy > 0 ORDER BY room_no";
-            rs = selectStmt.executeQuery(roomsSql);
-            
-            while (rs.next()) {
-                System.out.printf("Room %s (%s): %d/%d occupied\n",
-                    rs.getString("room_no"),
-                    rs.getString("room_type"),
-                    rs.getInt("current_occupancy"),
-                    rs.getInt("capacity"));
-            }
-            
-            System.out.println("\n✓ Room occupancies updated successfully!");
-        } catch (SQLException e) {
-            System.out.println("❌ Error updating room occupancies: " + e.getMessage());
-        }
-    }
-
     public static List<String> getAvailableRooms(String roomType, String sharingType) {
+        RoomAvailabilityIndex index = getRoomIndex();
+        if (index != null) {
+            return index.availableRooms(roomType, sharingType);
+        }
+        // Index could not be loaded; fall back to asking the database
         List<String> availableRooms = new ArrayList<>();
         try {
-            String sql = "SELECT room_no FROM rooms " +
-                        "WHERE room_type = ? AND sharing_type = ? " +
-                        "AND current_occupancy < capacity " +
-                        "ORDER BY room_no";
-            
-            PreparedStatement pstmt = connection.prepareStatement(sql);
+            PreparedStatement pstmt = getConnection().prepareStatement(AVAILABLE_ROOMS_SQL);
             pstmt.setString(1, roomType);
             pstmt.setString(2, sharingType);
             
@@ -1479,7 +1322,7 @@ public class DatabaseManager {
             
             // Get block and floor information from the selected room
             String roomInfoSql = "SELECT block_name, floor_no FROM rooms WHERE room_no = ?";
-            PreparedStatement roomInfoStmt = connection.prepareStatement(roomInfoSql);
+            PreparedStatement roomInfoStmt = getConnection().prepareStatement(roomInfoSql);
             roomInfoStmt.setString(1, selectedRoom);
             ResultSet roomInfo = roomInfoStmt.executeQuery();
             roomInfo.next();
@@ -1513,28 +1356,38 @@ public class DatabaseManager {
                         "block_name, floor_no, amount_paid, amount_due, payment_method, password) VALUES " +
                         "(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
             
-            PreparedStatement pstmt = connection.prepareStatement(sql);
-            pstmt.setString(1, rollNo);
-            pstmt.setString(2, name);
-            pstmt.setString(3, college);
-            pstmt.setString(4, department);
-            pstmt.setString(5, semester);
-            pstmt.setInt(6, age);
-            pstmt.setString(7, mobile);
-            pstmt.setString(8, selectedRoom);
-            pstmt.setString(9, roomType);
-            pstmt.setString(10, sharingType);
-            pstmt.setString(11, blockName);
-            pstmt.setInt(12, floorNo);
-            pstmt.setDouble(13, amountPaid);
-            pstmt.setDouble(14, amountDue);
-            pstmt.setString(15, paymentMethod);
-            pstmt.setString(16, password);
-            
-            pstmt.executeUpdate();
-            
-            // Update room occupancy
-            updateRoomOccupancy();
+            // The bed is taken in the same transaction as the insert, so a room
+            // filled since it was listed fails the registration
+            try (Connection conn = openConnection()) {
+                conn.setAutoCommit(false);
+                try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                    claimBed(conn, selectedRoom);
+                    pstmt.setString(1, rollNo);
+                    pstmt.setString(2, name);
+                    pstmt.setString(3, college);
+                    pstmt.setString(4, department);
+                    pstmt.setString(5, semester);
+                    pstmt.setInt(6, age);
+                    pstmt.setString(7, mobile);
+                    pstmt.setString(8, selectedRoom);
+                    pstmt.setString(9, roomType);
+                    pstmt.setString(10, sharingType);
+                    pstmt.setString(11, blockName);
+                    pstmt.setInt(12, floorNo);
+                    pstmt.setDouble(13, amountPaid);
+                    pstmt.setDouble(14, amountDue);
+                    pstmt.setString(15, paymentMethod);
+                    pstmt.setString(16, password);
+                    pstmt.executeUpdate();
+                    commitBedMove(conn, null, selectedRoom);
+                } catch (SQLException e) {
+                    conn.rollback();
+                    throw e;
+                }
+            }
+            reindexStudent(rollNo);
+            ChangeBus.inserted(ChangeEvent.Entity.STUDENT, rollNo);
+            ChangeBus.updated(ChangeEvent.Entity.ROOM, selectedRoom);
             
             System.out.println("✓ Student registered successfully!");
             System.out.printf("Amount Due: Rs. %.2f\n", amountDue);
@@ -1554,8 +1407,9 @@ public class DatabaseManager {
             String updateStudentSql = "UPDATE students SET room_type = " +
                                     "(SELECT room_type FROM rooms WHERE room_no = students.room_no) " +
                                     "WHERE room_no IS NOT NULL";
-            Statement stmt = connection.createStatement();
+            Statement stmt = getConnection().createStatement();
             stmt.executeUpdate(updateStudentSql);
+            studentCache.invalidateAll();
             
             System.out.println("✓ Room type inconsistencies fixed!");
         } catch (SQLException e) {
@@ -1645,14 +1499,8 @@ public class DatabaseManager {
 
     public static void deleteStudent(String rollNo) {
         try {
-            String sql = "DELETE FROM students WHERE roll_no = ?";
-            PreparedStatement pstmt = connection.prepareStatement(sql);
-            pstmt.setString(1, rollNo);
-            
-            if (pstmt.executeUpdate() > 0) {
+            if (removeStudent(rollNo)) {
                 System.out.println("✓ Student deleted successfully!");
-                // Update room occupancy after deleting student
-                updateRoomOccupancy();
             } else {
                 System.out.println("❌ Student not found!");
             }
@@ -1663,7 +1511,7 @@ public class DatabaseManager {
 
     public static void displayAllComplaints() {
         try {
-            Statement stmt = connection.createStatement();
+            Statement stmt = getConnection().createStatement();
             ResultSet rs = stmt.executeQuery(
                 "SELECT c.*, s.name FROM complaints c " +
                 "JOIN students s ON c.student_roll_no = s.roll_no"
@@ -1714,12 +1562,13 @@ public class DatabaseManager {
             }
 
             String sql = "UPDATE complaints SET status = ?, resolution_date = ? WHERE complaint_id = ?";
-            PreparedStatement pstmt = connection.prepareStatement(sql);
+            PreparedStatement pstmt = getConnection().prepareStatement(sql);
             pstmt.setString(1, status);
             pstmt.setTimestamp(2, status.equals("Resolved") ? new Timestamp(System.currentTimeMillis()) : null);
             pstmt.setInt(3, complaintId);
             
             if (pstmt.executeUpdate() > 0) {
+                ChangeBus.updated(ChangeEvent.Entity.COMPLAINT, String.valueOf(complaintId));
                 System.out.println("✓ Complaint status updated successfully!");
             } else {
                 System.out.println("❌ Complaint not found!");
@@ -1731,12 +1580,9 @@ public class DatabaseManager {
 
     public static void displayAvailableRooms() {
         try {
-            String sql = "SELECT r.*, COUNT(s.roll_no) as current_occupancy " +
-                        "FROM rooms r " +
-                        "LEFT JOIN students s ON r.room_no = s.room_no " +
-                        "GROUP BY r.room_no " +
-                        "ORDER BY r.room_no";
-            Statement stmt = connection.createStatement();
+            // Occupancy is the stored counter the write paths maintain
+            String sql = "SELECT * FROM rooms ORDER BY room_no";
+            Statement stmt = getConnection().createStatement();
             ResultSet rs = stmt.executeQuery(sql);
             
             System.out.println("\nRoom No | Type     | Capacity | Occupied | Available | Block    | Floor");
@@ -1759,10 +1605,10 @@ public class DatabaseManager {
     }
 
     // GUI-friendly methods for Complaint Management
-    public static List<Map<String, Object>> getAllComplaints() {
-        List<Map<String, Object>> complaints = new ArrayList<>();
+    public static List<Complaint> getAllComplaintRecords() {
+        List<Complaint> complaints = new ArrayList<>();
         try {
-            Statement stmt = connection.createStatement();
+            Statement stmt = getConnection().createStatement();
             ResultSet rs = stmt.executeQuery(
                 "SELECT c.*, s.name FROM complaints c " +
                 "JOIN students s ON c.student_roll_no = s.roll_no " +
@@ -1770,15 +1616,7 @@ public class DatabaseManager {
             );
             
             while (rs.next()) {
-                Map<String, Object> complaint = new HashMap<>();
-                complaint.put("id", rs.getInt("complaint_id"));
-                complaint.put("studentName", rs.getString("name"));
-                complaint.put("rollNo", rs.getString("student_roll_no"));
-                complaint.put("text", rs.getString("complaint_text"));
-                complaint.put("status", rs.getString("status"));
-                complaint.put("filedOn", rs.getTimestamp("filing_date"));
-                complaint.put("resolvedOn", rs.getTimestamp("resolution_date"));
-                complaints.add(complaint);
+                complaints.add(readComplaint(rs));
             }
         } catch (SQLException e) {
             System.out.println("❌ Error fetching complaints: " + e.getMessage());
@@ -1786,24 +1624,18 @@ public class DatabaseManager {
         return complaints;
     }
 
-    public static List<Map<String, Object>> getPendingComplaints() {
-        List<Map<String, Object>> complaints = new ArrayList<>();
+    public static List<Complaint> getPendingComplaintRecords() {
+        List<Complaint> complaints = new ArrayList<>();
         try {
             String sql = "SELECT c.*, s.name FROM complaints c " +
                         "JOIN students s ON c.student_roll_no = s.roll_no " +
                         "WHERE c.status = 'Pending' " +
                         "ORDER BY c.filing_date DESC";
-            Statement stmt = connection.createStatement();
+            Statement stmt = getConnection().createStatement();
             ResultSet rs = stmt.executeQuery(sql);
             
             while (rs.next()) {
-                Map<String, Object> complaint = new HashMap<>();
-                complaint.put("id", rs.getInt("complaint_id"));
-                complaint.put("studentName", rs.getString("name"));
-                complaint.put("rollNo", rs.getString("student_roll_no"));
-                complaint.put("text", rs.getString("complaint_text"));
-                complaint.put("filedOn", rs.getTimestamp("filing_date"));
-                complaints.add(complaint);
+                complaints.add(readComplaint(rs));
             }
         } catch (SQLException e) {
             System.out.println("❌ Error fetching pending complaints: " + e.getMessage());
@@ -1812,181 +1644,966 @@ public class DatabaseManager {
     }
 
     // GUI-friendly methods for Room Management
-    public static List<Map<String, Object>> getAllRooms() {
-        List<Map<String, Object>> rooms = new ArrayList<>();
+    public static List<Room> getAllRoomRecords() {
         try {
-            Statement stmt = connection.createStatement();
-            ResultSet rs = stmt.executeQuery(
-                "SELECT r.*, COUNT(s.roll_no) as current_occupancy " +
-                "FROM rooms r LEFT JOIN students s ON r.room_no = s.room_no " +
-                "GROUP BY r.room_no ORDER BY r.room_no"
-            );
-            
-            while (rs.next()) {
-                Map<String, Object> room = new HashMap<>();
-                room.put("roomNo", rs.getString("room_no"));
-                room.put("type", rs.getString("room_type"));
-                room.put("capacity", rs.getInt("capacity"));
-                room.put("currentOccupancy", rs.getInt("current_occupancy"));
-                room.put("block", rs.getString("block_name"));
-                room.put("floor", rs.getInt("floor_no"));
-                room.put("sharingType", rs.getString("sharing_type"));
-                rooms.add(room);
-            }
+            return queryAllRooms();
         } catch (SQLException e) {
             System.out.println("❌ Error fetching rooms: " + e.getMessage());
+            return new ArrayList<>();
         }
-        return rooms;
     }
 
-    // GUI-friendly methods for Warden Management
-    public static List<Map<String, Object>> getAllWardens() {
-        List<Map<String, Object>> wardens = new ArrayList<>();
-        try {
-            Statement stmt = connection.createStatement();
-            ResultSet rs = stmt.executeQuery("SELECT * FROM wardens ORDER BY warden_id");
-            
-            while (rs.next()) {
-                Map<String, Object> warden = new HashMap<>();
-                warden.put("id", rs.getString("warden_id"));
-                warden.put("name", rs.getString("name"));
-                warden.put("age", rs.getInt("age"));
-                warden.put("mobile", rs.getString("mobile"));
-                warden.put("hostel", rs.getString("assigned_hostel"));
-                warden.put("block", rs.getString("block_name"));
-                warden.put("joiningDate", rs.getDate("joining_date"));
-                wardens.add(warden);
-            }
-        } catch (SQLException e) {
-            System.out.println("❌ Error fetching wardens: " + e.getMessage());
+    // Every room, with occupancy as stored in the rooms.current_occupancy counter
+    private static List<Room> queryAllRooms() throws SQLException {
+        List<Room> rooms = new ArrayList<>();
+        Statement stmt = getConnection().createStatement();
+        ResultSet rs = stmt.executeQuery(
+            "SELECT * FROM rooms ORDER BY room_no"
+        );
+        
+        while (rs.next()) {
+            rooms.add(readRoom(rs));
         }
-        return wardens;
+        return rooms;
     }
 
-    // GUI-friendly methods for Student Management
-    public static List<Map<String, Object>> getAllStudents() {
-        List<Map<String, Object>> students = new ArrayList<>();
-        try {
-            Statement stmt = connection.createStatement();
-            ResultSet rs = stmt.executeQuery("SELECT * FROM students ORDER BY roll_no");
-            
-            while (rs.next()) {
-                Map<String, Object> student = new HashMap<>();
-                student.put("rollNo", rs.getString("roll_no"));
-                student.put("name", rs.getString("name"));
-                student.put("college", rs.getString("college"));
-                student.put("department", rs.getString("department"));
-                student.put("semester", rs.getString("semester"));
-                student.put("age", rs.getInt("age"));
-                student.put("mobile", rs.getString("mobile"));
-                student.put("roomNo", rs.getString("room_no"));
-                student.put("roomType", rs.getString("room_type"));
-                student.put("sharingType", rs.getString("sharing_type"));
-                student.put("blockName", rs.getString("block_name"));
-                student.put("floorNo", rs.getInt("floor_no"));
-                student.put("amountPaid", rs.getDouble("amount_paid"));
-                student.put("amountDue", rs.getDouble("amount_due"));
-                students.add(student);
+    /**
+     * The free-bed index, rebuilt from the database if it has been
+     * invalidated. Returns null if it cannot be loaded.
+     */
+    public static RoomAvailabilityIndex getRoomIndex() {
+        RoomAvailabilityIndex index = roomIndex;
+        if (index != null || pool == null) {
+            return index;
+        }
+        synchronized (roomIndexLock) {
+            if (roomIndex != null) {
+                return roomIndex;
             }
-        } catch (SQLException e) {
-            System.out.println("❌ Error fetching students: " + e.getMessage());
+            long version = roomIndexVersion.get();
+            try {
+                index = new RoomAvailabilityIndex(queryAllRooms());
+            } catch (SQLException e) {
+                System.out.println("❌ Error loading room availability index: " + e.getMessage());
+                return null;
+            }
+            if (roomIndexVersion.get() == version) {
+                roomIndex = index;
+                System.out.println("✓ Room availability index loaded (" + index.size() + " rooms)");
+            }
+            return index;
         }
-        return students;
     }
 
-    // GUI-friendly search methods
-    public static List<Map<String, Object>> searchComplaints(String searchTerm) {
-        List<Map<String, Object>> complaints = new ArrayList<>();
-        try {
-            String sql = "SELECT c.*, s.name FROM complaints c " +
-                        "JOIN students s ON c.student_roll_no = s.roll_no " +
-                        "WHERE c.student_roll_no = ? OR s.name LIKE ? OR c.status = ? " +
-                        "ORDER BY c.filing_date DESC";
-            PreparedStatement pstmt = connection.prepareStatement(sql);
-            pstmt.setString(1, searchTerm);
-            pstmt.setString(2, "%" + searchTerm + "%");
-            pstmt.setString(3, searchTerm);
-            ResultSet rs = pstmt.executeQuery();
-            
-            while (rs.next()) {
-                Map<String, Object> complaint = new HashMap<>();
-                complaint.put("id", rs.getInt("complaint_id"));
-                complaint.put("studentName", rs.getString("name"));
-                complaint.put("rollNo", rs.getString("student_roll_no"));
-                complaint.put("text", rs.getString("complaint_text"));
-                complaint.put("status", rs.getString("status"));
-                complaint.put("filedOn", rs.getTimestamp("filing_date"));
-                complaint.put("resolvedOn", rs.getTimestamp("resolution_date"));
-                complaints.add(complaint);
-            }
-        } catch (SQLException e) {
-            System.out.println("❌ Error searching complaints: " + e.getMessage());
-        }
-        return complaints;
+    /**
+     * Drops the free-bed index after a bulk change to rooms or occupancy;
+     * the next lookup reloads it.
+     */
+    public static void invalidateRoomIndex() {
+        roomIndexVersion.incrementAndGet();
+        roomIndex = null;
     }
 
-    public static List<Map<String, Object>> searchStudents(String searchTerm) {
-        List<Map<String, Object>> students = new ArrayList<>();
+    /**
+     * Substring index over student roll numbers, names and mobiles, or null
+     * while it is loading. The first call starts the load in the background.
+     */
+    public static SearchIndex getStudentSearchIndex() {
+        SearchIndex index = studentSearchIndex;
+        if (index == null) {
+            loadSearchIndexes();
+        }
+        return index;
+    }
+
+    /**
+     * Substring index over warden ids, names and mobiles, or null while it is
+     * loading. The first call starts the load in the background.
+     */
+    public static SearchIndex getWardenSearchIndex() {
+        SearchIndex index = wardenSearchIndex;
+        if (index == null) {
+            loadSearchIndexes();
+        }
+        return index;
+    }
+
+    private static void loadSearchIndexes() {
+        if (pool == null || !searchIndexLoading.compareAndSet(false, true)) {
+            return;
+        }
+        final long version = searchIndexVersion.get();
+        DbExecutor.run(() -> {
+            try {
+                SearchIndex students = new SearchIndex();
+                SearchIndex wardens = new SearchIndex();
+                try (Statement stmt = getConnection().createStatement()) {
+                    try (ResultSet rs = stmt.executeQuery("SELECT roll_no, name, mobile FROM students")) {
+                        while (rs.next()) {
+                            students.put(rs.getString(1), rs.getString(1), rs.getString(2), rs.getString(3));
+                        }
+                    }
+                    try (ResultSet rs = stmt.executeQuery("SELECT warden_id, name, mobile FROM wardens")) {
+                        while (rs.next()) {
+                            wardens.put(rs.getString(1), rs.getString(1), rs.getString(2), rs.getString(3));
+                        }
+                    }
+                }
+                synchronized (searchIndexLock) {
+                    if (searchIndexVersion.get() == version) {
+                        studentSearchIndex = students;
+                        wardenSearchIndex = wardens;
+                        System.out.println("✓ Search indexes loaded (" + students.size() + " students, " +
+                                           wardens.size() + " wardens)");
+                    }
+                }
+            } catch (SQLException e) {
+                System.out.println("❌ Error loading search indexes: " + e.getMessage());
+            } finally {
+                searchIndexLoading.set(false);
+            }
+        });
+    }
+
+    /**
+     * Drops both search indexes after a bulk change such as an import; the
+     * next search reloads them.
+     */
+    public static void invalidateSearchIndexes() {
+        synchronized (searchIndexLock) {
+            searchIndexVersion.incrementAndGet();
+            studentSearchIndex = null;
+            wardenSearchIndex = null;
+        }
+    }
+
+    /**
+     * Brings the student's search entry up to date after an insert, update
+     * or delete. Does nothing if the index is not loaded.
+     */
+    public static void reindexStudent(String rollNo) {
+        reindex(rollNo, "SELECT name, mobile FROM students WHERE roll_no = ?", true);
+    }
+
+    /**
+     * Brings the warden's search entry up to date after an insert, update or
+     * delete. Does nothing if the index is not loaded.
+     */
+    public static void reindexWarden(String wardenId) {
+        reindex(wardenId, "SELECT name, mobile FROM wardens WHERE warden_id = ?", false);
+    }
+
+    private static void reindex(String key, String sql, boolean student) {
+        synchronized (searchIndexLock) {
+            searchIndexVersion.incrementAndGet();
+            SearchIndex index = student ? studentSearchIndex : wardenSearchIndex;
+            if (index == null) {
+                return;
+            }
+            try {
+                PreparedStatement pstmt = getConnection().prepareStatement(sql);
+                pstmt.setString(1, key);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    if (rs.next()) {
+                        index.put(key, key, rs.getString("name"), rs.getString("mobile"));
+                    } else {
+                        index.remove(key);
+                    }
+                }
+            } catch (SQLException e) {
+                System.err.println("Warning: Could not update search index: " + e.getMessage());
+                invalidateSearchIndexes();
+            }
+        }
+    }
+
+    // Rows whose key is in the list, in list order, handed to the sink one chunk
+    // at a time, the first chunk being firstBatch keys; keys with no row are skipped
+    private static <T> void streamByKeys(List<String> keys, String table, String keyColumn, SqlMapper<T> mapper,
+                                         int firstBatch, QueryHandle handle, Consumer<List<T>> sink)
+            throws SQLException {
+        int from = 0;
+        while (from < keys.size() && !handle.isCancelled()) {
+            int size = from == 0 ? Math.max(1, firstBatch) : SEARCH_FETCH_CHUNK;
+            List<String> chunk = keys.subList(from, Math.min(from + size, keys.size()));
+            from += chunk.size();
+            StringBuilder sql = new StringBuilder("SELECT * FROM ").append(table)
+                .append(" WHERE ").append(keyColumn).append(" IN (");
+            for (int i = 0; i < chunk.size(); i++) {
+                sql.append(i == 0 ? "?" : ", ?");
+            }
+            sql.append(")");
+            Map<String, T> found = new HashMap<>();
+            // SQL text varies with the chunk, so bypass the per-connection statement cache
+            try (PreparedStatement pstmt = getConnection().prepareStatement(sql.toString(), Statement.NO_GENERATED_KEYS)) {
+                for (int i = 0; i < chunk.size(); i++) {
+                    pstmt.setString(i + 1, chunk.get(i));
+                }
+                handle.register(pstmt);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        found.put(rs.getString(keyColumn), mapper.map(rs));
+                    }
+                } finally {
+                    handle.unregister(pstmt);
+                }
+            }
+            List<T> rows = new ArrayList<>(found.size());
+            for (String key : chunk) {
+                T row = found.get(key);
+                if (row != null) {
+                    rows.add(row);
+                }
+            }
+            if (!rows.isEmpty()) {
+                sink.accept(rows);
+            }
+        }
+    }
+
+    private static <T> List<T> fetchByKeys(List<String> keys, String table, String keyColumn,
+                                           SqlMapper<T> mapper) throws SQLException {
+        List<T> rows = new ArrayList<>(keys.size());
+        streamByKeys(keys, table, keyColumn, mapper, SEARCH_FETCH_CHUNK, new QueryHandle(), rows::addAll);
+        return rows;
+    }
+
+    // Hands the statement's rows to the sink, the first firstBatch as soon as they are read
+    private static <T> void streamRows(PreparedStatement pstmt, SqlMapper<T> mapper, int firstBatch,
+                                       QueryHandle handle, Consumer<List<T>> sink) throws SQLException {
+        handle.register(pstmt);
+        try (ResultSet rs = pstmt.executeQuery()) {
+            int batchSize = Math.max(1, firstBatch);
+            List<T> batch = new ArrayList<>();
+            while (rs.next() && !handle.isCancelled()) {
+                batch.add(mapper.map(rs));
+                if (batch.size() >= batchSize) {
+                    sink.accept(batch);
+                    batch = new ArrayList<>();
+                    batchSize = SEARCH_FETCH_CHUNK;
+                }
+            }
+            if (!batch.isEmpty() && !handle.isCancelled()) {
+                sink.accept(batch);
+            }
+        } finally {
+            handle.unregister(pstmt);
+        }
+    }
+
+    private interface SqlMapper<T> {
+        T map(ResultSet rs) throws SQLException;
+    }
+
+    // GUI-friendly methods for Warden Management
+    public static List<Warden> getAllWardenRecords() {
+        List<Warden> wardens = new ArrayList<>();
         try {
-            String sql = "SELECT * FROM students WHERE roll_no = ? OR name LIKE ?";
-            PreparedStatement pstmt = connection.prepareStatement(sql);
-            pstmt.setString(1, searchTerm);
-            pstmt.setString(2, "%" + searchTerm + "%");
-            ResultSet rs = pstmt.executeQuery();
+            Statement stmt = getConnection().createStatement();
+            ResultSet rs = stmt.executeQuery("SELECT * FROM wardens ORDER BY warden_id");
             
             while (rs.next()) {
-                Map<String, Object> student = new HashMap<>();
-                student.put("rollNo", rs.getString("roll_no"));
-                student.put("name", rs.getString("name"));
-                student.put("college", rs.getString("college"));
-                student.put("department", rs.getString("department"));
-                student.put("semester", rs.getString("semester"));
-                student.put("age", rs.getInt("age"));
-                student.put("mobile", rs.getString("mobile"));
-                student.put("roomNo", rs.getString("room_no"));
-                student.put("roomType", rs.getString("room_type"));
-                student.put("sharingType", rs.getString("sharing_type"));
-                student.put("blockName", rs.getString("block_name"));
-                student.put("floorNo", rs.getInt("floor_no"));
-                student.put("amountPaid", rs.getDouble("amount_paid"));
-                student.put("amountDue", rs.getDouble("amount_due"));
-                students.add(student);
+                wardens.add(readWarden(rs));
             }
+        } catch (SQLException e) {
+            System.out.println("❌ Error fetching wardens: " + e.getMessage());
+        }
+        return wardens;
+    }
+
+    // GUI-friendly methods for Student Management
+    public static List<Student> getAllStudentRecords() {
+        List<Student> students = new ArrayList<>();
+        try {
+            Statement stmt = getConnection().createStatement();
+            ResultSet rs = stmt.executeQuery("SELECT * FROM students ORDER BY roll_no");
+            
+            while (rs.next()) {
+                students.add(readStudent(rs));
+            }
+        } catch (SQLException e) {
+            System.out.println("❌ Error fetching students: " + e.getMessage());
+        }
+        return students;
+    }
+
+    // GUI-friendly search methods
+    public static List<Complaint> searchComplaintRecords(String searchTerm) {
+        List<Complaint> complaints = new ArrayList<>();
+        try {
+            streamComplaintSearch(searchTerm, SEARCH_FETCH_CHUNK, new QueryHandle(), complaints::addAll);
+        } catch (SQLException e) {
+            System.out.println("❌ Error searching complaints: " + e.getMessage());
+        }
+        return complaints;
+    }
+
+    public static List<Student> searchStudentRecords(String searchTerm) {
+        List<Student> students = new ArrayList<>();
+        try {
+            streamStudentSearch(searchTerm, SEARCH_FETCH_CHUNK, new QueryHandle(), students::addAll);
         } catch (SQLException e) {
             System.out.println("❌ Error searching students: " + e.getMessage());
         }
         return students;
     }
 
-    public static List<Map<String, Object>> searchWardens(String searchTerm) {
-        List<Map<String, Object>> wardens = new ArrayList<>();
+    public static List<Warden> searchWardenRecords(String searchTerm) {
+        List<Warden> wardens = new ArrayList<>();
         try {
-            String sql = "SELECT * FROM wardens WHERE warden_id = ? OR name LIKE ?";
-            PreparedStatement pstmt = connection.prepareStatement(sql);
+            streamWardenSearch(searchTerm, SEARCH_FETCH_CHUNK, new QueryHandle(), wardens::addAll);
+        } catch (SQLException e) {
+            System.out.println("❌ Error searching wardens: " + e.getMessage());
+        }
+        return wardens;
+    }
+
+    // Streaming searches for type-ahead. Matches reach the sink in batches, the
+    // first of firstBatch rows as soon as it is read. Cancelling the handle
+    // stops the running statement and no further batches are delivered; a
+    // statement cancelled mid-query throws. Statements that may be cancelled
+    // from another thread are kept out of the per-connection cache.
+    public static void streamStudentSearch(String searchTerm, int firstBatch, QueryHandle handle,
+                                           Consumer<List<Student>> sink) throws SQLException {
+        SearchIndex index = getStudentSearchIndex();
+        if (index != null) {
+            streamByKeys(index.search(searchTerm, 0), "students", "roll_no", DatabaseManager::readStudent,
+                         firstBatch, handle, sink);
+            return;
+        }
+        String sql = "SELECT * FROM students WHERE roll_no = ? OR name LIKE ?";
+        try (PreparedStatement pstmt = getConnection().prepareStatement(sql, Statement.NO_GENERATED_KEYS)) {
+            pstmt.setString(1, searchTerm);
+            pstmt.setString(2, "%" + searchTerm + "%");
+            streamRows(pstmt, DatabaseManager::readStudent, firstBatch, handle, sink);
+        }
+    }
+
+    public static void streamWardenSearch(String searchTerm, int firstBatch, QueryHandle handle,
+                                          Consumer<List<Warden>> sink) throws SQLException {
+        SearchIndex index = getWardenSearchIndex();
+        if (index != null) {
+            streamByKeys(index.search(searchTerm, 0), "wardens", "warden_id", DatabaseManager::readWarden,
+                         firstBatch, handle, sink);
+            return;
+        }
+        String sql = "SELECT * FROM wardens WHERE warden_id = ? OR name LIKE ?";
+        try (PreparedStatement pstmt = getConnection().prepareStatement(sql, Statement.NO_GENERATED_KEYS)) {
             pstmt.setString(1, searchTerm);
             pstmt.setString(2, "%" + searchTerm + "%");
+            streamRows(pstmt, DatabaseManager::readWarden, firstBatch, handle, sink);
+        }
+    }
+
+    /**
+     * Complaints whose status is the term or whose student matches it, newest
+     * first. Students are matched through the search index when it is loaded;
+     * when many match, their complaints are read in one query per chunk of
+     * students, best matches first, each chunk newest first.
+     */
+    public static void streamComplaintSearch(String searchTerm, int firstBatch, QueryHandle handle,
+                                             Consumer<List<Complaint>> sink) throws SQLException {
+        SearchIndex index = getStudentSearchIndex();
+        if (index == null) {
+            String sql = "SELECT c.*, s.name FROM complaints c " +
+                        "JOIN students s ON c.student_roll_no = s.roll_no " +
+                        "WHERE c.student_roll_no = ? OR s.name LIKE ? OR c.status = ? " +
+                        "ORDER BY c.filing_date DESC";
+            try (PreparedStatement pstmt = getConnection().prepareStatement(sql, Statement.NO_GENERATED_KEYS)) {
+                pstmt.setString(1, searchTerm);
+                pstmt.setString(2, "%" + searchTerm + "%");
+                pstmt.setString(3, searchTerm);
+                streamRows(pstmt, DatabaseManager::readComplaint, firstBatch, handle, sink);
+            }
+            return;
+        }
+
+        // Every matching student, SEARCH_FETCH_CHUNK per query; the status
+        // match goes with the first query only, so no complaint comes twice
+        List<String> rollNos = index.search(searchTerm, 0);
+        int from = 0;
+        do {
+            List<String> chunk = rollNos.subList(from, Math.min(from + SEARCH_FETCH_CHUNK, rollNos.size()));
+            boolean first = from == 0;
+            from += chunk.size();
+            StringBuilder sql = new StringBuilder(
+                "SELECT c.*, s.name FROM complaints c " +
+                "JOIN students s ON c.student_roll_no = s.roll_no WHERE ");
+            if (first) {
+                sql.append("c.status = ?");
+                if (!chunk.isEmpty()) {
+                    sql.append(" OR ");
+                }
+            } else {
+                sql.append("NOT (c.status <=> ?) AND ");
+            }
+            if (!chunk.isEmpty()) {
+                sql.append("c.student_roll_no IN (");
+                for (int i = 0; i < chunk.size(); i++) {
+                    sql.append(i == 0 ? "?" : ", ?");
+                }
+                sql.append(")");
+            }
+            sql.append(" ORDER BY c.filing_date DESC");
+            try (PreparedStatement pstmt = getConnection().prepareStatement(sql.toString(), Statement.NO_GENERATED_KEYS)) {
+                pstmt.setString(1, searchTerm);
+                for (int i = 0; i < chunk.size(); i++) {
+                    pstmt.setString(i + 2, chunk.get(i));
+                }
+                streamRows(pstmt, DatabaseManager::readComplaint, first ? firstBatch : SEARCH_FETCH_CHUNK, handle, sink);
+            }
+        } while (from < rollNos.size() && !handle.isCancelled());
+    }
+
+    // Keyset-paginated listings. Each query fetches one row past the page size
+    // to tell whether another page exists, and seeks past the previous page's
+    // last key instead of using OFFSET, so every page costs the same.
+    public static Page<Student> getStudentPage(String cursor, int pageSize) {
+        List<Student> students = new ArrayList<>();
+        String nextCursor = null;
+        try {
+            String sql = cursor == null
+                ? "SELECT * FROM students ORDER BY roll_no LIMIT ?"
+                : "SELECT * FROM students WHERE roll_no > ? ORDER BY roll_no LIMIT ?";
+            PreparedStatement pstmt = getConnection().prepareStatement(sql);
+            int index = 1;
+            if (cursor != null) {
+                pstmt.setString(index++, PageCursor.decodeKey(cursor));
+            }
+            pstmt.setInt(index, pageSize + 1);
             ResultSet rs = pstmt.executeQuery();
             
             while (rs.next()) {
-                Map<String, Object> warden = new HashMap<>();
-                warden.put("id", rs.getString("warden_id"));
-                warden.put("name", rs.getString("name"));
-                warden.put("age", rs.getInt("age"));
-                warden.put("mobile", rs.getString("mobile"));
-                warden.put("hostel", rs.getString("assigned_hostel"));
-                warden.put("block", rs.getString("block_name"));
-                warden.put("joiningDate", rs.getDate("joining_date"));
-                wardens.add(warden);
+                if (students.size() == pageSize) {
+                    nextCursor = PageCursor.encode(students.get(pageSize - 1).getRollNo());
+                    break;
+                }
+                students.add(readStudent(rs));
             }
         } catch (SQLException e) {
-            System.out.println("❌ Error searching wardens: " + e.getMessage());
+            System.out.println("❌ Error fetching students page: " + e.getMessage());
+        }
+        return new Page<>(students, nextCursor);
+    }
+
+    /**
+     * Complaints newest first. {@code status} restricts the listing to one
+     * status (e.g. "Pending"); pass null for all complaints.
+     */
+    public static Page<Complaint> getComplaintPage(String status, String cursor, int pageSize) {
+        List<Complaint> complaints = new ArrayList<>();
+        String nextCursor = null;
+        try {
+            StringBuilder sql = new StringBuilder(
+                "SELECT c.*, s.name FROM complaints c " +
+                "JOIN students s ON c.student_roll_no = s.roll_no WHERE 1 = 1");
+            if (status != null) {
+                sql.append(" AND c.status = ?");
+            }
+            if (cursor != null) {
+                sql.append(" AND (c.filing_date < ? OR (c.filing_date = ? AND c.complaint_id < ?))");
+            }
+            sql.append(" ORDER BY c.filing_date DESC, c.complaint_id DESC LIMIT ?");
+            
+            PreparedStatement pstmt = getConnection().prepareStatement(sql.toString());
+            int index = 1;
+            if (status != null) {
+                pstmt.setString(index++, status);
+            }
+            if (cursor != null) {
+                PageCursor position = PageCursor.decode(cursor);
+                Timestamp after = new Timestamp(position.timestamp);
+                pstmt.setTimestamp(index++, after);
+                pstmt.setTimestamp(index++, after);
+                pstmt.setInt(index++, position.id);
+            }
+            pstmt.setInt(index, pageSize + 1);
+            ResultSet rs = pstmt.executeQuery();
+            
+            while (rs.next()) {
+                if (complaints.size() == pageSize) {
+                    Complaint last = complaints.get(pageSize - 1);
+                    nextCursor = PageCursor.encode(last.getFiledOnMillis(), last.getId());
+                    break;
+                }
+                complaints.add(readComplaint(rs));
+            }
+        } catch (SQLException e) {
+            System.out.println("❌ Error fetching complaints page: " + e.getMessage());
+        }
+        return new Page<>(complaints, nextCursor);
+    }
+
+    /**
+     * A student's payment history, newest first.
+     */
+    public static Page<PaymentTxn> getPaymentHistoryPage(String rollNo, String cursor, int pageSize) {
+        List<PaymentTxn> history = new ArrayList<>();
+        String nextCursor = null;
+        try {
+            String sql = "SELECT ph.*, s.name as student_name " +
+                        "FROM payment_history ph " +
+                        "JOIN students s ON ph.student_id = s.roll_no " +
+                        "WHERE ph.student_id = ? " +
+                        (cursor == null ? "" :
+                        "AND (ph.transaction_date < ? OR (ph.transaction_date = ? AND ph.id < ?)) ") +
+                        "ORDER BY ph.transaction_date DESC, ph.id DESC LIMIT ?";
+            
+            PreparedStatement pstmt = getConnection().prepareStatement(sql);
+            int index = 1;
+            pstmt.setString(index++, rollNo);
+            if (cursor != null) {
+                PageCursor position = PageCursor.decode(cursor);
+                Timestamp after = new Timestamp(position.timestamp);
+                pstmt.setTimestamp(index++, after);
+                pstmt.setTimestamp(index++, after);
+                pstmt.setInt(index++, position.id);
+            }
+            pstmt.setInt(index, pageSize + 1);
+            ResultSet rs = pstmt.executeQuery();
+            
+            while (rs.next()) {
+                if (history.size() == pageSize) {
+                    PaymentTxn last = history.get(pageSize - 1);
+                    nextCursor = PageCursor.encode(last.getDateMillis(), last.getId());
+                    break;
+                }
+                history.add(readPaymentTxn(rs));
+            }
+        } catch (SQLException e) {
+            System.err.println("Error fetching payment history page: " + e.getMessage());
+        }
+        return new Page<>(history, nextCursor);
+    }
+
+    // Windowed access for the lazily loaded tables. When the caller knows the
+    // key of the row just before the window, the query seeks past it instead
+    // of skipping rows with OFFSET.
+    public static int countStudents(String filter) throws SQLException {
+        SearchIndex searchIndex = filter == null ? null : getStudentSearchIndex();
+        if (searchIndex != null) {
+            return searchIndex.search(filter, 0).size();
+        }
+        String sql = filter == null
+            ? "SELECT COUNT(*) FROM students"
+            : "SELECT COUNT(*) FROM students WHERE roll_no = ? OR name LIKE ?";
+        PreparedStatement pstmt = getConnection().prepareStatement(sql);
+        if (filter != null) {
+            pstmt.setString(1, filter);
+            pstmt.setString(2, "%" + filter + "%");
+        }
+        try (ResultSet rs = pstmt.executeQuery()) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    public static List<Student> getStudentWindow(String filter, String afterRollNo, int offset, int limit) throws SQLException {
+        // Indexed matches come in rank order, so the window is cut by offset
+        SearchIndex searchIndex = filter == null ? null : getStudentSearchIndex();
+        if (searchIndex != null) {
+            List<String> rollNos = searchIndex.search(filter, offset + limit);
+            if (offset >= rollNos.size()) {
+                return new ArrayList<>();
+            }
+            return fetchByKeys(rollNos.subList(offset, rollNos.size()), "students", "roll_no", DatabaseManager::readStudent);
+        }
+        StringBuilder sql = new StringBuilder("SELECT * FROM students WHERE 1 = 1");
+        if (filter != null) {
+            sql.append(" AND (roll_no = ? OR name LIKE ?)");
+        }
+        if (afterRollNo != null) {
+            sql.append(" AND roll_no > ?");
+        }
+        sql.append(afterRollNo != null ? " ORDER BY roll_no LIMIT ?" : " ORDER BY roll_no LIMIT ? OFFSET ?");
+        
+        PreparedStatement pstmt = getConnection().prepareStatement(sql.toString());
+        int index = 1;
+        if (filter != null) {
+            pstmt.setString(index++, filter);
+            pstmt.setString(index++, "%" + filter + "%");
+        }
+        if (afterRollNo != null) {
+            pstmt.setString(index++, afterRollNo);
+        }
+        pstmt.setInt(index++, limit);
+        if (afterRollNo == null) {
+            pstmt.setInt(index, offset);
+        }
+        
+        List<Student> students = new ArrayList<>(limit);
+        try (ResultSet rs = pstmt.executeQuery()) {
+            while (rs.next()) {
+                students.add(readStudent(rs));
+            }
+        }
+        return students;
+    }
+
+    public static int countRooms() throws SQLException {
+        PreparedStatement pstmt = getConnection().prepareStatement("SELECT COUNT(*) FROM rooms");
+        try (ResultSet rs = pstmt.executeQuery()) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    public static List<Room> getRoomWindow(String afterRoomNo, int offset, int limit) throws SQLException {
+        String sql = afterRoomNo != null
+            ? "SELECT * FROM rooms WHERE room_no > ? ORDER BY room_no LIMIT ?"
+            : "SELECT * FROM rooms ORDER BY room_no LIMIT ? OFFSET ?";
+        PreparedStatement pstmt = getConnection().prepareStatement(sql);
+        if (afterRoomNo != null) {
+            pstmt.setString(1, afterRoomNo);
+            pstmt.setInt(2, limit);
+        } else {
+            pstmt.setInt(1, limit);
+            pstmt.setInt(2, offset);
+        }
+        
+        List<Room> rooms = new ArrayList<>(limit);
+        try (ResultSet rs = pstmt.executeQuery()) {
+            while (rs.next()) {
+                rooms.add(readRoom(rs));
+            }
+        }
+        return rooms;
+    }
+
+    // Single rows, served from the entity caches, and their positions, for
+    // detail views and for applying one changed row to a lazily loaded table
+    public static Student findStudent(String rollNo) throws SQLException {
+        return studentCache.get(rollNo, key -> {
+            PreparedStatement pstmt = getConnection().prepareStatement("SELECT * FROM students WHERE roll_no = ?");
+            pstmt.setString(1, key);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() ? readStudent(rs) : null;
+            }
+        });
+    }
+
+    public static Room findRoom(String roomNo) throws SQLException {
+        return roomCache.get(roomNo, key -> {
+            PreparedStatement pstmt = getConnection().prepareStatement("SELECT * FROM rooms WHERE room_no = ?");
+            pstmt.setString(1, key);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() ? readRoom(rs) : null;
+            }
+        });
+    }
+
+    public static Warden findWarden(String wardenId) throws SQLException {
+        return wardenCache.get(wardenId, key -> {
+            PreparedStatement pstmt = getConnection().prepareStatement("SELECT * FROM wardens WHERE warden_id = ?");
+            pstmt.setString(1, key);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() ? readWarden(rs) : null;
+            }
+        });
+    }
+
+    public static Complaint findComplaint(int complaintId) throws SQLException {
+        PreparedStatement pstmt = getConnection().prepareStatement(
+            "SELECT c.*, s.name FROM complaints c " +
+            "JOIN students s ON c.student_roll_no = s.roll_no WHERE c.complaint_id = ?");
+        pstmt.setInt(1, complaintId);
+        try (ResultSet rs = pstmt.executeQuery()) {
+            return rs.next() ? readComplaint(rs) : null;
+        }
+    }
+
+    public static int countStudentsBefore(String rollNo) throws SQLException {
+        PreparedStatement pstmt = getConnection().prepareStatement("SELECT COUNT(*) FROM students WHERE roll_no < ?");
+        pstmt.setString(1, rollNo);
+        try (ResultSet rs = pstmt.executeQuery()) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    public static int countRoomsBefore(String roomNo) throws SQLException {
+        PreparedStatement pstmt = getConnection().prepareStatement("SELECT COUNT(*) FROM rooms WHERE room_no < ?");
+        pstmt.setString(1, roomNo);
+        try (ResultSet rs = pstmt.executeQuery()) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    /**
+     * Takes a bed in {@code roomNo} as part of the caller's transaction. The
+     * capacity check and the increment are one statement, so two assignments
+     * racing for the last bed cannot both get it.
+     */
+    public static void claimBed(Connection conn, String roomNo) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "UPDATE rooms SET current_occupancy = current_occupancy + 1 " +
+                "WHERE room_no = ? AND current_occupancy < capacity")) {
+            stmt.setString(1, roomNo);
+            if (stmt.executeUpdate() == 0) {
+                throw new SQLException("Room " + roomNo + " does not exist or is at full capacity");
+            }
+        }
+        OccupancyVerifier.markDirty(roomNo);
+    }
+
+    /**
+     * Gives back a bed in {@code roomNo} as part of the caller's transaction.
+     * Does nothing for a null room, so callers can pass an unset one.
+     */
+    public static void releaseBed(Connection conn, String roomNo) throws SQLException {
+        if (roomNo == null) {
+            return;
+        }
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "UPDATE rooms SET current_occupancy = current_occupancy - 1 " +
+                "WHERE room_no = ? AND current_occupancy > 0")) {
+            stmt.setString(1, roomNo);
+            stmt.executeUpdate();
+        }
+        OccupancyVerifier.markDirty(roomNo);
+    }
+
+    /**
+     * Commits a transaction that moved one bed from {@code fromRoomNo} to
+     * {@code toRoomNo} (either may be null for an assignment or a vacate) and
+     * applies the move to the free-bed index.
+     */
+    public static void commitBedMove(Connection conn, String fromRoomNo, String toRoomNo) throws SQLException {
+        synchronized (roomIndexLock) {
+            conn.commit();
+            RoomAvailabilityIndex index = roomIndex;
+            if (index != null) {
+                index.transfer(fromRoomNo, toRoomNo);
+            }
+        }
+    }
+
+    /**
+     * Deletes a student and gives back their bed in one transaction.
+     * Returns false if there is no such student.
+     */
+    public static boolean removeStudent(String rollNo) throws SQLException {
+        String roomNo;
+        try (Connection conn = openConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                try (PreparedStatement stmt = conn.prepareStatement(
+                        "SELECT room_no FROM students WHERE roll_no = ? FOR UPDATE")) {
+                    stmt.setString(1, rollNo);
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        if (!rs.next()) {
+                            conn.rollback();
+                            return false;
+                        }
+                        roomNo = rs.getString("room_no");
+                    }
+                }
+                try (PreparedStatement stmt = conn.prepareStatement("DELETE FROM students WHERE roll_no = ?")) {
+                    stmt.setString(1, rollNo);
+                    stmt.executeUpdate();
+                }
+                releaseBed(conn, roomNo);
+                commitBedMove(conn, roomNo, null);
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        }
+        reindexStudent(rollNo);
+        ChangeBus.deleted(ChangeEvent.Entity.STUDENT, rollNo);
+        ChangeBus.updated(ChangeEvent.Entity.ROOM, roomNo);
+        return true;
+    }
+
+    /**
+     * Counters for the admin dashboard, computed in a single query and cached
+     * for a few seconds so repeated visits to the Dashboard do not hit the
+     * database. Returns {@link DashboardStats#EMPTY} if the query fails.
+     */
+    public static DashboardStats getDashboardStats() {
+        DashboardStats stats = cachedDashboardStats;
+        long now = System.currentTimeMillis();
+        if (stats != null && now - stats.getLoadedAtMillis() < DASHBOARD_STATS_TTL_MILLIS) {
+            return stats;
+        }
+        String sql = "SELECT " +
+                    "(SELECT COUNT(*) FROM students) AS total_students, " +
+                    "(SELECT COUNT(*) FROM rooms) AS total_rooms, " +
+                    "(SELECT COUNT(*) FROM wardens) AS total_wardens, " +
+                    "(SELECT COUNT(*) FROM complaints c JOIN students s ON c.student_roll_no = s.roll_no " +
+                    " WHERE c.status = 'Pending') AS pending_complaints, " +
+                    "(SELECT COALESCE(SUM(capacity), 0) FROM rooms) AS total_beds, " +
+                    "(SELECT COUNT(*) FROM students WHERE room_no IS NOT NULL) AS occupied_beds, " +
+                    "(SELECT COALESCE(SUM(amount_due), 0) FROM students) AS total_dues";
+        try (PreparedStatement pstmt = getConnection().prepareStatement(sql);
+             ResultSet rs = pstmt.executeQuery()) {
+            if (rs.next()) {
+                stats = new DashboardStats(
+                    rs.getInt("total_students"),
+                    rs.getInt("total_rooms"),
+                    rs.getInt("total_wardens"),
+                    rs.getInt("pending_complaints"),
+                    rs.getInt("total_beds"),
+                    rs.getInt("occupied_beds"),
+                    rs.getDouble("total_dues"),
+                    now);
+                cachedDashboardStats = stats;
+                return stats;
+            }
+        } catch (SQLException e) {
+            System.out.println("❌ Error loading dashboard statistics: " + e.getMessage());
+        }
+        return DashboardStats.EMPTY;
+    }
+
+    /**
+     * Forces the next {@link #getDashboardStats()} call to recompute.
+     */
+    public static void invalidateDashboardStats() {
+        cachedDashboardStats = null;
+    }
+
+    // Map-returning adapters kept for older callers; prefer the typed record methods above
+    public static List<Map<String, Object>> getAllComplaints() {
+        List<Map<String, Object>> complaints = new ArrayList<>();
+        for (Complaint complaint : getAllComplaintRecords()) {
+            complaints.add(complaint.toMap());
+        }
+        return complaints;
+    }
+
+    public static List<Map<String, Object>> getPendingComplaints() {
+        List<Map<String, Object>> complaints = new ArrayList<>();
+        for (Complaint complaint : getPendingComplaintRecords()) {
+            complaints.add(complaint.toMap());
+        }
+        return complaints;
+    }
+
+    public static List<Map<String, Object>> getAllRooms() {
+        List<Map<String, Object>> rooms = new ArrayList<>();
+        for (Room room : getAllRoomRecords()) {
+            rooms.add(room.toMap());
+        }
+        return rooms;
+    }
+
+    public static List<Map<String, Object>> getAllWardens() {
+        List<Map<String, Object>> wardens = new ArrayList<>();
+        for (Warden warden : getAllWardenRecords()) {
+            wardens.add(warden.toMap());
         }
         return wardens;
     }
 
+    public static List<Map<String, Object>> getAllStudents() {
+        List<Map<String, Object>> students = new ArrayList<>();
+        for (Student student : getAllStudentRecords()) {
+            students.add(student.toMap());
+        }
+        return students;
+    }
+
+    public static List<Map<String, Object>> searchComplaints(String searchTerm) {
+        List<Map<String, Object>> complaints = new ArrayList<>();
+        for (Complaint complaint : searchComplaintRecords(searchTerm)) {
+            complaints.add(complaint.toMap());
+        }
+        return complaints;
+    }
+
+    public static List<Map<String, Object>> searchStudents(String searchTerm) {
+        List<Map<String, Object>> students = new ArrayList<>();
+        for (Student student : searchStudentRecords(searchTerm)) {
+            students.add(student.toMap());
+        }
+        return students;
+    }
+
+    public static List<Map<String, Object>> searchWardens(String searchTerm) {
+        List<Map<String, Object>> wardens = new ArrayList<>();
+        for (Warden warden : searchWardenRecords(searchTerm)) {
+            wardens.add(warden.toMap());
+        }
+        return wardens;
+    }
+
+    // Row mappers. Low-cardinality columns (college, room type, status, ...) are
+    // interned so thousands of rows share one copy of each value.
+    private static Student readStudent(ResultSet rs) throws SQLException {
+        return new Student(
+            rs.getString("roll_no"),
+            rs.getString("name"),
+            shared(rs.getString("college")),
+            shared(rs.getString("department")),
+            shared(rs.getString("semester")),
+            rs.getInt("age"),
+            rs.getString("mobile"),
+            shared(rs.getString("room_no")),
+            shared(rs.getString("room_type")),
+            shared(rs.getString("sharing_type")),
+            shared(rs.getString("block_name")),
+            rs.getInt("floor_no"),
+            rs.getDouble("amount_paid"),
+            rs.getDouble("amount_due"),
+            shared(rs.getString("payment_method")),
+            rs.getString("password")
+        );
+    }
+
+    private static Room readRoom(ResultSet rs) throws SQLException {
+        return new Room(
+            shared(rs.getString("room_no")),
+            shared(rs.getString("room_type")),
+            shared(rs.getString("sharing_type")),
+            rs.getInt("capacity"),
+            rs.getInt("current_occupancy"),
+            shared(rs.getString("block_name")),
+            rs.getInt("floor_no")
+        );
+    }
+
+    private static Warden readWarden(ResultSet rs) throws SQLException {
+        return new Warden(
+            rs.getString("warden_id"),
+            rs.getString("name"),
+            rs.getInt("age"),
+            rs.getString("mobile"),
+            shared(rs.getString("assigned_hostel")),
+            shared(rs.getString("block_name")),
+            Dates.toMillis(rs.getDate("joining_date"))
+        );
+    }
+
+    static Complaint readComplaint(ResultSet rs) throws SQLException {
+        return new Complaint(
+            rs.getInt("complaint_id"),
+            rs.getString("student_roll_no"),
+            rs.getString("name"),
+            rs.getString("complaint_text"),
+            shared(rs.getString("status")),
+            Dates.toMillis(rs.getTimestamp("filing_date")),
+            Dates.toMillis(rs.getTimestamp("resolution_date"))
+        );
+    }
+
+    private static PaymentTxn readPaymentTxn(ResultSet rs) throws SQLException {
+        return new PaymentTxn(
+            rs.getInt("id"),
+            rs.getString("student_id"),
+            rs.getString("student_name"),
+            rs.getDouble("amount"),
+            shared(rs.getString("type")),
+            rs.getString("reason"),
+            Dates.toMillis(rs.getTimestamp("transaction_date"))
+        );
+    }
+
+    private static String shared(String value) {
+        return value == null ? null : value.intern();
+    }
+
     public static void updateStudentRoom(String rollNo, String roomNo, String reason) {
-        try {
-            connection.setAutoCommit(false);  // Start transaction
+        // Runs on its own pooled connection so the transaction never leaks into other callers
+        try (Connection conn = openConnection()) {
+            conn.setAutoCommit(false);  // Start transaction
             try {
                 // Step 1: Get current student details with room info
                 String currentStudentSql = 
@@ -1997,7 +2614,7 @@ public class DatabaseManager {
                     "WHERE s.roll_no = ? FOR UPDATE";
                 
                 Map<String, Object> currentDetails = new HashMap<>();
-                try (PreparedStatement stmt = connection.prepareStatement(currentStudentSql)) {
+                try (PreparedStatement stmt = conn.prepareStatement(currentStudentSql)) {
                     stmt.setString(1, rollNo);
                     ResultSet rs = stmt.executeQuery();
                     if (rs.next()) {
@@ -2017,24 +2634,14 @@ public class DatabaseManager {
                 String oldRoomNo = (String) currentDetails.get("oldRoomNo");
                 if (oldRoomNo != null) {
                     // Update room history with check_out time
-                    String closeHistorySql = 
-                        "UPDATE room_history SET check_out = CURRENT_TIMESTAMP, reason = ? " +
-                        "WHERE student_id = ? AND room_no = ? AND check_out IS NULL";
-                    try (PreparedStatement stmt = connection.prepareStatement(closeHistorySql)) {
+                    try (PreparedStatement stmt = conn.prepareStatement(CLOSE_ROOM_HISTORY_SQL)) {
                         stmt.setString(1, reason);
                         stmt.setString(2, rollNo);
                         stmt.setString(3, oldRoomNo);
                         stmt.executeUpdate();
                     }
 
-                    // Decrement old room occupancy
-                    String updateOldRoomSql = 
-                        "UPDATE rooms SET current_occupancy = current_occupancy - 1 " +
-                        "WHERE room_no = ? AND current_occupancy > 0";
-                    try (PreparedStatement stmt = connection.prepareStatement(updateOldRoomSql)) {
-                        stmt.setString(1, oldRoomNo);
-                        stmt.executeUpdate();
-                    }
+                    releaseBed(conn, oldRoomNo);
                 }
 
                 // Step 3: Handle room vacation
@@ -2057,7 +2664,7 @@ public class DatabaseManager {
                         "block_name = NULL, floor_no = NULL, " +
                         "amount_paid = amount_paid - ?, amount_due = 0 " +
                               "WHERE roll_no = ?";
-                    try (PreparedStatement stmt = connection.prepareStatement(vacateSql)) {
+                    try (PreparedStatement stmt = conn.prepareStatement(vacateSql)) {
                         stmt.setDouble(1, refundAmount);
                         stmt.setString(2, rollNo);
                         stmt.executeUpdate();
@@ -2068,7 +2675,7 @@ public class DatabaseManager {
                         String refundSql = 
                             "INSERT INTO payment_history (student_id, amount, type, reason) " +
                             "VALUES (?, ?, 'REFUND', ?)";
-                        try (PreparedStatement stmt = connection.prepareStatement(refundSql)) {
+                        try (PreparedStatement stmt = conn.prepareStatement(refundSql)) {
                             stmt.setString(1, rollNo);
                             stmt.setDouble(2, refundAmount);
                             stmt.setString(3, "Room vacation refund");
@@ -2086,7 +2693,7 @@ public class DatabaseManager {
                     // Get new room details
                     String newRoomSql = "SELECT * FROM rooms WHERE room_no = ? FOR UPDATE";
                     Map<String, Object> newRoomDetails = new HashMap<>();
-                    try (PreparedStatement stmt = connection.prepareStatement(newRoomSql)) {
+                    try (PreparedStatement stmt = conn.prepareStatement(newRoomSql)) {
                         stmt.setString(1, roomNo);
                         ResultSet rs = stmt.executeQuery();
                         if (rs.next()) {
@@ -2094,19 +2701,12 @@ public class DatabaseManager {
                             newRoomDetails.put("sharingType", rs.getString("sharing_type"));
                             newRoomDetails.put("blockName", rs.getString("block_name"));
                             newRoomDetails.put("floorNo", rs.getInt("floor_no"));
-                            newRoomDetails.put("capacity", rs.getInt("capacity"));
-                            newRoomDetails.put("currentOccupancy", rs.getInt("current_occupancy"));
                         } else {
                             throw new SQLException("Room not found: " + roomNo);
                         }
                     }
 
-                    // Validate room capacity
-                    int capacity = (Integer) newRoomDetails.get("capacity");
-                    int occupancy = (Integer) newRoomDetails.get("currentOccupancy");
-                    if (occupancy >= capacity) {
-                        throw new SQLException("Room " + roomNo + " is at full capacity");
-                    }
+                    claimBed(conn, roomNo);
 
                     // Calculate price difference
                     double oldPrice = 0.0;
@@ -2129,7 +2729,7 @@ public class DatabaseManager {
                         "block_name = ?, floor_no = ?, " +
                         "amount_due = amount_due + ? " +
                         "WHERE roll_no = ?";
-                    try (PreparedStatement stmt = connection.prepareStatement(transferSql)) {
+                    try (PreparedStatement stmt = conn.prepareStatement(transferSql)) {
                         stmt.setString(1, roomNo);
                         stmt.setString(2, (String) newRoomDetails.get("roomType"));
                         stmt.setString(3, (String) newRoomDetails.get("sharingType"));
@@ -2145,7 +2745,7 @@ public class DatabaseManager {
                         "INSERT INTO room_history " +
                         "(student_id, room_no, room_type, sharing_type, block, floor, reason) " +
                         "VALUES (?, ?, ?, ?, ?, ?, ?)";
-                    try (PreparedStatement stmt = connection.prepareStatement(historySql)) {
+                    try (PreparedStatement stmt = conn.prepareStatement(historySql)) {
                         stmt.setString(1, rollNo);
                         stmt.setString(2, roomNo);
                         stmt.setString(3, (String) newRoomDetails.get("roomType"));
@@ -2156,21 +2756,12 @@ public class DatabaseManager {
                         stmt.executeUpdate();
                     }
 
-                    // Update new room occupancy
-                    String updateNewRoomSql = 
-                        "UPDATE rooms SET current_occupancy = current_occupancy + 1 " +
-                        "WHERE room_no = ?";
-                    try (PreparedStatement stmt = connection.prepareStatement(updateNewRoomSql)) {
-                        stmt.setString(1, roomNo);
-                        stmt.executeUpdate();
-                    }
-
                     // Record payment adjustment in history if needed
                     if (priceDiff != 0) {
                         String paymentSql = 
                             "INSERT INTO payment_history (student_id, amount, type, reason) " +
                             "VALUES (?, ?, ?, ?)";
-                        try (PreparedStatement stmt = connection.prepareStatement(paymentSql)) {
+                        try (PreparedStatement stmt = conn.prepareStatement(paymentSql)) {
                             stmt.setString(1, rollNo);
                             stmt.setDouble(2, Math.abs(priceDiff));
                             stmt.setString(3, priceDiff > 0 ? "CHARGE" : "REFUND");
@@ -2193,7 +2784,7 @@ public class DatabaseManager {
                     "FROM students s " +
                     "LEFT JOIN rooms r ON s.room_no = r.room_no " +
                     "WHERE s.roll_no = ?";
-                try (PreparedStatement stmt = connection.prepareStatement(verifySql)) {
+                try (PreparedStatement stmt = conn.prepareStatement(verifySql)) {
                     stmt.setString(1, rollNo);
                     ResultSet rs = stmt.executeQuery();
                     if (rs.next()) {
@@ -2206,27 +2797,24 @@ public class DatabaseManager {
                     }
                 }
 
-                connection.commit();
+                commitBedMove(conn, oldRoomNo, roomNo);
+                ChangeBus.updated(ChangeEvent.Entity.STUDENT, rollNo);
+                ChangeBus.updated(ChangeEvent.Entity.ROOM, oldRoomNo);
+                ChangeBus.updated(ChangeEvent.Entity.ROOM, roomNo);
         } catch (SQLException e) {
-                connection.rollback();
+                conn.rollback();
             throw e;
             }
         } catch (SQLException e) {
             System.out.println("❌ Error updating student room: " + e.getMessage());
             throw new RuntimeException(e);
-        } finally {
-            try {
-                connection.setAutoCommit(true);
-            } catch (SQLException e) {
-                System.err.println("Warning: Could not reset auto-commit: " + e.getMessage());
-            }
         }
     }
 
     public static void displayMealPlanDetails() {
         try {
             String sql = "SELECT * FROM meal_plan_details ORDER BY monthly_price";
-            Statement stmt = connection.createStatement();
+            Statement stmt = getConnection().createStatement();
             ResultSet rs = stmt.executeQuery(sql);
             
             System.out.println("\n=== Available Meal Plans ===");
@@ -2252,7 +2840,7 @@ public class DatabaseManager {
     public static double getMealPlanPrice(String planType) {
         try {
             String sql = "SELECT monthly_price FROM meal_plan_details WHERE plan_type = ?";
-            PreparedStatement pstmt = connection.prepareStatement(sql);
+            PreparedStatement pstmt = getConnection().prepareStatement(sql);
             pstmt.setString(1, planType);
             ResultSet rs = pstmt.executeQuery();
             
@@ -2265,201 +2853,15 @@ public class DatabaseManager {
         return 0.0;
     }
 
-    // Create room_history table if it doesn't exist
-    private static void createRoomHistoryTable() throws SQLException {
-        String sql = "CREATE TABLE room_history (" +
-                    "id INT AUTO_INCREMENT PRIMARY KEY, " +
-                    "student_id VARCHAR(20), " +
-            "room_no VARCHAR(10), " +
-                    "room_type VARCHAR(20), " +
-                    "sharing_type VARCHAR(20), " +
-                    "block VARCHAR(20), " +
-                    "floor INT, " +
-                    "check_in TIMESTAMP DEFAULT CURRENT_TIMESTAMP, " +
-                    "check_out TIMESTAMP NULL, " +
-                    "reason VARCHAR(100), " +
-                    "FOREIGN KEY (student_id) REFERENCES students(roll_no) ON DELETE SET NULL" +
-                    ")";
-        Statement stmt = connection.createStatement();
-            stmt.execute(sql);
-    }
-
-    private static void createStudentsTable() throws SQLException {
-        String sql = "CREATE TABLE IF NOT EXISTS students (" +
-            "roll_no VARCHAR(20) PRIMARY KEY, " +
-            "name VARCHAR(100) NOT NULL, " +
-            "college VARCHAR(100), " +
-            "department VARCHAR(50), " +
-            "semester VARCHAR(20), " +
-            "age INT, " +
-            "mobile VARCHAR(15), " +
-            "room_no VARCHAR(10), " +
-            "password VARCHAR(50), " +
-            "amount_paid DECIMAL(10,2) DEFAULT 0.00, " +
-            "amount_due DECIMAL(10,2) DEFAULT 0.00, " +
-            "payment_method VARCHAR(20), " +
-            "FOREIGN KEY (room_no) REFERENCES rooms(room_no) ON DELETE SET NULL" +
-            ")";
-        try (Statement stmt = connection.createStatement()) {
-            stmt.execute(sql);
-        }
-    }
-
-    private static void createRoomsTable() throws SQLException {
-        String sql = "CREATE TABLE IF NOT EXISTS rooms (" +
-            "room_no VARCHAR(10) PRIMARY KEY, " +
-            "room_type VARCHAR(20) NOT NULL, " +
-            "sharing_type VARCHAR(20) NOT NULL, " +
-            "capacity INT NOT NULL, " +
-            "current_occupancy INT DEFAULT 0, " +
-            "block_name VARCHAR(20), " +
-            "floor_no INT" +
-            ")";
-        try (Statement stmt = connection.createStatement()) {
-            stmt.execute(sql);
-        }
-    }
-
-    // Initialize tables
-    public static void initializeTables() throws SQLException {
-        createStudentsTable();
-        createRoomsTable();
-        createRoomHistoryTable();
-        // ... existing table creation calls ...
-    }
-
-    private static void dropTableIfExists(String tableName) throws SQLException {
-        String sql = "DROP TABLE IF EXISTS " + tableName;
-        Statement stmt = connection.createStatement();
-        stmt.execute(sql);
-    }
-
-    private static void createWardenTable() throws SQLException {
-        String sql = "CREATE TABLE wardens (" +
-                    "warden_id VARCHAR(20) PRIMARY KEY, " +
-                    "name VARCHAR(100) NOT NULL, " +
-                    "age INT, " +
-                    "mobile VARCHAR(15), " +
-                    "assigned_hostel VARCHAR(50), " +
-                    "block_name VARCHAR(20), " +
-                    "joining_date DATE" +
-                    ")";
-        Statement stmt = connection.createStatement();
-        stmt.execute(sql);
-    }
-
-    private static void createRoomTable() throws SQLException {
-        String sql = "CREATE TABLE rooms (" +
-                    "room_no VARCHAR(10) PRIMARY KEY, " +
-                    "room_type ENUM('Standard', 'Luxury') NOT NULL, " +
-                    "sharing_type ENUM('1 Sharing', '2 Sharing', '4 Sharing') NOT NULL, " +
-                    "capacity INT NOT NULL, " +
-                    "current_occupancy INT DEFAULT 0, " +
-                    "block_name VARCHAR(20), " +
-                    "floor_no INT" +
-                    ")";
-        Statement stmt = connection.createStatement();
-        stmt.execute(sql);
-    }
-
-    private static void createStudentTable() throws SQLException {
-        String sql = "CREATE TABLE students (" +
-                    "roll_no VARCHAR(20) PRIMARY KEY, " +
-                    "name VARCHAR(100) NOT NULL, " +
-                    "college VARCHAR(100), " +
-                    "department VARCHAR(50), " +
-                    "semester VARCHAR(20), " +
-                    "age INT, " +
-                    "mobile VARCHAR(15), " +
-                    "room_no VARCHAR(10), " +
-                    "room_type ENUM('Standard', 'Luxury'), " +
-                    "sharing_type ENUM('1 Sharing', '2 Sharing', '4 Sharing'), " +
-                    "block_name VARCHAR(20), " +
-                    "floor_no INT, " +
-                    "amount_paid DECIMAL(10,2) DEFAULT 0.00, " +
-                    "amount_due DECIMAL(10,2) DEFAULT 0.00, " +
-                    "payment_method ENUM('Cash', 'Card', 'UPI'), " +
-                    "password VARCHAR(50) NOT NULL, " +
-                    "FOREIGN KEY (room_no) REFERENCES rooms(room_no) ON DELETE SET NULL" +
-                    ")";
-        Statement stmt = connection.createStatement();
-        stmt.execute(sql);
-    }
-
-    private static void createComplaintTable() throws SQLException {
-        String sql = "CREATE TABLE complaints (" +
-                    "complaint_id INT AUTO_INCREMENT PRIMARY KEY, " +
-                    "student_roll_no VARCHAR(20), " +
-                    "complaint_text TEXT, " +
-                    "status VARCHAR(20) DEFAULT 'Pending', " +
-                    "filing_date TIMESTAMP DEFAULT CURRENT_TIMESTAMP, " +
-                    "resolution_date TIMESTAMP NULL, " +
-                    "FOREIGN KEY (student_roll_no) REFERENCES students(roll_no) ON DELETE SET NULL" +
-                    ")";
-        Statement stmt = connection.createStatement();
-        stmt.execute(sql);
-    }
-
-    private static void createMealPlanDetailsTable() throws SQLException {
-        String sql = "CREATE TABLE meal_plan_details (" +
-                    "plan_type ENUM('Basic', 'Standard', 'Premium') PRIMARY KEY, " +
-                    "price DECIMAL(10,2) NOT NULL, " +
-                    "features TEXT NOT NULL, " +
-                    "sample_menu TEXT NOT NULL" +
-                    ")";
-        Statement stmt = connection.createStatement();
-        stmt.execute(sql);
-    }
-
-    private static void createMealPlanTable() throws SQLException {
-        String sql = "CREATE TABLE meal_plans (" +
-                    "id INT AUTO_INCREMENT PRIMARY KEY, " +
-                    "student_roll_no VARCHAR(20), " +
-                    "plan_type ENUM('Basic', 'Standard', 'Premium'), " +
-                    "start_date DATE NOT NULL, " +
-                    "end_date DATE NOT NULL, " +
-                    "payment_status ENUM('Pending', 'Paid') DEFAULT 'Pending', " +
-                    "payment_method VARCHAR(20), " +
-                    "payment_details VARCHAR(100), " +
-                    "amount_paid_for_plan DECIMAL(10,2) DEFAULT 0.00," + // Added column
-                    "FOREIGN KEY (student_roll_no) REFERENCES students(roll_no) ON DELETE CASCADE, " +
-                    "FOREIGN KEY (plan_type) REFERENCES meal_plan_details(plan_type), " +
-                    "UNIQUE KEY unique_student (student_roll_no)" +
-                    ")";
-        Statement stmt = connection.createStatement();
-        stmt.execute(sql);
-    }
-
-    private static void createDailyMenuTable() throws SQLException {
-        String sql = "CREATE TABLE daily_menu (" +
-                    "menu_date DATE PRIMARY KEY, " +
-                    "breakfast TEXT, " +
-                    "lunch TEXT, " +
-                    "dinner TEXT" +
-                    ")";
-        Statement stmt = connection.createStatement();
-        stmt.execute(sql);
-    }
-
-    private static void createMealFeedbackTable() throws SQLException {
-        String sql = "CREATE TABLE IF NOT EXISTS meal_feedback (" +
-            "id INT AUTO_INCREMENT PRIMARY KEY," +
-            "student_roll_no VARCHAR(20)," +
-            "feedback_text TEXT NOT NULL," +
-            "feedback_date DATE NOT NULL," +
-            "FOREIGN KEY (student_roll_no) REFERENCES students(roll_no) ON DELETE CASCADE," +
-            "UNIQUE KEY unique_daily_feedback (student_roll_no, feedback_date)" +
-            ")";
-        connection.createStatement().executeUpdate(sql);
-    }
 
     public static boolean submitFeedback(String rollNo, String feedbackText) {
         try {
             String sql = "REPLACE INTO meal_feedback (student_roll_no, feedback_text, feedback_date) VALUES (?, ?, CURRENT_DATE)";
-            PreparedStatement pstmt = connection.prepareStatement(sql);
+            PreparedStatement pstmt = getConnection().prepareStatement(sql);
             pstmt.setString(1, rollNo);
             pstmt.setString(2, feedbackText);
             pstmt.executeUpdate();
+            ChangeBus.updated(ChangeEvent.Entity.FEEDBACK, rollNo);
             return true;
         } catch (SQLException e) {
             e.printStackTrace();
@@ -2504,24 +2906,8 @@ public class DatabaseManager {
         }
     }
 
-    // Create payment_history table
-    private static void createPaymentHistoryTable() throws SQLException {
-        String sql = "CREATE TABLE IF NOT EXISTS payment_history (" +
-                    "id INT AUTO_INCREMENT PRIMARY KEY, " +
-                    "student_id VARCHAR(20), " +
-                    "amount DECIMAL(10,2) NOT NULL, " +
-                    "type ENUM('PAYMENT', 'REFUND', 'CHARGE') NOT NULL, " +
-                    "reason VARCHAR(100), " +
-                    "transaction_date TIMESTAMP DEFAULT CURRENT_TIMESTAMP, " +
-                    "FOREIGN KEY (student_id) REFERENCES students(roll_no) ON DELETE SET NULL" +
-                    ")";
-        try (Statement stmt = connection.createStatement()) {
-            stmt.execute(sql);
-        }
-    }
-
-    public static List<Map<String, Object>> getPaymentHistory(String rollNo) {
-        List<Map<String, Object>> history = new ArrayList<>();
+    public static List<PaymentTxn> getPaymentHistoryRecords(String rollNo) {
+        List<PaymentTxn> history = new ArrayList<>();
         try {
             String sql = "SELECT ph.*, s.name as student_name " +
                         "FROM payment_history ph " +
@@ -2529,19 +2915,12 @@ public class DatabaseManager {
                         "WHERE ph.student_id = ? " +
                         "ORDER BY ph.transaction_date DESC";
             
-            try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            try (PreparedStatement pstmt = getConnection().prepareStatement(sql)) {
                 pstmt.setString(1, rollNo);
                 ResultSet rs = pstmt.executeQuery();
                 
                 while (rs.next()) {
-                    Map<String, Object> transaction = new HashMap<>();
-                    transaction.put("id", rs.getInt("id"));
-                    transaction.put("studentName", rs.getString("student_name"));
-                    transaction.put("amount", rs.getDouble("amount"));
-                    transaction.put("type", rs.getString("type"));
-                    transaction.put("reason", rs.getString("reason"));
-                    transaction.put("date", rs.getTimestamp("transaction_date"));
-                    history.add(transaction);
+                    history.add(readPaymentTxn(rs));
                 }
             }
         } catch (SQLException e) {
@@ -2550,15 +2929,17 @@ public class DatabaseManager {
         return history;
     }
 
+    public static List<Map<String, Object>> getPaymentHistory(String rollNo) {
+        List<Map<String, Object>> history = new ArrayList<>();
+        for (PaymentTxn transaction : getPaymentHistoryRecords(rollNo)) {
+            history.add(transaction.toMap());
+        }
+        return history;
+    }
+
     public static String getPaymentSummary(String rollNo) {
         try {
-            String sql = "SELECT " +
-                        "SUM(CASE WHEN type = 'PAYMENT' THEN amount ELSE 0 END) as total_paid, " +
-                        "SUM(CASE WHEN type = 'CHARGE' THEN amount ELSE 0 END) as total_charges, " +
-                        "SUM(CASE WHEN type = 'REFUND' THEN amount ELSE 0 END) as total_refunds " +
-                        "FROM payment_history WHERE student_id = ?";
-            
-            try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            try (PreparedStatement pstmt = getConnection().prepareStatement(PAYMENT_SUMMARY_SQL)) {
                 pstmt.setString(1, rollNo);
                 ResultSet rs = pstmt.executeQuery();
                 
@@ -2583,8 +2964,8 @@ public class DatabaseManager {
     }
 
     public static void validateAndFixRoomAssignments() {
-        try {
-            connection.setAutoCommit(false);
+        try (Connection conn = openConnection()) {
+            conn.setAutoCommit(false);
             try {
                 // Find inconsistencies between rooms and student records
                 String checkSql = 
@@ -2602,7 +2983,7 @@ public class DatabaseManager {
                     "OR s.floor_no != r.floor_no";
 
                 List<Map<String, Object>> inconsistencies = new ArrayList<>();
-                try (Statement stmt = connection.createStatement()) {
+                try (Statement stmt = conn.createStatement()) {
                     ResultSet rs = stmt.executeQuery(checkSql);
                     while (rs.next()) {
                         Map<String, Object> record = new HashMap<>();
@@ -2643,7 +3024,7 @@ public class DatabaseManager {
                         "amount_due = ? " +
                         "WHERE roll_no = ?";
 
-                    try (PreparedStatement pstmt = connection.prepareStatement(updateSql)) {
+                    try (PreparedStatement pstmt = conn.prepareStatement(updateSql)) {
                         pstmt.setDouble(1, newDue);
                         pstmt.setString(2, rollNo);
                         pstmt.executeUpdate();
@@ -2655,7 +3036,7 @@ public class DatabaseManager {
                             record.get("studentRoomType"), actualRoomType);
                         
                         String historySql = "INSERT INTO payment_history (student_id, amount, type, reason) VALUES (?, ?, ?, ?)";
-                        try (PreparedStatement historyStmt = connection.prepareStatement(historySql)) {
+                        try (PreparedStatement historyStmt = conn.prepareStatement(historySql)) {
                             historyStmt.setString(1, rollNo);
                             historyStmt.setDouble(2, Math.abs(newDue - currentDue));
                             historyStmt.setString(3, newDue > currentDue ? "CHARGE" : "REFUND");
@@ -2665,61 +3046,17 @@ public class DatabaseManager {
                     }
                 }
 
-                connection.commit();
+                conn.commit();
+                studentCache.invalidateAll();
             } catch (SQLException e) {
-                connection.rollback();
+                conn.rollback();
                 throw e;
             } finally {
-                connection.setAutoCommit(true);
+                conn.setAutoCommit(true);
             }
         } catch (SQLException e) {
             System.err.println("Error validating and fixing room assignments: " + e.getMessage());
             throw new RuntimeException(e);
         }
     }
-
-    // Add this method to the room transfer logic
-    private static void validateRoomTransfer(String rollNo, String roomNo) throws SQLException {
-        // Validate student exists
-        String validateStudentSql = "SELECT COUNT(*) FROM students WHERE roll_no = ?";
-        try (PreparedStatement validateStmt = connection.prepareStatement(validateStudentSql)) {
-            validateStmt.setString(1, rollNo);
-            ResultSet validateRs = validateStmt.executeQuery();
-            validateRs.next();
-            if (validateRs.getInt(1) == 0) {
-                throw new SQLException("Student not found: " + rollNo);
-            }
-        }
-
-        // If roomNo is null, we're vacating - no need to validate room
-        if (roomNo != null) {
-            // Validate room exists and has capacity
-            String validateRoomSql = "SELECT capacity, current_occupancy FROM rooms WHERE room_no = ? FOR UPDATE";
-            try (PreparedStatement validateRoomStmt = connection.prepareStatement(validateRoomSql)) {
-                validateRoomStmt.setString(1, roomNo);
-                ResultSet validateRoomRs = validateRoomStmt.executeQuery();
-                if (!validateRoomRs.next()) {
-                    throw new SQLException("Room not found: " + roomNo);
-                }
-
-                int capacity = validateRoomRs.getInt("capacity");
-                int currentOccupancy = validateRoomRs.getInt("current_occupancy");
-                
-                // Check if student is already in this room
-                String currentRoomSql = "SELECT room_no FROM students WHERE roll_no = ?";
-                try (PreparedStatement currentRoomStmt = connection.prepareStatement(currentRoomSql)) {
-                    currentRoomStmt.setString(1, rollNo);
-                    ResultSet currentRoomRs = currentRoomStmt.executeQuery();
-                    if (currentRoomRs.next() && roomNo.equals(currentRoomRs.getString("room_no"))) {
-                        throw new SQLException("Student is already assigned to room " + roomNo);
-                    }
-                }
-
-                // Only count the room as full if the student isn't currently in it
-                if (currentOccupancy >= capacity) {
-                    throw new SQLException("Room " + roomNo + " is at full capacity");
-                }
-            }
-        }
-    }
 } 
\ No newline at end of file
@@ -0,0 +1,68 @@
+package database;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Background executor for database work, so queries never run on the Swing
+ * Event Dispatch Thread.
+ *
+ * On a JDK with virtual threads each task gets its own virtual thread;
+ * otherwise tasks share a small pool of daemon threads sized to the
+ * connection pool. Every task hands its thread's pooled connection back
+ * when it finishes, so a task never holds a connection it is not using.
+ */
+public final class DbExecutor {
+    private static final int PLATFORM_THREADS = 4;
+    private static final AtomicInteger threadCount = new AtomicInteger();
+    private static final ExecutorService executor = createExecutor();
+
+    private DbExecutor() {
+    }
+
+    /**
+     * Runs {@code task} off the EDT. The future completes with the task's
+     * result, or exceptionally with whatever it threw.
+     */
+    public static <T> CompletableFuture<T> submit(Callable<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        executor.execute(() -> {
+            try {
+                future.complete(task.call());
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            } finally {
+                DatabaseManager.releaseConnection();
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Fire-and-forget variant of {@link #submit(Callable)}.
+     */
+    public static CompletableFuture<Void> run(Runnable task) {
+        return submit(() -> {
+            task.run();
+            return null;
+        });
+    }
+
+    private static ExecutorService createExecutor() {
+        // Looked up reflectively so the code still compiles and runs on Java 8
+        try {
+            Object virtual = Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            System.out.println("✓ Database tasks will run on virtual threads");
+            return (ExecutorService) virtual;
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return Executors.newFixedThreadPool(PLATFORM_THREADS, r -> {
+                Thread t = new Thread(r, "db-worker-" + threadCount.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            });
+        }
+    }
+}
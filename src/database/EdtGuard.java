@@ -0,0 +1,57 @@
+package database;
+
+import java.awt.EventQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reports JDBC calls made on the Swing Event Dispatch Thread.
+ *
+ * The pool calls {@link #check(String)} whenever a statement is created.
+ * Calls from the EDT are counted and the first one from each call site is
+ * logged with the caller's location, so blocking queries can be found and
+ * moved to {@link DbExecutor}. Set {@code -Dhms.edt.strict=true} to throw
+ * instead of logging.
+ */
+public final class EdtGuard {
+    private static final boolean STRICT = Boolean.getBoolean("hms.edt.strict");
+    private static final AtomicLong violations = new AtomicLong();
+    private static final Set<String> reportedSites = ConcurrentHashMap.newKeySet();
+
+    private EdtGuard() {
+    }
+
+    static void check(String operation) {
+        if (!EventQueue.isDispatchThread()) {
+            return;
+        }
+        violations.incrementAndGet();
+        String site = callSite();
+        if (STRICT) {
+            throw new IllegalStateException("JDBC " + operation + " on the EDT at " + site);
+        }
+        if (reportedSites.add(site)) {
+            System.err.println("Warning: JDBC " + operation + " on the Event Dispatch Thread at " + site);
+        }
+    }
+
+    /**
+     * Number of JDBC calls made on the EDT since startup.
+     */
+    public static long getViolationCount() {
+        return violations.get();
+    }
+
+    // First frame outside the database package, JDK and proxy classes
+    private static String callSite() {
+        for (StackTraceElement frame : new Throwable().getStackTrace()) {
+            String cls = frame.getClassName();
+            if (cls.startsWith("database.") || cls.startsWith("com.sun.proxy.") || cls.startsWith("jdk.proxy") || cls.startsWith("java.") || cls.startsWith("sun.") || cls.startsWith("jdk.")) {
+                continue;
+            }
+            return frame.toString();
+        }
+        return "unknown";
+    }
+}
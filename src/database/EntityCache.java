@@ -0,0 +1,256 @@
+package database;
+
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded cache of rows read by primary key, such as students by roll
+ * number, evicting by W-TinyLFU so that rows read again and again stay
+ * cached while one-off reads (a scroll through a table, a bulk export) pass
+ * through without pushing them out.
+ *
+ * New entries go into a small LRU window. An entry leaving the window is
+ * admitted to the main cache only if it has been read more often, per a
+ * compact frequency sketch, than the entry it would push out. The main cache
+ * is a segmented LRU: entries read again there move to a protected segment,
+ * and only entries in the probation segment compete with newcomers. The
+ * sketch halves its counts periodically, so old popularity fades.
+ *
+ * Values must be immutable. Misses are loaded outside the lock; a load that
+ * raced an invalidation is returned but not cached, so a write published
+ * after its commit never leaves a stale row behind. Missing rows (a null
+ * load) are not cached.
+ */
+public final class EntityCache<K, V> {
+    interface Loader<K, V> {
+        V load(K key) throws SQLException;
+    }
+
+    // Share of the capacity for the window, and of the main cache for the protected segment
+    private static final double WINDOW_SHARE = 0.01;
+    private static final double PROTECTED_SHARE = 0.80;
+
+    private final String name;
+    private final int maximumSize;
+    private final int windowMax;
+    private final int protectedMax;
+    private final FrequencySketch sketch;
+
+    // Access-ordered, so iteration starts at the least recently used entry
+    private final LinkedHashMap<K, V> window = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<K, V> probation = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<K, V> protectedSegment = new LinkedHashMap<>(16, 0.75f, true);
+
+    // Bumped by every invalidation; a load only caches its row if this has not moved
+    private long generation = 0;
+
+    private long hits = 0;
+    private long misses = 0;
+    private long evictions = 0;
+
+    EntityCache(String name, int maximumSize) {
+        this.name = name;
+        this.maximumSize = Math.max(2, maximumSize);
+        this.windowMax = Math.max(1, (int) (this.maximumSize * WINDOW_SHARE));
+        this.protectedMax = (int) ((this.maximumSize - windowMax) * PROTECTED_SHARE);
+        this.sketch = new FrequencySketch(this.maximumSize);
+    }
+
+    /**
+     * The cached row for {@code key}, or the one {@code loader} reads if it is
+     * not cached. Returns null if the row does not exist.
+     */
+    V get(K key, Loader<K, V> loader) throws SQLException {
+        long loadGeneration;
+        synchronized (this) {
+            sketch.increment(key);
+            V value = lookup(key);
+            if (value != null) {
+                hits++;
+                return value;
+            }
+            misses++;
+            loadGeneration = generation;
+        }
+        V loaded = loader.load(key);
+        if (loaded != null) {
+            synchronized (this) {
+                if (generation == loadGeneration && lookup(key) == null) {
+                    admit(key, loaded);
+                }
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Drops {@code key}'s row; the next read loads it again.
+     */
+    synchronized void invalidate(K key) {
+        generation++;
+        if (window.remove(key) == null && probation.remove(key) == null) {
+            protectedSegment.remove(key);
+        }
+    }
+
+    synchronized void invalidateAll() {
+        generation++;
+        window.clear();
+        probation.clear();
+        protectedSegment.clear();
+    }
+
+    public synchronized Stats getStats() {
+        return new Stats(name, window.size() + probation.size() + protectedSegment.size(), maximumSize,
+            hits, misses, evictions);
+    }
+
+    // Finds the entry and records the access in its segment's LRU order
+    private V lookup(K key) {
+        V value = window.get(key);
+        if (value != null) {
+            return value;
+        }
+        value = protectedSegment.get(key);
+        if (value != null) {
+            return value;
+        }
+        value = probation.remove(key);
+        if (value != null) {
+            // Read again while on probation: promote, demoting the protected LRU if full
+            protectedSegment.put(key, value);
+            if (protectedSegment.size() > protectedMax) {
+                Map.Entry<K, V> demoted = removeEldest(protectedSegment);
+                probation.put(demoted.getKey(), demoted.getValue());
+            }
+        }
+        return value;
+    }
+
+    private void admit(K key, V value) {
+        window.put(key, value);
+        if (window.size() <= windowMax) {
+            return;
+        }
+        Map.Entry<K, V> candidate = removeEldest(window);
+        if (window.size() + probation.size() + protectedSegment.size() < maximumSize) {
+            probation.put(candidate.getKey(), candidate.getValue());
+            return;
+        }
+        // Full: the window's oldest entry and the main cache's next victim
+        // compete, and the one read less often goes
+        LinkedHashMap<K, V> victims = probation.isEmpty() ? protectedSegment : probation;
+        K victim = victims.keySet().iterator().next();
+        if (sketch.frequency(candidate.getKey()) > sketch.frequency(victim)) {
+            victims.remove(victim);
+            probation.put(candidate.getKey(), candidate.getValue());
+        }
+        evictions++;
+    }
+
+    private static <K, V> Map.Entry<K, V> removeEldest(LinkedHashMap<K, V> segment) {
+        Iterator<Map.Entry<K, V>> it = segment.entrySet().iterator();
+        Map.Entry<K, V> eldest = it.next();
+        it.remove();
+        return eldest;
+    }
+
+    /**
+     * Approximate read counts per key: a count-min sketch of four rows of
+     * 4-bit counters, so it costs a few bytes per cached entry however many
+     * distinct keys are read. Counts are halved after every
+     * {@code 10 x capacity} reads.
+     */
+    private static final class FrequencySketch {
+        private static final int DEPTH = 4;
+        private static final int MAX_COUNT = 15;
+        private static final int[] SEEDS = {0x9E3779B9, 0x85EBCA6B, 0xC2B2AE35, 0x27D4EB2F};
+
+        private final byte[][] counts;
+        private final int mask;
+        private final int sampleSize;
+        private int additions = 0;
+
+        FrequencySketch(int capacity) {
+            int width = Integer.highestOneBit(Math.max(16, capacity - 1) << 1);
+            counts = new byte[DEPTH][width];
+            mask = width - 1;
+            sampleSize = 10 * capacity;
+        }
+
+        void increment(Object key) {
+            int hash = spread(key.hashCode());
+            boolean added = false;
+            for (int row = 0; row < DEPTH; row++) {
+                int i = index(hash, row);
+                if (counts[row][i] < MAX_COUNT) {
+                    counts[row][i]++;
+                    added = true;
+                }
+            }
+            if (added && ++additions >= sampleSize) {
+                age();
+            }
+        }
+
+        int frequency(Object key) {
+            int hash = spread(key.hashCode());
+            int min = MAX_COUNT;
+            for (int row = 0; row < DEPTH; row++) {
+                min = Math.min(min, counts[row][index(hash, row)]);
+            }
+            return min;
+        }
+
+        private void age() {
+            for (byte[] row : counts) {
+                for (int i = 0; i < row.length; i++) {
+                    row[i] >>= 1;
+                }
+            }
+            additions /= 2;
+        }
+
+        private int index(int hash, int row) {
+            int h = hash * SEEDS[row];
+            return (h ^ (h >>> 16)) & mask;
+        }
+
+        private static int spread(int hash) {
+            hash ^= hash >>> 16;
+            hash *= 0x45D9F3B;
+            return hash ^ (hash >>> 16);
+        }
+    }
+
+    public static final class Stats {
+        public final String name;
+        public final int size;
+        public final int maximumSize;
+        public final long hits;
+        public final long misses;
+        public final long evictions;
+
+        Stats(String name, int size, int maximumSize, long hits, long misses, long evictions) {
+            this.name = name;
+            this.size = size;
+            this.maximumSize = maximumSize;
+            this.hits = hits;
+            this.misses = misses;
+            this.evictions = evictions;
+        }
+
+        public double getHitRatio() {
+            long lookups = hits + misses;
+            return lookups == 0 ? 0.0 : (double) hits / lookups;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s: size=%d/%d, hits=%d, misses=%d, evictions=%d, hitRatio=%.1f%%",
+                name, size, maximumSize, hits, misses, evictions, getHitRatio() * 100);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package database;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import model.AllocationRequest;
+import model.StudentPreference;
+
+/**
+ * Reads an intake list for bulk room allocation from a CSV file.
+ *
+ * The first line is a header naming the columns, in any order and case.
+ * {@code roll_no} is required. Each row either names a {@code room_no}, or
+ * gives a {@code room_type} and {@code sharing_type} preference, optionally
+ * narrowed by {@code block_name} and/or {@code floor_no}. For planned
+ * allocation, {@code roommates} lists the roll numbers a student wants to
+ * share with, separated by semicolons. Unlike a CSV import, a bad row fails
+ * the whole file, so an intake is never allocated with some of its students
+ * silently missing.
+ */
+public final class IntakeReader {
+    public static final String COLUMNS =
+        "Required: roll_no   Either: room_no, or room_type and sharing_type   Optional: block_name, floor_no";
+    public static final String PREFERENCE_COLUMNS =
+        "Required: roll_no, room_type, sharing_type   Optional: block_name, roommates (separated by ;)";
+
+    private IntakeReader() {
+    }
+
+    /**
+     * One request per data row, in file order. Throws with the line number
+     * if the file cannot be read or a row is invalid.
+     */
+    public static List<AllocationRequest> readRequests(File file) throws IOException {
+        return read(file, IntakeReader::request);
+    }
+
+    /**
+     * One preference per data row, in file order, for
+     * {@code AllocationOptimizer}. Specific rooms and floors are not part of a
+     * preference, so {@code room_no} and {@code floor_no} are ignored.
+     */
+    public static List<StudentPreference> readPreferences(File file) throws IOException {
+        return read(file, IntakeReader::preference);
+    }
+
+    private interface RowParser<T> {
+        T parse(Map<String, Integer> columns, List<String> record);
+    }
+
+    private static <T> List<T> read(File file, RowParser<T> parser) throws IOException {
+        List<T> rows = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            CsvReader csv = new CsvReader(reader);
+            List<String> header = csv.next();
+            if (header == null) {
+                throw new IOException("File is empty");
+            }
+            Map<String, Integer> columns = new HashMap<>();
+            for (int i = 0; i < header.size(); i++) {
+                columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+            }
+            if (!columns.containsKey("roll_no")) {
+                throw new IOException("Missing required column: roll_no");
+            }
+
+            List<String> record;
+            while ((record = csv.next()) != null) {
+                if (record.size() == 1 && record.get(0).trim().isEmpty()) {
+                    continue;  // Blank line
+                }
+                try {
+                    rows.add(parser.parse(columns, record));
+                } catch (IllegalArgumentException e) {
+                    throw new IOException("Line " + csv.recordLine + ": " + e.getMessage());
+                }
+            }
+        }
+        return rows;
+    }
+
+    private static AllocationRequest request(Map<String, Integer> columns, List<String> record) {
+        String rollNo = value(columns, record, "roll_no");
+        if (rollNo == null) {
+            throw new IllegalArgumentException("roll_no is empty");
+        }
+        String roomNo = value(columns, record, "room_no");
+        if (roomNo != null) {
+            return AllocationRequest.forRoom(rollNo, roomNo);
+        }
+        String roomType = value(columns, record, "room_type");
+        String sharingType = value(columns, record, "sharing_type");
+        if (roomType == null || sharingType == null) {
+            throw new IllegalArgumentException("give a room_no, or a room_type and sharing_type");
+        }
+        String floor = value(columns, record, "floor_no");
+        Integer floorNo;
+        try {
+            floorNo = floor == null ? null : Integer.valueOf(floor);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("floor_no must be a number, got '" + floor + "'");
+        }
+        return AllocationRequest.byPreference(rollNo, CsvImporter.roomType(roomType),
+            CsvImporter.sharingType(sharingType), value(columns, record, "block_name"), floorNo);
+    }
+
+    private static StudentPreference preference(Map<String, Integer> columns, List<String> record) {
+        String rollNo = value(columns, record, "roll_no");
+        String roomType = value(columns, record, "room_type");
+        String sharingType = value(columns, record, "sharing_type");
+        if (rollNo == null || roomType == null || sharingType == null) {
+            throw new IllegalArgumentException("roll_no, room_type and sharing_type are required");
+        }
+        List<String> roommates = new ArrayList<>();
+        String listed = value(columns, record, "roommates");
+        if (listed != null) {
+            for (String roommate : listed.split(";")) {
+                if (!roommate.trim().isEmpty()) {
+                    roommates.add(roommate.trim());
+                }
+            }
+        }
+        return new StudentPreference(rollNo, CsvImporter.roomType(roomType), CsvImporter.sharingType(sharingType),
+            value(columns, record, "block_name"), roommates);
+    }
+
+    // Trimmed value of the column, or null if the column is absent or the value blank
+    private static String value(Map<String, Integer> columns, List<String> record, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= record.size()) {
+            return null;
+        }
+        String value = record.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+}
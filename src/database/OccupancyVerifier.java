@@ -0,0 +1,107 @@
+package database;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Checks the stored occupancy of rooms whose counter was just changed
+ * against the students actually assigned to them, and corrects any drift.
+ *
+ * The write paths keep {@code rooms.current_occupancy} up to date
+ * themselves, in the same transaction as the assignment, so this is a safety
+ * net rather than part of the write: {@link DatabaseManager#claimBed} and
+ * {@link DatabaseManager#releaseBed} mark the room dirty, and shortly after,
+ * one low-priority background thread recounts just the dirty rooms. Rooms
+ * nobody touched are never recounted. If the database cannot be reached the
+ * unchecked rooms are kept and the pass is retried with growing delays.
+ */
+final class OccupancyVerifier {
+    // Rooms marked within this window of each other are checked in one pass
+    private static final long DELAY_MILLIS = 2000;
+    // A pass that fails is retried after a delay doubling up to this
+    private static final long MAX_RETRY_DELAY_MILLIS = 60_000;
+
+    // Recount of one room, also explained by QueryPlanCheckTest
+    static final String RECOUNT_SQL =
+        "UPDATE rooms SET current_occupancy = (SELECT COUNT(*) FROM students WHERE room_no = ?) " +
+        "WHERE room_no = ? AND current_occupancy <> (SELECT COUNT(*) FROM students WHERE room_no = ?)";
+
+    private static final Set<String> dirtyRooms = ConcurrentHashMap.newKeySet();
+    private static final AtomicBoolean scheduled = new AtomicBoolean(false);
+    // Only read and written on the verifier thread
+    private static long retryDelayMillis = DELAY_MILLIS;
+
+    private static final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "occupancy-verifier");
+        t.setDaemon(true);
+        t.setPriority(Thread.MIN_PRIORITY);
+        return t;
+    });
+
+    private OccupancyVerifier() {
+    }
+
+    /**
+     * Queues {@code roomNo} for a check. Marking it again before the check
+     * runs adds nothing.
+     */
+    static void markDirty(String roomNo) {
+        if (roomNo == null) {
+            return;
+        }
+        dirtyRooms.add(roomNo);
+        if (scheduled.compareAndSet(false, true)) {
+            executor.schedule(OccupancyVerifier::verifyDirtyRooms, DELAY_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private static void verifyDirtyRooms() {
+        // Cleared first, so a room marked during this pass schedules another
+        scheduled.set(false);
+        List<String> rooms = new ArrayList<>(dirtyRooms);
+        dirtyRooms.removeAll(rooms);
+        int checked = 0;
+        try {
+            for (String roomNo : rooms) {
+                if (correct(roomNo)) {
+                    System.err.println("Warning: Occupancy of room " + roomNo + " had drifted and was corrected");
+                    DatabaseManager.invalidateRoomIndex();
+                    ChangeBus.updated(ChangeEvent.Entity.ROOM, roomNo);
+                }
+                checked++;
+            }
+            retryDelayMillis = DELAY_MILLIS;
+        } catch (SQLException e) {
+            dirtyRooms.addAll(rooms.subList(checked, rooms.size()));
+            retryDelayMillis = Math.min(retryDelayMillis * 2, MAX_RETRY_DELAY_MILLIS);
+            System.err.println("Warning: Could not verify room occupancy, retrying in " +
+                               retryDelayMillis / 1000 + "s: " + e.getMessage());
+            // Unless a room marked meanwhile already scheduled the next pass
+            if (scheduled.compareAndSet(false, true)) {
+                executor.schedule(OccupancyVerifier::verifyDirtyRooms, retryDelayMillis, TimeUnit.MILLISECONDS);
+            }
+        } finally {
+            DatabaseManager.releaseConnection();
+        }
+    }
+
+    // Sets the room's counter to its assigned students if they differ; true if it did
+    private static boolean correct(String roomNo) throws SQLException {
+        if (DatabaseManager.getConnection() == null) {
+            throw new SQLException("Not connected to database");
+        }
+        PreparedStatement pstmt = DatabaseManager.getConnection().prepareStatement(RECOUNT_SQL);
+        pstmt.setString(1, roomNo);
+        pstmt.setString(2, roomNo);
+        pstmt.setString(3, roomNo);
+        return pstmt.executeUpdate() > 0;
+    }
+}
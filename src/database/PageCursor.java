@@ -0,0 +1,47 @@
+package database;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.Base64;
+
+/**
+ * Encodes the position of the last row of a page as an opaque cursor token.
+ * Timestamp-ordered listings use (millis, id); roll-number listings use the
+ * key itself.
+ */
+final class PageCursor {
+    final long timestamp;
+    final int id;
+
+    private PageCursor(long timestamp, int id) {
+        this.timestamp = timestamp;
+        this.id = id;
+    }
+
+    static String encode(long timestamp, int id) {
+        return encode(timestamp + ":" + id);
+    }
+
+    static String encode(String key) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static String decodeKey(String cursor) throws SQLException {
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new SQLException("Invalid page cursor: " + cursor);
+        }
+    }
+
+    static PageCursor decode(String cursor) throws SQLException {
+        String key = decodeKey(cursor);
+        int separator = key.indexOf(':');
+        try {
+            return new PageCursor(Long.parseLong(key.substring(0, separator)),
+                                  Integer.parseInt(key.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new SQLException("Invalid page cursor: " + cursor);
+        }
+    }
+}
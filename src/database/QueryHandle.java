@@ -0,0 +1,50 @@
+package database;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Lets another thread cancel a query that is running on a worker: the
+ * worker registers each statement before executing it, and {@link #cancel()}
+ * calls {@link Statement#cancel()} on whichever one is running.
+ */
+public final class QueryHandle {
+    private volatile boolean cancelled = false;
+    private Statement running;
+
+    /**
+     * Records the statement about to run. Throws if the handle has already
+     * been cancelled, so a cancelled search does not start another query.
+     */
+    public synchronized void register(Statement statement) throws SQLException {
+        if (cancelled) {
+            throw new SQLException("Query cancelled");
+        }
+        running = statement;
+    }
+
+    public synchronized void unregister(Statement statement) {
+        if (running == statement) {
+            running = null;
+        }
+    }
+
+    public void cancel() {
+        Statement statement;
+        synchronized (this) {
+            cancelled = true;
+            statement = running;
+        }
+        if (statement != null) {
+            try {
+                statement.cancel();
+            } catch (SQLException e) {
+                System.err.println("Warning: Could not cancel query: " + e.getMessage());
+            }
+        }
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+}
@@ -0,0 +1,30 @@
+package database;
+
+/**
+ * A bed held in a room by {@link BedReservations} until it is confirmed,
+ * cancelled or expires.
+ */
+public final class Reservation {
+    private final String token;
+    private final String roomNo;
+    private final long expiresAtMillis;
+
+    Reservation(String token, String roomNo, long expiresAtMillis) {
+        this.token = token;
+        this.roomNo = roomNo;
+        this.expiresAtMillis = expiresAtMillis;
+    }
+
+    public String getToken() { return token; }
+    public String getRoomNo() { return roomNo; }
+    public long getExpiresAtMillis() { return expiresAtMillis; }
+
+    public boolean isExpired() {
+        return System.currentTimeMillis() >= expiresAtMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "Reservation[" + token + ", room " + roomNo + "]";
+    }
+}
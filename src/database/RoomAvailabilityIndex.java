@@ -0,0 +1,192 @@
+package database;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+import model.Room;
+
+/**
+ * In-memory index of free beds, so finding a room for a student does not
+ * need a database round trip.
+ *
+ * Rooms with at least one free bed are kept in sorted sets keyed by
+ * (room type, sharing type), (type, sharing, block), (type, sharing, floor)
+ * and (type, sharing, block, floor); a lookup at any of those levels is a
+ * single map access. Per-room occupancy is tracked so a bed can be taken or given
+ * back after a committed transfer without reloading anything.
+ *
+ * The index is rebuilt from the database by {@link DatabaseManager} at
+ * startup and whenever occupancy is recounted in bulk. All methods are
+ * synchronized, so an update is seen completely or not at all.
+ */
+public final class RoomAvailabilityIndex {
+    private static final char SEP = '\u0000';
+    // Stands in for the block in the key of a floor in any block
+    private static final char ANY_BLOCK = '\u0001';
+
+    private final Map<String, Slot> rooms = new HashMap<>();
+    private final Map<String, NavigableSet<String>> available = new HashMap<>();
+    private final Map<String, Integer> freeBeds = new HashMap<>();
+
+    RoomAvailabilityIndex(List<Room> snapshot) {
+        for (Room room : snapshot) {
+            Slot slot = new Slot(room);
+            rooms.put(room.getRoomNo(), slot);
+            addFree(slot, slot.free());
+        }
+    }
+
+    /**
+     * Lowest-numbered room with a free bed matching the given attributes, or
+     * null if none. {@code blockName} and {@code floorNo} may each be null to
+     * match any block or floor.
+     */
+    public synchronized String findFreeRoom(String roomType, String sharingType, String blockName, Integer floorNo) {
+        NavigableSet<String> matches = available.get(key(roomType, sharingType, blockName, floorNo));
+        return matches == null || matches.isEmpty() ? null : matches.first();
+    }
+
+    /**
+     * All rooms with a free bed for the type and sharing, in room number order.
+     */
+    public synchronized List<String> availableRooms(String roomType, String sharingType) {
+        NavigableSet<String> matches = available.get(key(roomType, sharingType, null, null));
+        return matches == null ? new ArrayList<>() : new ArrayList<>(matches);
+    }
+
+    /**
+     * Total free beds for the given attributes; null block/floor as in
+     * {@link #findFreeRoom}.
+     */
+    public synchronized int freeBeds(String roomType, String sharingType, String blockName, Integer floorNo) {
+        Integer beds = freeBeds.get(key(roomType, sharingType, blockName, floorNo));
+        return beds == null ? 0 : beds;
+    }
+
+    public synchronized boolean contains(String roomNo) {
+        return rooms.containsKey(roomNo);
+    }
+
+    /**
+     * Free beds in one room, or -1 if the room is unknown.
+     */
+    public synchronized int freeBeds(String roomNo) {
+        Slot slot = rooms.get(roomNo);
+        return slot == null ? -1 : slot.free();
+    }
+
+    public synchronized boolean hasFreeBed(String roomNo) {
+        Slot slot = rooms.get(roomNo);
+        return slot != null && slot.free() > 0;
+    }
+
+    /**
+     * Takes one bed in the room. Returns false, leaving the index unchanged,
+     * if the room is unknown or already full.
+     */
+    public synchronized boolean occupy(String roomNo) {
+        Slot slot = rooms.get(roomNo);
+        if (slot == null || slot.free() <= 0) {
+            return false;
+        }
+        setOccupancy(slot, slot.occupancy + 1);
+        return true;
+    }
+
+    /**
+     * Gives back one bed in the room. Unknown or empty rooms are ignored.
+     */
+    public synchronized void release(String roomNo) {
+        Slot slot = rooms.get(roomNo);
+        if (slot != null && slot.occupancy > 0) {
+            setOccupancy(slot, slot.occupancy - 1);
+        }
+    }
+
+    /**
+     * Moves one bed from {@code fromRoomNo} to {@code toRoomNo}; either may be
+     * null for an initial assignment or a vacate.
+     */
+    public synchronized void transfer(String fromRoomNo, String toRoomNo) {
+        if (fromRoomNo != null && fromRoomNo.equals(toRoomNo)) {
+            return;
+        }
+        if (fromRoomNo != null) {
+            release(fromRoomNo);
+        }
+        if (toRoomNo != null) {
+            occupy(toRoomNo);
+        }
+    }
+
+    public synchronized int size() {
+        return rooms.size();
+    }
+
+    private void setOccupancy(Slot slot, int occupancy) {
+        int before = slot.free();
+        slot.occupancy = occupancy;
+        addFree(slot, slot.free() - before);
+    }
+
+    // Applies a change in free beds to every bucket the room belongs to
+    private void addFree(Slot slot, int delta) {
+        boolean free = slot.free() > 0;
+        for (String bucket : slot.buckets) {
+            NavigableSet<String> set = available.get(bucket);
+            if (free) {
+                if (set == null) {
+                    set = new TreeSet<>();
+                    available.put(bucket, set);
+                }
+                set.add(slot.roomNo);
+            } else if (set != null) {
+                set.remove(slot.roomNo);
+            }
+            freeBeds.merge(bucket, delta, Integer::sum);
+        }
+    }
+
+    private static String key(String roomType, String sharingType, String blockName, Integer floorNo) {
+        StringBuilder key = new StringBuilder();
+        key.append(roomType).append(SEP).append(sharingType);
+        if (blockName != null) {
+            key.append(SEP).append(blockName);
+        } else if (floorNo != null) {
+            key.append(SEP).append(ANY_BLOCK);
+        }
+        if (floorNo != null) {
+            key.append(SEP).append(floorNo.intValue());
+        }
+        return key.toString();
+    }
+
+    private static final class Slot {
+        final String roomNo;
+        final int capacity;
+        final String[] buckets;
+        int occupancy;
+
+        Slot(Room room) {
+            this.roomNo = room.getRoomNo();
+            this.capacity = room.getCapacity();
+            this.occupancy = room.getCurrentOccupancy();
+            // A room without a block has fewer distinct buckets; each is counted once
+            Set<String> keys = new LinkedHashSet<>();
+            keys.add(key(room.getRoomType(), room.getSharingType(), null, null));
+            keys.add(key(room.getRoomType(), room.getSharingType(), room.getBlockName(), null));
+            keys.add(key(room.getRoomType(), room.getSharingType(), null, room.getFloorNo()));
+            keys.add(key(room.getRoomType(), room.getSharingType(), room.getBlockName(), room.getFloorNo()));
+            this.buckets = keys.toArray(new String[0]);
+        }
+
+        int free() {
+            return Math.max(0, capacity - occupancy);
+        }
+    }
+}
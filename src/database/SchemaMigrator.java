@@ -0,0 +1,342 @@
+package database;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Versioned schema migrations.
+ *
+ * Each migration is an ordered list of statements with a version number.
+ * Applied migrations are recorded in {@code schema_version} with a SHA-256
+ * checksum of their statements, so connecting only runs the migrations a
+ * database has not seen yet, and an already-applied migration that has been
+ * edited is reported instead of silently diverging. New schema changes go in
+ * a new migration at the end of {@link #MIGRATIONS}; never edit one that has
+ * shipped.
+ *
+ * MySQL commits DDL as it runs, so a migration that fails halfway is not
+ * rolled back. Statements are written so that re-running them after fixing
+ * the cause is harmless.
+ */
+public final class SchemaMigrator {
+    // Version of the migration that creates the tables themselves
+    public static final int BASELINE_VERSION = 1;
+
+    // MySQL error for adding an index whose name is already taken
+    private static final int ER_DUP_KEYNAME = 1061;
+
+    // Serialises migrations between application instances starting at the same time
+    private static final String LOCK_NAME = "hms_schema_migration";
+    private static final int LOCK_TIMEOUT_SECONDS = 30;
+
+    private static final List<Migration> MIGRATIONS = Collections.unmodifiableList(Arrays.asList(
+        // Tables as created by the original drop-and-recreate setup; IF NOT EXISTS lets
+        // databases created that way adopt this migration without losing data
+        new Migration(BASELINE_VERSION, "Baseline schema",
+            "CREATE TABLE IF NOT EXISTS admins (" +
+            "username VARCHAR(50) PRIMARY KEY," +
+            "password VARCHAR(50) NOT NULL" +
+            ")",
+
+            "CREATE TABLE IF NOT EXISTS wardens (" +
+            "warden_id VARCHAR(20) PRIMARY KEY," +
+            "name VARCHAR(100) NOT NULL," +
+            "age INT," +
+            "mobile VARCHAR(15)," +
+            "assigned_hostel VARCHAR(50)," +
+            "block_name VARCHAR(20)," +
+            "joining_date DATE" +
+            ")",
+
+            "CREATE TABLE IF NOT EXISTS rooms (" +
+            "room_no VARCHAR(10) PRIMARY KEY," +
+            "room_type ENUM('Standard', 'Luxury') NOT NULL," +
+            "sharing_type ENUM('1 Sharing', '2 Sharing', '4 Sharing') NOT NULL," +
+            "capacity INT NOT NULL," +
+            "current_occupancy INT DEFAULT 0," +
+            "block_name VARCHAR(20)," +
+            "floor_no INT" +
+            ")",
+
+            "CREATE TABLE IF NOT EXISTS students (" +
+            "roll_no VARCHAR(20) PRIMARY KEY," +
+            "name VARCHAR(100) NOT NULL," +
+            "college VARCHAR(100)," +
+            "department VARCHAR(50)," +
+            "semester VARCHAR(20)," +
+            "age INT," +
+            "mobile VARCHAR(15)," +
+            "room_no VARCHAR(10)," +
+            "room_type ENUM('Standard', 'Luxury')," +
+            "sharing_type ENUM('1 Sharing', '2 Sharing', '4 Sharing')," +
+            "block_name VARCHAR(20)," +
+            "floor_no INT," +
+            "amount_paid DECIMAL(10,2) DEFAULT 0.00," +
+            "amount_due DECIMAL(10,2) DEFAULT 0.00," +
+            "payment_method VARCHAR(20)," +
+            "password VARCHAR(50) NOT NULL," +
+            "FOREIGN KEY (room_no) REFERENCES rooms(room_no) ON DELETE SET NULL" +
+            ")",
+
+            "CREATE TABLE IF NOT EXISTS payment_history (" +
+            "id INT AUTO_INCREMENT PRIMARY KEY," +
+            "student_id VARCHAR(20)," +
+            "amount DECIMAL(10,2) NOT NULL," +
+            "type ENUM('PAYMENT', 'REFUND', 'CHARGE') NOT NULL," +
+            "reason VARCHAR(100)," +
+            "transaction_date TIMESTAMP DEFAULT CURRENT_TIMESTAMP," +
+            "FOREIGN KEY (student_id) REFERENCES students(roll_no) ON DELETE SET NULL" +
+            ")",
+
+            "CREATE TABLE IF NOT EXISTS complaints (" +
+            "complaint_id INT AUTO_INCREMENT PRIMARY KEY," +
+            "student_roll_no VARCHAR(20)," +
+            "complaint_text TEXT," +
+            "status VARCHAR(20) DEFAULT 'Pending'," +
+            "filing_date TIMESTAMP DEFAULT CURRENT_TIMESTAMP," +
+            "resolution_date TIMESTAMP NULL," +
+            "FOREIGN KEY (student_roll_no) REFERENCES students(roll_no) ON DELETE SET NULL" +
+            ")",
+
+            "CREATE TABLE IF NOT EXISTS meal_plan_details (" +
+            "plan_type ENUM('Basic', 'Standard', 'Premium') PRIMARY KEY," +
+            "price DECIMAL(10,2) NOT NULL," +
+            "features TEXT NOT NULL," +
+            "sample_menu TEXT NOT NULL" +
+            ")",
+
+            "CREATE TABLE IF NOT EXISTS meal_plans (" +
+            "id INT AUTO_INCREMENT PRIMARY KEY," +
+            "student_roll_no VARCHAR(20)," +
+            "plan_type ENUM('Basic', 'Standard', 'Premium')," +
+            "start_date DATE NOT NULL," +
+            "end_date DATE NOT NULL," +
+            "payment_status ENUM('Pending', 'Paid') DEFAULT 'Pending'," +
+            "payment_method VARCHAR(20)," +
+            "payment_details VARCHAR(100)," +
+            "amount_paid_for_plan DECIMAL(10,2) DEFAULT 0.00," +
+            "FOREIGN KEY (student_roll_no) REFERENCES students(roll_no) ON DELETE CASCADE," +
+            "FOREIGN KEY (plan_type) REFERENCES meal_plan_details(plan_type)," +
+            "UNIQUE KEY unique_student (student_roll_no)" +
+            ")",
+
+            "CREATE TABLE IF NOT EXISTS daily_menu (" +
+            "menu_date DATE PRIMARY KEY," +
+            "breakfast TEXT," +
+            "lunch TEXT," +
+            "dinner TEXT" +
+            ")",
+
+            "CREATE TABLE IF NOT EXISTS meal_feedback (" +
+            "id INT AUTO_INCREMENT PRIMARY KEY," +
+            "student_roll_no VARCHAR(20)," +
+            "feedback_text TEXT NOT NULL," +
+            "feedback_date DATE NOT NULL," +
+            "FOREIGN KEY (student_roll_no) REFERENCES students(roll_no) ON DELETE CASCADE," +
+            "UNIQUE KEY unique_daily_feedback (student_roll_no, feedback_date)" +
+            ")",
+
+            "CREATE TABLE IF NOT EXISTS room_history (" +
+            "id INT AUTO_INCREMENT PRIMARY KEY," +
+            "student_id VARCHAR(20)," +
+            "room_no VARCHAR(10)," +
+            "room_type VARCHAR(20)," +
+            "sharing_type VARCHAR(20)," +
+            "block VARCHAR(20)," +
+            "floor INT," +
+            "check_in TIMESTAMP DEFAULT CURRENT_TIMESTAMP," +
+            "check_out TIMESTAMP NULL," +
+            "reason VARCHAR(100)," +
+            "FOREIGN KEY (student_id) REFERENCES students(roll_no) ON DELETE SET NULL" +
+            ")"),
+
+        // Secondary indexes for the columns the hot queries filter on; QueryPlanCheckTest
+        // verifies the queries still use them
+        new Migration(2, "Indexes for hot query predicates",
+            "ALTER TABLE students ADD INDEX idx_students_room_no (room_no)",
+            "ALTER TABLE complaints ADD INDEX idx_complaints_status (status)",
+            "ALTER TABLE complaints ADD INDEX idx_complaints_student (student_roll_no, filing_date)",
+            "ALTER TABLE payment_history ADD INDEX idx_payment_history_student (student_id)",
+            "ALTER TABLE room_history ADD INDEX idx_room_history_open (student_id, check_out)",
+            "ALTER TABLE rooms ADD INDEX idx_rooms_type (room_type, sharing_type)"),
+
+        // Relevance search over complaint and feedback text; TextSearch uses
+        // them when present. Databases that already gained them at connect
+        // time skip the duplicate key names
+        new Migration(3, "Full-text indexes for complaint and feedback search",
+            "ALTER TABLE complaints ADD FULLTEXT INDEX ft_complaint_text (complaint_text)",
+            "ALTER TABLE meal_feedback ADD FULLTEXT INDEX ft_feedback_text (feedback_text)")
+    ));
+
+    private SchemaMigrator() {
+    }
+
+    /**
+     * Applies the migrations this database is missing, in version order, and
+     * returns the versions applied (empty when the schema is current).
+     * Throws if an applied migration's checksum no longer matches.
+     */
+    public static List<Integer> migrate(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate(
+                "CREATE TABLE IF NOT EXISTS schema_version (" +
+                "version INT PRIMARY KEY," +
+                "description VARCHAR(200) NOT NULL," +
+                "checksum CHAR(64) NOT NULL," +
+                "applied_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP" +
+                ")"
+            );
+        }
+
+        // Nothing to lock for when every migration is already recorded
+        Map<Integer, String> applied = appliedChecksums(conn);
+        verify(applied);
+        if (applied.size() == MIGRATIONS.size()) {
+            return Collections.emptyList();
+        }
+
+        acquireLock(conn);
+        try {
+            // Another instance may have migrated while this one waited for the lock
+            applied = appliedChecksums(conn);
+            verify(applied);
+            List<Integer> versions = new ArrayList<>();
+            for (Migration migration : MIGRATIONS) {
+                if (!applied.containsKey(migration.version)) {
+                    apply(conn, migration);
+                    versions.add(migration.version);
+                }
+            }
+            return versions;
+        } finally {
+            releaseLock(conn);
+        }
+    }
+
+    /**
+     * Highest migration version this build knows about.
+     */
+    public static int latestVersion() {
+        return MIGRATIONS.get(MIGRATIONS.size() - 1).version;
+    }
+
+    private static void apply(Connection conn, Migration migration) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            for (String sql : migration.statements) {
+                try {
+                    stmt.executeUpdate(sql);
+                } catch (SQLException e) {
+                    // MySQL has no ADD INDEX IF NOT EXISTS; an index left by an earlier,
+                    // partly applied run is already what this statement wants
+                    if (e.getErrorCode() != ER_DUP_KEYNAME) {
+                        throw e;
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            throw new SQLException("Migration " + migration.version + " (" + migration.description +
+                                   ") failed: " + e.getMessage(), e.getSQLState(), e.getErrorCode(), e);
+        }
+        try (PreparedStatement pstmt = conn.prepareStatement(
+                "INSERT INTO schema_version (version, description, checksum) VALUES (?, ?, ?)")) {
+            pstmt.setInt(1, migration.version);
+            pstmt.setString(2, migration.description);
+            pstmt.setString(3, migration.checksum);
+            pstmt.executeUpdate();
+        }
+        System.out.println("✓ Applied schema migration " + migration.version + ": " + migration.description);
+    }
+
+    private static Map<Integer, String> appliedChecksums(Connection conn) throws SQLException {
+        Map<Integer, String> applied = new HashMap<>();
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT version, checksum FROM schema_version")) {
+            while (rs.next()) {
+                applied.put(rs.getInt(1), rs.getString(2));
+            }
+        }
+        return applied;
+    }
+
+    private static void verify(Map<Integer, String> applied) throws SQLException {
+        for (Migration migration : MIGRATIONS) {
+            String checksum = applied.get(migration.version);
+            if (checksum != null && !checksum.equals(migration.checksum)) {
+                throw new SQLException("Schema migration " + migration.version + " (" + migration.description +
+                                       ") was changed after it was applied to this database");
+            }
+        }
+        for (Integer version : applied.keySet()) {
+            if (version > latestVersion()) {
+                System.err.println("Warning: Database schema version " + version +
+                                   " is newer than this application supports (" + latestVersion() + ")");
+                break;
+            }
+        }
+    }
+
+    private static void acquireLock(Connection conn) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement("SELECT GET_LOCK(?, ?)")) {
+            pstmt.setString(1, LOCK_NAME);
+            pstmt.setInt(2, LOCK_TIMEOUT_SECONDS);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (!rs.next() || rs.getInt(1) != 1) {
+                    throw new SQLException("Timed out waiting for another instance to finish migrating the schema");
+                }
+            }
+        }
+    }
+
+    private static void releaseLock(Connection conn) {
+        try (PreparedStatement pstmt = conn.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+            pstmt.setString(1, LOCK_NAME);
+            pstmt.executeQuery().close();
+        } catch (SQLException e) {
+            System.err.println("Warning: Could not release schema migration lock: " + e.getMessage());
+        }
+    }
+
+    private static final class Migration {
+        final int version;
+        final String description;
+        final String[] statements;
+        final String checksum;
+
+        Migration(int version, String description, String... statements) {
+            this.version = version;
+            this.description = description;
+            this.statements = statements;
+            this.checksum = checksum(statements);
+        }
+
+        private static String checksum(String[] statements) {
+            try {
+                MessageDigest digest = MessageDigest.getInstance("SHA-256");
+                for (String sql : statements) {
+                    digest.update(sql.getBytes(StandardCharsets.UTF_8));
+                    digest.update((byte) 0);
+                }
+                StringBuilder hex = new StringBuilder(64);
+                for (byte b : digest.digest()) {
+                    hex.append(String.format("%02x", b));
+                }
+                return hex.toString();
+            } catch (NoSuchAlgorithmException e) {
+                // Every Java platform is required to provide SHA-256
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
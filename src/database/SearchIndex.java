@@ -0,0 +1,219 @@
+package database;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory substring index over a few text fields per record (a name, an
+ * id, a mobile number), keyed by the record's primary key.
+ *
+ * Every field is broken into its 1-, 2- and 3-character grams. A query of up
+ * to three characters is answered by one posting set; a longer query
+ * intersects the sets of its trigrams, smallest first, and checks the
+ * survivors against the full text. Matches are ranked: an exact field first,
+ * then a field prefix, a word prefix and finally any other substring. Entries
+ * are added, replaced and removed one at a time as records change.
+ */
+public final class SearchIndex {
+    private static final int GRAM = 3;
+
+    private static final int EXACT = 0;
+    private static final int PREFIX = 1;
+    private static final int WORD_PREFIX = 2;
+    private static final int SUBSTRING = 3;
+
+    private final Map<String, String[]> entries = new HashMap<>();
+    private final Map<String, Set<String>> postings = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    SearchIndex() {
+    }
+
+    /**
+     * Adds the record, or replaces its fields if the key is already indexed.
+     * Null fields are skipped.
+     */
+    public void put(String key, String... fields) {
+        String[] normalized = new String[fields.length];
+        for (int i = 0; i < fields.length; i++) {
+            normalized[i] = fields[i] == null ? null : normalize(fields[i]);
+        }
+        lock.writeLock().lock();
+        try {
+            String[] old = entries.put(key, normalized);
+            if (old != null) {
+                unpost(key, old);
+            }
+            for (String field : normalized) {
+                if (field == null) {
+                    continue;
+                }
+                for (String gram : grams(field)) {
+                    postings.computeIfAbsent(gram, g -> new HashSet<>()).add(key);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String key) {
+        lock.writeLock().lock();
+        try {
+            String[] old = entries.remove(key);
+            if (old != null) {
+                unpost(key, old);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Keys of the records with a field containing {@code query} (ignoring
+     * case), best match first, ties broken by key. Returns at most
+     * {@code limit} keys; 0 or less means all.
+     */
+    public List<String> search(String query, int limit) {
+        String q = normalize(query);
+        if (q.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Match> matches = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (String key : candidates(q)) {
+                int rank = rank(entries.get(key), q);
+                if (rank >= 0) {
+                    matches.add(new Match(key, rank));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        Collections.sort(matches, Comparator.comparingInt((Match m) -> m.rank).thenComparing(m -> m.key));
+        int size = limit > 0 ? Math.min(limit, matches.size()) : matches.size();
+        List<String> keys = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            keys.add(matches.get(i).key);
+        }
+        return keys;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Keys that contain every gram of the query; long queries still need checking
+    private Set<String> candidates(String q) {
+        if (q.length() <= GRAM) {
+            Set<String> keys = postings.get(q);
+            return keys == null ? Collections.<String>emptySet() : keys;
+        }
+        List<Set<String>> sets = new ArrayList<>();
+        for (int i = 0; i + GRAM <= q.length(); i++) {
+            Set<String> keys = postings.get(q.substring(i, i + GRAM));
+            if (keys == null) {
+                return Collections.emptySet();
+            }
+            sets.add(keys);
+        }
+        Collections.sort(sets, Comparator.comparingInt(Set::size));
+        Set<String> result = new HashSet<>(sets.get(0));
+        for (int i = 1; i < sets.size() && !result.isEmpty(); i++) {
+            result.retainAll(sets.get(i));
+        }
+        return result;
+    }
+
+    // Best rank over the fields, or -1 if none contains the query
+    private static int rank(String[] fields, String q) {
+        int best = -1;
+        for (String field : fields) {
+            if (field == null) {
+                continue;
+            }
+            int at = field.indexOf(q);
+            if (at < 0) {
+                continue;
+            }
+            int rank;
+            if (at == 0) {
+                rank = field.length() == q.length() ? EXACT : PREFIX;
+            } else if (isWordStart(field, q)) {
+                rank = WORD_PREFIX;
+            } else {
+                rank = SUBSTRING;
+            }
+            if (best < 0 || rank < best) {
+                best = rank;
+            }
+        }
+        return best;
+    }
+
+    private static boolean isWordStart(String field, String q) {
+        for (int at = field.indexOf(q); at >= 0; at = field.indexOf(q, at + 1)) {
+            if (at == 0 || !Character.isLetterOrDigit(field.charAt(at - 1))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void unpost(String key, String[] fields) {
+        for (String field : fields) {
+            if (field == null) {
+                continue;
+            }
+            for (String gram : grams(field)) {
+                Set<String> keys = postings.get(gram);
+                if (keys != null) {
+                    keys.remove(key);
+                    if (keys.isEmpty()) {
+                        postings.remove(gram);
+                    }
+                }
+            }
+        }
+    }
+
+    private static Set<String> grams(String field) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i < field.length(); i++) {
+            for (int n = 1; n <= GRAM && i + n <= field.length(); n++) {
+                grams.add(field.substring(i, i + n));
+            }
+        }
+        return grams;
+    }
+
+    private static String normalize(String text) {
+        return text.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Match {
+        final String key;
+        final int rank;
+
+        Match(String key, int rank) {
+            this.key = key;
+            this.rank = rank;
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package database;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * LRU cache of prepared statements for one physical connection, keyed by SQL text.
+ *
+ * Callers get a handle whose close() leaves the underlying statement open for
+ * the next caller with the same SQL. Parameters and any leftover batch are
+ * cleared on every reuse.
+ * Statements pushed out of the cache are closed, which bounds the number of
+ * statement handles a connection can hold open on the server.
+ *
+ * A connection is only used by one thread at a time, so the cache itself is
+ * not synchronized. Re-executing a cached statement closes the ResultSet of
+ * its previous execution, as with any JDBC statement.
+ */
+class StatementCache {
+    static final int DEFAULT_CAPACITY = 64;
+
+    private final Connection physical;
+    private final int capacity;
+    private final AtomicLong hits;
+    private final AtomicLong misses;
+    private final AtomicLong evictions;
+    private final LinkedHashMap<String, PreparedStatement> statements;
+
+    StatementCache(Connection physical, int capacity, AtomicLong hits, AtomicLong misses, AtomicLong evictions) {
+        this.physical = physical;
+        this.capacity = capacity;
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        // Access order makes iteration order least-recently-used first
+        this.statements = new LinkedHashMap<>(capacity, 0.75f, true);
+    }
+
+    /**
+     * Returns a handle to a prepared statement for the given SQL, reusing a
+     * cached one when possible. {@code owner} is reported as the statement's
+     * connection so callers never see the physical connection.
+     */
+    PreparedStatement prepare(String sql, Connection owner) throws SQLException {
+        PreparedStatement stmt = statements.get(sql);
+        if (stmt != null && !stmt.isClosed()) {
+            hits.incrementAndGet();
+            stmt.clearParameters();
+            stmt.clearBatch();
+        } else {
+            misses.incrementAndGet();
+            stmt = physical.prepareStatement(sql);
+            statements.put(sql, stmt);
+            evictOverflow();
+        }
+        return handle(stmt, owner);
+    }
+
+    /**
+     * Closes every cached statement. Called before the physical connection is closed.
+     */
+    void clear() {
+        for (PreparedStatement stmt : statements.values()) {
+            closeQuietly(stmt);
+        }
+        statements.clear();
+    }
+
+    int size() {
+        return statements.size();
+    }
+
+    private void evictOverflow() {
+        Iterator<Map.Entry<String, PreparedStatement>> it = statements.entrySet().iterator();
+        while (statements.size() > capacity && it.hasNext()) {
+            PreparedStatement eldest = it.next().getValue();
+            it.remove();
+            evictions.incrementAndGet();
+            closeQuietly(eldest);
+        }
+    }
+
+    private static void closeQuietly(PreparedStatement stmt) {
+        try {
+            stmt.close();
+        } catch (SQLException e) {
+            System.err.println("Warning: Could not close cached statement: " + e.getMessage());
+        }
+    }
+
+    private static PreparedStatement handle(PreparedStatement stmt, Connection owner) {
+        return (PreparedStatement) Proxy.newProxyInstance(
+            StatementCache.class.getClassLoader(),
+            new Class<?>[] { PreparedStatement.class },
+            new Handle(stmt, owner));
+    }
+
+    /**
+     * Caller-facing view of a cached statement.
+     */
+    private static final class Handle implements InvocationHandler {
+        private final PreparedStatement target;
+        private final Connection owner;
+        private boolean closed = false;
+        private ResultSet lastResult;
+
+        Handle(PreparedStatement target, Connection owner) {
+            this.target = target;
+            this.owner = owner;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    // Keep the statement open for the next caller; only close the result this handle produced
+                    if (!closed) {
+                        closed = true;
+                        if (lastResult != null) {
+                            lastResult.close();
+                            lastResult = null;
+                        }
+                    }
+                    return null;
+                case "isClosed":
+                    return closed || target.isClosed();
+                case "getConnection":
+                    return owner;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    break;
+            }
+            try {
+                Object result = method.invoke(target, args);
+                if (result instanceof ResultSet) {
+                    lastResult = (ResultSet) result;
+                }
+                return result;
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
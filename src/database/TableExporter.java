@@ -0,0 +1,331 @@
+package database;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import model.ExportReport;
+
+/**
+ * Streams a table out of the database into a CSV or JSON file.
+ *
+ * Rows are read with a forward-only, read-only cursor that the driver
+ * streams one row at a time, and written through a buffered writer over a
+ * {@link FileChannel}, so exporting the whole payment or room history never
+ * holds more than a row in memory. A cancelled export deletes its partial
+ * file.
+ */
+public final class TableExporter {
+    // Connector/J streams a result set row by row only for this fetch size
+    private static final int STREAMING_FETCH_SIZE = Integer.MIN_VALUE;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    // Progress is reported at most this often, and cancellation checked every row
+    private static final long PROGRESS_INTERVAL_NANOS = 200_000_000L;
+
+    public enum Source {
+        // Passwords are never exported
+        STUDENTS("Students",
+                 "SELECT roll_no, name, college, department, semester, age, mobile, room_no, room_type, " +
+                 "sharing_type, block_name, floor_no, amount_paid, amount_due, payment_method " +
+                 "FROM students ORDER BY roll_no"),
+        ROOMS("Rooms",
+              "SELECT room_no, room_type, sharing_type, capacity, current_occupancy, block_name, floor_no " +
+              "FROM rooms ORDER BY room_no"),
+        COMPLAINTS("Complaints",
+                   "SELECT complaint_id, student_roll_no, complaint_text, status, filing_date, resolution_date " +
+                   "FROM complaints ORDER BY complaint_id"),
+        PAYMENT_HISTORY("Payment History",
+                        "SELECT id, student_id, amount, type, reason, transaction_date " +
+                        "FROM payment_history ORDER BY id"),
+        ROOM_HISTORY("Room History",
+                     "SELECT id, student_id, room_no, room_type, sharing_type, block, floor, " +
+                     "check_in, check_out, reason FROM room_history ORDER BY id");
+
+        private final String title;
+        final String selectSql;
+
+        Source(String title, String selectSql) {
+            this.title = title;
+            this.selectSql = selectSql;
+        }
+
+        @Override
+        public String toString() {
+            return title;
+        }
+    }
+
+    public enum Format {
+        CSV("csv"),
+        JSON("json");
+
+        private final String extension;
+
+        Format(String extension) {
+            this.extension = extension;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+    }
+
+    /**
+     * Receives progress while an export runs, on the exporting thread.
+     */
+    public interface Progress {
+        void update(long rowsWritten, double rowsPerSecond);
+
+        /**
+         * Checked after every row; returning true stops the export and
+         * deletes the partial file.
+         */
+        default boolean isCancelled() {
+            return false;
+        }
+    }
+
+    private TableExporter() {
+    }
+
+    /**
+     * Exports the source to the file, replacing it if it exists. Throws if
+     * the database cannot be read or the file cannot be written; in that
+     * case the partial file is deleted.
+     */
+    public static ExportReport exportTo(File file, Source source, Format format, Progress progress)
+            throws SQLException, IOException {
+        long start = System.nanoTime();
+        long rows = 0;
+        boolean cancelled = false;
+        boolean complete = false;
+
+        try (Connection conn = DatabaseManager.openConnection();
+             // The multi-argument form bypasses the per-connection statement cache
+             Statement stmt = conn.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            stmt.setFetchSize(STREAMING_FETCH_SIZE);
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+                     StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+                 Writer out = new BufferedWriter(
+                     Channels.newWriter(channel, StandardCharsets.UTF_8.newEncoder(), BUFFER_SIZE), BUFFER_SIZE);
+                 ResultSet rs = stmt.executeQuery(source.selectSql)) {
+                RowWriter writer = format == Format.JSON ? new JsonRowWriter(out) : new CsvRowWriter(out);
+                ResultSetMetaData meta = rs.getMetaData();
+                writer.begin(meta);
+                long lastReport = System.nanoTime();
+                while (rs.next()) {
+                    writer.row(rs, meta);
+                    rows++;
+                    if (progress != null) {
+                        if (progress.isCancelled()) {
+                            cancelled = true;
+                            // Stops the server sending the rest, so closing the result set is quick
+                            stmt.cancel();
+                            break;
+                        }
+                        long now = System.nanoTime();
+                        if (now - lastReport >= PROGRESS_INTERVAL_NANOS) {
+                            progress.update(rows, rate(rows, now - start));
+                            lastReport = now;
+                        }
+                    }
+                }
+                if (!cancelled) {
+                    writer.end();
+                    complete = true;
+                }
+            }
+        } finally {
+            if (!complete) {
+                deleteQuietly(file);
+            }
+        }
+
+        long elapsed = System.nanoTime() - start;
+        if (progress != null && !cancelled) {
+            progress.update(rows, rate(rows, elapsed));
+        }
+        long bytes = complete ? file.length() : 0;
+        ExportReport report = new ExportReport(source.toString(), file, rows, bytes, cancelled, elapsed / 1_000_000);
+        System.out.println("✓ Exported " + report);
+        return report;
+    }
+
+    private static double rate(long rows, long nanos) {
+        return nanos <= 0 ? 0.0 : rows * 1_000_000_000.0 / nanos;
+    }
+
+    private static void deleteQuietly(File file) {
+        try {
+            Files.deleteIfExists(file.toPath());
+        } catch (IOException e) {
+            System.err.println("Warning: Could not delete partial export " + file + ": " + e.getMessage());
+        }
+    }
+
+    private interface RowWriter {
+        void begin(ResultSetMetaData meta) throws SQLException, IOException;
+        void row(ResultSet rs, ResultSetMetaData meta) throws SQLException, IOException;
+        void end() throws IOException;
+    }
+
+    // RFC 4180: fields with a comma, quote or line break are quoted, quotes doubled
+    private static final class CsvRowWriter implements RowWriter {
+        private final Writer out;
+
+        CsvRowWriter(Writer out) {
+            this.out = out;
+        }
+
+        @Override
+        public void begin(ResultSetMetaData meta) throws SQLException, IOException {
+            for (int i = 1; i <= meta.getColumnCount(); i++) {
+                if (i > 1) {
+                    out.write(',');
+                }
+                field(meta.getColumnLabel(i));
+            }
+            out.write("\r\n");
+        }
+
+        @Override
+        public void row(ResultSet rs, ResultSetMetaData meta) throws SQLException, IOException {
+            for (int i = 1; i <= meta.getColumnCount(); i++) {
+                if (i > 1) {
+                    out.write(',');
+                }
+                String value = rs.getString(i);
+                if (value != null) {
+                    field(value);
+                }
+            }
+            out.write("\r\n");
+        }
+
+        @Override
+        public void end() {
+        }
+
+        private void field(String value) throws IOException {
+            boolean quote = false;
+            for (int i = 0; i < value.length() && !quote; i++) {
+                char c = value.charAt(i);
+                quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+            }
+            if (!quote) {
+                out.write(value);
+                return;
+            }
+            out.write('"');
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '"') {
+                    out.write('"');
+                }
+                out.write(c);
+            }
+            out.write('"');
+        }
+    }
+
+    // A JSON array with one object per row; numbers stay unquoted, SQL NULL becomes null
+    private static final class JsonRowWriter implements RowWriter {
+        private final Writer out;
+        private String[] keys;
+        private boolean[] numeric;
+        private boolean first = true;
+
+        JsonRowWriter(Writer out) {
+            this.out = out;
+        }
+
+        @Override
+        public void begin(ResultSetMetaData meta) throws SQLException, IOException {
+            int columns = meta.getColumnCount();
+            keys = new String[columns];
+            numeric = new boolean[columns];
+            for (int i = 0; i < columns; i++) {
+                keys[i] = meta.getColumnLabel(i + 1);
+                numeric[i] = isNumeric(meta.getColumnType(i + 1));
+            }
+            out.write('[');
+        }
+
+        @Override
+        public void row(ResultSet rs, ResultSetMetaData meta) throws SQLException, IOException {
+            out.write(first ? "\n  {" : ",\n  {");
+            first = false;
+            for (int i = 0; i < keys.length; i++) {
+                if (i > 0) {
+                    out.write(", ");
+                }
+                string(keys[i]);
+                out.write(": ");
+                String value = rs.getString(i + 1);
+                if (value == null) {
+                    out.write("null");
+                } else if (numeric[i]) {
+                    out.write(value);
+                } else {
+                    string(value);
+                }
+            }
+            out.write('}');
+        }
+
+        @Override
+        public void end() throws IOException {
+            out.write(first ? "]\n" : "\n]\n");
+        }
+
+        private void string(String value) throws IOException {
+            out.write('"');
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                switch (c) {
+                    case '"': out.write("\\\""); break;
+                    case '\\': out.write("\\\\"); break;
+                    case '\n': out.write("\\n"); break;
+                    case '\r': out.write("\\r"); break;
+                    case '\t': out.write("\\t"); break;
+                    default:
+                        if (c < 0x20) {
+                            out.write(String.format("\\u%04x", (int) c));
+                        } else {
+                            out.write(c);
+                        }
+                }
+            }
+            out.write('"');
+        }
+
+        private static boolean isNumeric(int sqlType) {
+            switch (sqlType) {
+                case Types.TINYINT:
+                case Types.SMALLINT:
+                case Types.INTEGER:
+                case Types.BIGINT:
+                case Types.DECIMAL:
+                case Types.NUMERIC:
+                case Types.REAL:
+                case Types.FLOAT:
+                case Types.DOUBLE:
+                    return true;
+                default:
+                    return false;
+            }
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package database;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable in-memory inverted index over free text, ranked with BM25. Used
+ * for full-text search when the database has no FULLTEXT index to use.
+ *
+ * Text is split into lower-case words of two or more letters or digits,
+ * minus a few stopwords. A document scores for every query word it
+ * contains, so "water leakage" ranks reports mentioning both words first.
+ */
+final class TextIndex {
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private static final Set<String> STOPWORDS = new HashSet<>(Arrays.asList(
+        "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "in", "is", "it",
+        "of", "on", "or", "the", "to", "was", "with"));
+
+    // word -> document id -> occurrences
+    private final Map<String, Map<Integer, Integer>> postings = new HashMap<>();
+    private final Map<Integer, Integer> lengths = new HashMap<>();
+    private final double averageLength;
+
+    TextIndex(Map<Integer, String> documents) {
+        long totalLength = 0;
+        for (Map.Entry<Integer, String> document : documents.entrySet()) {
+            List<String> words = tokenize(document.getValue());
+            lengths.put(document.getKey(), words.size());
+            totalLength += words.size();
+            for (String word : words) {
+                postings.computeIfAbsent(word, w -> new HashMap<>()).merge(document.getKey(), 1, Integer::sum);
+            }
+        }
+        averageLength = documents.isEmpty() ? 0.0 : (double) totalLength / documents.size();
+    }
+
+    /**
+     * Documents containing at least one query word, best first; ties go to
+     * the higher (newer) id.
+     */
+    List<Hit> search(String query) {
+        Map<Integer, Double> scores = new HashMap<>();
+        int documents = lengths.size();
+        for (String word : new LinkedHashSet<>(tokenize(query))) {
+            Map<Integer, Integer> matches = postings.get(word);
+            if (matches == null) {
+                continue;
+            }
+            double idf = Math.log(1.0 + (documents - matches.size() + 0.5) / (matches.size() + 0.5));
+            for (Map.Entry<Integer, Integer> match : matches.entrySet()) {
+                double tf = match.getValue();
+                double norm = K1 * (1 - B + B * lengths.get(match.getKey()) / averageLength);
+                scores.merge(match.getKey(), idf * tf * (K1 + 1) / (tf + norm), Double::sum);
+            }
+        }
+
+        List<Hit> hits = new ArrayList<>(scores.size());
+        for (Map.Entry<Integer, Double> score : scores.entrySet()) {
+            hits.add(new Hit(score.getKey(), score.getValue()));
+        }
+        Collections.sort(hits, (a, b) -> a.score != b.score
+            ? Double.compare(b.score, a.score) : Integer.compare(b.id, a.id));
+        return hits;
+    }
+
+    int size() {
+        return lengths.size();
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> words = new ArrayList<>();
+        if (text == null) {
+            return words;
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean wordChar = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                String word = lower.substring(start, i);
+                if (word.length() >= 2 && !STOPWORDS.contains(word)) {
+                    words.add(word);
+                }
+                start = -1;
+            }
+        }
+        return words;
+    }
+
+    static final class Hit {
+        final int id;
+        final double score;
+
+        Hit(int id, double score) {
+            this.id = id;
+            this.score = score;
+        }
+    }
+}
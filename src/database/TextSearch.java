@@ -0,0 +1,291 @@
+package database;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import model.Complaint;
+import model.Dates;
+import model.MealFeedback;
+import model.Page;
+import model.SearchHit;
+
+/**
+ * Relevance-ranked full-text search over complaint and meal feedback text.
+ *
+ * Searches run as MySQL natural-language MATCH ... AGAINST queries on the
+ * FULLTEXT indexes added by schema migration 3. If an index is missing or
+ * cannot be used, the same search runs against a {@link TextIndex} built from
+ * the table, rebuilt when this application publishes a change to a complaint
+ * or feedback entry, or when the table's row count or highest id changes.
+ * Results are paged; since relevance order has no stable key to seek past,
+ * the page cursor is an offset.
+ */
+public final class TextSearch {
+    // MySQL error for MATCH on columns without a FULLTEXT index
+    private static final int ER_FT_MATCHING_KEY_NOT_FOUND = 1191;
+
+    enum Corpus {
+        COMPLAINTS("complaints", "complaint_id", "complaint_text", "ft_complaint_text",
+                   "c.*, s.name", "complaints c LEFT JOIN students s ON c.student_roll_no = s.roll_no"),
+        FEEDBACK("meal_feedback", "id", "feedback_text", "ft_feedback_text",
+                 "f.*, s.name", "meal_feedback f LEFT JOIN students s ON f.student_roll_no = s.roll_no");
+
+        final String table;
+        final String idColumn;
+        final String textColumn;
+        final String indexName;
+        final String columns;
+        final String from;
+        // Whether the FULLTEXT index is known to exist; checked when connecting
+        volatile boolean fullText = false;
+        volatile Fallback fallback = null;
+        // Bumped by every published change to the corpus; a fallback built before one is stale
+        final AtomicLong version = new AtomicLong();
+
+        Corpus(String table, String idColumn, String textColumn, String indexName, String columns, String from) {
+            this.table = table;
+            this.idColumn = idColumn;
+            this.textColumn = textColumn;
+            this.indexName = indexName;
+            this.columns = columns;
+            this.from = from;
+        }
+
+        // Column reference inside the FROM clause, whose table alias is the first letter
+        String qualified(String column) {
+            return table.charAt(0) + "." + column;
+        }
+    }
+
+    private interface RowReader<T> {
+        T read(ResultSet rs) throws SQLException;
+    }
+
+    static {
+        ChangeBus.subscribe(event -> {
+            switch (event.getEntity()) {
+                case COMPLAINT: invalidate(Corpus.COMPLAINTS); break;
+                case FEEDBACK: invalidate(Corpus.FEEDBACK); break;
+                default: break;
+            }
+        });
+    }
+
+    private TextSearch() {
+    }
+
+    /**
+     * Records which corpora have their FULLTEXT index on the database
+     * {@code conn} is connected to, and drops the in-memory fallbacks built
+     * for the previous database. Only reads the schema; a corpus whose index
+     * is missing, or that cannot be checked, uses the in-memory fallback.
+     */
+    static void checkIndexes(Connection conn) {
+        for (Corpus corpus : Corpus.values()) {
+            corpus.fullText = false;
+            invalidate(corpus);
+        }
+        String sql = "SELECT DISTINCT TABLE_NAME, INDEX_NAME FROM information_schema.STATISTICS " +
+                    "WHERE TABLE_SCHEMA = DATABASE() AND INDEX_TYPE = 'FULLTEXT'";
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            while (rs.next()) {
+                for (Corpus corpus : Corpus.values()) {
+                    if (corpus.table.equalsIgnoreCase(rs.getString(1)) &&
+                        corpus.indexName.equalsIgnoreCase(rs.getString(2))) {
+                        corpus.fullText = true;
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Warning: Could not check full-text indexes, using in-memory search: " +
+                               e.getMessage());
+            return;
+        }
+        for (Corpus corpus : Corpus.values()) {
+            if (!corpus.fullText) {
+                System.err.println("Warning: Full-text index " + corpus.indexName + " on " + corpus.table +
+                                   " is missing, using in-memory search");
+            }
+        }
+    }
+
+    private static void invalidate(Corpus corpus) {
+        corpus.version.incrementAndGet();
+        corpus.fallback = null;
+    }
+
+    public static Page<SearchHit<Complaint>> searchComplaints(String query, String cursor, int pageSize)
+            throws SQLException {
+        return search(Corpus.COMPLAINTS, query, cursor, pageSize, DatabaseManager::readComplaint);
+    }
+
+    public static Page<SearchHit<MealFeedback>> searchFeedback(String query, String cursor, int pageSize)
+            throws SQLException {
+        return search(Corpus.FEEDBACK, query, cursor, pageSize, TextSearch::readFeedback);
+    }
+
+    private static <T> Page<SearchHit<T>> search(Corpus corpus, String query, String cursor, int pageSize,
+                                                 RowReader<T> reader) throws SQLException {
+        int offset = cursor == null ? 0 : decodeOffset(cursor);
+        List<SearchHit<T>> hits;
+        if (corpus.fullText) {
+            try {
+                hits = searchFullText(corpus, query, offset, pageSize + 1, reader);
+            } catch (SQLException e) {
+                if (e.getErrorCode() != ER_FT_MATCHING_KEY_NOT_FOUND) {
+                    throw e;
+                }
+                System.err.println("Warning: Full-text index on " + corpus.table + " is gone, using in-memory search");
+                corpus.fullText = false;
+                hits = searchFallback(corpus, query, offset, pageSize + 1, reader);
+            }
+        } else {
+            hits = searchFallback(corpus, query, offset, pageSize + 1, reader);
+        }
+
+        String nextCursor = null;
+        if (hits.size() > pageSize) {
+            hits = new ArrayList<>(hits.subList(0, pageSize));
+            nextCursor = PageCursor.encode(String.valueOf(offset + pageSize));
+        }
+        return new Page<>(hits, nextCursor);
+    }
+
+    private static <T> List<SearchHit<T>> searchFullText(Corpus corpus, String query, int offset, int limit,
+                                                         RowReader<T> reader) throws SQLException {
+        String match = "MATCH(" + corpus.qualified(corpus.textColumn) + ") AGAINST (? IN NATURAL LANGUAGE MODE)";
+        String sql = "SELECT " + corpus.columns + ", " + match + " AS relevance FROM " + corpus.from +
+                     " WHERE " + match +
+                     " ORDER BY relevance DESC, " + corpus.qualified(corpus.idColumn) + " DESC LIMIT ? OFFSET ?";
+        List<SearchHit<T>> hits = new ArrayList<>();
+        PreparedStatement pstmt = DatabaseManager.getConnection().prepareStatement(sql);
+        pstmt.setString(1, query);
+        pstmt.setString(2, query);
+        pstmt.setInt(3, limit);
+        pstmt.setInt(4, offset);
+        try (ResultSet rs = pstmt.executeQuery()) {
+            while (rs.next()) {
+                hits.add(new SearchHit<>(reader.read(rs), rs.getDouble("relevance")));
+            }
+        }
+        return hits;
+    }
+
+    private static <T> List<SearchHit<T>> searchFallback(Corpus corpus, String query, int offset, int limit,
+                                                         RowReader<T> reader) throws SQLException {
+        List<TextIndex.Hit> ranked = fallbackIndex(corpus).search(query);
+        if (offset >= ranked.size()) {
+            return new ArrayList<>();
+        }
+        List<TextIndex.Hit> page = ranked.subList(offset, Math.min(offset + limit, ranked.size()));
+
+        StringBuilder sql = new StringBuilder("SELECT ").append(corpus.columns).append(" FROM ").append(corpus.from)
+            .append(" WHERE ").append(corpus.qualified(corpus.idColumn)).append(" IN (");
+        for (int i = 0; i < page.size(); i++) {
+            sql.append(i == 0 ? "?" : ", ?");
+        }
+        sql.append(")");
+        Map<Integer, T> rows = new HashMap<>();
+        // SQL text varies with the page, so bypass the per-connection statement cache
+        try (PreparedStatement pstmt = DatabaseManager.getConnection().prepareStatement(
+                 sql.toString(), Statement.NO_GENERATED_KEYS)) {
+            for (int i = 0; i < page.size(); i++) {
+                pstmt.setInt(i + 1, page.get(i).id);
+            }
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    rows.put(rs.getInt(corpus.idColumn), reader.read(rs));
+                }
+            }
+        }
+
+        // Rows deleted since the index was built are skipped
+        List<SearchHit<T>> hits = new ArrayList<>(page.size());
+        for (TextIndex.Hit hit : page) {
+            T row = rows.get(hit.id);
+            if (row != null) {
+                hits.add(new SearchHit<>(row, hit.score));
+            }
+        }
+        return hits;
+    }
+
+    // The corpus's in-memory index, rebuilt if a change was published or rows were
+    // added or deleted since it was built
+    private static TextIndex fallbackIndex(Corpus corpus) throws SQLException {
+        String signature;
+        PreparedStatement pstmt = DatabaseManager.getConnection().prepareStatement(
+            "SELECT COUNT(*), COALESCE(MAX(" + corpus.idColumn + "), 0) FROM " + corpus.table);
+        try (ResultSet rs = pstmt.executeQuery()) {
+            rs.next();
+            signature = rs.getLong(1) + ":" + rs.getLong(2);
+        }
+
+        Fallback fallback = corpus.fallback;
+        if (fallback != null && fallback.isCurrent(signature, corpus.version.get())) {
+            return fallback.index;
+        }
+        synchronized (corpus) {
+            fallback = corpus.fallback;
+            long version = corpus.version.get();
+            if (fallback != null && fallback.isCurrent(signature, version)) {
+                return fallback.index;
+            }
+            Map<Integer, String> documents = new HashMap<>();
+            try (Statement stmt = DatabaseManager.getConnection().createStatement();
+                 ResultSet rs = stmt.executeQuery(
+                     "SELECT " + corpus.idColumn + ", " + corpus.textColumn + " FROM " + corpus.table)) {
+                while (rs.next()) {
+                    documents.put(rs.getInt(1), rs.getString(2));
+                }
+            }
+            TextIndex index = new TextIndex(documents);
+            corpus.fallback = new Fallback(signature, version, index);
+            System.out.println("✓ In-memory text index built for " + corpus.table + " (" + index.size() + " rows)");
+            return index;
+        }
+    }
+
+    private static int decodeOffset(String cursor) throws SQLException {
+        String key = PageCursor.decodeKey(cursor);
+        try {
+            return Integer.parseInt(key);
+        } catch (NumberFormatException e) {
+            throw new SQLException("Invalid page cursor: " + cursor);
+        }
+    }
+
+    private static MealFeedback readFeedback(ResultSet rs) throws SQLException {
+        return new MealFeedback(
+            rs.getInt("id"),
+            rs.getString("student_roll_no"),
+            rs.getString("name"),
+            rs.getString("feedback_text"),
+            Dates.toMillis(rs.getDate("feedback_date")));
+    }
+
+    private static final class Fallback {
+        final String signature;
+        final long version;
+        final TextIndex index;
+
+        Fallback(String signature, long version, TextIndex index) {
+            this.signature = signature;
+            this.version = version;
+            this.index = index;
+        }
+
+        // Signature catches rows added or removed by other clients; version catches edits made here
+        boolean isCurrent(String signature, long version) {
+            return this.signature.equals(signature) && this.version == version;
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package diagnostics;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records how long each startup phase takes, measured in nanoseconds from
+ * JVM start, up to the first frame the user can work with.
+ *
+ * A phase is timed from {@link #begin(String)} to {@link Phase#end()},
+ * called in a finally block; phases may overlap and run on any thread.
+ * {@link #markInteractive()} records time-to-interactive, prints a summary
+ * and, when {@code -Dhms.startup.profile=<file>} is set, writes the profile
+ * as JSON for comparing releases. Phases that end later, such as the first
+ * dashboard render after login, are still recorded and written again.
+ *
+ * Waiting for the user (typing database credentials, logging in) shows up
+ * as gaps between phases rather than inside them.
+ */
+public final class StartupProfiler {
+    private static final String OUTPUT_PROPERTY = "hms.startup.profile";
+
+    // System.nanoTime() value at JVM start, estimated from the JVM's uptime
+    private static final long JVM_START_NANOS =
+        System.nanoTime() - ManagementFactory.getRuntimeMXBean().getUptime() * 1_000_000L;
+
+    private static final List<Phase> phases = new ArrayList<>();
+    private static long interactiveNanos = -1;
+
+    private StartupProfiler() {
+    }
+
+    /**
+     * Starts timing {@code name}; ending the returned phase stops it.
+     */
+    public static Phase begin(String name) {
+        return new Phase(name, Thread.currentThread().getName(), System.nanoTime() - JVM_START_NANOS);
+    }
+
+    /**
+     * Records that the first usable window is on screen. Only the first call
+     * counts.
+     */
+    public static void markInteractive() {
+        synchronized (phases) {
+            if (interactiveNanos >= 0) {
+                return;
+            }
+            interactiveNanos = System.nanoTime() - JVM_START_NANOS;
+        }
+        System.out.print(summary());
+        writeIfRequested();
+    }
+
+    /**
+     * Time from JVM start to {@link #markInteractive()}, or -1 before then.
+     */
+    public static long getTimeToInteractiveNanos() {
+        synchronized (phases) {
+            return interactiveNanos;
+        }
+    }
+
+    /**
+     * Completed phases in start order, one per line, with time-to-interactive.
+     */
+    public static String summary() {
+        StringBuilder out = new StringBuilder("Startup profile (ms from JVM start):\n");
+        synchronized (phases) {
+            for (Phase phase : sortedPhases()) {
+                out.append(String.format("  %-28s %8.1f -> %8.1f  %8.1f ms  [%s]%n", phase.name,
+                    millis(phase.startNanos), millis(phase.endNanos), millis(phase.getDurationNanos()),
+                    phase.thread));
+            }
+            if (interactiveNanos >= 0) {
+                out.append(String.format("  %-28s %8.1f ms%n", "time to interactive", millis(interactiveNanos)));
+            }
+        }
+        return out.toString();
+    }
+
+    /**
+     * The profile as a JSON object: time-to-interactive and the completed
+     * phases, all in nanoseconds from JVM start.
+     */
+    public static String toJson() {
+        StringBuilder json = new StringBuilder("{\n");
+        synchronized (phases) {
+            json.append("  \"jvmStartEpochMillis\": ")
+                .append(ManagementFactory.getRuntimeMXBean().getStartTime()).append(",\n");
+            json.append("  \"timeToInteractiveNanos\": ").append(interactiveNanos).append(",\n");
+            json.append("  \"phases\": [");
+            List<Phase> sorted = sortedPhases();
+            for (int i = 0; i < sorted.size(); i++) {
+                Phase phase = sorted.get(i);
+                json.append(i == 0 ? "\n" : ",\n")
+                    .append("    {\"name\": \"").append(escape(phase.name))
+                    .append("\", \"thread\": \"").append(escape(phase.thread))
+                    .append("\", \"startNanos\": ").append(phase.startNanos)
+                    .append(", \"endNanos\": ").append(phase.endNanos)
+                    .append(", \"durationNanos\": ").append(phase.getDurationNanos()).append("}");
+            }
+            json.append(sorted.isEmpty() ? "]\n" : "\n  ]\n");
+        }
+        return json.append("}\n").toString();
+    }
+
+    public static void writeJson(File file) throws IOException {
+        try (Writer out = new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8)) {
+            out.write(toJson());
+        }
+    }
+
+    private static void record(Phase phase) {
+        boolean afterInteractive;
+        synchronized (phases) {
+            phases.add(phase);
+            afterInteractive = interactiveNanos >= 0;
+        }
+        if (afterInteractive) {
+            System.out.println(String.format("Startup: %s took %.1f ms", phase.name, millis(phase.getDurationNanos())));
+            writeIfRequested();
+        }
+    }
+
+    private static void writeIfRequested() {
+        String path = System.getProperty(OUTPUT_PROPERTY);
+        if (path == null || path.isEmpty()) {
+            return;
+        }
+        try {
+            writeJson(new File(path));
+        } catch (IOException e) {
+            System.err.println("Warning: Could not write startup profile to " + path + ": " + e.getMessage());
+        }
+    }
+
+    // Caller holds the phases lock
+    private static List<Phase> sortedPhases() {
+        List<Phase> sorted = new ArrayList<>(phases);
+        sorted.sort((a, b) -> Long.compare(a.startNanos, b.startNanos));
+        return sorted;
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static String escape(String text) {
+        return text.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+
+    /**
+     * A running phase; {@link #end()} records it. Ending twice records it once.
+     */
+    public static final class Phase {
+        private final String name;
+        private final String thread;
+        private final long startNanos;
+        private long endNanos = -1;
+
+        private Phase(String name, String thread, long startNanos) {
+            this.name = name;
+            this.thread = thread;
+            this.startNanos = startNanos;
+        }
+
+        public long getDurationNanos() {
+            return endNanos - startNanos;
+        }
+
+        public void end() {
+            synchronized (this) {
+                if (endNanos >= 0) {
+                    return;
+                }
+                endNanos = System.nanoTime() - JVM_START_NANOS;
+            }
+            record(this);
+        }
+    }
+}
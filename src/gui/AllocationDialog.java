@@ -0,0 +1,207 @@
+package gui;
+
+import database.DbExecutor;
+import database.IntakeReader;
+import java.awt.BorderLayout;
+import java.awt.FlowLayout;
+import java.awt.GridLayout;
+import java.io.File;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import javax.swing.BorderFactory;
+import javax.swing.JButton;
+import javax.swing.JComboBox;
+import javax.swing.JDialog;
+import javax.swing.JFileChooser;
+import javax.swing.JFrame;
+import javax.swing.JLabel;
+import javax.swing.JOptionPane;
+import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.JTextArea;
+import javax.swing.SwingUtilities;
+import javax.swing.filechooser.FileNameExtensionFilter;
+import management.AllocationOptimizer;
+import management.HostelManager;
+import model.AllocationResult;
+
+/**
+ * Dialog that allocates rooms to a whole intake list read from a CSV file,
+ * in the background, and lists the outcome for every student.
+ *
+ * "First free room" gives each student in turn the first room matching
+ * their request. "Best fit" plans the whole intake first, keeping roommates
+ * together where it can, and asks before committing the plan.
+ */
+public class AllocationDialog extends JDialog {
+    private static final String FIRST_FREE = "First free room";
+    private static final String BEST_FIT = "Best fit (keeps roommates together)";
+
+    private final Runnable onFinished;
+    private final JComboBox<String> methodBox = new JComboBox<>(new String[] {FIRST_FREE, BEST_FIT});
+    private final JLabel columnsLabel = new JLabel(IntakeReader.COLUMNS);
+    private final JLabel fileLabel = new JLabel("No file selected");
+    private final JLabel statusLabel = new JLabel(" ");
+    private final JTextArea resultArea = new JTextArea(15, 60);
+    private final JButton chooseButton = new JButton("Choose File...");
+    private final JButton allocateButton = new JButton("Allocate");
+    private final JButton closeButton = new JButton("Close");
+    private File file;
+
+    /**
+     * {@code onFinished} runs on the EDT after an allocation that placed
+     * anyone, so the caller can refresh its tables.
+     */
+    public AllocationDialog(JFrame owner, Runnable onFinished) {
+        super(owner, "Allocate Rooms to Intake", true);
+        this.onFinished = onFinished;
+
+        JPanel top = new JPanel(new GridLayout(0, 1, 5, 5));
+        top.setBorder(BorderFactory.createEmptyBorder(10, 10, 5, 10));
+        JPanel methodRow = new JPanel(new FlowLayout(FlowLayout.LEFT, 10, 0));
+        methodRow.add(new JLabel("Method:"));
+        methodRow.add(methodBox);
+        top.add(methodRow);
+        top.add(columnsLabel);
+        JPanel fileRow = new JPanel(new FlowLayout(FlowLayout.LEFT, 10, 0));
+        fileRow.add(chooseButton);
+        fileRow.add(fileLabel);
+        top.add(fileRow);
+        top.add(statusLabel);
+
+        resultArea.setEditable(false);
+        JScrollPane resultScroll = new JScrollPane(resultArea);
+        resultScroll.setBorder(BorderFactory.createTitledBorder("Results"));
+
+        JPanel buttons = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+        buttons.add(allocateButton);
+        buttons.add(closeButton);
+        allocateButton.setEnabled(false);
+
+        setLayout(new BorderLayout(5, 5));
+        add(top, BorderLayout.NORTH);
+        add(resultScroll, BorderLayout.CENTER);
+        add(buttons, BorderLayout.SOUTH);
+
+        methodBox.addActionListener(e -> columnsLabel.setText(
+            isBestFit() ? IntakeReader.PREFERENCE_COLUMNS : IntakeReader.COLUMNS));
+        chooseButton.addActionListener(e -> chooseFile());
+        allocateButton.addActionListener(e -> startAllocation());
+        closeButton.addActionListener(e -> dispose());
+
+        pack();
+        setLocationRelativeTo(owner);
+    }
+
+    private void chooseFile() {
+        JFileChooser chooser = new JFileChooser();
+        chooser.setFileFilter(new FileNameExtensionFilter("CSV files", "csv"));
+        if (chooser.showOpenDialog(this) == JFileChooser.APPROVE_OPTION) {
+            file = chooser.getSelectedFile();
+            fileLabel.setText(file.getName());
+            allocateButton.setEnabled(true);
+        }
+    }
+
+    private void startAllocation() {
+        setBusy(true);
+        resultArea.setText("");
+        statusLabel.setText("Allocating...");
+
+        final File source = file;
+        if (isBestFit()) {
+            statusLabel.setText("Planning...");
+            DbExecutor.submit(() -> AllocationOptimizer.plan(IntakeReader.readPreferences(source)))
+                .whenComplete((plan, error) -> SwingUtilities.invokeLater(() -> confirmPlan(plan, error)));
+            return;
+        }
+        DbExecutor.submit(() -> HostelManager.allocateRooms(IntakeReader.readRequests(source)))
+            .whenComplete((results, error) -> SwingUtilities.invokeLater(() -> finish(results, error)));
+    }
+
+    // Shows the plan's outcome and commits it if the user agrees
+    private void confirmPlan(AllocationOptimizer.AllocationPlan plan, Throwable error) {
+        if (error != null) {
+            finish(null, error);
+            return;
+        }
+        StringBuilder unplaced = new StringBuilder();
+        for (String rollNo : plan.getUnplaced()) {
+            unplaced.append(rollNo).append(": no room left for this student\n");
+        }
+        resultArea.setText(unplaced.toString());
+        String summary = String.format("The plan places %,d of %,d students, %.1f%% satisfaction (%d ms).",
+            plan.getAssignments().size(), plan.getAssignments().size() + plan.getUnplaced().size(),
+            plan.getSatisfaction() * 100, plan.getPlanningMillis());
+        statusLabel.setText(summary);
+        if (plan.getAssignments().isEmpty()) {
+            setBusy(false);
+            return;
+        }
+        int choice = JOptionPane.showConfirmDialog(this, summary + "\nCommit the plan?",
+            "Commit Allocation Plan", JOptionPane.YES_NO_OPTION);
+        if (choice != JOptionPane.YES_OPTION) {
+            setBusy(false);
+            return;
+        }
+        statusLabel.setText("Allocating...");
+        DbExecutor.submit(plan::commit)
+            .whenComplete((results, commitError) -> SwingUtilities.invokeLater(() -> finish(results, commitError)));
+    }
+
+    private void finish(List<AllocationResult> results, Throwable error) {
+        setBusy(false);
+        if (error != null) {
+            Throwable cause = error.getCause() != null ? error.getCause() : error;
+            statusLabel.setText("Allocation failed: " + cause.getMessage());
+            return;
+        }
+        showResults(results);
+        if (countAllocated(results) > 0 && onFinished != null) {
+            onFinished.run();
+        }
+    }
+
+    private void showResults(List<AllocationResult> results) {
+        Map<AllocationResult.Status, Integer> counts = new EnumMap<>(AllocationResult.Status.class);
+        StringBuilder lines = new StringBuilder();
+        for (AllocationResult result : results) {
+            counts.merge(result.getStatus(), 1, Integer::sum);
+            lines.append(result).append('\n');
+        }
+        StringBuilder summary = new StringBuilder();
+        for (Map.Entry<AllocationResult.Status, Integer> entry : counts.entrySet()) {
+            if (summary.length() > 0) {
+                summary.append(", ");
+            }
+            summary.append(String.format("%,d %s", entry.getValue(),
+                entry.getKey().name().toLowerCase(Locale.ROOT).replace('_', ' ')));
+        }
+        statusLabel.setText(results.isEmpty() ? "The file lists no students" : summary.toString());
+        resultArea.setText(lines.toString());
+        resultArea.setCaretPosition(0);
+    }
+
+    private boolean isBestFit() {
+        return BEST_FIT.equals(methodBox.getSelectedItem());
+    }
+
+    private void setBusy(boolean busy) {
+        methodBox.setEnabled(!busy);
+        chooseButton.setEnabled(!busy);
+        allocateButton.setEnabled(!busy && file != null);
+        closeButton.setEnabled(!busy);
+    }
+
+    private static int countAllocated(List<AllocationResult> results) {
+        int allocated = 0;
+        for (AllocationResult result : results) {
+            if (result.isAllocated()) {
+                allocated++;
+            }
+        }
+        return allocated;
+    }
+}
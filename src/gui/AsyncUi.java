@@ -0,0 +1,78 @@
+package gui;
+
+import database.DbExecutor;
+import java.awt.Color;
+import java.awt.Container;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+import javax.swing.JLabel;
+import javax.swing.SwingConstants;
+import javax.swing.SwingUtilities;
+
+/**
+ * Loads data on {@link DbExecutor} and hands the result back on the EDT.
+ *
+ * Panels call {@link #load} with the container the data will fill. The
+ * container shows a "Loading..." placeholder until the result arrives; if the
+ * user has navigated away by then (the container was removed from its
+ * parent), the result is dropped.
+ */
+public final class AsyncUi {
+    private static final String PLACEHOLDER = "Loading...";
+
+    private AsyncUi() {
+    }
+
+    /**
+     * Shows a placeholder in {@code target}, runs {@code query} in the
+     * background and passes its result to {@code onResult} on the EDT.
+     * {@code onResult} is expected to fill {@code target}; the placeholder is
+     * removed before it runs. Errors replace the placeholder with a message.
+     */
+    public static <T> void load(Container target, Callable<T> query, Consumer<T> onResult) {
+        showPlaceholder(target);
+        load(query, result -> {
+            if (target.getParent() == null) {
+                return;
+            }
+            target.removeAll();
+            onResult.accept(result);
+            target.revalidate();
+            target.repaint();
+        }, error -> {
+            if (target.getParent() == null) {
+                return;
+            }
+            target.removeAll();
+            JLabel errorLabel = new JLabel("Error loading data: " + error.getMessage(), SwingConstants.CENTER);
+            errorLabel.setForeground(Color.RED);
+            target.add(errorLabel);
+            target.revalidate();
+            target.repaint();
+        });
+    }
+
+    /**
+     * Runs {@code query} in the background and delivers the result or the
+     * failure on the EDT. No placeholder is shown.
+     */
+    public static <T> void load(Callable<T> query, Consumer<T> onResult, Consumer<Throwable> onError) {
+        DbExecutor.submit(query).whenComplete((result, error) -> SwingUtilities.invokeLater(() -> {
+            if (error == null) {
+                onResult.accept(result);
+            } else {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                System.out.println("❌ Error loading data: " + cause.getMessage());
+                onError.accept(cause);
+            }
+        }));
+    }
+
+    private static void showPlaceholder(Container target) {
+        target.removeAll();
+        target.add(new JLabel(PLACEHOLDER, SwingConstants.CENTER));
+        target.revalidate();
+        target.repaint();
+    }
+}
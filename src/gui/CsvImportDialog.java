@@ -0,0 +1,174 @@
+package gui;
+
+import database.CsvImporter;
+import database.DbExecutor;
+import java.awt.BorderLayout;
+import java.awt.FlowLayout;
+import java.awt.GridLayout;
+import java.io.File;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.swing.BorderFactory;
+import javax.swing.JButton;
+import javax.swing.JDialog;
+import javax.swing.JFileChooser;
+import javax.swing.JFrame;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.JProgressBar;
+import javax.swing.JScrollPane;
+import javax.swing.JSpinner;
+import javax.swing.JTextArea;
+import javax.swing.SpinnerNumberModel;
+import javax.swing.SwingUtilities;
+import javax.swing.filechooser.FileNameExtensionFilter;
+import model.ImportReport;
+
+/**
+ * Dialog that imports a CSV file of students, rooms or wardens in the
+ * background, with a progress bar and the per-line errors at the end.
+ */
+public class CsvImportDialog extends JDialog {
+    private final CsvImporter.Target target;
+    private final Runnable onFinished;
+    private final JLabel fileLabel = new JLabel("No file selected");
+    private final JSpinner chunkSpinner = new JSpinner(
+        new SpinnerNumberModel(CsvImporter.DEFAULT_CHUNK_SIZE, 50, 10000, 50));
+    private final JProgressBar progressBar = new JProgressBar(0, 1000);
+    private final JLabel statusLabel = new JLabel(" ");
+    private final JTextArea errorArea = new JTextArea(10, 60);
+    private final JButton chooseButton = new JButton("Choose File...");
+    private final JButton importButton = new JButton("Import");
+    private final JButton closeButton = new JButton("Close");
+    private final AtomicBoolean cancelRequested = new AtomicBoolean(false);
+    private File file;
+    private boolean running = false;
+
+    /**
+     * {@code onFinished} runs on the EDT after an import that wrote rows,
+     * so the caller can refresh its table.
+     */
+    public CsvImportDialog(JFrame owner, CsvImporter.Target target, Runnable onFinished) {
+        super(owner, "Import " + title(target) + " from CSV", true);
+        this.target = target;
+        this.onFinished = onFinished;
+
+        JPanel top = new JPanel(new GridLayout(0, 1, 5, 5));
+        top.setBorder(BorderFactory.createEmptyBorder(10, 10, 5, 10));
+        top.add(new JLabel(target.describeColumns()));
+        JPanel fileRow = new JPanel(new FlowLayout(FlowLayout.LEFT, 10, 0));
+        fileRow.add(chooseButton);
+        fileRow.add(fileLabel);
+        top.add(fileRow);
+        JPanel chunkRow = new JPanel(new FlowLayout(FlowLayout.LEFT, 10, 0));
+        chunkRow.add(new JLabel("Rows per batch:"));
+        chunkRow.add(chunkSpinner);
+        top.add(chunkRow);
+        progressBar.setStringPainted(true);
+        top.add(progressBar);
+        top.add(statusLabel);
+
+        errorArea.setEditable(false);
+        JScrollPane errorScroll = new JScrollPane(errorArea);
+        errorScroll.setBorder(BorderFactory.createTitledBorder("Errors"));
+
+        JPanel buttons = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+        buttons.add(importButton);
+        buttons.add(closeButton);
+        importButton.setEnabled(false);
+
+        setLayout(new BorderLayout(5, 5));
+        add(top, BorderLayout.NORTH);
+        add(errorScroll, BorderLayout.CENTER);
+        add(buttons, BorderLayout.SOUTH);
+
+        chooseButton.addActionListener(e -> chooseFile());
+        importButton.addActionListener(e -> startImport());
+        closeButton.addActionListener(e -> {
+            if (running) {
+                // Stops after the current batch is committed
+                cancelRequested.set(true);
+                statusLabel.setText("Cancelling...");
+            } else {
+                dispose();
+            }
+        });
+
+        pack();
+        setLocationRelativeTo(owner);
+    }
+
+    private void chooseFile() {
+        JFileChooser chooser = new JFileChooser();
+        chooser.setFileFilter(new FileNameExtensionFilter("CSV files", "csv"));
+        if (chooser.showOpenDialog(this) == JFileChooser.APPROVE_OPTION) {
+            file = chooser.getSelectedFile();
+            fileLabel.setText(file.getName());
+            importButton.setEnabled(true);
+        }
+    }
+
+    private void startImport() {
+        running = true;
+        cancelRequested.set(false);
+        chooseButton.setEnabled(false);
+        importButton.setEnabled(false);
+        closeButton.setText("Cancel");
+        errorArea.setText("");
+        progressBar.setValue(0);
+        statusLabel.setText("Importing...");
+
+        final File source = file;
+        final int chunkSize = (Integer) chunkSpinner.getValue();
+        CsvImporter.Progress progress = new CsvImporter.Progress() {
+            @Override
+            public void update(long rowsRead, long imported, long failed, double fraction) {
+                SwingUtilities.invokeLater(() -> {
+                    progressBar.setValue((int) (fraction * 1000));
+                    progressBar.setString(String.format("%.0f%%", fraction * 100));
+                    statusLabel.setText(String.format("%,d rows read, %,d imported, %,d failed", rowsRead, imported, failed));
+                });
+            }
+
+            @Override
+            public boolean isCancelled() {
+                return cancelRequested.get();
+            }
+        };
+
+        DbExecutor.submit(() -> CsvImporter.importFile(source, target, chunkSize, progress))
+            .whenComplete((report, error) -> SwingUtilities.invokeLater(() -> finish(report, error)));
+    }
+
+    private void finish(ImportReport report, Throwable error) {
+        running = false;
+        chooseButton.setEnabled(true);
+        importButton.setEnabled(file != null);
+        closeButton.setText("Close");
+        if (error != null) {
+            Throwable cause = error.getCause() != null ? error.getCause() : error;
+            statusLabel.setText("Import failed: " + cause.getMessage());
+            return;
+        }
+        statusLabel.setText(report.toString());
+        StringBuilder errors = new StringBuilder();
+        for (String line : report.getErrors()) {
+            errors.append(line).append('\n');
+        }
+        if (report.getFailed() > report.getErrors().size()) {
+            errors.append("... and ").append(report.getFailed() - report.getErrors().size()).append(" more\n");
+        }
+        errorArea.setText(errors.toString());
+        errorArea.setCaretPosition(0);
+        if (report.getImported() > 0 && onFinished != null) {
+            onFinished.run();
+        }
+    }
+
+    private static String title(CsvImporter.Target target) {
+        switch (target) {
+            case ROOMS: return "Rooms";
+            case WARDENS: return "Wardens";
+            default: return "Students";
+        }
+    }
+}
@@ -6,13 +6,27 @@ import java.awt.event.*;
 import javax.swing.border.EmptyBorder;
 import java.awt.GraphicsDevice;
 import java.awt.GraphicsEnvironment;
+import database.BedReservations;
+import database.ChangeBus;
+import database.ChangeEvent;
+import database.CsvImporter;
 import database.DatabaseManager;
+import database.Reservation;
+import database.TableExporter;
+import database.TextSearch;
 import java.sql.*;
 import java.util.List;
 import java.util.Map;
 import java.util.ArrayList;
 import java.util.HashMap;
 import javax.swing.table.DefaultTableModel;
+import model.Complaint;
+import model.MealFeedback;
+import model.Page;
+import model.PaymentTxn;
+import model.Room;
+import model.Student;
+import model.Warden;
 import javax.swing.ListSelectionModel;
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
@@ -24,12 +38,35 @@ public class DashboardFrame extends JFrame {
     private JPanel contentPanel;
     private String currentUserRole;
     private String currentUsername;
-    private DefaultTableModel roomTableModel;  // Add this field
+    private RoomTableModel roomTableModel;  // Add this field
+    private StudentTableModel studentTableModel;
+    private DefaultTableModel complaintTableModel;
+    private DefaultTableModel mealPlanTableModel;
+    
+    // Keyset pagination state for the complaint table
+    private String complaintStatusFilter;
+    private String complaintNextCursor;
+    private JButton complaintLoadMoreButton;
+    private int complaintLoadGeneration;
+    
+    // Admin table panels kept across menu switches
+    private final PanelRegistry panelRegistry = new PanelRegistry();
+    
+    // Writes made anywhere in the app update the rows of the tables built here
+    private final ChangeBus.Listener changeListener =
+        event -> SwingUtilities.invokeLater(() -> applyChange(event));
     
     public DashboardFrame(String username, String role) {
         this.currentUsername = username;
         this.currentUserRole = role;
         initUI();
+        ChangeBus.subscribe(changeListener);
+    }
+    
+    @Override
+    public void dispose() {
+        ChangeBus.unsubscribe(changeListener);
+        super.dispose();
     }
     
     private void initUI() {
@@ -186,34 +223,13 @@ public class DashboardFrame extends JFrame {
         contentPanel.setLayout(new BoxLayout(contentPanel, BoxLayout.Y_AXIS));
         contentPanel.setBounds(menuWidth, height/6, width - menuWidth, contentHeight);
         
-        // Add the hostel image to the content panel
-        try {
-            ImageIcon icon = new ImageIcon("Hostel.jpg");
-            Image img = icon.getImage();
-            int contentWidth = width - menuWidth; // Use the calculated content width
-            int imageHeight = 450; // Keep target height around this value
-
-            // Scale image with horizontal padding, keeping height approximately fixed
-            int horizontalPadding = 40; // Padding on left and right (20px each side)
-            int targetWidth = contentWidth - horizontalPadding;
-            int targetHeight = imageHeight;
-
-            // Ensure target dimensions are not negative or zero
-            if (targetWidth <= 0) targetWidth = 1;
-            if (targetHeight <= 0) targetHeight = 1;
-
-            Image scaledImg = img.getScaledInstance(targetWidth, targetHeight, Image.SCALE_SMOOTH);
-            JLabel imageLabel = new JLabel(new ImageIcon(scaledImg));
-            // Center the image horizontally
-            imageLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
-            contentPanel.add(imageLabel);
-        } catch (Exception e) {
-            // Fallback to welcome message if image loading fails
-            JLabel welcomeLabel = new JLabel("Welcome to Hostel Management System", SwingConstants.CENTER);
-            welcomeLabel.setFont(welcomeLabel.getFont().deriveFont(30f));
-            welcomeLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
-            contentPanel.add(welcomeLabel);
-        }
+        // Add the hostel image to the content panel, scaled with horizontal padding
+        // (20px each side) at a fixed height; decoded and scaled once, off the EDT
+        int bannerWidth = width - menuWidth - 40;
+        JLabel bannerLabel = ImageCache.label(ImageCache.HOSTEL_IMAGE, bannerWidth, 450,
+                                              "Welcome to Hostel Management System");
+        bannerLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
+        contentPanel.add(bannerLabel);
         
         container.add(contentPanel);
 
@@ -236,63 +252,53 @@ public class DashboardFrame extends JFrame {
     }
     
     private void handleMenuAction(String menuItem) {
+        // Navigation is a safe point to hand the EDT's pooled connection back;
+        // the next query borrows a fresh one (and retires it if it has aged out)
+        DatabaseManager.releaseConnection();
+        
         contentPanel.removeAll();
         contentPanel.revalidate();
         contentPanel.repaint();
         
+        // A panel built on an earlier visit is re-attached, reloading its data only if stale
+        JComponent cached = panelRegistry.reuse(menuItem);
+        if (cached != null) {
+            contentPanel.add(cached);
+            contentPanel.revalidate();
+            contentPanel.repaint();
+            return;
+        }
+        
         switch (menuItem) {
             case "Dashboard":
                 contentPanel.removeAll();
                 contentPanel.setLayout(new BoxLayout(contentPanel, BoxLayout.Y_AXIS));
                 contentPanel.setBackground(Color.WHITE);
 
-                // Add the hostel image to the content panel for both roles
-                try {
-                    ImageIcon icon = new ImageIcon("Hostel.jpg");
-                    Image img = icon.getImage();
-                    int contentWidth = contentPanel.getWidth();
-                    int imageHeight = 450;
-
-                    int horizontalPadding = 40;
-                    int targetWidth = contentWidth - horizontalPadding;
-                    int targetHeight = imageHeight;
-
-                    if (targetWidth <= 0) targetWidth = 1;
-                    if (targetHeight <= 0) targetHeight = 1;
-
-                    Image scaledImg = img.getScaledInstance(targetWidth, targetHeight, Image.SCALE_SMOOTH);
-                    JLabel imageLabel = new JLabel(new ImageIcon(scaledImg));
-                    imageLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
-                    contentPanel.add(imageLabel);
-                } catch (Exception e) {
-                    JLabel welcomeLabel = new JLabel("Welcome to Hostel Management System", SwingConstants.CENTER);
-                    welcomeLabel.setFont(welcomeLabel.getFont().deriveFont(30f));
-                    welcomeLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
-                    contentPanel.add(welcomeLabel);
-                }
+                // Add the hostel image to the content panel for both roles; after the
+                // first visit it comes straight from the scaled-image cache
+                JLabel imageLabel = ImageCache.label(ImageCache.HOSTEL_IMAGE, contentPanel.getWidth() - 40, 450,
+                                                     "Welcome to Hostel Management System");
+                imageLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
+                contentPanel.add(imageLabel);
 
                 contentPanel.add(Box.createVerticalStrut(30)); // Space below the image
 
                 if (currentUserRole.equals("admin")) {
-                    // Admin dashboard content (statistics panels)
-                    Map<String, Integer> dashboardData = getDashboardData();
-                    int totalStudents = dashboardData.get("totalStudents");
-                    int totalRooms = dashboardData.get("totalRooms");
-                    int totalWardens = dashboardData.get("totalWardens");
-                    int pendingComplaints = dashboardData.get("pendingComplaints");
-
-                    JPanel dataPanel = new JPanel(new GridLayout(2, 2, 20, 20));
+                    // Admin dashboard content (statistics panels), filled in once the counts arrive
+                    JPanel dataPanel = new JPanel(new GridLayout(2, 4, 20, 20));
                     dataPanel.setAlignmentX(Component.CENTER_ALIGNMENT);
 
-                    JPanel studentsPanel = createDashboardDataPanel("Total Students", totalStudents, new Color(52, 152, 219));
-                    JPanel roomsPanel = createDashboardDataPanel("Total Rooms", totalRooms, new Color(46, 204, 113));
-                    JPanel wardensPanel = createDashboardDataPanel("Total Wardens", totalWardens, new Color(255, 112, 67));
-                    JPanel complaintsPanel = createDashboardDataPanel("Pending Complaints", pendingComplaints, new Color(230, 126, 34));
-
-                    dataPanel.add(studentsPanel);
-                    dataPanel.add(roomsPanel);
-                    dataPanel.add(wardensPanel);
-                    dataPanel.add(complaintsPanel);
+                    AsyncUi.load(dataPanel, DatabaseManager::getDashboardStats, stats -> {
+                        dataPanel.add(createDashboardDataPanel("Total Students", stats.getTotalStudents(), new Color(52, 152, 219)));
+                        dataPanel.add(createDashboardDataPanel("Total Rooms", stats.getTotalRooms(), new Color(46, 204, 113)));
+                        dataPanel.add(createDashboardDataPanel("Total Wardens", stats.getTotalWardens(), new Color(255, 112, 67)));
+                        dataPanel.add(createDashboardDataPanel("Pending Complaints", stats.getPendingComplaints(), new Color(230, 126, 34)));
+                        dataPanel.add(createDashboardDataPanel("Free Beds", stats.getFreeBeds(), new Color(26, 188, 156)));
+                        dataPanel.add(createDashboardDataPanel("Occupied Beds", stats.getOccupiedBeds(), new Color(155, 89, 182)));
+                        dataPanel.add(createDashboardDataPanel("Occupancy", String.format("%.1f%%", stats.getOccupancyPercent()), new Color(52, 73, 94)));
+                        dataPanel.add(createDashboardDataPanel("Total Dues", String.format("₹%,.0f", stats.getTotalDues()), new Color(192, 57, 43)));
+                    });
 
                     contentPanel.add(dataPanel);
                 } else {
@@ -309,15 +315,27 @@ public class DashboardFrame extends JFrame {
                     roomAvailabilityPanel.setBorder(BorderFactory.createTitledBorder("Room Availability"));
                     roomAvailabilityPanel.setAlignmentX(Component.CENTER_ALIGNMENT);
 
-                    try {
-                        String sql = "SELECT r.room_no, r.room_type, r.sharing_type, r.block_name, r.floor_no, " +
-                                   "r.capacity, COUNT(s.roll_no) as current_occupancy, (r.capacity - COUNT(s.roll_no)) as available_space " +
-                                   "FROM rooms r LEFT JOIN students s ON r.room_no = s.room_no " + // Join with students table
-                                   "GROUP BY r.room_no, r.room_type, r.sharing_type, r.block_name, r.floor_no, r.capacity " + // Group by room details
-                                   "ORDER BY r.block_name, r.floor_no, r.room_no";
-                        PreparedStatement pstmt = DatabaseManager.getConnection().prepareStatement(sql);
-                        ResultSet rs = pstmt.executeQuery();
-
+                    AsyncUi.load(roomAvailabilityPanel, () -> {
+                        String sql = "SELECT room_no, room_type, sharing_type, block_name, floor_no, " +
+                                   "capacity, current_occupancy, (capacity - current_occupancy) as available_space " +
+                                   "FROM rooms " + // Stored occupancy, kept current by the write paths
+                                   "ORDER BY block_name, floor_no, room_no";
+                        List<Object[]> rows = new ArrayList<>();
+                        try (PreparedStatement pstmt = DatabaseManager.getConnection().prepareStatement(sql);
+                             ResultSet rs = pstmt.executeQuery()) {
+                            while (rs.next()) {
+                                rows.add(new Object[]{
+                                    rs.getString("room_no"),
+                                    rs.getString("room_type"),
+                                    rs.getString("sharing_type"),
+                                    rs.getString("block_name"),
+                                    rs.getInt("floor_no"),
+                                    rs.getInt("available_space") + "/" + rs.getInt("capacity")
+                                });
+                            }
+                        }
+                        return rows;
+                    }, rows -> {
                         String[] columns = {"Room No", "Type", "Sharing", "Block", "Floor", "Available/Total"};
                         DefaultTableModel model = new DefaultTableModel(columns, 0) {
                             @Override
@@ -325,16 +343,8 @@ public class DashboardFrame extends JFrame {
                                 return false;
                             }
                         };
-
-                        while (rs.next()) {
-                            model.addRow(new Object[]{
-                                rs.getString("room_no"),
-                                rs.getString("room_type"),
-                                rs.getString("sharing_type"),
-                                rs.getString("block_name"),
-                                rs.getInt("floor_no"),
-                                rs.getInt("available_space") + "/" + rs.getInt("capacity")
-                            });
+                        for (Object[] row : rows) {
+                            model.addRow(row);
                         }
 
                         JTable roomTable = new JTable(model);
@@ -351,10 +361,7 @@ public class DashboardFrame extends JFrame {
                         JScrollPane scrollPane = new JScrollPane(roomTable);
                         scrollPane.setPreferredSize(new Dimension(contentPanel.getWidth() - 80, 300)); // Make it wider and taller
                         roomAvailabilityPanel.add(scrollPane, BorderLayout.CENTER);
-                    } catch (SQLException ex) {
-                        JLabel errorLabel = new JLabel("Error loading room data: " + ex.getMessage());
-                        roomAvailabilityPanel.add(errorLabel, BorderLayout.CENTER);
-                    }
+                    });
 
                     // Fees Structure Section (Removed from dashboard)
                     // JPanel feesPanel = new JPanel(new BorderLayout());
@@ -448,10 +455,13 @@ public class DashboardFrame extends JFrame {
                     JTextField searchField = new JTextField(20);
                     JButton searchButton = new JButton("Search");
                     
+                    JButton importButton = new JButton("Import CSV");
+                    
                     controlPanel.add(refreshButton);
                     controlPanel.add(addButton);
                     controlPanel.add(updateButton);
                     controlPanel.add(deleteButton);
+                    controlPanel.add(importButton);
                     controlPanel.add(new JLabel("Search:"));
                     controlPanel.add(searchField);
                     controlPanel.add(searchButton);
@@ -461,28 +471,27 @@ public class DashboardFrame extends JFrame {
                     scrollPane.setHorizontalScrollBarPolicy(JScrollPane.HORIZONTAL_SCROLLBAR_ALWAYS);
                     scrollPane.setVerticalScrollBarPolicy(JScrollPane.VERTICAL_SCROLLBAR_ALWAYS);
                     
+                    importButton.addActionListener(e ->
+                        new CsvImportDialog(this, CsvImporter.Target.WARDENS, refreshButton::doClick).setVisible(true));
+                    
                     // Refresh action to load warden data
                     refreshButton.addActionListener(e -> {
-                        try {
-                            String sql = "SELECT * FROM wardens ORDER BY warden_id";
-                            PreparedStatement pstmt = DatabaseManager.getConnection().prepareStatement(sql);
-                            ResultSet rs = pstmt.executeQuery();
-                            
+                        refreshButton.setEnabled(false);
+                        AsyncUi.load(DatabaseManager::getAllWardenRecords, wardens -> {
                             wardenModel.setRowCount(0);
-                            while (rs.next()) {
+                            for (Warden warden : wardens) {
                                 wardenModel.addRow(new Object[]{
-                                    rs.getString("warden_id"),
-                                    rs.getString("name"),
-                                    rs.getInt("age"),
-                                    rs.getString("mobile"),
-                                    rs.getString("assigned_hostel"),
-                                    rs.getString("block_name"),
-                                    rs.getDate("joining_date")
+                                    warden.getWardenId(),
+                                    warden.getName(),
+                                    warden.getAge(),
+                                    warden.getMobile(),
+                                    warden.getAssignedHostel(),
+                                    warden.getBlockName(),
+                                    warden.getJoiningDate()
                                 });
                             }
-                        } catch (SQLException ex) {
-                            JOptionPane.showMessageDialog(null, "Error loading wardens: " + ex.getMessage());
-                        }
+                            refreshButton.setEnabled(true);
+                        }, error -> refreshButton.setEnabled(true));
                     });
                     
                     // Add Warden action
@@ -550,6 +559,8 @@ public class DashboardFrame extends JFrame {
                                 pstmt.setString(6, blockField.getText().trim());
                                 
                                 pstmt.executeUpdate();
+                                DatabaseManager.reindexWarden(wardenIdField.getText().trim());
+                                ChangeBus.inserted(ChangeEvent.Entity.WARDEN, wardenIdField.getText().trim());
                                 refreshButton.doClick();
                                 JOptionPane.showMessageDialog(null, "Warden added successfully!");
                             } catch (SQLException ex) {
@@ -638,6 +649,8 @@ public class DashboardFrame extends JFrame {
                                     updateStmt.setString(6, wardenId);
                                     
                                     updateStmt.executeUpdate();
+                                    DatabaseManager.reindexWarden(wardenId);
+                                    ChangeBus.updated(ChangeEvent.Entity.WARDEN, wardenId);
                                     refreshButton.doClick();
                                     JOptionPane.showMessageDialog(null, "Warden updated successfully!");
                                 }
@@ -667,6 +680,8 @@ public class DashboardFrame extends JFrame {
                                 PreparedStatement pstmt = DatabaseManager.getConnection().prepareStatement(sql);
                                 pstmt.setString(1, wardenId);
                                 pstmt.executeUpdate();
+                                DatabaseManager.reindexWarden(wardenId);
+                                ChangeBus.deleted(ChangeEvent.Entity.WARDEN, wardenId);
                                 
                                 refreshButton.doClick();
                                 JOptionPane.showMessageDialog(null, "Warden deleted successfully!");
@@ -677,31 +692,41 @@ public class DashboardFrame extends JFrame {
                     });
                     
                     // Search action
-                    searchButton.addActionListener(e -> {
-                        String searchTerm = searchField.getText().trim().toLowerCase();
-                        if (searchTerm.isEmpty()) {
-                            showRoomManagementPanel();
-                            return;
-                        }
-                        
-                        for (int i = wardenModel.getRowCount() - 1; i >= 0; i--) {
-                            boolean found = false;
-                            for (int j = 0; j < wardenModel.getColumnCount(); j++) {
-                                Object value = wardenModel.getValueAt(i, j);
-                                if (value != null && value.toString().toLowerCase().contains(searchTerm)) {
-                                    found = true;
-                                    break;
+                    // Search as you type; an empty box shows every warden again
+                    TypeAheadSearch<Warden> wardenSearch = new TypeAheadSearch<>(searchField,
+                        DatabaseManager::streamWardenSearch, new TypeAheadSearch.Listener<Warden>() {
+                            @Override
+                            public void started(String term) {
+                                wardenModel.setRowCount(0);
+                            }
+
+                            @Override
+                            public void rows(List<Warden> wardens) {
+                                for (Warden warden : wardens) {
+                                    wardenModel.addRow(new Object[]{
+                                        warden.getWardenId(),
+                                        warden.getName(),
+                                        warden.getAge(),
+                                        warden.getMobile(),
+                                        warden.getAssignedHostel(),
+                                        warden.getBlockName(),
+                                        warden.getJoiningDate()
+                                    });
                                 }
                             }
-                            if (!found) {
-                                wardenModel.removeRow(i);
+
+                            @Override
+                            public void cleared() {
+                                refreshButton.doClick();
                             }
-                        }
-                    });
+                        });
+                    searchButton.addActionListener(e -> wardenSearch.searchNow());
+                    controlPanel.add(wardenSearch.getDebugLabel());
                     
                     wardenPanel.add(controlPanel, BorderLayout.NORTH);
                     wardenPanel.add(scrollPane, BorderLayout.CENTER);
                     contentPanel.add(wardenPanel);
+                    panelRegistry.register(menuItem, wardenPanel, refreshButton::doClick);
                     
                     // Initial load
                     refreshButton.doClick();
@@ -713,13 +738,9 @@ public class DashboardFrame extends JFrame {
                     studentPanel.setBorder(new EmptyBorder(10, 10, 10, 10));
                     
                     // Basic table model with custom column widths
-                    String[] columns = {"Roll No", "Name", "College", "Department", "Semester", "Age", "Contact", "Room", "Room Type", "Sharing Type", "Block", "Floor", "Amount Paid", "Amount Due", "Payment Method", "Password"};
-                    DefaultTableModel model = new DefaultTableModel(columns, 0) {
-                        @Override
-                        public boolean isCellEditable(int row, int column) {
-                            return false;
-                        }
-                    };
+                    // Rows are fetched in windows as the table scrolls
+                    StudentTableModel model = new StudentTableModel();
+                    studentTableModel = model;
                     JTable table = new JTable(model);
                     
                     // Configure table properties
@@ -735,7 +756,7 @@ public class DashboardFrame extends JFrame {
                     }
                     
                     // Add data
-                    refreshStudentTable(model);
+                    model.refresh();
                     
                     // Create scroll pane with both scrollbars always visible
                     JScrollPane scrollPane = new JScrollPane(table);
@@ -748,10 +769,16 @@ public class DashboardFrame extends JFrame {
                     JButton editButton = new JButton("Edit Student");
                     JButton deleteButton = new JButton("Delete Student");
                     JButton refreshButton = new JButton("Refresh");
+                    JButton historyButton = new JButton("Payment History");
+                    JButton importButton = new JButton("Import CSV");
+                    JButton exportButton = new JButton("Export");
                     controls.add(addButton);
                     controls.add(editButton);
                     controls.add(deleteButton);
                     controls.add(refreshButton);
+                    controls.add(historyButton);
+                    controls.add(importButton);
+                    controls.add(exportButton);
                     controls.add(new JLabel("Search:"));
                     JTextField searchField = new JTextField(15);
                     controls.add(searchField);
@@ -1061,8 +1088,6 @@ public class DashboardFrame extends JFrame {
                                     String sql = "INSERT INTO students (roll_no, name, college, department, semester, " +
                                                "age, mobile, room_no, room_type, sharing_type, block_name, floor_no, password, amount_paid, amount_due, payment_method) " +
                                                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
-                                    PreparedStatement pstmt = DatabaseManager.getConnection().prepareStatement(sql);
-                                    
                                     // Get room details first
                                     String roomDetailsSql = "SELECT room_type, sharing_type, block_name, floor_no FROM rooms WHERE room_no = ?";
                                     PreparedStatement roomDetailsStmt = DatabaseManager.getConnection().prepareStatement(roomDetailsSql);
@@ -1074,32 +1099,38 @@ public class DashboardFrame extends JFrame {
                                         return;
                                     }
                                     
-                                    pstmt.setString(1, rollNoField.getText().trim());
-                                    pstmt.setString(2, nameField.getText().trim());
-                                    pstmt.setString(3, collegeField.getText().trim());
-                                    pstmt.setString(4, deptField.getText().trim());
-                                    pstmt.setString(5, semesterField.getText().trim());
-                                    pstmt.setInt(6, Integer.parseInt(ageField.getText().trim()));
-                                    pstmt.setString(7, mobileField.getText().trim());
-                                    pstmt.setString(8, roomNoField.getText().trim());
-                                    pstmt.setString(9, roomDetails.getString("room_type"));
-                                    pstmt.setString(10, roomDetails.getString("sharing_type"));
-                                    pstmt.setString(11, roomDetails.getString("block_name"));
-                                    pstmt.setInt(12, roomDetails.getInt("floor_no"));
-                                    pstmt.setString(13, passwordField.getText().trim());
-                                    pstmt.setDouble(14, amountPaid);
-                                    pstmt.setDouble(15, amountDue);
-                                    pstmt.setString(16, paymentMethod);
-                                    
-                                    pstmt.executeUpdate();
-                                    
-                                    // Update room occupancy
-                                    String updateRoom = "UPDATE rooms SET current_occupancy = current_occupancy + 1 WHERE room_no = ?";
-                                    PreparedStatement updateStmt = DatabaseManager.getConnection().prepareStatement(updateRoom);
-                                    updateStmt.setString(1, roomNoField.getText().trim());
-                                    updateStmt.executeUpdate();
-                                    
-                                    refreshStudentTable(model);
+                                    // The bed is taken in the same transaction as the insert, so a
+                                    // room filled since the check above fails the insert
+                                    try (Connection conn = DatabaseManager.openConnection()) {
+                                        conn.setAutoCommit(false);
+                                        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                                            DatabaseManager.claimBed(conn, roomNoField.getText().trim());
+                                            pstmt.setString(1, rollNoField.getText().trim());
+                                            pstmt.setString(2, nameField.getText().trim());
+                                            pstmt.setString(3, collegeField.getText().trim());
+                                            pstmt.setString(4, deptField.getText().trim());
+                                            pstmt.setString(5, semesterField.getText().trim());
+                                            pstmt.setInt(6, Integer.parseInt(ageField.getText().trim()));
+                                            pstmt.setString(7, mobileField.getText().trim());
+                                            pstmt.setString(8, roomNoField.getText().trim());
+                                            pstmt.setString(9, roomDetails.getString("room_type"));
+                                            pstmt.setString(10, roomDetails.getString("sharing_type"));
+                                            pstmt.setString(11, roomDetails.getString("block_name"));
+                                            pstmt.setInt(12, roomDetails.getInt("floor_no"));
+                                            pstmt.setString(13, passwordField.getText().trim());
+                                            pstmt.setDouble(14, amountPaid);
+                                            pstmt.setDouble(15, amountDue);
+                                            pstmt.setString(16, paymentMethod);
+                                            pstmt.executeUpdate();
+                                            DatabaseManager.commitBedMove(conn, null, roomNoField.getText().trim());
+                                        } catch (SQLException ex) {
+                                            conn.rollback();
+                                            throw ex;
+                                        }
+                                    }
+                                    DatabaseManager.reindexStudent(rollNoField.getText().trim());
+                                    ChangeBus.inserted(ChangeEvent.Entity.STUDENT, rollNoField.getText().trim());
+                                    ChangeBus.updated(ChangeEvent.Entity.ROOM, roomNoField.getText().trim());
                                     JOptionPane.showMessageDialog(this, 
                                         String.format("Student added successfully!\nTotal Cost: ₹%.0f\nAmount Paid: ₹%.0f\nAmount Due: ₹%.0f", 
                                         totalCost, amountPaid, amountDue));
@@ -1119,8 +1150,12 @@ public class DashboardFrame extends JFrame {
                             JOptionPane.showMessageDialog(this, "Please select a student to edit");
                             return;
                         }
+                        if (model.getRow(selectedRow) == null) {
+                            JOptionPane.showMessageDialog(this, "Student details are still loading, please try again");
+                            return;
+                        }
                         
-                        String rollNo = (String) table.getValueAt(selectedRow, 0);
+                        String rollNo = model.getRow(selectedRow).getRollNo();
                         try {
                             String sql = "SELECT * FROM students WHERE roll_no = ?";
                             PreparedStatement pstmt = DatabaseManager.getConnection().prepareStatement(sql);
@@ -1185,39 +1220,46 @@ public class DashboardFrame extends JFrame {
                                         }
                                     }
                                     
-                                    // Update student
+                                    // Update student, moving their bed in the same transaction
+                                    // if the room changed
                                     String updateSql = "UPDATE students SET name = ?, college = ?, department = ?, " +
                                                      "semester = ?, age = ?, mobile = ?, room_no = ?, amount_paid = ? " +
                                                      "WHERE roll_no = ?";
-                                    PreparedStatement updateStmt = DatabaseManager.getConnection().prepareStatement(updateSql);
-                                    updateStmt.setString(1, nameField.getText());
-                                    updateStmt.setString(2, collegeField.getText());
-                                    updateStmt.setString(3, deptField.getText());
-                                    updateStmt.setString(4, semesterField.getText());
-                                    updateStmt.setInt(5, Integer.parseInt(ageField.getText()));
-                                    updateStmt.setString(6, mobileField.getText());
-                                    updateStmt.setString(7, roomNoField.getText());
-                                    updateStmt.setDouble(8, Double.parseDouble(amountPaidField.getText()));
-                                    updateStmt.setString(9, rollNo);
-                                    
-                                    updateStmt.executeUpdate();
+                                    boolean roomChanged = !oldRoomNo.equals(newRoomNo);
+                                    try (Connection conn = DatabaseManager.openConnection()) {
+                                        conn.setAutoCommit(false);
+                                        try (PreparedStatement updateStmt = conn.prepareStatement(updateSql)) {
+                                            updateStmt.setString(1, nameField.getText());
+                                            updateStmt.setString(2, collegeField.getText());
+                                            updateStmt.setString(3, deptField.getText());
+                                            updateStmt.setString(4, semesterField.getText());
+                                            updateStmt.setInt(5, Integer.parseInt(ageField.getText()));
+                                            updateStmt.setString(6, mobileField.getText());
+                                            updateStmt.setString(7, roomNoField.getText());
+                                            updateStmt.setDouble(8, Double.parseDouble(amountPaidField.getText()));
+                                            updateStmt.setString(9, rollNo);
+                                            updateStmt.executeUpdate();
+                                            
+                                            if (roomChanged) {
+                                                DatabaseManager.releaseBed(conn, oldRoomNo);
+                                                DatabaseManager.claimBed(conn, newRoomNo);
+                                                DatabaseManager.commitBedMove(conn, oldRoomNo, newRoomNo);
+                                            } else {
+                                                conn.commit();
+                                            }
+                                        } catch (SQLException ex) {
+                                            conn.rollback();
+                                            throw ex;
+                                        }
+                                    }
+                                    DatabaseManager.reindexStudent(rollNo);
                                     
-                                    // Update room occupancy if room changed
-                                    if (!oldRoomNo.equals(newRoomNo)) {
-                                        // Decrease old room occupancy
-                                        String decreaseOld = "UPDATE rooms SET current_occupancy = current_occupancy - 1 WHERE room_no = ?";
-                                        PreparedStatement decreaseStmt = DatabaseManager.getConnection().prepareStatement(decreaseOld);
-                                        decreaseStmt.setString(1, oldRoomNo);
-                                        decreaseStmt.executeUpdate();
-                                        
-                                        // Increase new room occupancy
-                                        String increaseNew = "UPDATE rooms SET current_occupancy = current_occupancy + 1 WHERE room_no = ?";
-                                        PreparedStatement increaseStmt = DatabaseManager.getConnection().prepareStatement(increaseNew);
-                                        increaseStmt.setString(1, newRoomNo);
-                                        increaseStmt.executeUpdate();
+                                    if (roomChanged) {
+                                        ChangeBus.updated(ChangeEvent.Entity.ROOM, oldRoomNo);
+                                        ChangeBus.updated(ChangeEvent.Entity.ROOM, newRoomNo);
                                     }
                                     
-                                    refreshStudentTable(model);
+                                    ChangeBus.updated(ChangeEvent.Entity.STUDENT, rollNo);
                                     JOptionPane.showMessageDialog(this, "Student updated successfully!");
                                 }
                             }
@@ -1233,6 +1275,10 @@ public class DashboardFrame extends JFrame {
                             JOptionPane.showMessageDialog(this, "Please select a student to delete");
                             return;
                         }
+                        if (model.getRow(selectedRow) == null) {
+                            JOptionPane.showMessageDialog(this, "Student details are still loading, please try again");
+                            return;
+                        }
                         
                         int confirm = JOptionPane.showConfirmDialog(this,
                             "Are you sure you want to delete this student?",
@@ -1240,23 +1286,12 @@ public class DashboardFrame extends JFrame {
                             JOptionPane.YES_NO_OPTION);
                             
                         if (confirm == JOptionPane.YES_OPTION) {
-                            String rollNo = (String) table.getValueAt(selectedRow, 0);
-                            String roomNo = (String) table.getValueAt(selectedRow, 7);
+                            Student student = model.getRow(selectedRow);
+                            String rollNo = student.getRollNo();
                             
                             try {
-                                // First decrease room occupancy
-                                String updateRoom = "UPDATE rooms SET current_occupancy = current_occupancy - 1 WHERE room_no = ?";
-                                PreparedStatement updateStmt = DatabaseManager.getConnection().prepareStatement(updateRoom);
-                                updateStmt.setString(1, roomNo);
-                                updateStmt.executeUpdate();
-                                
-                                // Then delete student
-                                String sql = "DELETE FROM students WHERE roll_no = ?";
-                                PreparedStatement pstmt = DatabaseManager.getConnection().prepareStatement(sql);
-                                pstmt.setString(1, rollNo);
-                                pstmt.executeUpdate();
-                                
-                                refreshStudentTable(model);
+                                // Deletes the student and gives back their bed in one transaction
+                                DatabaseManager.removeStudent(rollNo);
                                 JOptionPane.showMessageDialog(this, "Student deleted successfully!");
                             } catch (SQLException ex) {
                                 JOptionPane.showMessageDialog(this, "Error deleting student: " + ex.getMessage());
@@ -1265,31 +1300,37 @@ public class DashboardFrame extends JFrame {
                     });
                     
                     // Refresh button action
-                    refreshButton.addActionListener(e -> refreshStudentTable(model));
+                    refreshButton.addActionListener(e -> model.refresh());
                     
-                    // Search button action
-                    searchButton.addActionListener(e -> {
-                        String searchTerm = searchField.getText().trim().toLowerCase();
-                        if (searchTerm.isEmpty()) {
-                            showRoomManagementPanel();
+                    // Payment history of the selected student
+                    historyButton.addActionListener(e -> {
+                        int selectedRow = table.getSelectedRow();
+                        if (selectedRow == -1) {
+                            JOptionPane.showMessageDialog(this, "Please select a student to view payment history");
                             return;
                         }
-                        
-                        for (int i = model.getRowCount() - 1; i >= 0; i--) {
-                            boolean found = false;
-                            for (int j = 0; j < model.getColumnCount(); j++) {
-                                Object value = model.getValueAt(i, j);
-                                if (value != null && value.toString().toLowerCase().contains(searchTerm)) {
-                                    found = true;
-                                    break;
-                                }
-                            }
-                            if (!found) {
-                                model.removeRow(i);
-                            }
+                        if (model.getRow(selectedRow) == null) {
+                            JOptionPane.showMessageDialog(this, "Student details are still loading, please try again");
+                            return;
                         }
+                        showPaymentHistory(model.getRow(selectedRow).getRollNo());
                     });
                     
+                    // Bulk import from a CSV file
+                    importButton.addActionListener(e ->
+                        new CsvImportDialog(this, CsvImporter.Target.STUDENTS, () -> {
+                            model.refresh();
+                            panelRegistry.markStale("Room Management");
+                        }).setVisible(true));
+                    exportButton.addActionListener(e ->
+                        new ExportDialog(this, TableExporter.Source.STUDENTS, TableExporter.Source.PAYMENT_HISTORY).setVisible(true));
+                    
+                    // Search button action: filter by roll number or name in the database;
+                    // an empty search shows every student again
+                    searchButton.addActionListener(e -> model.setFilter(searchField.getText()));
+                    TypeAheadSearch.debounce(searchField, TypeAheadSearch.DEFAULT_DEBOUNCE_MILLIS,
+                        () -> model.setFilter(searchField.getText()));
+                    
                     studentPanel.add(controls, BorderLayout.NORTH);
                     studentPanel.add(scrollPane, BorderLayout.CENTER);
                     
@@ -1297,6 +1338,7 @@ public class DashboardFrame extends JFrame {
                     contentPanel.add(studentPanel);
                     contentPanel.revalidate();
                     contentPanel.repaint();
+                    panelRegistry.register(menuItem, studentPanel, model::refresh);
                 }
                 break;
             case "Complaint Management":
@@ -1312,6 +1354,7 @@ public class DashboardFrame extends JFrame {
                             return false;
                         }
                     };
+                    complaintTableModel = complaintModel;
                     JTable complaintTable = new JTable(complaintModel);
                     
                     // Configure table properties
@@ -1334,11 +1377,17 @@ public class DashboardFrame extends JFrame {
                     JButton deleteButton = new JButton("Delete Complaint");  // Add delete button
                     JTextField searchField = new JTextField(20);
                     JButton searchButton = new JButton("Search");
+                    complaintLoadMoreButton = new JButton("Load More");
+                    JButton exportButton = new JButton("Export");
+                    JButton textSearchButton = new JButton("Search Text");
                     
                     controlPanel.add(refreshButton);
                     controlPanel.add(viewPendingButton);
                     controlPanel.add(resolveButton);
                     controlPanel.add(deleteButton);  // Add delete button to panel
+                    controlPanel.add(complaintLoadMoreButton);
+                    controlPanel.add(exportButton);
+                    controlPanel.add(textSearchButton);
                     controlPanel.add(new JLabel("Search:"));
                     controlPanel.add(searchField);
                     controlPanel.add(searchButton);
@@ -1348,63 +1397,33 @@ public class DashboardFrame extends JFrame {
                     scrollPane.setHorizontalScrollBarPolicy(JScrollPane.HORIZONTAL_SCROLLBAR_ALWAYS);
                     scrollPane.setVerticalScrollBarPolicy(JScrollPane.VERTICAL_SCROLLBAR_ALWAYS);
                     
-                    // Refresh action to load all complaints
+                    // Refresh action to load the first page of all complaints
                     refreshButton.addActionListener(e -> {
-                        try {
-                            String sql = "SELECT DISTINCT c.complaint_id, s.name as student_name, c.student_roll_no, " +
-                                       "c.complaint_text, c.status, c.filing_date, c.resolution_date " +
-                                       "FROM complaints c " +
-                                       "JOIN students s ON c.student_roll_no = s.roll_no " +
-                                       "ORDER BY c.filing_date DESC";
-                            PreparedStatement pstmt = DatabaseManager.getConnection().prepareStatement(sql);
-                            ResultSet rs = pstmt.executeQuery();
-                            
-                            complaintModel.setRowCount(0);
-                            while (rs.next()) {
-                                complaintModel.addRow(new Object[]{
-                                    rs.getInt("complaint_id"),
-                                    rs.getString("student_name"),
-                                    rs.getString("student_roll_no"),
-                                    rs.getString("complaint_text"),
-                                    rs.getString("status"),
-                                    rs.getTimestamp("filing_date"),
-                                    rs.getTimestamp("resolution_date")
-                                });
-                            }
-                        } catch (SQLException ex) {
-                            JOptionPane.showMessageDialog(null, "Error loading complaints: " + ex.getMessage());
-                        }
+                        complaintStatusFilter = null;
+                        complaintNextCursor = null;
+                        complaintModel.setRowCount(0);
+                        loadMoreComplaints(complaintModel);
                     });
                     
                     // View Pending action
                     viewPendingButton.addActionListener(e -> {
-                        try {
-                            String sql = "SELECT DISTINCT c.complaint_id, s.name as student_name, c.student_roll_no, " +
-                                       "c.complaint_text, c.status, c.filing_date, c.resolution_date " +
-                                       "FROM complaints c " +
-                                       "JOIN students s ON c.student_roll_no = s.roll_no " +
-                                       "WHERE c.status = 'Pending' " +
-                                       "ORDER BY c.filing_date DESC";
-                            PreparedStatement pstmt = DatabaseManager.getConnection().prepareStatement(sql);
-                            ResultSet rs = pstmt.executeQuery();
-                            
-                            complaintModel.setRowCount(0);
-                            while (rs.next()) {
-                                complaintModel.addRow(new Object[]{
-                                    rs.getInt("complaint_id"),
-                                    rs.getString("student_name"),
-                                    rs.getString("student_roll_no"),
-                                    rs.getString("complaint_text"),
-                                    rs.getString("status"),
-                                    rs.getTimestamp("filing_date"),
-                                    rs.getTimestamp("resolution_date")
-                                });
-                            }
-                        } catch (SQLException ex) {
-                            JOptionPane.showMessageDialog(null, "Error loading pending complaints: " + ex.getMessage());
-                        }
+                        complaintStatusFilter = "Pending";
+                        complaintNextCursor = null;
+                        complaintModel.setRowCount(0);
+                        loadMoreComplaints(complaintModel);
                     });
                     
+                    // Load More appends the next page for the current filter
+                    complaintLoadMoreButton.addActionListener(e -> loadMoreComplaints(complaintModel));
+                    exportButton.addActionListener(e ->
+                        new ExportDialog(this, TableExporter.Source.COMPLAINTS).setVisible(true));
+                    
+                    // Relevance-ranked search over the complaint text itself
+                    textSearchButton.addActionListener(e ->
+                        new TextSearchDialog<Complaint>(this, "Search Complaint Text",
+                            new String[]{"ID", "Student", "Roll No", "Complaint", "Status", "Filed On", "Resolved On"},
+                            TextSearch::searchComplaints, this::complaintRow).setVisible(true));
+                    
                     // Resolve action
                     resolveButton.addActionListener(e -> {
                         int selectedRow = complaintTable.getSelectedRow();
@@ -1422,7 +1441,7 @@ public class DashboardFrame extends JFrame {
                             
                             int result = pstmt.executeUpdate();
                             if (result > 0) {
-                                refreshButton.doClick();
+                                ChangeBus.updated(ChangeEvent.Entity.COMPLAINT, String.valueOf(complaintId));
                                 JOptionPane.showMessageDialog(null, "Complaint resolved successfully!");
                             }
                         } catch (SQLException ex) {
@@ -1431,27 +1450,31 @@ public class DashboardFrame extends JFrame {
                     });
                     
                     // Search action
-                    searchButton.addActionListener(e -> {
-                        String searchTerm = searchField.getText().trim().toLowerCase();
-                        if (searchTerm.isEmpty()) {
-                            showRoomManagementPanel();
-                            return;
-                        }
-                        
-                        for (int i = complaintModel.getRowCount() - 1; i >= 0; i--) {
-                            boolean found = false;
-                            for (int j = 0; j < complaintModel.getColumnCount(); j++) {
-                                Object value = complaintModel.getValueAt(i, j);
-                                if (value != null && value.toString().toLowerCase().contains(searchTerm)) {
-                                    found = true;
-                                    break;
+                    // Search as you type by student or status; an empty box reloads the pages
+                    TypeAheadSearch<Complaint> complaintSearch = new TypeAheadSearch<>(searchField,
+                        DatabaseManager::streamComplaintSearch, new TypeAheadSearch.Listener<Complaint>() {
+                            @Override
+                            public void started(String term) {
+                                // Stops a page that is still loading from landing in the results
+                                complaintLoadGeneration++;
+                                complaintLoadMoreButton.setEnabled(false);
+                                complaintModel.setRowCount(0);
+                            }
+
+                            @Override
+                            public void rows(List<Complaint> complaints) {
+                                for (Complaint complaint : complaints) {
+                                    complaintModel.addRow(complaintRow(complaint));
                                 }
                             }
-                            if (!found) {
-                                complaintModel.removeRow(i);
+
+                            @Override
+                            public void cleared() {
+                                refreshButton.doClick();
                             }
-                        }
-                    });
+                        });
+                    searchButton.addActionListener(e -> complaintSearch.searchNow());
+                    controlPanel.add(complaintSearch.getDebugLabel());
                     
                     // Add Delete action
                     deleteButton.addActionListener(e -> {
@@ -1479,7 +1502,7 @@ public class DashboardFrame extends JFrame {
                                 
                                 int result = pstmt.executeUpdate();
                                 if (result > 0) {
-                                    refreshButton.doClick();
+                                    ChangeBus.deleted(ChangeEvent.Entity.COMPLAINT, String.valueOf(complaintId));
                                     JOptionPane.showMessageDialog(null, "Complaint deleted successfully!");
                                 }
                             } catch (SQLException ex) {
@@ -1491,6 +1514,12 @@ public class DashboardFrame extends JFrame {
                     complaintPanel.add(controlPanel, BorderLayout.NORTH);
                     complaintPanel.add(scrollPane, BorderLayout.CENTER);
                     contentPanel.add(complaintPanel);
+                    // Coming back reloads the first page under the filter in use
+                    panelRegistry.register(menuItem, complaintPanel, () -> {
+                        complaintNextCursor = null;
+                        complaintModel.setRowCount(0);
+                        loadMoreComplaints(complaintModel);
+                    });
                     
                     // Initial load
                     refreshButton.doClick();
@@ -1697,6 +1726,7 @@ public class DashboardFrame extends JFrame {
                                                 feedbackStmt.setString(1, currentUsername);
                                                 feedbackStmt.setString(2, feedbackText);
                                                 feedbackStmt.executeUpdate();
+                                                ChangeBus.inserted(ChangeEvent.Entity.FEEDBACK, currentUsername);
                                                 JOptionPane.showMessageDialog(mainPanel, "Thank you for your feedback!");
                                             } catch (SQLException ex) {
                                                 JOptionPane.showMessageDialog(mainPanel, "Error submitting feedback: " + ex.getMessage());
@@ -1850,12 +1880,17 @@ public class DashboardFrame extends JFrame {
                             
                             try {
                                 String sql = "INSERT INTO complaints (student_roll_no, complaint_text, status, filing_date) VALUES (?, ?, 'Pending', NOW())";
-                                PreparedStatement pstmt = DatabaseManager.getConnection().prepareStatement(sql);
+                                PreparedStatement pstmt = DatabaseManager.getConnection().prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
                                 pstmt.setString(1, selectedRollNo);
                                 pstmt.setString(2, complaintText.getText().trim());
                                 
                                 int result = pstmt.executeUpdate();
                                 if (result > 0) {
+                                    try (ResultSet keys = pstmt.getGeneratedKeys()) {
+                                        if (keys.next()) {
+                                            ChangeBus.inserted(ChangeEvent.Entity.COMPLAINT, String.valueOf(keys.getInt(1)));
+                                        }
+                                    }
                                     JOptionPane.showMessageDialog(null, "Complaint filed successfully!");
                                     complaintText.setText("");
                                     loadComplaints(selectedRollNo, complaintPanel); // Refresh complaints list
@@ -1996,16 +2031,11 @@ public class DashboardFrame extends JFrame {
                     }
                     
                     try {
-                        String sql = "SELECT r.*, " +
-                                   "(SELECT COUNT(*) FROM students s2 WHERE s2.room_no = r.room_no) as current_occupancy " +
-                                   "FROM rooms r " +
-                                   "JOIN students s ON r.room_no = s.room_no " +
-                                   "WHERE s.roll_no = ?";
-                        PreparedStatement pstmt = DatabaseManager.getConnection().prepareStatement(sql);
-                        pstmt.setString(1, currentUsername);
-                        ResultSet rs = pstmt.executeQuery();
+                        // Both rows are usually in the entity caches
+                        Student self = DatabaseManager.findStudent(currentUsername);
+                        Room room = self == null || self.getRoomNo() == null ? null : DatabaseManager.findRoom(self.getRoomNo());
                         
-                        if (rs.next()) {
+                        if (room != null) {
                             // Main container with padding
                             JPanel mainContainer = new JPanel(new BorderLayout(20, 20));
                             mainContainer.setBorder(BorderFactory.createEmptyBorder(30, 30, 30, 30));
@@ -2032,13 +2062,13 @@ public class DashboardFrame extends JFrame {
                             
                             // Add Room Information section
                             addDetailsSection(contentPanel, "Room Information", new String[][] {
-                                {"Room Number:", rs.getString("room_no")},
-                                {"Room Type:", rs.getString("room_type")},
-                                {"Sharing Type:", rs.getString("sharing_type")},
-                                {"Block:", rs.getString("block_name")},
-                                {"Floor:", String.valueOf(rs.getInt("floor_no"))},
-                                {"Capacity:", String.valueOf(rs.getInt("capacity"))},
-                                {"Current Occupancy:", String.valueOf(rs.getInt("current_occupancy"))}
+                                {"Room Number:", room.getRoomNo()},
+                                {"Room Type:", room.getRoomType()},
+                                {"Sharing Type:", room.getSharingType()},
+                                {"Block:", room.getBlockName()},
+                                {"Floor:", String.valueOf(room.getFloorNo())},
+                                {"Capacity:", String.valueOf(room.getCapacity())},
+                                {"Current Occupancy:", String.valueOf(room.getCurrentOccupancy())}
                             });
                             
                             // Add Roommates section
@@ -2059,7 +2089,7 @@ public class DashboardFrame extends JFrame {
                             // Get roommates
                             String roommateSql = "SELECT name, roll_no, department, semester FROM students WHERE room_no = ? AND roll_no != ? ORDER BY name";
                             PreparedStatement rmStmt = DatabaseManager.getConnection().prepareStatement(roommateSql);
-                            rmStmt.setString(1, rs.getString("room_no"));
+                            rmStmt.setString(1, room.getRoomNo());
                             rmStmt.setString(2, currentUsername);
                             ResultSet rmRs = rmStmt.executeQuery();
                             
@@ -2265,96 +2295,12 @@ public class DashboardFrame extends JFrame {
                 break;
             case "Cafeteria Management":
                 if (currentUserRole.equals("admin")) {
-                    try {
-                        // Create required tables if they don't exist
-                        Statement stmt = DatabaseManager.getConnection().createStatement();
-                        
-                        // Create meal_plans table
-                        stmt.executeUpdate(
-                            "CREATE TABLE IF NOT EXISTS meal_plans (" +
-                            "id INT AUTO_INCREMENT PRIMARY KEY, " +
-                            "student_roll_no VARCHAR(20), " +
-                            "plan_type ENUM('Basic', 'Standard', 'Premium'), " +
-                            "start_date DATE, " +
-                            "end_date DATE, " +
-                            "payment_status ENUM('Pending', 'Paid') DEFAULT 'Pending', " +
-                            "FOREIGN KEY (student_roll_no) REFERENCES students(roll_no) ON DELETE CASCADE, " +
-                            "FOREIGN KEY (plan_type) REFERENCES meal_plan_details(plan_type))"
-                        );
-                        
-                        // Create daily_menu table
-                        stmt.executeUpdate(
-                            "CREATE TABLE IF NOT EXISTS daily_menu (" +
-                            "menu_date DATE PRIMARY KEY, " +
-                            "breakfast TEXT, " +
-                            "lunch TEXT, " +
-                            "dinner TEXT)"
-                        );
-                        
-                        // Create meal_feedback table
-                        stmt.executeUpdate(
-                            "CREATE TABLE IF NOT EXISTS meal_feedback (" +
-                            "id INT AUTO_INCREMENT PRIMARY KEY, " +
-                            "student_roll_no VARCHAR(20), " +
-                            "feedback_text TEXT, " +
-                            "feedback_date DATE, " +
-                            "FOREIGN KEY (student_roll_no) REFERENCES students(roll_no) ON DELETE CASCADE, " +
-                            "FOREIGN KEY (plan_type) REFERENCES meal_plan_details(plan_type))"
-                        );
-                        
-                        // Show cafeteria management panel
-                        showCafeteriaManagementPanel();
-                        
-                    } catch (SQLException ex) {
-                        JOptionPane.showMessageDialog(this, "Error setting up cafeteria management: " + ex.getMessage());
-                    }
+                    showCafeteriaManagementPanel();
                 }
                 break;
             case "View Meal Plan":
                 if (currentUserRole.equals("student")) {
-                    try {
-                        // Create required tables if they don't exist (same as above)
-                        Statement stmt = DatabaseManager.getConnection().createStatement();
-                        
-                        // Create meal_plans table
-                        stmt.executeUpdate(
-                            "CREATE TABLE IF NOT EXISTS meal_plans (" +
-                            "id INT AUTO_INCREMENT PRIMARY KEY, " +
-                            "student_roll_no VARCHAR(20), " +
-                            "plan_type ENUM('Basic', 'Standard', 'Premium'), " +
-                            "start_date DATE, " +
-                            "end_date DATE, " +
-                            "payment_status ENUM('Pending', 'Paid') DEFAULT 'Pending', " +
-                            "FOREIGN KEY (student_roll_no) REFERENCES students(roll_no) ON DELETE CASCADE, " +
-                            "FOREIGN KEY (plan_type) REFERENCES meal_plan_details(plan_type))"
-                        );
-                        
-                        // Create daily_menu table
-                        stmt.executeUpdate(
-                            "CREATE TABLE IF NOT EXISTS daily_menu (" +
-                            "menu_date DATE PRIMARY KEY, " +
-                            "breakfast TEXT, " +
-                            "lunch TEXT, " +
-                            "dinner TEXT)"
-                        );
-                        
-                        // Create meal_feedback table
-                        stmt.executeUpdate(
-                            "CREATE TABLE IF NOT EXISTS meal_feedback (" +
-                            "id INT AUTO_INCREMENT PRIMARY KEY, " +
-                            "student_roll_no VARCHAR(20), " +
-                            "feedback_text TEXT, " +
-                            "feedback_date DATE, " +
-                            "FOREIGN KEY (student_roll_no) REFERENCES students(roll_no) ON DELETE CASCADE, " +
-                            "FOREIGN KEY (plan_type) REFERENCES meal_plan_details(plan_type))"
-                        );
-                        
-                        // Show student meal plan panel
-                        showStudentMealPlanPanel();
-                        
-                    } catch (SQLException ex) {
-                        JOptionPane.showMessageDialog(this, "Error setting up meal plan view: " + ex.getMessage());
-                    }
+                    showStudentMealPlanPanel();
                 }
                 break;
         }
@@ -2459,76 +2405,163 @@ public class DashboardFrame extends JFrame {
         textArea.setText(sb.toString());
     }
 
-    // Add this helper method at the end of the class
-    private void refreshStudentTable(DefaultTableModel model) {
-        try {
-            model.setRowCount(0);
-            String sql = "SELECT s.*, r.room_type, r.sharing_type, r.block_name, r.floor_no " +
-                        "FROM students s " +
-                        "LEFT JOIN rooms r ON s.room_no = r.room_no " +
-                        "ORDER BY s.roll_no";
-            Statement stmt = DatabaseManager.getConnection().createStatement();
-            ResultSet rs = stmt.executeQuery(sql);
-            
-            while (rs.next()) {
-                model.addRow(new Object[]{
-                    rs.getString("roll_no"),
-                    rs.getString("name"),
-                    rs.getString("college"),
-                    rs.getString("department"),
-                    rs.getString("semester"),
-                    rs.getInt("age"),
-                    rs.getString("mobile"),
-                    rs.getString("room_no"),
-                    rs.getString("room_type"),
-                    rs.getString("sharing_type"),
-                    rs.getString("block_name"),
-                    rs.getInt("floor_no"),
-                    String.format("₹%.0f", rs.getDouble("amount_paid")),
-                    String.format("₹%.0f", rs.getDouble("amount_due")),
-                    rs.getString("payment_method"),
-                    rs.getString("password")
-                });
+    // Brings the tables built here up to date with one changed row
+    private void applyChange(ChangeEvent event) {
+        switch (event.getEntity()) {
+            case STUDENT:
+                if (studentTableModel != null) {
+                    studentTableModel.apply(event);
+                }
+                break;
+            case ROOM:
+                if (roomTableModel != null) {
+                    roomTableModel.apply(event);
+                }
+                break;
+            case COMPLAINT:
+                if (complaintTableModel != null) {
+                    applyComplaintChange(complaintTableModel, event);
+                }
+                break;
+            case MEAL_PLAN:
+                if (mealPlanTableModel != null) {
+                    refreshMealPlanRow(mealPlanTableModel, event.getKey());
+                }
+                break;
+            default:
+                // The warden table reloads itself after its own edits
+                break;
+        }
+    }
+
+    private void applyComplaintChange(DefaultTableModel model, ChangeEvent event) {
+        if (event.getKind() == ChangeEvent.Kind.INSERTED) {
+            // New complaints belong on the first page; it is reloaded on the next visit
+            panelRegistry.markStale("Complaint Management");
+            return;
+        }
+        int complaintId = Integer.parseInt(event.getKey());
+        if (complaintRowIndex(model, complaintId) < 0) {
+            return;
+        }
+        if (event.getKind() == ChangeEvent.Kind.DELETED) {
+            model.removeRow(complaintRowIndex(model, complaintId));
+            return;
+        }
+        AsyncUi.load(() -> DatabaseManager.findComplaint(complaintId), complaint -> {
+            int row = complaintRowIndex(model, complaintId);
+            if (row < 0) {
+                return;
             }
-            
-            // Update room occupancy counts
-            String updateOccupancy = "UPDATE rooms r SET current_occupancy = (" +
-                                   "SELECT COUNT(*) FROM students s WHERE s.room_no = r.room_no)";
-            stmt.executeUpdate(updateOccupancy);
-            
-            // Refresh room table if it exists
-            if (roomTableModel != null) {
-                refreshRoomTable(roomTableModel);
+            // A complaint that no longer matches the status shown drops out of the table
+            if (complaint == null ||
+                    (complaintStatusFilter != null && !complaintStatusFilter.equals(complaint.getStatus()))) {
+                model.removeRow(row);
+                return;
+            }
+            Object[] values = complaintRow(complaint);
+            for (int column = 0; column < values.length; column++) {
+                model.setValueAt(values[column], row, column);
+            }
+        }, error -> System.out.println("❌ Error loading complaint: " + error.getMessage()));
+    }
+
+    private int complaintRowIndex(DefaultTableModel model, int complaintId) {
+        for (int row = 0; row < model.getRowCount(); row++) {
+            if (Integer.valueOf(complaintId).equals(model.getValueAt(row, 0))) {
+                return row;
             }
-            
-        } catch (SQLException e) {
-            e.printStackTrace();
-            JOptionPane.showMessageDialog(this, "Error refreshing table: " + e.getMessage());
         }
+        return -1;
     }
 
-    private void refreshRoomTable(DefaultTableModel model) {
-        try {
-            model.setRowCount(0);
-            String sql = "SELECT * FROM rooms ORDER BY room_no";
-            Statement stmt = DatabaseManager.getConnection().createStatement();
-            ResultSet rs = stmt.executeQuery(sql);
-            
-            while (rs.next()) {
-                model.addRow(new Object[]{
-                    rs.getString("room_no"),
-                    rs.getString("room_type"),
-                    rs.getString("sharing_type"),
-                    rs.getInt("capacity"),
-                    rs.getInt("current_occupancy"),
-                    rs.getString("block_name"),
-                    rs.getInt("floor_no")
+    // Appends the next page of complaints for the current status filter
+    private void loadMoreComplaints(DefaultTableModel model) {
+        final String status = complaintStatusFilter;
+        final String cursor = complaintNextCursor;
+        final int generation = ++complaintLoadGeneration;
+        if (complaintLoadMoreButton != null) {
+            complaintLoadMoreButton.setEnabled(false);
+        }
+        AsyncUi.load(() -> DatabaseManager.getComplaintPage(status, cursor, DatabaseManager.DEFAULT_PAGE_SIZE), page -> {
+            // Drop the page if a newer load (refresh or filter change) started meanwhile
+            if (generation != complaintLoadGeneration) {
+                return;
+            }
+            for (Complaint complaint : page.getItems()) {
+                model.addRow(complaintRow(complaint));
+            }
+            complaintNextCursor = page.getNextCursor();
+            if (complaintLoadMoreButton != null) {
+                complaintLoadMoreButton.setEnabled(page.hasMore());
+            }
+        }, error -> {
+            if (complaintLoadMoreButton != null) {
+                complaintLoadMoreButton.setEnabled(true);
+            }
+        });
+    }
+
+    // Dialog listing a student's payment history one page at a time
+    private void showPaymentHistory(String rollNo) {
+        JDialog dialog = new JDialog(this, "Payment History - " + rollNo, true);
+        dialog.setLayout(new BorderLayout(5, 5));
+        
+        String[] columns = {"ID", "Date", "Type", "Amount", "Reason"};
+        DefaultTableModel historyModel = new DefaultTableModel(columns, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+        };
+        JTable historyTable = new JTable(historyModel);
+        historyTable.setRowHeight(25);
+        
+        JButton loadMoreButton = new JButton("Load More");
+        JButton closeButton = new JButton("Close");
+        String[] nextCursor = {null};
+        
+        Runnable loadPage = () -> {
+            Page<PaymentTxn> page = DatabaseManager.getPaymentHistoryPage(
+                rollNo, nextCursor[0], DatabaseManager.DEFAULT_PAGE_SIZE);
+            for (PaymentTxn txn : page.getItems()) {
+                historyModel.addRow(new Object[]{
+                    txn.getId(),
+                    txn.getDate(),
+                    txn.getType(),
+                    String.format("₹%.2f", txn.getAmount()),
+                    txn.getReason()
                 });
             }
-        } catch (SQLException e) {
-            e.printStackTrace();
-            JOptionPane.showMessageDialog(this, "Error refreshing room table: " + e.getMessage());
-        }
+            nextCursor[0] = page.getNextCursor();
+            loadMoreButton.setEnabled(page.hasMore());
+        };
+        loadMoreButton.addActionListener(e -> loadPage.run());
+        closeButton.addActionListener(e -> dialog.dispose());
+        loadPage.run();
+        
+        JPanel buttons = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+        buttons.add(loadMoreButton);
+        buttons.add(closeButton);
+        
+        dialog.add(new JScrollPane(historyTable), BorderLayout.CENTER);
+        dialog.add(buttons, BorderLayout.SOUTH);
+        dialog.setSize(700, 400);
+        dialog.setLocationRelativeTo(this);
+        dialog.setVisible(true);
+    }
+
+    // Table row for the admin complaint table
+    private Object[] complaintRow(Complaint complaint) {
+        return new Object[]{
+            complaint.getId(),
+            complaint.getStudentName(),
+            complaint.getRollNo(),
+            complaint.getText(),
+            complaint.getStatus(),
+            complaint.getFiledOn(),
+            complaint.getResolvedOn()
+        };
     }
 
     // Calculate room cost using the centralized method
@@ -2725,48 +2758,22 @@ public class DashboardFrame extends JFrame {
     private void showRoomManagementPanel() {
         contentPanel.removeAll();
         
-        // Create room table model
-        String[] columns = {"Room No", "Type", "Sharing", "Capacity", "Occupied", "Block", "Floor"};
-        DefaultTableModel model = new DefaultTableModel(columns, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        };
+        // Create room table model; rows are fetched in windows as the table scrolls
+        RoomTableModel model = new RoomTableModel();
+        roomTableModel = model;
         
         // Initialize room table
         JTable roomTable = new JTable(model);
         roomTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
         
-        // Refresh room data with current occupancy
-        try {
-            String sql = "SELECT r.*, " +
-                        "(SELECT COUNT(*) FROM students s WHERE s.room_no = r.room_no) as actual_occupancy " +
-                        "FROM rooms r ORDER BY r.room_no";
-            Statement stmt = DatabaseManager.getConnection().createStatement();
-            ResultSet rs = stmt.executeQuery(sql);
-            
-                while (rs.next()) {
-                model.addRow(new Object[]{
-                        rs.getString("room_no"),
-                        rs.getString("room_type"),
-                        rs.getString("sharing_type"),
-                        rs.getInt("capacity"),
-                    rs.getInt("actual_occupancy"),
-                        rs.getString("block_name"),
-                        rs.getInt("floor_no")
-                    });
-                
-                // Update the current_occupancy in rooms table
-                String updateSql = "UPDATE rooms SET current_occupancy = ? WHERE room_no = ?";
-                PreparedStatement pstmt = DatabaseManager.getConnection().prepareStatement(updateSql);
-                pstmt.setInt(1, rs.getInt("actual_occupancy"));
-                pstmt.setString(2, rs.getString("room_no"));
-                pstmt.executeUpdate();
-            }
-        } catch (SQLException e) {
-            JOptionPane.showMessageDialog(this, "Error loading rooms: " + e.getMessage());
-        }
+        // Load room data with current occupancy
+        model.refresh();
+        
+        // Reloads the whole table; single edits arrive as change events instead
+        Runnable reload = () -> {
+            model.refresh();
+            panelRegistry.refreshed("Room Management");
+        };
 
         // Add buttons panel
         JPanel buttonsPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
@@ -2785,13 +2792,29 @@ public class DashboardFrame extends JFrame {
         buttonsPanel.add(updateButton);
         buttonsPanel.add(vacateButton);
         buttonsPanel.add(historyButton);
+        JButton importButton = new JButton("Import CSV");
+        buttonsPanel.add(importButton);
+        JButton allocateButton = new JButton("Allocate Intake");
+        buttonsPanel.add(allocateButton);
+        JButton exportButton = new JButton("Export");
+        buttonsPanel.add(exportButton);
         buttonsPanel.add(new JLabel("Search:"));
         buttonsPanel.add(searchField);
         buttonsPanel.add(searchButton);
 
         // Add action listeners
         historyButton.addActionListener(e -> showRoomHistory());
-        refreshButton.addActionListener(e -> showRoomManagementPanel());
+        importButton.addActionListener(e ->
+            new CsvImportDialog(this, CsvImporter.Target.ROOMS, reload).setVisible(true));
+        // Bulk room allocation for a new intake read from a CSV file
+        allocateButton.addActionListener(e ->
+            new AllocationDialog(this, () -> {
+                reload.run();
+                panelRegistry.markStale("Student Management");
+            }).setVisible(true));
+        exportButton.addActionListener(e ->
+            new ExportDialog(this, TableExporter.Source.ROOMS, TableExporter.Source.ROOM_HISTORY).setVisible(true));
+        refreshButton.addActionListener(e -> reload.run());
         
         addButton.addActionListener(e -> {
             JPanel addRoomPanel = new JPanel(new GridLayout(0, 2, 5, 5));
@@ -2857,8 +2880,9 @@ public class DashboardFrame extends JFrame {
                     pstmt.setString(6, blockName);
                     
                     pstmt.executeUpdate();
+                    DatabaseManager.invalidateRoomIndex();
+                    ChangeBus.inserted(ChangeEvent.Entity.ROOM, roomNo);
                     JOptionPane.showMessageDialog(this, "Room added successfully!");
-                    showRoomManagementPanel(); // Refresh the panel
                 } catch (SQLException ex) {
                     JOptionPane.showMessageDialog(this, "Error adding room: " + ex.getMessage());
                 } catch (NumberFormatException ex) {
@@ -2874,12 +2898,17 @@ public class DashboardFrame extends JFrame {
                 JOptionPane.showMessageDialog(this, "Please select a room to update");
                 return;
             }
+            Room selectedRoom = model.getRow(selectedRow);
+            if (selectedRoom == null) {
+                JOptionPane.showMessageDialog(this, "Room details are still loading, please try again");
+                return;
+            }
             
-            String roomNo = (String) model.getValueAt(selectedRow, 0);
-            String currentRoomType = (String) model.getValueAt(selectedRow, 1);
-            String currentSharingType = (String) model.getValueAt(selectedRow, 2);
-            String currentBlock = (String) model.getValueAt(selectedRow, 5);
-            int currentFloor = (int) model.getValueAt(selectedRow, 6);
+            String roomNo = selectedRoom.getRoomNo();
+            String currentRoomType = selectedRoom.getRoomType();
+            String currentSharingType = selectedRoom.getSharingType();
+            String currentBlock = selectedRoom.getBlockName();
+            int currentFloor = selectedRoom.getFloorNo();
             
             JPanel updateRoomPanel = new JPanel(new GridLayout(0, 2, 5, 5));
             
@@ -2933,7 +2962,7 @@ public class DashboardFrame extends JFrame {
                     }
                     
                     // Check if new capacity is less than current occupancy
-                    int currentOccupancy = (int) model.getValueAt(selectedRow, 4);
+                    int currentOccupancy = selectedRoom.getCurrentOccupancy();
                     if (newCapacity < currentOccupancy) {
                         JOptionPane.showMessageDialog(this, 
                             "Cannot reduce capacity below current occupancy (" + currentOccupancy + " students)");
@@ -2952,8 +2981,9 @@ public class DashboardFrame extends JFrame {
                     pstmt.setString(6, roomNo);
                     
                     pstmt.executeUpdate();
+                    DatabaseManager.invalidateRoomIndex();
+                    ChangeBus.updated(ChangeEvent.Entity.ROOM, roomNo);
                     JOptionPane.showMessageDialog(this, "Room updated successfully!");
-                    showRoomManagementPanel(); // Refresh the panel
             } catch (SQLException ex) {
                 JOptionPane.showMessageDialog(this, "Error updating room: " + ex.getMessage());
                 } catch (NumberFormatException ex) {
@@ -2968,10 +2998,15 @@ public class DashboardFrame extends JFrame {
                 JOptionPane.showMessageDialog(this, "Please select a room to vacate");
                 return;
             }
+            Room selectedRoom = model.getRow(selectedRow);
+            if (selectedRoom == null) {
+                JOptionPane.showMessageDialog(this, "Room details are still loading, please try again");
+                return;
+            }
             
-            String roomNo = (String) model.getValueAt(selectedRow, 0);
-            String roomType = (String) model.getValueAt(selectedRow, 1);
-            int currentOccupancy = (int) model.getValueAt(selectedRow, 4);
+            String roomNo = selectedRoom.getRoomNo();
+            String roomType = selectedRoom.getRoomType();
+            int currentOccupancy = selectedRoom.getCurrentOccupancy();
             
             if (currentOccupancy == 0) {
                 JOptionPane.showMessageDialog(this, "Room is already vacant");
@@ -3078,6 +3113,15 @@ public class DashboardFrame extends JFrame {
                         
                         // Process room transfer if a room was selected
                         if (selectedNewRoom[0] != null) {
+                            // Hold the bed while the payment is settled, so no other
+                            // allocation can take it in the meantime
+                            Reservation reservation = BedReservations.reserve(selectedNewRoom[0]);
+                            if (reservation == null) {
+                                JOptionPane.showMessageDialog(this,
+                                    "Room " + selectedNewRoom[0] + " has just been filled. Please choose another room.");
+                                continue;
+                            }
+                            
                             // Handle price difference
                             if (selectedPriceDiff[0] > 0) {
                                 int paymentChoice = JOptionPane.showConfirmDialog(this,
@@ -3087,6 +3131,7 @@ public class DashboardFrame extends JFrame {
                                     JOptionPane.YES_NO_OPTION);
                                         
                                 if (paymentChoice != JOptionPane.YES_OPTION) {
+                                    BedReservations.cancel(reservation);
                                     continue; // Skip to next student if payment not confirmed
                                 }
                             } else if (selectedPriceDiff[0] < 0) {
@@ -3095,80 +3140,49 @@ public class DashboardFrame extends JFrame {
                                         -selectedPriceDiff[0]));
                             }
                             
-                            // Close the current room history entry
-                            String updateHistorySql = 
-                                "UPDATE room_history " +
-                                "SET check_out = CURRENT_TIMESTAMP " +
-                                "WHERE student_id = ? AND room_no = ? AND check_out IS NULL";
-                            PreparedStatement updateHistoryPstmt = DatabaseManager.getConnection().prepareStatement(updateHistorySql);
-                            updateHistoryPstmt.setString(1, studentId);
-                            updateHistoryPstmt.setString(2, roomNo);
-                            updateHistoryPstmt.executeUpdate();
-                            
-                            // Update student's room
-                            String updateStudentSql = "UPDATE students SET room_no = ? WHERE roll_no = ?";
-                            PreparedStatement updateStudentPstmt = DatabaseManager.getConnection().prepareStatement(updateStudentSql);
-                            updateStudentPstmt.setString(1, selectedNewRoom[0]);
-                            updateStudentPstmt.setString(2, studentId);
-                            updateStudentPstmt.executeUpdate();
-                            
-                            // Create new room history entry
-                            String insertHistorySql = 
-                                "INSERT INTO room_history " +
-                                "(student_id, room_no, room_type, sharing_type, block, floor, reason) " +
-                                "SELECT ?, r.room_no, r.room_type, r.sharing_type, r.block_name, r.floor_no, ? " +
-                                "FROM rooms r WHERE r.room_no = ?";
-                            PreparedStatement insertHistoryPstmt = DatabaseManager.getConnection().prepareStatement(insertHistorySql);
-                            insertHistoryPstmt.setString(1, studentId);
-                            insertHistoryPstmt.setString(2, reason + " (Transfer)");
-                            insertHistoryPstmt.setString(3, selectedNewRoom[0]);
-                            insertHistoryPstmt.executeUpdate();
-                            
-                            // Update room occupancy counts
-                            String updateOccupancySql = 
-                                "UPDATE rooms r SET r.current_occupancy = " +
-                                "(SELECT COUNT(*) FROM students s WHERE s.room_no = r.room_no) " +
-                                "WHERE r.room_no IN (?, ?)";
-                            PreparedStatement updateOccupancyPstmt = DatabaseManager.getConnection().prepareStatement(updateOccupancySql);
-                            updateOccupancyPstmt.setString(1, roomNo);
-                            updateOccupancyPstmt.setString(2, selectedNewRoom[0]);
-                            updateOccupancyPstmt.executeUpdate();
+                            // Moves the student, the history and both beds in one transaction
+                            BedReservations.confirm(reservation, studentId, reason + " (Transfer)");
                             
                             JOptionPane.showMessageDialog(this, "Room transfer completed successfully!");
                         }
                     } else {
-                        // Close the current room history entry
-                        String updateHistorySql = 
-                            "UPDATE room_history " +
-                            "SET check_out = CURRENT_TIMESTAMP " +
-                            "WHERE student_id = ? AND room_no = ? AND check_out IS NULL";
-                        PreparedStatement updateHistoryPstmt = DatabaseManager.getConnection().prepareStatement(updateHistorySql);
-                        updateHistoryPstmt.setString(1, studentId);
-                        updateHistoryPstmt.setString(2, roomNo);
-                        updateHistoryPstmt.executeUpdate();
-                        
-                        // If not transferring, just remove the student
-                        String updateStudentSql = "UPDATE students SET room_no = NULL WHERE roll_no = ?";
-                        PreparedStatement updateStudentPstmt = DatabaseManager.getConnection().prepareStatement(updateStudentSql);
-                        updateStudentPstmt.setString(1, studentId);
-                        updateStudentPstmt.executeUpdate();
-                        
-                        // Update room occupancy
-                        String updateOccupancySql = 
-                            "UPDATE rooms r SET r.current_occupancy = " +
-                            "(SELECT COUNT(*) FROM students s WHERE s.room_no = r.room_no) " +
-                            "WHERE r.room_no = ?";
-                        PreparedStatement updateOccupancyPstmt = DatabaseManager.getConnection().prepareStatement(updateOccupancySql);
-                        updateOccupancyPstmt.setString(1, roomNo);
-                        updateOccupancyPstmt.executeUpdate();
+                        // The history, the student and the bed change in one transaction
+                        try (Connection conn = DatabaseManager.openConnection()) {
+                            conn.setAutoCommit(false);
+                            try {
+                                // Close the current room history entry
+                                String updateHistorySql = 
+                                    "UPDATE room_history " +
+                                    "SET check_out = CURRENT_TIMESTAMP " +
+                                    "WHERE student_id = ? AND room_no = ? AND check_out IS NULL";
+                                try (PreparedStatement updateHistoryPstmt = conn.prepareStatement(updateHistorySql)) {
+                                    updateHistoryPstmt.setString(1, studentId);
+                                    updateHistoryPstmt.setString(2, roomNo);
+                                    updateHistoryPstmt.executeUpdate();
+                                }
+                                
+                                // If not transferring, just remove the student
+                                String updateStudentSql = "UPDATE students SET room_no = NULL WHERE roll_no = ?";
+                                try (PreparedStatement updateStudentPstmt = conn.prepareStatement(updateStudentSql)) {
+                                    updateStudentPstmt.setString(1, studentId);
+                                    updateStudentPstmt.executeUpdate();
+                                }
+                                
+                                // Give back the bed
+                                DatabaseManager.releaseBed(conn, roomNo);
+                                DatabaseManager.commitBedMove(conn, roomNo, null);
+                            } catch (SQLException ex) {
+                                conn.rollback();
+                                throw ex;
+                            }
+                        }
+                        ChangeBus.updated(ChangeEvent.Entity.STUDENT, studentId);
+                        ChangeBus.updated(ChangeEvent.Entity.ROOM, roomNo);
                         
                         JOptionPane.showMessageDialog(this, "Student removed from room successfully!");
                     }
                 }
                 
-                // Refresh the table
-                showRoomManagementPanel();
-                
             } catch (SQLException ex) {
                 JOptionPane.showMessageDialog(this, "Error processing room vacancy: " + ex.getMessage());
             }
@@ -3185,6 +3199,7 @@ public class DashboardFrame extends JFrame {
         mainPanel.add(buttonsPanel, BorderLayout.NORTH);  // Changed from SOUTH to NORTH
             
         contentPanel.add(mainPanel);
+        panelRegistry.register("Room Management", mainPanel, model::refresh);
     }
     
     private void showCafeteriaManagementPanel() {
@@ -3288,6 +3303,7 @@ public class DashboardFrame extends JFrame {
             }
         };
 
+        mealPlanTableModel = mealPlanModel;
         JTable mealPlanTable = new JTable(mealPlanModel);
         mealPlanTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
         JScrollPane tableScrollPane = new JScrollPane(mealPlanTable);
@@ -3300,12 +3316,14 @@ public class DashboardFrame extends JFrame {
         JButton updateButton = new JButton("Update Plan");
         JButton menuButton = new JButton("Set Daily Menu");
         JButton viewFeedbackButton = new JButton("View Feedback");
+        JButton searchFeedbackButton = new JButton("Search Feedback");
         JButton refreshButton = new JButton("Refresh");
 
         controlPanel.add(assignButton);
         controlPanel.add(updateButton);
         controlPanel.add(menuButton);
         controlPanel.add(viewFeedbackButton);
+        controlPanel.add(searchFeedbackButton);
         controlPanel.add(refreshButton);
 
         // Assign Meal Plan Action
@@ -3533,7 +3551,7 @@ public class DashboardFrame extends JFrame {
                         insertStmt.setDouble(7, totalPrice); // Set the calculated total price here
                         insertStmt.executeUpdate();
 
-                        refreshMealPlanTable(mealPlanModel);
+                        ChangeBus.inserted(ChangeEvent.Entity.MEAL_PLAN, selectedStudent);
                         JOptionPane.showMessageDialog(mainPanel, "Meal plan assigned successfully!");
                     } else {
                         JOptionPane.showMessageDialog(mainPanel, "Meal plan assignment cancelled - Payment not confirmed");
@@ -3674,7 +3692,7 @@ public class DashboardFrame extends JFrame {
                         updateStmt.setString(7, rollNo);
 
                         updateStmt.executeUpdate();
-                        refreshMealPlanTable(mealPlanModel);
+                        ChangeBus.updated(ChangeEvent.Entity.MEAL_PLAN, rollNo);
                         JOptionPane.showMessageDialog(mainPanel, "Meal plan updated successfully!");
                     }
                 }
@@ -3725,6 +3743,7 @@ public class DashboardFrame extends JFrame {
                     pstmt.setString(4, dinnerArea.getText());
 
                     pstmt.executeUpdate();
+                    ChangeBus.updated(ChangeEvent.Entity.DAILY_MENU, dateField.getText());
                     JOptionPane.showMessageDialog(mainPanel, "Daily menu updated successfully!");
                 } catch (SQLException ex) {
                     JOptionPane.showMessageDialog(mainPanel, "Error setting daily menu: " + ex.getMessage());
@@ -3769,6 +3788,17 @@ public class DashboardFrame extends JFrame {
             }
         });
 
+        // Relevance-ranked search over the feedback text
+        searchFeedbackButton.addActionListener(e ->
+            new TextSearchDialog<MealFeedback>(this, "Search Feedback",
+                new String[]{"Date", "Student", "Feedback"},
+                TextSearch::searchFeedback,
+                feedback -> new Object[]{
+                    feedback.getDate(),
+                    feedback.getStudentName() + " (" + feedback.getRollNo() + ")",
+                    feedback.getText()
+                }).setVisible(true));
+
         // Refresh button action
         refreshButton.addActionListener(e -> refreshMealPlanTable(mealPlanModel));
 
@@ -3868,6 +3898,7 @@ public class DashboardFrame extends JFrame {
         pstmt.setString(3, featuresArea.getText().trim());
         pstmt.setString(4, menuArea.getText().trim());
         pstmt.executeUpdate();
+        ChangeBus.updated(ChangeEvent.Entity.MEAL_PLAN_DETAILS, planType);
     }
 
     private String getDefaultFeatures(String planType) {
@@ -4117,6 +4148,7 @@ public class DashboardFrame extends JFrame {
                 PreparedStatement updateStmt = DatabaseManager.getConnection().prepareStatement(updateSql);
                 updateStmt.setString(1, studentRollNo);
                 updateStmt.executeUpdate();
+                ChangeBus.updated(ChangeEvent.Entity.MEAL_PLAN, studentRollNo);
 
                 // Record payment in payment_history table
                 String paymentSql = "INSERT INTO payment_history (student_roll_no, amount, payment_date, payment_type) " +
@@ -4125,6 +4157,8 @@ public class DashboardFrame extends JFrame {
                 paymentStmt.setString(1, studentRollNo);
                 paymentStmt.setDouble(2, amount);
                 paymentStmt.executeUpdate();
+                // The payment is part of the student's history
+                ChangeBus.updated(ChangeEvent.Entity.STUDENT, studentRollNo);
 
                 JOptionPane.showMessageDialog(null, "Payment successful!");
                 
@@ -4173,25 +4207,59 @@ public class DashboardFrame extends JFrame {
 
             model.setRowCount(0);
             while (rs.next()) {
-                String planType = rs.getString("plan_type");
-                double price = getPlanPrice(planType);
-                model.addRow(new Object[]{
-                    rs.getString("student_roll_no"),
-                    rs.getString("name"),
-                    planType,
-                    String.format("₹%.2f", rs.getDouble("amount_paid_for_plan")), // Use amount_paid_for_plan
-                    rs.getDate("start_date"),
-                    rs.getDate("end_date"),
-                    rs.getString("payment_status"),
-                    rs.getString("payment_method"),
-                    rs.getString("payment_details")
-                });
+                model.addRow(mealPlanRow(rs));
             }
         } catch (SQLException ex) {
             JOptionPane.showMessageDialog(null, "Error refreshing meal plans: " + ex.getMessage());
         }
     }
 
+    // Reloads just one student's row of the meal plan table
+    private void refreshMealPlanRow(DefaultTableModel model, String rollNo) {
+        AsyncUi.load(() -> {
+            String sql = "SELECT m.*, s.name FROM meal_plans m " +
+                        "JOIN students s ON m.student_roll_no = s.roll_no WHERE m.student_roll_no = ?";
+            PreparedStatement pstmt = DatabaseManager.getConnection().prepareStatement(sql);
+            pstmt.setString(1, rollNo);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() ? mealPlanRow(rs) : null;
+            }
+        }, values -> {
+            int row = -1;
+            for (int i = 0; i < model.getRowCount(); i++) {
+                if (rollNo.equals(model.getValueAt(i, 0))) {
+                    row = i;
+                    break;
+                }
+            }
+            if (values == null) {
+                if (row >= 0) {
+                    model.removeRow(row);
+                }
+            } else if (row >= 0) {
+                for (int column = 0; column < values.length; column++) {
+                    model.setValueAt(values[column], row, column);
+                }
+            } else {
+                model.addRow(values);
+            }
+        }, error -> System.out.println("❌ Error refreshing meal plan: " + error.getMessage()));
+    }
+
+    private Object[] mealPlanRow(ResultSet rs) throws SQLException {
+        return new Object[]{
+            rs.getString("student_roll_no"),
+            rs.getString("name"),
+            rs.getString("plan_type"),
+            String.format("₹%.2f", rs.getDouble("amount_paid_for_plan")), // Use amount_paid_for_plan
+            rs.getDate("start_date"),
+            rs.getDate("end_date"),
+            rs.getString("payment_status"),
+            rs.getString("payment_method"),
+            rs.getString("payment_details")
+        };
+    }
+
     private void addDetailRow(JPanel panel, String label, String value) {
         JLabel labelComponent = new JLabel(label);
         JLabel valueComponent = new JLabel(value);
@@ -4361,6 +4429,7 @@ public class DashboardFrame extends JFrame {
                 pstmt.setString(1, currentUsername);
                 pstmt.setString(2, feedbackText);
                 pstmt.executeUpdate();
+                ChangeBus.inserted(ChangeEvent.Entity.FEEDBACK, currentUsername);
 
                 JOptionPane.showMessageDialog(mainPanel, "Thank you for your feedback!");
                 feedbackArea.setText("");
@@ -4420,40 +4489,17 @@ public class DashboardFrame extends JFrame {
         return true;
     }
 
-    // Add this method inside the DashboardFrame class
-    private Map<String, Integer> getDashboardData() {
-        Map<String, Integer> data = new HashMap<>();
-        try {
-            List<Map<String, Object>> students = DatabaseManager.getAllStudents();
-            data.put("totalStudents", students.size());
-
-            List<Map<String, Object>> rooms = DatabaseManager.getAllRooms();
-            data.put("totalRooms", rooms.size());
-
-            List<Map<String, Object>> wardens = DatabaseManager.getAllWardens();
-            data.put("totalWardens", wardens.size());
-
-            List<Map<String, Object>> pendingComplaints = DatabaseManager.getPendingComplaints();
-            data.put("pendingComplaints", pendingComplaints.size());
-
-        } catch (Exception e) {
-            e.printStackTrace();
-            // Handle exceptions, maybe return 0 for counts or show an error message
-            data.put("totalStudents", 0);
-            data.put("totalRooms", 0);
-            data.put("totalWardens", 0);
-            data.put("pendingComplaints", 0);
-        }
-        return data;
-    }
-
     // Helper method to create a panel for a single dashboard data point
     private JPanel createDashboardDataPanel(String title, int value, Color color) {
+        return createDashboardDataPanel(title, String.valueOf(value), color);
+    }
+
+    private JPanel createDashboardDataPanel(String title, String value, Color color) {
         JPanel panel = new JPanel(new BorderLayout());
         panel.setBorder(BorderFactory.createTitledBorder(BorderFactory.createLineBorder(Color.GRAY), title));
         panel.setBackground(color); // Set the background color
 
-        JLabel valueLabel = new JLabel(String.valueOf(value), SwingConstants.CENTER);
+        JLabel valueLabel = new JLabel(value, SwingConstants.CENTER);
         valueLabel.setFont(valueLabel.getFont().deriveFont(Font.BOLD, 36f)); // Larger, bold font for the value
         valueLabel.setForeground(Color.WHITE); // Change text color to white for better contrast with colored background
         
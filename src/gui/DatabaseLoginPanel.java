@@ -3,13 +3,15 @@ package gui;
 import javax.swing.*;
 import java.awt.*;
 import database.DatabaseManager;
+import diagnostics.StartupProfiler;
 import java.sql.SQLException;
+import java.util.concurrent.CompletableFuture;
 
 public class DatabaseLoginPanel extends JPanel {
     private JTextField usernameField;
     private JPasswordField passwordField;
     private JButton loginButton;
-    private boolean setupComplete = false;
+    private final CompletableFuture<Void> setup = new CompletableFuture<>();
     private JTextArea statusArea;
 
     public DatabaseLoginPanel() {
@@ -112,36 +114,39 @@ public class DatabaseLoginPanel extends JPanel {
         loginButton.setText("Initializing...");
         statusArea.setText("Initializing database...\n");
 
-        // Run database initialization in a background thread
-        new Thread(() -> {
+        // Run database initialization in the background; the setup future completes on success
+        AsyncUi.load(() -> {
+            StartupProfiler.Phase phase = StartupProfiler.begin("initializeDatabase");
             try {
-                // Initialize database
                 DatabaseManager.initializeDatabase("localhost", "3306", username, password, "hostel_management");
-                statusArea.append("Database created successfully!\n");
-
-                setupComplete = true;
-                SwingUtilities.invokeLater(() -> {
-                    JOptionPane.showMessageDialog(this,
-                        "Database setup completed successfully!",
-                        "Success",
-                        JOptionPane.INFORMATION_MESSAGE);
-                });
-            } catch (Exception e) {
-                String error = e.getMessage();
-                SwingUtilities.invokeLater(() -> {
-                    statusArea.append("Error: " + error + "\n");
-                    JOptionPane.showMessageDialog(this,
-                        "Database initialization failed: " + error,
-                        "Error",
-                        JOptionPane.ERROR_MESSAGE);
-                    loginButton.setEnabled(true);
-                    loginButton.setText("Initialize Database");
-                });
+            } finally {
+                phase.end();
             }
-        }).start();
+            return null;
+        }, ignored -> {
+            statusArea.append("Database ready!\n");
+            setup.complete(null);
+        }, error -> {
+            statusArea.append("Error: " + error.getMessage() + "\n");
+            JOptionPane.showMessageDialog(this,
+                "Database initialization failed: " + error.getMessage(),
+                "Error",
+                JOptionPane.ERROR_MESSAGE);
+            loginButton.setEnabled(true);
+            loginButton.setText("Initialize Database");
+        });
+    }
+
+    /**
+     * Completes, on the EDT, once the database has been created, connected
+     * and migrated. Never completes exceptionally: after a failure the user
+     * can correct the credentials and try again.
+     */
+    public CompletableFuture<Void> getSetupFuture() {
+        return setup;
     }
 
     public boolean isSetupComplete() {
-        return setupComplete;
+        return setup.isDone();
     }
 } 
\ No newline at end of file
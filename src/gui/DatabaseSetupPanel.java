@@ -98,6 +98,7 @@ public class DatabaseSetupPanel extends JPanel {
             String database = databaseField.getText();
 
             DatabaseManager.initializeDatabase(host, port, username, password, database);
+            DatabaseManager.seedNewDatabase();
             statusArea.append("✓ Database created successfully!\n");
             setupComplete = true;
         } catch (Exception e) {
@@ -0,0 +1,148 @@
+package gui;
+
+import database.DbExecutor;
+import database.TableExporter;
+import java.awt.BorderLayout;
+import java.awt.FlowLayout;
+import java.awt.GridLayout;
+import java.io.File;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.swing.BorderFactory;
+import javax.swing.JButton;
+import javax.swing.JComboBox;
+import javax.swing.JDialog;
+import javax.swing.JFileChooser;
+import javax.swing.JFrame;
+import javax.swing.JLabel;
+import javax.swing.JOptionPane;
+import javax.swing.JPanel;
+import javax.swing.JProgressBar;
+import javax.swing.SwingUtilities;
+import javax.swing.filechooser.FileNameExtensionFilter;
+import model.ExportReport;
+
+/**
+ * Dialog that exports one of the main tables to CSV or JSON in the
+ * background, showing rows written and throughput as it goes.
+ */
+public class ExportDialog extends JDialog {
+    private final JComboBox<TableExporter.Source> sourceBox;
+    private final JComboBox<TableExporter.Format> formatBox = new JComboBox<>(TableExporter.Format.values());
+    private final JProgressBar progressBar = new JProgressBar();
+    private final JLabel statusLabel = new JLabel(" ");
+    private final JButton exportButton = new JButton("Export...");
+    private final JButton closeButton = new JButton("Close");
+    private final AtomicBoolean cancelRequested = new AtomicBoolean(false);
+    private boolean running = false;
+
+    /**
+     * {@code sources} are the tables offered, the first one selected.
+     */
+    public ExportDialog(JFrame owner, TableExporter.Source... sources) {
+        super(owner, "Export Data", true);
+        sourceBox = new JComboBox<>(sources);
+
+        JPanel top = new JPanel(new GridLayout(0, 1, 5, 5));
+        top.setBorder(BorderFactory.createEmptyBorder(10, 10, 5, 10));
+        JPanel sourceRow = new JPanel(new FlowLayout(FlowLayout.LEFT, 10, 0));
+        sourceRow.add(new JLabel("Table:"));
+        sourceRow.add(sourceBox);
+        sourceRow.add(new JLabel("Format:"));
+        sourceRow.add(formatBox);
+        top.add(sourceRow);
+        progressBar.setStringPainted(true);
+        progressBar.setString("");
+        top.add(progressBar);
+        top.add(statusLabel);
+
+        JPanel buttons = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+        buttons.add(exportButton);
+        buttons.add(closeButton);
+
+        setLayout(new BorderLayout(5, 5));
+        add(top, BorderLayout.CENTER);
+        add(buttons, BorderLayout.SOUTH);
+
+        exportButton.addActionListener(e -> chooseAndExport());
+        closeButton.addActionListener(e -> {
+            if (running) {
+                cancelRequested.set(true);
+                statusLabel.setText("Cancelling...");
+            } else {
+                dispose();
+            }
+        });
+
+        pack();
+        setLocationRelativeTo(owner);
+    }
+
+    private void chooseAndExport() {
+        TableExporter.Source source = (TableExporter.Source) sourceBox.getSelectedItem();
+        TableExporter.Format format = (TableExporter.Format) formatBox.getSelectedItem();
+        String extension = format.getExtension();
+
+        JFileChooser chooser = new JFileChooser();
+        chooser.setFileFilter(new FileNameExtensionFilter(format + " files", extension));
+        chooser.setSelectedFile(new File(source.name().toLowerCase() + "." + extension));
+        if (chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        File file = chooser.getSelectedFile();
+        if (!file.getName().contains(".")) {
+            file = new File(file.getParentFile(), file.getName() + "." + extension);
+        }
+        if (file.exists() && JOptionPane.showConfirmDialog(this, file.getName() + " already exists. Replace it?",
+                "Export", JOptionPane.YES_NO_OPTION) != JOptionPane.YES_OPTION) {
+            return;
+        }
+        startExport(file, source, format);
+    }
+
+    private void startExport(File file, TableExporter.Source source, TableExporter.Format format) {
+        running = true;
+        cancelRequested.set(false);
+        sourceBox.setEnabled(false);
+        formatBox.setEnabled(false);
+        exportButton.setEnabled(false);
+        closeButton.setText("Cancel");
+        // The row count is not known up front
+        progressBar.setIndeterminate(true);
+        progressBar.setString("");
+        statusLabel.setText("Exporting " + source + "...");
+
+        TableExporter.Progress progress = new TableExporter.Progress() {
+            @Override
+            public void update(long rowsWritten, double rowsPerSecond) {
+                SwingUtilities.invokeLater(() ->
+                    progressBar.setString(String.format("%,d rows  (%,.0f rows/s)", rowsWritten, rowsPerSecond)));
+            }
+
+            @Override
+            public boolean isCancelled() {
+                return cancelRequested.get();
+            }
+        };
+
+        DbExecutor.submit(() -> TableExporter.exportTo(file, source, format, progress))
+            .whenComplete((report, error) -> SwingUtilities.invokeLater(() -> finish(report, error)));
+    }
+
+    private void finish(ExportReport report, Throwable error) {
+        running = false;
+        sourceBox.setEnabled(true);
+        formatBox.setEnabled(true);
+        exportButton.setEnabled(true);
+        closeButton.setText("Close");
+        progressBar.setIndeterminate(false);
+        if (error != null) {
+            Throwable cause = error.getCause() != null ? error.getCause() : error;
+            progressBar.setString("");
+            statusLabel.setText("Export failed: " + cause.getMessage());
+            return;
+        }
+        progressBar.setValue(report.isCancelled() ? 0 : progressBar.getMaximum());
+        progressBar.setString(String.format("%,d rows  (%,.0f rows/s)", report.getRows(), report.getRowsPerSecond()));
+        statusLabel.setText(report.isCancelled() ? "Export cancelled" : "Saved to " + report.getFile().getPath());
+    }
+}
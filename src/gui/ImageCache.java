@@ -0,0 +1,199 @@
+package gui;
+
+import diagnostics.StartupProfiler;
+import java.awt.Component;
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsEnvironment;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import javax.imageio.ImageIO;
+import javax.swing.ImageIcon;
+import javax.swing.JLabel;
+import javax.swing.SwingConstants;
+import javax.swing.SwingUtilities;
+
+/**
+ * Decoded and pre-scaled images shared by the panels.
+ *
+ * Each image file is decoded once on a background thread, and each size it
+ * is drawn at is scaled once, also in the background, into an image
+ * compatible with the screen, so painting it is a plain copy. Scaled copies
+ * are kept in a small LRU cache: enough for the sizes in use, without
+ * growing while a window is dragged through every size in between.
+ */
+public final class ImageCache {
+    public static final String HOSTEL_IMAGE = "Hostel.jpg";
+
+    // Images are looked up in the working directory first, then in the sources
+    private static final String[] SEARCH_DIRS = {"", "src/resources/"};
+    private static final int MAX_SCALED = 8;
+
+    private static final ExecutorService loader = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "image-loader");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private static final Map<String, CompletableFuture<BufferedImage>> originals = new ConcurrentHashMap<>();
+
+    // name@WxH -> scaled copy; access-ordered, guarded by itself
+    private static final Map<String, CompletableFuture<BufferedImage>> scaled =
+        new LinkedHashMap<String, CompletableFuture<BufferedImage>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CompletableFuture<BufferedImage>> eldest) {
+                return size() > MAX_SCALED;
+            }
+        };
+
+    private ImageCache() {
+    }
+
+    /**
+     * The decoded image, starting the decode if this is the first request.
+     * Completes exceptionally if the file is missing or unreadable; the
+     * failure is cached too, so a missing file is only looked for once.
+     */
+    public static CompletableFuture<BufferedImage> load(String name) {
+        return originals.computeIfAbsent(name, n -> CompletableFuture.supplyAsync(() -> decode(n), loader));
+    }
+
+    /**
+     * The image scaled to exactly {@code width} x {@code height}, scaling it
+     * in the background if that size is not cached.
+     */
+    public static CompletableFuture<BufferedImage> scaled(String name, int width, int height) {
+        final int w = Math.max(width, 1);
+        final int h = Math.max(height, 1);
+        String key = name + "@" + w + "x" + h;
+        synchronized (scaled) {
+            CompletableFuture<BufferedImage> future = scaled.get(key);
+            if (future == null) {
+                future = load(name).thenApplyAsync(image -> scale(image, w, h), loader);
+                scaled.put(key, future);
+            }
+            return future;
+        }
+    }
+
+    /**
+     * For painting: the scaled image if it is ready, otherwise null, in which
+     * case {@code target} is repainted once it is.
+     */
+    public static BufferedImage getScaled(String name, int width, int height, Component target) {
+        CompletableFuture<BufferedImage> future = scaled(name, width, height);
+        if (future.isDone()) {
+            return future.isCompletedExceptionally() ? null : future.join();
+        }
+        future.thenRun(target::repaint);
+        return null;
+    }
+
+    /**
+     * The decoded image if it is ready, otherwise null.
+     */
+    public static BufferedImage getIfLoaded(String name) {
+        CompletableFuture<BufferedImage> future = load(name);
+        return future.isDone() && !future.isCompletedExceptionally() ? future.join() : null;
+    }
+
+    /**
+     * A label showing the image at {@code width} x {@code height}. It takes
+     * that size straight away and gets the image once it is scaled, or shows
+     * {@code fallbackText} if the image cannot be loaded.
+     */
+    public static JLabel label(String name, int width, int height, String fallbackText) {
+        JLabel label = new JLabel("", SwingConstants.CENTER);
+        Dimension size = new Dimension(Math.max(width, 1), Math.max(height, 1));
+        label.setPreferredSize(size);
+        label.setMaximumSize(size);
+
+        CompletableFuture<BufferedImage> future = scaled(name, width, height);
+        if (future.isDone() && !future.isCompletedExceptionally()) {
+            label.setIcon(new ImageIcon(future.join()));
+            return label;
+        }
+        future.whenComplete((image, error) -> SwingUtilities.invokeLater(() -> {
+            if (error == null) {
+                label.setIcon(new ImageIcon(image));
+            } else {
+                label.setPreferredSize(null);
+                label.setMaximumSize(null);
+                label.setText(fallbackText);
+                label.setFont(label.getFont().deriveFont(30f));
+            }
+            label.revalidate();
+            label.repaint();
+        }));
+        return label;
+    }
+
+    private static BufferedImage decode(String name) {
+        StartupProfiler.Phase phase = StartupProfiler.begin("decode " + name);
+        try {
+            IOException failure = null;
+            for (String dir : SEARCH_DIRS) {
+                File file = new File(dir + name);
+                if (!file.isFile()) {
+                    continue;
+                }
+                try {
+                    BufferedImage image = ImageIO.read(file);
+                    if (image != null) {
+                        return image;
+                    }
+                    failure = new IOException("Unsupported image format: " + file);
+                } catch (IOException e) {
+                    failure = e;
+                }
+            }
+            if (failure == null) {
+                failure = new IOException("Image not found: " + name);
+            }
+            System.err.println("Error loading image " + name + ": " + failure.getMessage());
+            throw new UncheckedIOException(failure);
+        } finally {
+            phase.end();
+        }
+    }
+
+    // Shrinks in steps of at most half, like SCALE_SMOOTH but far cheaper; a
+    // single bilinear step skips most source pixels and looks grainy
+    private static BufferedImage scale(BufferedImage source, int width, int height) {
+        BufferedImage current = source;
+        int w = source.getWidth();
+        int h = source.getHeight();
+        do {
+            w = w / 2 >= width ? w / 2 : width;
+            h = h / 2 >= height ? h / 2 : height;
+            BufferedImage next = createCompatibleImage(w, h);
+            Graphics2D g = next.createGraphics();
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(current, 0, 0, w, h, null);
+            g.dispose();
+            current = next;
+        } while (w != width || h != height);
+        return current;
+    }
+
+    private static BufferedImage createCompatibleImage(int width, int height) {
+        if (GraphicsEnvironment.isHeadless()) {
+            return new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        }
+        GraphicsConfiguration config = GraphicsEnvironment.getLocalGraphicsEnvironment()
+            .getDefaultScreenDevice().getDefaultConfiguration();
+        return config.createCompatibleImage(width, height, Transparency.OPAQUE);
+    }
+}
@@ -0,0 +1,442 @@
+package gui;
+
+import database.ChangeEvent;
+import database.DatabaseManager;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import javax.swing.SwingUtilities;
+import javax.swing.table.AbstractTableModel;
+
+/**
+ * Table model that loads rows from the database in fixed-size windows as the
+ * table asks for them, instead of holding every row in memory.
+ *
+ * The row count comes from a COUNT query. Windows are fetched on a background
+ * thread and kept in a bounded LRU cache; rows that are not loaded yet show a
+ * placeholder until their window arrives. A window whose query fails shows an
+ * error placeholder and is only asked for again after a growing delay, or on
+ * {@link #refresh()}. All model state is touched on the EDT only.
+ *
+ * Single changed rows are applied with {@link #apply(ChangeEvent)}: loaded
+ * rows after an inserted or deleted row shift along instead of the whole
+ * table being reloaded.
+ */
+public abstract class LazyTableModel<T> extends AbstractTableModel {
+    public static final int DEFAULT_WINDOW_SIZE = 100;
+    public static final int DEFAULT_MAX_WINDOWS = 20;
+
+    private static final String PLACEHOLDER = "Loading...";
+    private static final String FAILED_PLACEHOLDER = "Could not load";
+
+    // A window that failed to load is not asked for again until this delay
+    // has passed, doubling with each further failure up to the maximum
+    private static final long RETRY_DELAY_MILLIS = 2000;
+    private static final long MAX_RETRY_DELAY_MILLIS = 60000;
+
+    // One loader thread for all lazy tables keeps scrolling from flooding the pool
+    private static final ExecutorService LOADER = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "table-loader");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final String[] columns;
+    private final int windowSize;
+    private final int maxWindows;
+    private final LinkedHashMap<Integer, List<T>> windows;
+    private final Set<Integer> pendingWindows = new HashSet<>();
+    private final Map<Integer, FailedWindow> failedWindows = new HashMap<>();
+    private int rowCount = 0;
+    private int generation = 0;
+    // Bumped whenever rows shift, so windows fetched before the shift are dropped
+    private int layout = 0;
+    private String filter;
+
+    protected LazyTableModel(String[] columns) {
+        this(columns, DEFAULT_WINDOW_SIZE, DEFAULT_MAX_WINDOWS);
+    }
+
+    protected LazyTableModel(String[] columns, int windowSize, int maxWindows) {
+        this.columns = columns;
+        this.windowSize = windowSize;
+        this.maxWindows = maxWindows;
+        this.windows = new LinkedHashMap<>(maxWindows, 0.75f, true);
+    }
+
+    /**
+     * Number of rows matching the filter. Called off the EDT.
+     */
+    protected abstract int countRows(String filter) throws SQLException;
+
+    /**
+     * Rows {@code offset .. offset + limit - 1} in display order. {@code previous}
+     * is the row just before {@code offset} when it is already loaded, so the
+     * query can seek past its key instead of skipping {@code offset} rows.
+     * Called off the EDT.
+     */
+    protected abstract List<T> fetchRows(String filter, int offset, int limit, T previous) throws SQLException;
+
+    protected abstract Object getColumnValue(T row, int column);
+
+    /**
+     * Key of {@code row}, as carried by change events.
+     */
+    protected abstract String keyOf(T row);
+
+    /**
+     * The current row for {@code key}, or null if it no longer exists.
+     * Called off the EDT.
+     */
+    protected abstract T fetchRow(String key) throws SQLException;
+
+    /**
+     * Index that the row with {@code key} has, or had before it was deleted,
+     * among the rows matching {@code filter}; -1 if that cannot be worked out
+     * without reloading. Called off the EDT.
+     */
+    protected abstract int positionOf(String filter, String key) throws SQLException;
+
+    /**
+     * Drops all cached rows and reloads the row count. Windows that failed to
+     * load are tried again straight away.
+     */
+    public void refresh() {
+        final int loadGeneration = ++generation;
+        final String loadFilter = filter;
+        windows.clear();
+        pendingWindows.clear();
+        failedWindows.clear();
+
+        LOADER.execute(() -> {
+            int count = 0;
+            try {
+                count = countRows(loadFilter);
+            } catch (SQLException e) {
+                System.out.println("❌ Error counting table rows: " + e.getMessage());
+            } finally {
+                DatabaseManager.releaseConnection();
+            }
+            final int total = count;
+            SwingUtilities.invokeLater(() -> {
+                if (loadGeneration != generation) {
+                    return;
+                }
+                rowCount = total;
+                fireTableDataChanged();
+            });
+        });
+    }
+
+    /**
+     * Applies one row changed by a write. An updated row is fetched again if
+     * it is loaded; an inserted or deleted row is placed by its key and the
+     * loaded rows after it shift along. Falls back to {@link #refresh()} when
+     * the row cannot be placed, e.g. under a ranked filter, or when the row
+     * count shows other changes were missed.
+     */
+    public void apply(ChangeEvent event) {
+        switch (event.getKind()) {
+            case UPDATED:
+                updateRow(event.getKey());
+                break;
+            case INSERTED:
+            case DELETED:
+                moveRow(event.getKey(), event.getKind() == ChangeEvent.Kind.INSERTED);
+                break;
+        }
+    }
+
+    /**
+     * Restricts the table to rows matching {@code filter}; null or blank shows all rows.
+     */
+    public void setFilter(String filter) {
+        this.filter = (filter == null || filter.trim().isEmpty()) ? null : filter.trim();
+        refresh();
+    }
+
+    public String getFilter() {
+        return filter;
+    }
+
+    /**
+     * The row at {@code rowIndex}, or null if its window has not been loaded yet.
+     */
+    public T getRow(int rowIndex) {
+        List<T> window = windows.get(rowIndex / windowSize);
+        int offsetInWindow = rowIndex % windowSize;
+        if (window == null || offsetInWindow >= window.size()) {
+            return null;
+        }
+        return window.get(offsetInWindow);
+    }
+
+    @Override
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columns.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return columns[column];
+    }
+
+    @Override
+    public boolean isCellEditable(int row, int column) {
+        return false;
+    }
+
+    @Override
+    public Object getValueAt(int rowIndex, int columnIndex) {
+        T row = getRow(rowIndex);
+        if (row == null) {
+            boolean failed = !requestWindow(rowIndex / windowSize);
+            if (columnIndex != 0) {
+                return null;
+            }
+            return failed ? FAILED_PLACEHOLDER : PLACEHOLDER;
+        }
+        return getColumnValue(row, columnIndex);
+    }
+
+    private void updateRow(String key) {
+        if (indexOfLoaded(key) < 0) {
+            return;
+        }
+        LOADER.execute(() -> {
+            T row = null;
+            boolean fetched = false;
+            try {
+                row = fetchRow(key);
+                fetched = true;
+            } catch (SQLException e) {
+                System.out.println("❌ Error loading table row: " + e.getMessage());
+            } finally {
+                DatabaseManager.releaseConnection();
+            }
+            final T fresh = row;
+            final boolean ok = fetched;
+            SwingUtilities.invokeLater(() -> {
+                // Looked up again: rows may have shifted while the row was fetched
+                int index = indexOfLoaded(key);
+                if (!ok || index < 0) {
+                    return;
+                }
+                if (fresh == null) {
+                    refresh();
+                    return;
+                }
+                windows.get(index / windowSize).set(index % windowSize, fresh);
+                fireTableRowsUpdated(index, index);
+            });
+        });
+    }
+
+    private void moveRow(String key, boolean inserted) {
+        final String loadFilter = filter;
+        LOADER.execute(() -> {
+            int position = -1;
+            int count = -1;
+            T row = null;
+            try {
+                position = positionOf(loadFilter, key);
+                if (position >= 0) {
+                    count = countRows(loadFilter);
+                    row = inserted ? fetchRow(key) : null;
+                }
+            } catch (SQLException e) {
+                System.out.println("❌ Error locating table row: " + e.getMessage());
+                position = -1;
+            } finally {
+                DatabaseManager.releaseConnection();
+            }
+            final int index = position;
+            final int total = count;
+            final T added = row;
+            SwingUtilities.invokeLater(() -> {
+                if (!Objects.equals(loadFilter, filter)) {
+                    return;  // The filter changed and reloaded the table meanwhile
+                }
+                if (index < 0 || (inserted && added == null) || total != rowCount + (inserted ? 1 : -1)) {
+                    refresh();
+                    return;
+                }
+                if (inserted) {
+                    shiftIn(index, added);
+                } else {
+                    T loaded = getRow(index);
+                    if (loaded != null && !key.equals(keyOf(loaded))) {
+                        refresh();
+                        return;
+                    }
+                    shiftOut(index);
+                }
+                rowCount = total;
+                if (inserted) {
+                    fireTableRowsInserted(index, index);
+                } else {
+                    fireTableRowsDeleted(index, index);
+                }
+            });
+        });
+    }
+
+    // Inserts row at index, carrying the last row of each full window over
+    // to the next loaded one; windows the shift cannot reach are dropped
+    private void shiftIn(int index, T row) {
+        layout++;
+        pendingWindows.clear();
+        int windowIndex = index / windowSize;
+        int offset = index % windowSize;
+        T carry = row;
+        while (true) {
+            List<T> window = windows.get(windowIndex);
+            if (window == null || offset > window.size()) {
+                break;
+            }
+            window.add(offset, carry);
+            if (window.size() <= windowSize) {
+                windowIndex++;
+                break;
+            }
+            carry = window.remove(window.size() - 1);
+            windowIndex++;
+            offset = 0;
+        }
+        dropWindowsFrom(windowIndex);
+    }
+
+    // Removes the row at index, pulling the first row of each following
+    // loaded window back into the one before it
+    private void shiftOut(int index) {
+        layout++;
+        pendingWindows.clear();
+        int windowIndex = index / windowSize;
+        List<T> window = windows.get(windowIndex);
+        int offset = index % windowSize;
+        if (window == null || offset >= window.size()) {
+            dropWindowsFrom(windowIndex);
+            return;
+        }
+        window.remove(offset);
+        while (window.size() == windowSize - 1) {
+            List<T> next = windows.get(windowIndex + 1);
+            if (next == null || next.isEmpty()) {
+                break;
+            }
+            window.add(next.remove(0));
+            window = next;
+            windowIndex++;
+        }
+        // A window left a row short fetches itself again when that row is shown
+        dropWindowsFrom(windowIndex + 1);
+    }
+
+    private void dropWindowsFrom(int firstWindow) {
+        windows.keySet().removeIf(windowIndex -> windowIndex >= firstWindow);
+    }
+
+    private int indexOfLoaded(String key) {
+        for (Map.Entry<Integer, List<T>> entry : windows.entrySet()) {
+            List<T> window = entry.getValue();
+            for (int i = 0; i < window.size(); i++) {
+                if (key.equals(keyOf(window.get(i)))) {
+                    return entry.getKey() * windowSize + i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    // Queues the window unless it is already loading; false if it failed to
+    // load and its retry delay has not passed yet
+    private boolean requestWindow(int windowIndex) {
+        if (pendingWindows.contains(windowIndex)) {
+            return true;
+        }
+        FailedWindow failure = failedWindows.get(windowIndex);
+        if (failure != null && System.currentTimeMillis() < failure.retryAtMillis) {
+            return false;
+        }
+        pendingWindows.add(windowIndex);
+
+        final int loadGeneration = generation;
+        final int loadLayout = layout;
+        final String loadFilter = filter;
+        final int offset = windowIndex * windowSize;
+        List<T> previousWindow = windows.get(windowIndex - 1);
+        final T previous = (previousWindow != null && previousWindow.size() == windowSize)
+            ? previousWindow.get(windowSize - 1) : null;
+
+        LOADER.execute(() -> {
+            List<T> rows = null;
+            try {
+                rows = fetchRows(loadFilter, offset, windowSize, previous);
+            } catch (SQLException e) {
+                System.out.println("❌ Error loading table rows: " + e.getMessage());
+            } finally {
+                DatabaseManager.releaseConnection();
+            }
+            final List<T> loaded = rows;
+            SwingUtilities.invokeLater(() -> {
+                if (loadGeneration != generation || loadLayout != layout) {
+                    return;
+                }
+                pendingWindows.remove(windowIndex);
+                int last = Math.min(offset + windowSize, rowCount) - 1;
+                if (loaded == null) {
+                    // Shown as failed until the delay passes, instead of being
+                    // fetched again by the very next repaint
+                    FailedWindow previousFailure = failedWindows.get(windowIndex);
+                    failedWindows.put(windowIndex, new FailedWindow(
+                        previousFailure == null ? 1 : previousFailure.attempts + 1));
+                    if (last >= offset) {
+                        fireTableRowsUpdated(offset, last);
+                    }
+                    return;
+                }
+                failedWindows.remove(windowIndex);
+                // Copied so row changes can edit the window in place
+                windows.put(windowIndex, new ArrayList<>(loaded));
+                evictOverflow();
+                if (last >= offset) {
+                    fireTableRowsUpdated(offset, last);
+                }
+            });
+        });
+        return true;
+    }
+
+    private void evictOverflow() {
+        Iterator<Integer> it = windows.keySet().iterator();
+        while (windows.size() > maxWindows && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+
+    private static final class FailedWindow {
+        final int attempts;
+        final long retryAtMillis;
+
+        FailedWindow(int attempts) {
+            this.attempts = attempts;
+            long delay = RETRY_DELAY_MILLIS << Math.min(attempts - 1, 5);
+            this.retryAtMillis = System.currentTimeMillis() + Math.min(delay, MAX_RETRY_DELAY_MILLIS);
+        }
+    }
+}
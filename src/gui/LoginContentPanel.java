@@ -1,5 +1,6 @@
 package gui;
 
+import diagnostics.StartupProfiler;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
@@ -207,9 +208,17 @@ public class LoginContentPanel extends JPanel {
             // Get the parent window
             Window window = SwingUtilities.getWindowAncestor(this);
             
-            // Create and show the dashboard
-            JFrame dashboardFrame = new DashboardFrame("", role);
+            // Create and show the dashboard; the render phase ends once its first paint has run
+            StartupProfiler.Phase render = StartupProfiler.begin("first dashboard render");
+            JFrame dashboardFrame;
+            StartupProfiler.Phase phase = StartupProfiler.begin("dashboard build");
+            try {
+                dashboardFrame = new DashboardFrame("", role);
+            } finally {
+                phase.end();
+            }
             dashboardFrame.setVisible(true);
+            SwingUtilities.invokeLater(render::end);
             
             // Close the login window
             if (window != null) {
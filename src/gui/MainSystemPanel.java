@@ -4,11 +4,12 @@ import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
 import database.DatabaseManager;
-import java.util.Map;
 import java.util.List;
-import javax.imageio.ImageIO;
-import java.io.File;
-import java.io.IOException;
+import model.Complaint;
+import model.Room;
+import model.Student;
+import model.Warden;
+import java.awt.image.BufferedImage;
 
 public class MainSystemPanel extends JPanel {
     private JPanel contentPanel;
@@ -17,8 +18,6 @@ public class MainSystemPanel extends JPanel {
     private Color primaryColor = new Color(0, 199, 0);  // Green color from reference
     private int screenWidth;
     private int screenHeight;
-    private Image backgroundImage;
-    
     public MainSystemPanel() {
         // Get screen dimensions
         GraphicsDevice gd = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice();
@@ -28,18 +27,8 @@ public class MainSystemPanel extends JPanel {
         setLayout(null);
         setBounds(0, 0, screenWidth, screenHeight);
         
-        // Load background image
-        try {
-            backgroundImage = ImageIO.read(new File("Hostel.jpg"));
-        } catch (IOException e) {
-            System.err.println("Error loading background image: " + e.getMessage());
-            // Try loading from different paths
-            try {
-                backgroundImage = ImageIO.read(new File("src/resources/Hostel.jpg"));
-            } catch (IOException e2) {
-                System.err.println("Error loading background image from alternate path: " + e2.getMessage());
-            }
-        }
+        // Start decoding the background image off the EDT
+        ImageCache.load(ImageCache.HOSTEL_IMAGE);
         
         // Create header panel (1/6 of screen height)
         JPanel headerPanel = createHeader();
@@ -142,29 +131,18 @@ public class MainSystemPanel extends JPanel {
             @Override
             protected void paintComponent(Graphics g) {
                 super.paintComponent(g);
-                if (backgroundImage != null) {
-                    // Calculate dimensions to fill width while maintaining aspect ratio
-                    double aspectRatio = (double) backgroundImage.getHeight(null) / backgroundImage.getWidth(null);
-                    int targetWidth = getWidth();
-                    int targetHeight = (int) (targetWidth * aspectRatio);
-                    
-                    // If height is too large, adjust based on panel height
-                    if (targetHeight > getHeight()) {
-                        targetHeight = getHeight();
-                        targetWidth = (int) (targetHeight / aspectRatio);
-                    }
-                    
-                    // Center the image
-                    int x = (getWidth() - targetWidth) / 2;
-                    int y = (getHeight() - targetHeight) / 2;
-                    
-                    // Use Graphics2D for better quality scaling
+                // Drawn from a copy pre-scaled to the panel's size; until that is ready
+                // (first paint, or just after a resize) the original is stretched instead
+                BufferedImage image = ImageCache.getScaled(ImageCache.HOSTEL_IMAGE, getWidth(), getHeight(), this);
+                if (image != null) {
+                    g.drawImage(image, 0, 0, this);
+                    return;
+                }
+                BufferedImage original = ImageCache.getIfLoaded(ImageCache.HOSTEL_IMAGE);
+                if (original != null) {
                     Graphics2D g2d = (Graphics2D) g;
                     g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
-                    g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
-                    g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-                    
-                    g2d.drawImage(backgroundImage, 0, 0, getWidth(), getHeight(), this);
+                    g2d.drawImage(original, 0, 0, getWidth(), getHeight(), this);
                 }
             }
         };
@@ -195,16 +173,16 @@ public class MainSystemPanel extends JPanel {
     }
     
     private Object[][] getRoomData() {
-        List<Map<String, Object>> rooms = DatabaseManager.getAllRooms();
+        List<Room> rooms = DatabaseManager.getAllRoomRecords();
         Object[][] data = new Object[rooms.size()][6];
         for (int i = 0; i < rooms.size(); i++) {
-            Map<String, Object> room = rooms.get(i);
-            data[i][0] = room.get("roomNo");
-            data[i][1] = room.get("type");
-            data[i][2] = room.get("capacity");
-            data[i][3] = room.get("currentOccupancy");
-            data[i][4] = room.get("block");
-            data[i][5] = room.get("floor");
+            Room room = rooms.get(i);
+            data[i][0] = room.getRoomNo();
+            data[i][1] = room.getRoomType();
+            data[i][2] = room.getCapacity();
+            data[i][3] = room.getCurrentOccupancy();
+            data[i][4] = room.getBlockName();
+            data[i][5] = room.getFloorNo();
         }
         return data;
     }
@@ -283,24 +261,24 @@ public class MainSystemPanel extends JPanel {
     }
     
     private Object[][] getStudentData() {
-        List<Map<String, Object>> students = DatabaseManager.getAllStudents();
+        List<Student> students = DatabaseManager.getAllStudentRecords();
         Object[][] data = new Object[students.size()][14];  // Updated to 14 columns
         for (int i = 0; i < students.size(); i++) {
-            Map<String, Object> student = students.get(i);
-            data[i][0] = student.get("rollNo");
-            data[i][1] = student.get("name");
-            data[i][2] = student.get("college");
-            data[i][3] = student.get("department");
-            data[i][4] = student.get("semester");
-            data[i][5] = student.get("age");
-            data[i][6] = student.get("mobile");
-            data[i][7] = student.get("roomNo");
-            data[i][8] = student.get("roomType");
-            data[i][9] = student.get("sharingType");
-            data[i][10] = student.get("blockName");
-            data[i][11] = student.get("floorNo");
-            data[i][12] = String.format("₹%.0f", student.get("amountPaid"));
-            data[i][13] = String.format("₹%.0f", student.get("amountDue"));
+            Student student = students.get(i);
+            data[i][0] = student.getRollNo();
+            data[i][1] = student.getName();
+            data[i][2] = student.getCollege();
+            data[i][3] = student.getDepartment();
+            data[i][4] = student.getSemester();
+            data[i][5] = student.getAge();
+            data[i][6] = student.getMobile();
+            data[i][7] = student.getRoomNo();
+            data[i][8] = student.getRoomType();
+            data[i][9] = student.getSharingType();
+            data[i][10] = student.getBlockName();
+            data[i][11] = student.getFloorNo();
+            data[i][12] = String.format("₹%.0f", student.getAmountPaid());
+            data[i][13] = String.format("₹%.0f", student.getAmountDue());
         }
         return data;
     }
@@ -328,15 +306,15 @@ public class MainSystemPanel extends JPanel {
     }
     
     private Object[][] getWardenData() {
-        List<Map<String, Object>> wardens = DatabaseManager.getAllWardens();
+        List<Warden> wardens = DatabaseManager.getAllWardenRecords();
         Object[][] data = new Object[wardens.size()][5];
         for (int i = 0; i < wardens.size(); i++) {
-            Map<String, Object> warden = wardens.get(i);
-            data[i][0] = warden.get("id");
-            data[i][1] = warden.get("name");
-            data[i][2] = warden.get("block");
-            data[i][3] = warden.get("mobile");
-            data[i][4] = warden.get("joiningDate");
+            Warden warden = wardens.get(i);
+            data[i][0] = warden.getWardenId();
+            data[i][1] = warden.getName();
+            data[i][2] = warden.getBlockName();
+            data[i][3] = warden.getMobile();
+            data[i][4] = warden.getJoiningDate();
         }
         return data;
     }
@@ -370,15 +348,15 @@ public class MainSystemPanel extends JPanel {
     }
     
     private Object[][] getComplaintData() {
-        List<Map<String, Object>> complaints = DatabaseManager.getAllComplaints();
+        List<Complaint> complaints = DatabaseManager.getAllComplaintRecords();
         Object[][] data = new Object[complaints.size()][5];
         for (int i = 0; i < complaints.size(); i++) {
-            Map<String, Object> complaint = complaints.get(i);
-            data[i][0] = complaint.get("id");
-            data[i][1] = complaint.get("studentName");
-            data[i][2] = complaint.get("text");
-            data[i][3] = complaint.get("status");
-            data[i][4] = complaint.get("filedOn");
+            Complaint complaint = complaints.get(i);
+            data[i][0] = complaint.getId();
+            data[i][1] = complaint.getStudentName();
+            data[i][2] = complaint.getText();
+            data[i][3] = complaint.getStatus();
+            data[i][4] = complaint.getFiledOn();
         }
         return data;
     }
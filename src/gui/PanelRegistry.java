@@ -0,0 +1,90 @@
+package gui;
+
+import java.util.HashMap;
+import java.util.Map;
+import javax.swing.JComponent;
+
+/**
+ * Keeps the panels built for the dashboard's menu items, so going back to
+ * one re-attaches it, with its table model and scroll position, instead of
+ * rebuilding its components and reloading its table.
+ *
+ * Each panel registers with a refresh action that reloads its data in
+ * place. When a panel is shown again the action runs only if its data is
+ * stale: marked stale after a change made elsewhere, or loaded more than
+ * {@link #STALE_AFTER_MILLIS} ago. {@link #invalidate(String)} drops a panel
+ * so its next visit builds it from scratch.
+ *
+ * Used on the EDT only.
+ */
+final class PanelRegistry {
+    // Shown data older than this is reloaded when its panel is shown again
+    static final long STALE_AFTER_MILLIS = 30_000;
+
+    private final Map<String, Entry> panels = new HashMap<>();
+
+    /**
+     * Remembers {@code panel}, just built with fresh data, under {@code key}.
+     */
+    void register(String key, JComponent panel, Runnable refresh) {
+        panels.put(key, new Entry(panel, refresh));
+    }
+
+    /**
+     * The panel registered under {@code key}, refreshed first if its data is
+     * stale, or null if it has to be built.
+     */
+    JComponent reuse(String key) {
+        Entry entry = panels.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.stale || System.currentTimeMillis() - entry.loadedAtMillis > STALE_AFTER_MILLIS) {
+            entry.refresh.run();
+            entry.stale = false;
+            entry.loadedAtMillis = System.currentTimeMillis();
+        }
+        return entry.panel;
+    }
+
+    /**
+     * Records that {@code key}'s panel has just reloaded its data itself,
+     * e.g. after an edit made on it.
+     */
+    void refreshed(String key) {
+        Entry entry = panels.get(key);
+        if (entry != null) {
+            entry.stale = false;
+            entry.loadedAtMillis = System.currentTimeMillis();
+        }
+    }
+
+    /**
+     * Makes {@code key}'s panel reload its data the next time it is shown.
+     */
+    void markStale(String key) {
+        Entry entry = panels.get(key);
+        if (entry != null) {
+            entry.stale = true;
+        }
+    }
+
+    /**
+     * Drops {@code key}'s panel; the next visit builds a new one.
+     */
+    void invalidate(String key) {
+        panels.remove(key);
+    }
+
+    private static final class Entry {
+        final JComponent panel;
+        final Runnable refresh;
+        long loadedAtMillis = System.currentTimeMillis();
+        boolean stale = false;
+
+        Entry(JComponent panel, Runnable refresh) {
+            this.panel = panel;
+            this.refresh = refresh;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package gui;
+
+import database.DatabaseManager;
+import java.sql.SQLException;
+import java.util.List;
+import model.Room;
+
+/**
+ * Lazily loaded room management table.
+ */
+public class RoomTableModel extends LazyTableModel<Room> {
+    private static final String[] COLUMNS = {"Room No", "Type", "Sharing", "Capacity", "Occupied", "Block", "Floor"};
+
+    public RoomTableModel() {
+        super(COLUMNS);
+    }
+
+    @Override
+    protected int countRows(String filter) throws SQLException {
+        return DatabaseManager.countRooms();
+    }
+
+    @Override
+    protected List<Room> fetchRows(String filter, int offset, int limit, Room previous) throws SQLException {
+        return DatabaseManager.getRoomWindow(previous == null ? null : previous.getRoomNo(), offset, limit);
+    }
+
+    @Override
+    protected String keyOf(Room room) {
+        return room.getRoomNo();
+    }
+
+    @Override
+    protected Room fetchRow(String roomNo) throws SQLException {
+        return DatabaseManager.findRoom(roomNo);
+    }
+
+    @Override
+    protected int positionOf(String filter, String roomNo) throws SQLException {
+        return DatabaseManager.countRoomsBefore(roomNo);
+    }
+
+    @Override
+    protected Object getColumnValue(Room room, int column) {
+        switch (column) {
+            case 0: return room.getRoomNo();
+            case 1: return room.getRoomType();
+            case 2: return room.getSharingType();
+            case 3: return room.getCapacity();
+            case 4: return room.getCurrentOccupancy();
+            case 5: return room.getBlockName();
+            case 6: return room.getFloorNo();
+            default: return null;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package gui;
+
+import database.DatabaseManager;
+import java.sql.SQLException;
+import java.util.List;
+import model.Student;
+
+/**
+ * Lazily loaded admin student table. The filter matches any part of a roll
+ * number, name or mobile, best matches first, once the search index is
+ * loaded; before that, a roll number exactly or any part of a name.
+ */
+public class StudentTableModel extends LazyTableModel<Student> {
+    private static final String[] COLUMNS = {
+        "Roll No", "Name", "College", "Department", "Semester", "Age", "Contact", "Room",
+        "Room Type", "Sharing Type", "Block", "Floor", "Amount Paid", "Amount Due",
+        "Payment Method", "Password"
+    };
+
+    public StudentTableModel() {
+        super(COLUMNS);
+    }
+
+    @Override
+    protected int countRows(String filter) throws SQLException {
+        return DatabaseManager.countStudents(filter);
+    }
+
+    @Override
+    protected List<Student> fetchRows(String filter, int offset, int limit, Student previous) throws SQLException {
+        return DatabaseManager.getStudentWindow(filter, previous == null ? null : previous.getRollNo(), offset, limit);
+    }
+
+    @Override
+    protected String keyOf(Student student) {
+        return student.getRollNo();
+    }
+
+    @Override
+    protected Student fetchRow(String rollNo) throws SQLException {
+        return DatabaseManager.findStudent(rollNo);
+    }
+
+    @Override
+    protected int positionOf(String filter, String rollNo) throws SQLException {
+        // Only the unfiltered table is in plain roll number order
+        return filter == null ? DatabaseManager.countStudentsBefore(rollNo) : -1;
+    }
+
+    @Override
+    protected Object getColumnValue(Student student, int column) {
+        switch (column) {
+            case 0: return student.getRollNo();
+            case 1: return student.getName();
+            case 2: return student.getCollege();
+            case 3: return student.getDepartment();
+            case 4: return student.getSemester();
+            case 5: return student.getAge();
+            case 6: return student.getMobile();
+            case 7: return student.getRoomNo();
+            case 8: return student.getRoomType();
+            case 9: return student.getSharingType();
+            case 10: return student.getBlockName();
+            case 11: return student.getFloorNo();
+            case 12: return String.format("₹%.0f", student.getAmountPaid());
+            case 13: return String.format("₹%.0f", student.getAmountDue());
+            case 14: return student.getPaymentMethod();
+            case 15: return student.getPassword();
+            default: return null;
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package gui;
+
+import database.DatabaseManager;
+import java.awt.BorderLayout;
+import java.awt.Dimension;
+import java.awt.FlowLayout;
+import java.sql.SQLException;
+import java.util.function.Function;
+import javax.swing.BorderFactory;
+import javax.swing.JButton;
+import javax.swing.JDialog;
+import javax.swing.JFrame;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.JTable;
+import javax.swing.JTextField;
+import javax.swing.table.DefaultTableModel;
+import model.Page;
+import model.SearchHit;
+
+/**
+ * Dialog for relevance-ranked text search: a query box, the matches best
+ * first with their relevance, and Load More for the next page.
+ */
+public class TextSearchDialog<T> extends JDialog {
+    /**
+     * Fetches one page of matches; {@code cursor} is null for the first page.
+     */
+    public interface PageSource<T> {
+        Page<SearchHit<T>> fetch(String query, String cursor, int pageSize) throws SQLException;
+    }
+
+    private final PageSource<T> source;
+    private final Function<T, Object[]> rowMapper;
+    private final DefaultTableModel model;
+    private final JTextField queryField = new JTextField(30);
+    private final JLabel statusLabel = new JLabel(" ");
+    private final JButton loadMoreButton = new JButton("Load More");
+    private String query;
+    private String nextCursor;
+    private int generation = 0;
+    private long searchStartNanos;
+
+    /**
+     * {@code columns} describe the row mapper's output; a leading Relevance
+     * column is added.
+     */
+    public TextSearchDialog(JFrame owner, String title, String[] columns, PageSource<T> source,
+                            Function<T, Object[]> rowMapper) {
+        super(owner, title, true);
+        this.source = source;
+        this.rowMapper = rowMapper;
+
+        String[] allColumns = new String[columns.length + 1];
+        allColumns[0] = "Relevance";
+        System.arraycopy(columns, 0, allColumns, 1, columns.length);
+        model = new DefaultTableModel(allColumns, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+        };
+        JTable table = new JTable(model);
+        table.setRowHeight(25);
+        JScrollPane scrollPane = new JScrollPane(table);
+        scrollPane.setPreferredSize(new Dimension(800, 400));
+
+        JButton searchButton = new JButton("Search");
+        JPanel top = new JPanel(new FlowLayout(FlowLayout.LEFT, 10, 5));
+        top.add(new JLabel("Find:"));
+        top.add(queryField);
+        top.add(searchButton);
+
+        JButton closeButton = new JButton("Close");
+        JPanel bottom = new JPanel(new BorderLayout());
+        bottom.setBorder(BorderFactory.createEmptyBorder(0, 10, 0, 0));
+        bottom.add(statusLabel, BorderLayout.WEST);
+        JPanel buttons = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+        buttons.add(loadMoreButton);
+        buttons.add(closeButton);
+        bottom.add(buttons, BorderLayout.EAST);
+        loadMoreButton.setEnabled(false);
+
+        setLayout(new BorderLayout(5, 5));
+        add(top, BorderLayout.NORTH);
+        add(scrollPane, BorderLayout.CENTER);
+        add(bottom, BorderLayout.SOUTH);
+
+        searchButton.addActionListener(e -> search());
+        queryField.addActionListener(e -> search());
+        loadMoreButton.addActionListener(e -> loadPage());
+        closeButton.addActionListener(e -> dispose());
+
+        pack();
+        setLocationRelativeTo(owner);
+    }
+
+    private void search() {
+        String text = queryField.getText().trim();
+        if (text.isEmpty()) {
+            return;
+        }
+        query = text;
+        nextCursor = null;
+        generation++;
+        model.setRowCount(0);
+        searchStartNanos = System.nanoTime();
+        loadPage();
+    }
+
+    private void loadPage() {
+        final int loadGeneration = generation;
+        final String loadQuery = query;
+        final String cursor = nextCursor;
+        loadMoreButton.setEnabled(false);
+        statusLabel.setText("Searching...");
+        AsyncUi.load(() -> source.fetch(loadQuery, cursor, DatabaseManager.DEFAULT_PAGE_SIZE), page -> {
+            // A newer search started while this page was loading
+            if (loadGeneration != generation) {
+                return;
+            }
+            for (SearchHit<T> hit : page.getItems()) {
+                Object[] row = rowMapper.apply(hit.getItem());
+                Object[] withScore = new Object[row.length + 1];
+                withScore[0] = String.format("%.2f", hit.getScore());
+                System.arraycopy(row, 0, withScore, 1, row.length);
+                model.addRow(withScore);
+            }
+            nextCursor = page.getNextCursor();
+            loadMoreButton.setEnabled(page.hasMore());
+            statusLabel.setText(String.format("%d matches shown (%d ms)", model.getRowCount(),
+                (System.nanoTime() - searchStartNanos) / 1_000_000));
+        }, error -> {
+            if (loadGeneration == generation) {
+                statusLabel.setText("Search failed: " + error.getMessage());
+                loadMoreButton.setEnabled(nextCursor != null);
+            }
+        });
+    }
+}
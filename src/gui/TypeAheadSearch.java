@@ -0,0 +1,225 @@
+package gui;
+
+import database.DbExecutor;
+import database.QueryHandle;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.function.Consumer;
+import javax.swing.JLabel;
+import javax.swing.JTextField;
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+
+/**
+ * Search-as-you-type for a text field.
+ *
+ * Typing restarts a short debounce timer; when it fires, the previous search
+ * is cancelled (its running statement too) and a new one starts on
+ * {@link DbExecutor}. Results reach the listener in batches on the EDT, the
+ * first few rows as soon as they are read. Batches from a superseded search
+ * are dropped, so a slow early query can never overwrite a newer result.
+ *
+ * With {@code -Dhms.search.debug=true}, {@link #getDebugLabel()} shows the
+ * time from the last keystroke to the first and last batch.
+ */
+public class TypeAheadSearch<T> {
+    public static final int DEFAULT_DEBOUNCE_MILLIS = 250;
+    public static final int DEFAULT_FIRST_BATCH = 50;
+
+    private static final boolean DEBUG = Boolean.getBoolean("hms.search.debug");
+
+    /**
+     * Runs one search off the EDT, handing matches to {@code sink} in batches.
+     */
+    public interface Searcher<T> {
+        void search(String term, int firstBatch, QueryHandle handle, Consumer<List<T>> sink) throws SQLException;
+    }
+
+    /**
+     * Receives a search's results on the EDT.
+     */
+    public interface Listener<T> {
+        /** A new search for {@code term} has started; clear the old results. */
+        void started(String term);
+
+        /** Next batch of matches for the current search. */
+        void rows(List<T> rows);
+
+        /** The search box was emptied; show the unfiltered view. */
+        void cleared();
+
+        default void failed(Throwable error) {
+            System.out.println("❌ Error searching: " + error.getMessage());
+        }
+    }
+
+    private final JTextField field;
+    private final Searcher<T> searcher;
+    private final Listener<T> listener;
+    private final int firstBatch;
+    private final Timer timer;
+    private final JLabel debugLabel = new JLabel();
+    private QueryHandle inFlight;
+    private int generation = 0;
+    private long lastKeystrokeNanos;
+    private String lastTerm = "";
+
+    public TypeAheadSearch(JTextField field, Searcher<T> searcher, Listener<T> listener) {
+        this(field, DEFAULT_DEBOUNCE_MILLIS, DEFAULT_FIRST_BATCH, searcher, listener);
+    }
+
+    public TypeAheadSearch(JTextField field, int debounceMillis, int firstBatch,
+                           Searcher<T> searcher, Listener<T> listener) {
+        this.field = field;
+        this.searcher = searcher;
+        this.listener = listener;
+        this.firstBatch = firstBatch;
+        this.timer = new Timer(debounceMillis, e -> search(false));
+        this.timer.setRepeats(false);
+        debugLabel.setVisible(DEBUG);
+
+        field.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                typed();
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                typed();
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+            }
+        });
+        // Enter searches straight away
+        field.addActionListener(e -> searchNow());
+    }
+
+    /**
+     * Searches for the field's current text without waiting for the debounce,
+     * even if the text has not changed.
+     */
+    public void searchNow() {
+        timer.stop();
+        lastKeystrokeNanos = System.nanoTime();
+        search(true);
+    }
+
+    /**
+     * Stops the pending or running search, for when the panel goes away.
+     */
+    public void cancel() {
+        timer.stop();
+        generation++;
+        if (inFlight != null) {
+            inFlight.cancel();
+            inFlight = null;
+        }
+    }
+
+    /**
+     * Label with the keystroke-to-result latency; visible only in debug mode.
+     */
+    public JLabel getDebugLabel() {
+        return debugLabel;
+    }
+
+    /**
+     * Runs {@code action} on the EDT once the field's text has stopped
+     * changing for {@code debounceMillis}. For views that load their own
+     * rows, such as a {@link LazyTableModel} filter.
+     */
+    public static void debounce(JTextField field, int debounceMillis, Runnable action) {
+        Timer timer = new Timer(debounceMillis, e -> action.run());
+        timer.setRepeats(false);
+        field.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                timer.restart();
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                timer.restart();
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+            }
+        });
+    }
+
+    private void typed() {
+        lastKeystrokeNanos = System.nanoTime();
+        timer.restart();
+    }
+
+    private void search(boolean force) {
+        String term = field.getText().trim();
+        if (!force && term.equals(lastTerm)) {
+            return;
+        }
+        lastTerm = term;
+        cancel();
+        final int searchGeneration = generation;
+
+        if (term.isEmpty()) {
+            debugLabel.setText("");
+            listener.cleared();
+            return;
+        }
+
+        final QueryHandle handle = new QueryHandle();
+        final long typedAt = lastKeystrokeNanos;
+        final int[] delivered = {0};
+        inFlight = handle;
+        listener.started(term);
+
+        DbExecutor.run(() -> {
+            Throwable error = null;
+            try {
+                searcher.search(term, firstBatch, handle, rows -> SwingUtilities.invokeLater(() -> {
+                    if (searchGeneration != generation) {
+                        return;
+                    }
+                    if (delivered[0] == 0) {
+                        debug(String.format("\"%s\": first %d rows %d ms after keystroke",
+                            term, rows.size(), elapsedMillis(typedAt)));
+                    }
+                    delivered[0] += rows.size();
+                    listener.rows(rows);
+                }));
+            } catch (SQLException | RuntimeException e) {
+                error = e;
+            }
+            final Throwable failure = error;
+            SwingUtilities.invokeLater(() -> {
+                if (searchGeneration != generation) {
+                    return;
+                }
+                inFlight = null;
+                if (failure != null && !handle.isCancelled()) {
+                    listener.failed(failure);
+                    return;
+                }
+                debug(String.format("\"%s\": %d rows in %d ms after keystroke",
+                    term, delivered[0], elapsedMillis(typedAt)));
+            });
+        });
+    }
+
+    private void debug(String text) {
+        if (DEBUG) {
+            debugLabel.setText(text);
+            System.out.println("[search] " + text);
+        }
+    }
+
+    private static long elapsedMillis(long sinceNanos) {
+        return (System.nanoTime() - sinceNanos) / 1_000_000;
+    }
+}
@@ -0,0 +1,337 @@
+package management;
+
+import database.BatchAllocator;
+import database.BedReservations;
+import database.DatabaseManager;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import model.AllocationRequest;
+import model.AllocationResult;
+import model.Room;
+import model.StudentPreference;
+
+/**
+ * Plans a semester intake against the free beds in the room inventory,
+ * trying to give every student their room type, sharing, block and
+ * roommates.
+ *
+ * Roommate requests are merged into groups (a union-find over the requests),
+ * and each group is placed in a single room when one has enough free beds.
+ * Rooms are bucketed by (type, sharing, block); every group's buckets are
+ * ranked by the members' combined satisfaction, in parallel across cores.
+ * Groups are then placed largest first into the best-ranked bucket with
+ * room, falling back to placing members one by one. Planning is done
+ * entirely in memory; {@link AllocationPlan#commit()} writes the result
+ * through {@link BatchAllocator}.
+ */
+public final class AllocationOptimizer {
+    // Satisfaction weights; a student scores the sum of the parts they got
+    private static final double TYPE_WEIGHT = 4.0;
+    private static final double SHARING_WEIGHT = 3.0;
+    private static final double BLOCK_WEIGHT = 2.0;
+    private static final double ROOMMATE_WEIGHT = 3.0;
+    private static final double MAX_SCORE = TYPE_WEIGHT + SHARING_WEIGHT + BLOCK_WEIGHT + ROOMMATE_WEIGHT;
+
+    private AllocationOptimizer() {
+    }
+
+    /**
+     * Plans the intake against the current room inventory.
+     */
+    public static AllocationPlan plan(List<StudentPreference> intake) {
+        return plan(intake, DatabaseManager.getAllRoomRecords());
+    }
+
+    /**
+     * Plans the intake against the given rooms. Beds already occupied or
+     * held by a reservation are not used.
+     */
+    public static AllocationPlan plan(List<StudentPreference> intake, List<Room> inventory) {
+        long start = System.nanoTime();
+
+        Map<String, StudentPreference> byRollNo = new LinkedHashMap<>();
+        for (StudentPreference preference : intake) {
+            byRollNo.putIfAbsent(preference.getRollNo(), preference);
+        }
+
+        List<Bucket> buckets = bucketRooms(inventory);
+        List<Group> groups = groupRoommates(byRollNo);
+
+        // Ranking only reads the buckets' fixed attributes, so it is safe to run in parallel
+        groups.parallelStream().forEach(group -> group.rank(buckets));
+
+        // Bigger groups are harder to place, so they go first
+        Collections.sort(groups, Comparator.comparingInt((Group g) -> -g.members.size())
+            .thenComparing(g -> g.members.get(0).getRollNo()));
+
+        Map<String, String> assignments = new LinkedHashMap<>();
+        List<StudentPreference> singles = new ArrayList<>();
+        for (Group group : groups) {
+            if (!place(group, assignments)) {
+                singles.addAll(group.members);
+            }
+        }
+
+        // Members of groups that did not fit together are placed one by one
+        List<Group> splits = new ArrayList<>();
+        for (StudentPreference single : singles) {
+            splits.add(new Group(Collections.singletonList(single)));
+        }
+        splits.parallelStream().forEach(group -> group.rank(buckets));
+        List<String> unplaced = new ArrayList<>();
+        for (Group group : splits) {
+            if (!place(group, assignments)) {
+                unplaced.add(group.members.get(0).getRollNo());
+            }
+        }
+
+        Map<String, Room> rooms = new HashMap<>();
+        for (Room room : inventory) {
+            rooms.put(room.getRoomNo(), room);
+        }
+        double satisfaction = satisfaction(byRollNo, assignments, rooms);
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        return new AllocationPlan(assignments, unplaced, satisfaction, millis);
+    }
+
+    private static boolean place(Group group, Map<String, String> assignments) {
+        int size = group.members.size();
+        for (Bucket bucket : group.ranked) {
+            RoomSlot slot = bucket.take(size);
+            if (slot != null) {
+                for (StudentPreference member : group.members) {
+                    assignments.put(member.getRollNo(), slot.roomNo);
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<Bucket> bucketRooms(List<Room> inventory) {
+        Map<String, Bucket> buckets = new TreeMap<>();
+        List<Room> sorted = new ArrayList<>(inventory);
+        Collections.sort(sorted, Comparator.comparing(Room::getRoomNo));
+        for (Room room : sorted) {
+            int free = room.getCapacity() - room.getCurrentOccupancy() - BedReservations.held(room.getRoomNo());
+            if (free <= 0) {
+                continue;
+            }
+            String key = room.getRoomType() + "|" + room.getSharingType() + "|" + room.getBlockName();
+            Bucket bucket = buckets.get(key);
+            if (bucket == null) {
+                bucket = new Bucket(room.getRoomType(), room.getSharingType(), room.getBlockName());
+                buckets.put(key, bucket);
+            }
+            bucket.rooms.add(new RoomSlot(room.getRoomNo(), free));
+        }
+        return new ArrayList<>(buckets.values());
+    }
+
+    // Union-find over roommate requests; requests naming students outside the intake are ignored
+    private static List<Group> groupRoommates(Map<String, StudentPreference> byRollNo) {
+        Map<String, String> parent = new HashMap<>();
+        for (String rollNo : byRollNo.keySet()) {
+            parent.put(rollNo, rollNo);
+        }
+        for (StudentPreference preference : byRollNo.values()) {
+            for (String roommate : preference.getRoommates()) {
+                if (parent.containsKey(roommate)) {
+                    String a = find(parent, preference.getRollNo());
+                    String b = find(parent, roommate);
+                    if (!a.equals(b)) {
+                        // Smaller roll number becomes the root so grouping is deterministic
+                        if (a.compareTo(b) < 0) {
+                            parent.put(b, a);
+                        } else {
+                            parent.put(a, b);
+                        }
+                    }
+                }
+            }
+        }
+
+        Map<String, List<StudentPreference>> members = new LinkedHashMap<>();
+        for (StudentPreference preference : byRollNo.values()) {
+            members.computeIfAbsent(find(parent, preference.getRollNo()), root -> new ArrayList<>()).add(preference);
+        }
+        List<Group> groups = new ArrayList<>(members.size());
+        for (List<StudentPreference> group : members.values()) {
+            groups.add(new Group(group));
+        }
+        return groups;
+    }
+
+    private static String find(Map<String, String> parent, String rollNo) {
+        String root = rollNo;
+        while (!parent.get(root).equals(root)) {
+            root = parent.get(root);
+        }
+        // Path compression
+        while (!rollNo.equals(root)) {
+            String next = parent.get(rollNo);
+            parent.put(rollNo, root);
+            rollNo = next;
+        }
+        return root;
+    }
+
+    // Room-level score for one student, without the roommate part
+    private static double score(StudentPreference preference, String roomType, String sharingType, String blockName) {
+        double score = 0.0;
+        if (roomType.equals(preference.getRoomType())) {
+            score += TYPE_WEIGHT;
+        }
+        if (sharingType.equals(preference.getSharingType())) {
+            score += SHARING_WEIGHT;
+        }
+        if (preference.getPreferredBlock() == null || preference.getPreferredBlock().equals(blockName)) {
+            score += BLOCK_WEIGHT;
+        }
+        return score;
+    }
+
+    // Average share of the maximum score; unplaced students count as zero
+    private static double satisfaction(Map<String, StudentPreference> byRollNo, Map<String, String> assignments,
+                                       Map<String, Room> rooms) {
+        if (byRollNo.isEmpty()) {
+            return 1.0;
+        }
+        double total = 0.0;
+        for (StudentPreference preference : byRollNo.values()) {
+            String roomNo = assignments.get(preference.getRollNo());
+            if (roomNo == null) {
+                continue;
+            }
+            Room room = rooms.get(roomNo);
+            double score = score(preference, room.getRoomType(), room.getSharingType(), room.getBlockName());
+            int requested = 0;
+            int together = 0;
+            for (String roommate : preference.getRoommates()) {
+                if (byRollNo.containsKey(roommate)) {
+                    requested++;
+                    if (roomNo.equals(assignments.get(roommate))) {
+                        together++;
+                    }
+                }
+            }
+            score += requested == 0 ? ROOMMATE_WEIGHT : ROOMMATE_WEIGHT * together / requested;
+            total += score / MAX_SCORE;
+        }
+        return total / byRollNo.size();
+    }
+
+    private static final class Group {
+        final List<StudentPreference> members;
+        List<Bucket> ranked = Collections.emptyList();
+
+        Group(List<StudentPreference> members) {
+            this.members = members;
+        }
+
+        void rank(List<Bucket> buckets) {
+            List<Bucket> sorted = new ArrayList<>(buckets);
+            Map<Bucket, Double> scores = new HashMap<>();
+            for (Bucket bucket : buckets) {
+                double total = 0.0;
+                for (StudentPreference member : members) {
+                    total += score(member, bucket.roomType, bucket.sharingType, bucket.blockName);
+                }
+                scores.put(bucket, total);
+            }
+            // Stable sort keeps the buckets' key order among equal scores
+            Collections.sort(sorted, (a, b) -> Double.compare(scores.get(b), scores.get(a)));
+            ranked = sorted;
+        }
+    }
+
+    private static final class Bucket {
+        final String roomType;
+        final String sharingType;
+        final String blockName;
+        final List<RoomSlot> rooms = new ArrayList<>();
+        int firstFree = 0;  // Rooms before this index are full
+
+        Bucket(String roomType, String sharingType, String blockName) {
+            this.roomType = roomType;
+            this.sharingType = sharingType;
+            this.blockName = blockName;
+        }
+
+        // Lowest-numbered room with at least {@code beds} free beds, which are taken
+        RoomSlot take(int beds) {
+            while (firstFree < rooms.size() && rooms.get(firstFree).free == 0) {
+                firstFree++;
+            }
+            for (int i = firstFree; i < rooms.size(); i++) {
+                RoomSlot slot = rooms.get(i);
+                if (slot.free >= beds) {
+                    slot.free -= beds;
+                    return slot;
+                }
+            }
+            return null;
+        }
+    }
+
+    private static final class RoomSlot {
+        final String roomNo;
+        int free;
+
+        RoomSlot(String roomNo, int free) {
+            this.roomNo = roomNo;
+            this.free = free;
+        }
+    }
+
+    /**
+     * Result of {@link AllocationOptimizer#plan}: a room for each placed
+     * student, the students that could not be placed, and the average
+     * satisfaction (0 to 1).
+     */
+    public static final class AllocationPlan {
+        private final Map<String, String> assignments;
+        private final List<String> unplaced;
+        private final double satisfaction;
+        private final long planningMillis;
+
+        AllocationPlan(Map<String, String> assignments, List<String> unplaced, double satisfaction, long planningMillis) {
+            this.assignments = Collections.unmodifiableMap(assignments);
+            this.unplaced = Collections.unmodifiableList(unplaced);
+            this.satisfaction = satisfaction;
+            this.planningMillis = planningMillis;
+        }
+
+        public Map<String, String> getAssignments() { return assignments; }
+        public List<String> getUnplaced() { return unplaced; }
+        public double getSatisfaction() { return satisfaction; }
+        public long getPlanningMillis() { return planningMillis; }
+
+        public List<AllocationRequest> toRequests() {
+            List<AllocationRequest> requests = new ArrayList<>(assignments.size());
+            for (Map.Entry<String, String> entry : assignments.entrySet()) {
+                requests.add(AllocationRequest.forRoom(entry.getKey(), entry.getValue()));
+            }
+            return requests;
+        }
+
+        /**
+         * Writes the plan to the database through the batch allocation path.
+         */
+        public List<AllocationResult> commit() {
+            return BatchAllocator.allocate(toRequests());
+        }
+
+        @Override
+        public String toString() {
+            return String.format("AllocationPlan[placed=%d, unplaced=%d, satisfaction=%.1f%%, %d ms]",
+                assignments.size(), unplaced.size(), satisfaction * 100, planningMillis);
+        }
+    }
+}
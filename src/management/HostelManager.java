@@ -1,46 +1,41 @@
 package management;
 
+import database.BatchAllocator;
+import database.BedReservations;
 import database.DatabaseManager;
+import database.Reservation;
+import database.RoomAvailabilityIndex;
 import java.util.List;
-import java.util.Map;
+import model.AllocationRequest;
+import model.AllocationResult;
+import model.Room;
+import model.Student;
 
 public class HostelManager {
     public static void allocateRoom(String rollNo, String roomNo) {
         try {
-            // Check if room exists and is available
-            List<Map<String, Object>> rooms = DatabaseManager.getAllRooms();
-            boolean roomFound = false;
-            boolean roomAvailable = false;
-            
-            for (Map<String, Object> room : rooms) {
-                if (room.get("roomNo").equals(roomNo)) {
-                    roomFound = true;
-                    if ((Integer)room.get("currentOccupancy") < (Integer)room.get("capacity")) {
-                        roomAvailable = true;
-                    }
-                    break;
-                }
+            // Check the student first so a bed is never held for nobody
+            List<Student> students = DatabaseManager.searchStudentRecords(rollNo);
+            if (students.isEmpty()) {
+                System.out.println("Student not found!");
+                return;
             }
 
-            if (!roomFound) {
+            RoomAvailabilityIndex index = DatabaseManager.getRoomIndex();
+            if (index != null && !index.contains(roomNo)) {
                 System.out.println("Room not found!");
-            return;
-        }
-
-            if (!roomAvailable) {
-                System.out.println("Room is already full!");
                 return;
             }
 
-            // Update student's room
-            List<Map<String, Object>> students = DatabaseManager.searchStudents(rollNo);
-            if (students.isEmpty()) {
-                System.out.println("Student not found!");
+            // Hold a bed so concurrent allocations cannot both take the last one
+            Reservation reservation = BedReservations.reserve(roomNo);
+            if (reservation == null) {
+                System.out.println("Room is already full!");
                 return;
             }
 
             // Update room allocation in database
-            DatabaseManager.updateStudentRoom(rollNo, roomNo, "Initial room assignment");
+            BedReservations.confirm(reservation, rollNo, "Initial room assignment");
             System.out.println("Room " + roomNo + " assigned to student " + rollNo + " successfully.");
         } catch (Exception e) {
             System.err.println("Error assigning room: " + e.getMessage());
@@ -48,9 +43,36 @@ public class HostelManager {
         }
     }
 
+    /**
+     * Lowest-numbered room with a free bed of the given type and sharing, or
+     * null if none is free. Pass null block/floor to accept any.
+     */
+    public static String findFreeRoom(String roomType, String sharingType, String blockName, Integer floorNo) {
+        RoomAvailabilityIndex index = DatabaseManager.getRoomIndex();
+        if (index != null) {
+            return index.findFreeRoom(roomType, sharingType, blockName, floorNo);
+        }
+        for (Room room : DatabaseManager.getAllRoomRecords()) {
+            if (room.isAvailable() && room.getRoomType().equals(roomType) && room.getSharingType().equals(sharingType)
+                    && (blockName == null || blockName.equals(room.getBlockName()))
+                    && (floorNo == null || floorNo.intValue() == room.getFloorNo())) {
+                return room.getRoomNo();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Allocates rooms to a whole intake list in batched transactions and
+     * returns one result per request.
+     */
+    public static List<AllocationResult> allocateRooms(List<AllocationRequest> requests) {
+        return BatchAllocator.allocate(requests);
+    }
+
     public static void deallocateRoom(String rollNo) {
         try {
-            List<Map<String, Object>> students = DatabaseManager.searchStudents(rollNo);
+            List<Student> students = DatabaseManager.searchStudentRecords(rollNo);
             if (students.isEmpty()) {
                 System.out.println("Student not found!");
                 return;
@@ -0,0 +1,57 @@
+package model;
+
+/**
+ * One student in a bulk room allocation: either a specific room or a
+ * preference by room type and sharing, optionally narrowed to a block and
+ * floor.
+ */
+public final class AllocationRequest {
+    private final String rollNo;
+    private final String roomNo;
+    private final String roomType;
+    private final String sharingType;
+    private final String blockName;
+    private final Integer floorNo;
+
+    private AllocationRequest(String rollNo, String roomNo, String roomType, String sharingType,
+                              String blockName, Integer floorNo) {
+        this.rollNo = rollNo;
+        this.roomNo = roomNo;
+        this.roomType = roomType;
+        this.sharingType = sharingType;
+        this.blockName = blockName;
+        this.floorNo = floorNo;
+    }
+
+    public static AllocationRequest forRoom(String rollNo, String roomNo) {
+        return new AllocationRequest(rollNo, roomNo, null, null, null, null);
+    }
+
+    /**
+     * {@code blockName} and {@code floorNo} may be null to accept any block
+     * or floor.
+     */
+    public static AllocationRequest byPreference(String rollNo, String roomType, String sharingType,
+                                                 String blockName, Integer floorNo) {
+        return new AllocationRequest(rollNo, null, roomType, sharingType, blockName, floorNo);
+    }
+
+    public String getRollNo() { return rollNo; }
+    public String getRoomNo() { return roomNo; }
+    public String getRoomType() { return roomType; }
+    public String getSharingType() { return sharingType; }
+    public String getBlockName() { return blockName; }
+    public Integer getFloorNo() { return floorNo; }
+
+    public boolean isSpecificRoom() {
+        return roomNo != null;
+    }
+
+    @Override
+    public String toString() {
+        return isSpecificRoom()
+            ? rollNo + " -> " + roomNo
+            : rollNo + " -> " + roomType + "/" + sharingType
+                + (blockName != null ? "/" + blockName : "") + (floorNo != null ? "/" + floorNo : "");
+    }
+}
@@ -0,0 +1,35 @@
+package model;
+
+/**
+ * Outcome of one student in a bulk room allocation.
+ */
+public final class AllocationResult {
+    public enum Status { ALLOCATED, ALREADY_ASSIGNED, STUDENT_NOT_FOUND, NO_ROOM_AVAILABLE, FAILED }
+
+    private final String rollNo;
+    private final Status status;
+    private final String roomNo;
+    private final String message;
+
+    public AllocationResult(String rollNo, Status status, String roomNo, String message) {
+        this.rollNo = rollNo;
+        this.status = status;
+        this.roomNo = roomNo;
+        this.message = message;
+    }
+
+    public String getRollNo() { return rollNo; }
+    public Status getStatus() { return status; }
+    public String getRoomNo() { return roomNo; }
+    public String getMessage() { return message; }
+
+    public boolean isAllocated() {
+        return status == Status.ALLOCATED;
+    }
+
+    @Override
+    public String toString() {
+        return rollNo + ": " + status + (roomNo != null ? " (" + roomNo + ")" : "")
+            + (message != null ? " - " + message : "");
+    }
+}
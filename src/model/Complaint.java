@@ -0,0 +1,68 @@
+package model;
+
+import java.sql.Timestamp;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable complaint row, joined with the filing student's name.
+ */
+public final class Complaint {
+    private final int id;
+    private final String rollNo;
+    private final String studentName;
+    private final String text;
+    private final String status;
+    private final long filedOn;     // epoch millis, or Dates.NONE
+    private final long resolvedOn;  // epoch millis, or Dates.NONE
+
+    public Complaint(int id, String rollNo, String studentName, String text,
+                     String status, long filedOn, long resolvedOn) {
+        this.id = id;
+        this.rollNo = rollNo;
+        this.studentName = studentName;
+        this.text = text;
+        this.status = status;
+        this.filedOn = filedOn;
+        this.resolvedOn = resolvedOn;
+    }
+
+    public int getId() { return id; }
+    public String getRollNo() { return rollNo; }
+    public String getStudentName() { return studentName; }
+    public String getText() { return text; }
+    public String getStatus() { return status; }
+    public long getFiledOnMillis() { return filedOn; }
+
+    public Timestamp getFiledOn() {
+        return Dates.toTimestamp(filedOn);
+    }
+
+    public Timestamp getResolvedOn() {
+        return Dates.toTimestamp(resolvedOn);
+    }
+
+    public boolean isPending() {
+        return "Pending".equals(status);
+    }
+
+    /**
+     * Legacy map view, using the keys returned by DatabaseManager.getAllComplaints().
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> complaint = new HashMap<>();
+        complaint.put("id", id);
+        complaint.put("studentName", studentName);
+        complaint.put("rollNo", rollNo);
+        complaint.put("text", text);
+        complaint.put("status", status);
+        complaint.put("filedOn", getFiledOn());
+        complaint.put("resolvedOn", getResolvedOn());
+        return complaint;
+    }
+
+    @Override
+    public String toString() {
+        return "#" + id + " " + rollNo + " [" + status + "]";
+    }
+}
@@ -0,0 +1,56 @@
+package model;
+
+/**
+ * Immutable snapshot of the admin dashboard counters.
+ */
+public final class DashboardStats {
+    public static final DashboardStats EMPTY = new DashboardStats(0, 0, 0, 0, 0, 0, 0.0, 0L);
+
+    private final int totalStudents;
+    private final int totalRooms;
+    private final int totalWardens;
+    private final int pendingComplaints;
+    private final int totalBeds;
+    private final int occupiedBeds;
+    private final double totalDues;
+    private final long loadedAtMillis;
+
+    public DashboardStats(int totalStudents, int totalRooms, int totalWardens, int pendingComplaints,
+                          int totalBeds, int occupiedBeds, double totalDues, long loadedAtMillis) {
+        this.totalStudents = totalStudents;
+        this.totalRooms = totalRooms;
+        this.totalWardens = totalWardens;
+        this.pendingComplaints = pendingComplaints;
+        this.totalBeds = totalBeds;
+        this.occupiedBeds = occupiedBeds;
+        this.totalDues = totalDues;
+        this.loadedAtMillis = loadedAtMillis;
+    }
+
+    public int getTotalStudents() { return totalStudents; }
+    public int getTotalRooms() { return totalRooms; }
+    public int getTotalWardens() { return totalWardens; }
+    public int getPendingComplaints() { return pendingComplaints; }
+    public int getTotalBeds() { return totalBeds; }
+    public int getOccupiedBeds() { return occupiedBeds; }
+    public double getTotalDues() { return totalDues; }
+    public long getLoadedAtMillis() { return loadedAtMillis; }
+
+    public int getFreeBeds() {
+        return Math.max(0, totalBeds - occupiedBeds);
+    }
+
+    /**
+     * Share of beds taken, 0-100. Zero when there are no rooms.
+     */
+    public double getOccupancyPercent() {
+        return totalBeds == 0 ? 0.0 : occupiedBeds * 100.0 / totalBeds;
+    }
+
+    @Override
+    public String toString() {
+        return "DashboardStats[students=" + totalStudents + ", rooms=" + totalRooms
+            + ", wardens=" + totalWardens + ", pendingComplaints=" + pendingComplaints
+            + ", beds=" + occupiedBeds + "/" + totalBeds + ", dues=" + totalDues + "]";
+    }
+}
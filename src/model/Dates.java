@@ -0,0 +1,28 @@
+package model;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+
+/**
+ * Conversions between nullable SQL date types and the primitive epoch-millis
+ * fields used by the row classes.
+ */
+public final class Dates {
+    // Marks a NULL date column
+    public static final long NONE = Long.MIN_VALUE;
+
+    private Dates() {
+    }
+
+    public static long toMillis(java.util.Date date) {
+        return date == null ? NONE : date.getTime();
+    }
+
+    public static Timestamp toTimestamp(long millis) {
+        return millis == NONE ? null : new Timestamp(millis);
+    }
+
+    public static Date toDate(long millis) {
+        return millis == NONE ? null : new Date(millis);
+    }
+}
@@ -0,0 +1,44 @@
+package model;
+
+import java.io.File;
+
+/**
+ * Outcome of a table export: where it went, how many rows and how fast.
+ */
+public final class ExportReport {
+    private final String source;
+    private final File file;
+    private final long rows;
+    private final long bytes;
+    private final boolean cancelled;
+    private final long elapsedMillis;
+
+    public ExportReport(String source, File file, long rows, long bytes, boolean cancelled, long elapsedMillis) {
+        this.source = source;
+        this.file = file;
+        this.rows = rows;
+        this.bytes = bytes;
+        this.cancelled = cancelled;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public String getSource() { return source; }
+    public File getFile() { return file; }
+    public long getRows() { return rows; }
+    public long getBytes() { return bytes; }
+    public boolean isCancelled() { return cancelled; }
+    public long getElapsedMillis() { return elapsedMillis; }
+
+    public double getRowsPerSecond() {
+        return elapsedMillis == 0 ? rows : rows * 1000.0 / elapsedMillis;
+    }
+
+    @Override
+    public String toString() {
+        if (cancelled) {
+            return String.format("%s: cancelled after %d rows", source, rows);
+        }
+        return String.format("%s: %d rows, %d KB in %d ms (%.0f rows/s)",
+            source, rows, bytes / 1024, elapsedMillis, getRowsPerSecond());
+    }
+}
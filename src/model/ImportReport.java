@@ -0,0 +1,44 @@
+package model;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of a CSV import: row counts and the per-line errors.
+ */
+public final class ImportReport {
+    private final long rowsRead;
+    private final long imported;
+    private final long failed;
+    private final List<String> errors;
+    private final boolean cancelled;
+    private final long elapsedMillis;
+
+    public ImportReport(long rowsRead, long imported, long failed, List<String> errors,
+                        boolean cancelled, long elapsedMillis) {
+        this.rowsRead = rowsRead;
+        this.imported = imported;
+        this.failed = failed;
+        this.errors = Collections.unmodifiableList(errors);
+        this.cancelled = cancelled;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public long getRowsRead() { return rowsRead; }
+    public long getImported() { return imported; }
+    public long getFailed() { return failed; }
+    public boolean isCancelled() { return cancelled; }
+    public long getElapsedMillis() { return elapsedMillis; }
+
+    /**
+     * Error messages, prefixed with their line number. Capped, so may be
+     * shorter than {@link #getFailed()}.
+     */
+    public List<String> getErrors() { return errors; }
+
+    @Override
+    public String toString() {
+        return String.format("%d rows read, %d imported, %d failed%s in %d ms",
+            rowsRead, imported, failed, cancelled ? " (cancelled)" : "", elapsedMillis);
+    }
+}
@@ -0,0 +1,31 @@
+package model;
+
+import java.sql.Date;
+
+/**
+ * Immutable meal feedback row, joined with the student's name.
+ */
+public final class MealFeedback {
+    private final int id;
+    private final String rollNo;
+    private final String studentName;
+    private final String text;
+    private final long date;  // epoch millis, or Dates.NONE
+
+    public MealFeedback(int id, String rollNo, String studentName, String text, long date) {
+        this.id = id;
+        this.rollNo = rollNo;
+        this.studentName = studentName;
+        this.text = text;
+        this.date = date;
+    }
+
+    public int getId() { return id; }
+    public String getRollNo() { return rollNo; }
+    public String getStudentName() { return studentName; }
+    public String getText() { return text; }
+
+    public Date getDate() {
+        return Dates.toDate(date);
+    }
+}
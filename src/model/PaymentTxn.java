@@ -0,0 +1,60 @@
+package model;
+
+import java.sql.Timestamp;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable row from payment_history, joined with the student's name.
+ */
+public final class PaymentTxn {
+    private final int id;
+    private final String studentId;
+    private final String studentName;
+    private final double amount;
+    private final String type;
+    private final String reason;
+    private final long date;  // epoch millis, or Dates.NONE
+
+    public PaymentTxn(int id, String studentId, String studentName, double amount,
+                      String type, String reason, long date) {
+        this.id = id;
+        this.studentId = studentId;
+        this.studentName = studentName;
+        this.amount = amount;
+        this.type = type;
+        this.reason = reason;
+        this.date = date;
+    }
+
+    public int getId() { return id; }
+    public String getStudentId() { return studentId; }
+    public String getStudentName() { return studentName; }
+    public double getAmount() { return amount; }
+    public String getType() { return type; }
+    public String getReason() { return reason; }
+    public long getDateMillis() { return date; }
+
+    public Timestamp getDate() {
+        return Dates.toTimestamp(date);
+    }
+
+    /**
+     * Legacy map view, using the keys returned by DatabaseManager.getPaymentHistory().
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> transaction = new HashMap<>();
+        transaction.put("id", id);
+        transaction.put("studentName", studentName);
+        transaction.put("amount", amount);
+        transaction.put("type", type);
+        transaction.put("reason", reason);
+        transaction.put("date", getDate());
+        return transaction;
+    }
+
+    @Override
+    public String toString() {
+        return type + " " + amount + " (" + studentId + ")";
+    }
+}
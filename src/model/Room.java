@@ -0,0 +1,64 @@
+package model;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable row from the rooms table.
+ */
+public final class Room {
+    private final String roomNo;
+    private final String roomType;
+    private final String sharingType;
+    private final int capacity;
+    private final int currentOccupancy;
+    private final String blockName;
+    private final int floorNo;
+
+    public Room(String roomNo, String roomType, String sharingType, int capacity,
+                int currentOccupancy, String blockName, int floorNo) {
+        this.roomNo = roomNo;
+        this.roomType = roomType;
+        this.sharingType = sharingType;
+        this.capacity = capacity;
+        this.currentOccupancy = currentOccupancy;
+        this.blockName = blockName;
+        this.floorNo = floorNo;
+    }
+
+    public String getRoomNo() { return roomNo; }
+    public String getRoomType() { return roomType; }
+    public String getSharingType() { return sharingType; }
+    public int getCapacity() { return capacity; }
+    public int getCurrentOccupancy() { return currentOccupancy; }
+    public String getBlockName() { return blockName; }
+    public int getFloorNo() { return floorNo; }
+
+    public int getFreeBeds() {
+        return Math.max(0, capacity - currentOccupancy);
+    }
+
+    public boolean isAvailable() {
+        return currentOccupancy < capacity;
+    }
+
+    /**
+     * Legacy map view, using the keys returned by DatabaseManager.getAllRooms().
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> room = new HashMap<>();
+        room.put("roomNo", roomNo);
+        room.put("type", roomType);
+        room.put("capacity", capacity);
+        room.put("currentOccupancy", currentOccupancy);
+        room.put("block", blockName);
+        room.put("floor", floorNo);
+        room.put("sharingType", sharingType);
+        return room;
+    }
+
+    @Override
+    public String toString() {
+        return roomNo + " (" + roomType + ", " + sharingType + ")";
+    }
+}
@@ -0,0 +1,18 @@
+package model;
+
+/**
+ * One result of a relevance-ranked text search: the matched row and its
+ * score. Scores are only comparable within the same search.
+ */
+public final class SearchHit<T> {
+    private final T item;
+    private final double score;
+
+    public SearchHit(T item, double score) {
+        this.item = item;
+        this.score = score;
+    }
+
+    public T getItem() { return item; }
+    public double getScore() { return score; }
+}
@@ -0,0 +1,96 @@
+package model;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable row from the students table.
+ */
+public final class Student {
+    private final String rollNo;
+    private final String name;
+    private final String college;
+    private final String department;
+    private final String semester;
+    private final int age;
+    private final String mobile;
+    private final String roomNo;
+    private final String roomType;
+    private final String sharingType;
+    private final String blockName;
+    private final int floorNo;
+    private final double amountPaid;
+    private final double amountDue;
+    private final String paymentMethod;
+    private final String password;
+
+    public Student(String rollNo, String name, String college, String department, String semester,
+                   int age, String mobile, String roomNo, String roomType, String sharingType,
+                   String blockName, int floorNo, double amountPaid, double amountDue,
+                   String paymentMethod, String password) {
+        this.rollNo = rollNo;
+        this.name = name;
+        this.college = college;
+        this.department = department;
+        this.semester = semester;
+        this.age = age;
+        this.mobile = mobile;
+        this.roomNo = roomNo;
+        this.roomType = roomType;
+        this.sharingType = sharingType;
+        this.blockName = blockName;
+        this.floorNo = floorNo;
+        this.amountPaid = amountPaid;
+        this.amountDue = amountDue;
+        this.paymentMethod = paymentMethod;
+        this.password = password;
+    }
+
+    public String getRollNo() { return rollNo; }
+    public String getName() { return name; }
+    public String getCollege() { return college; }
+    public String getDepartment() { return department; }
+    public String getSemester() { return semester; }
+    public int getAge() { return age; }
+    public String getMobile() { return mobile; }
+    public String getRoomNo() { return roomNo; }
+    public String getRoomType() { return roomType; }
+    public String getSharingType() { return sharingType; }
+    public String getBlockName() { return blockName; }
+    public int getFloorNo() { return floorNo; }
+    public double getAmountPaid() { return amountPaid; }
+    public double getAmountDue() { return amountDue; }
+    public String getPaymentMethod() { return paymentMethod; }
+    public String getPassword() { return password; }
+
+    public boolean hasRoom() {
+        return roomNo != null;
+    }
+
+    /**
+     * Legacy map view, using the keys returned by DatabaseManager.getAllStudents().
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> student = new HashMap<>();
+        student.put("rollNo", rollNo);
+        student.put("name", name);
+        student.put("college", college);
+        student.put("department", department);
+        student.put("semester", semester);
+        student.put("age", age);
+        student.put("mobile", mobile);
+        student.put("roomNo", roomNo);
+        student.put("roomType", roomType);
+        student.put("sharingType", sharingType);
+        student.put("blockName", blockName);
+        student.put("floorNo", floorNo);
+        student.put("amountPaid", amountPaid);
+        student.put("amountDue", amountDue);
+        return student;
+    }
+
+    @Override
+    public String toString() {
+        return rollNo + " - " + name;
+    }
+}
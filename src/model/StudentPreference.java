@@ -0,0 +1,31 @@
+package model;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * What an incoming student asked for: room type and sharing, an optional
+ * block, and the roll numbers of students they want to room with.
+ */
+public final class StudentPreference {
+    private final String rollNo;
+    private final String roomType;
+    private final String sharingType;
+    private final String preferredBlock;
+    private final List<String> roommates;
+
+    public StudentPreference(String rollNo, String roomType, String sharingType,
+                             String preferredBlock, List<String> roommates) {
+        this.rollNo = rollNo;
+        this.roomType = roomType;
+        this.sharingType = sharingType;
+        this.preferredBlock = preferredBlock;
+        this.roommates = roommates == null ? Collections.<String>emptyList() : Collections.unmodifiableList(roommates);
+    }
+
+    public String getRollNo() { return rollNo; }
+    public String getRoomType() { return roomType; }
+    public String getSharingType() { return sharingType; }
+    public String getPreferredBlock() { return preferredBlock; }
+    public List<String> getRoommates() { return roommates; }
+}
@@ -0,0 +1,60 @@
+package model;
+
+import java.sql.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable row from the wardens table.
+ */
+public final class Warden {
+    private final String wardenId;
+    private final String name;
+    private final int age;
+    private final String mobile;
+    private final String assignedHostel;
+    private final String blockName;
+    private final long joiningDate;  // epoch millis, or Dates.NONE
+
+    public Warden(String wardenId, String name, int age, String mobile,
+                  String assignedHostel, String blockName, long joiningDate) {
+        this.wardenId = wardenId;
+        this.name = name;
+        this.age = age;
+        this.mobile = mobile;
+        this.assignedHostel = assignedHostel;
+        this.blockName = blockName;
+        this.joiningDate = joiningDate;
+    }
+
+    public String getWardenId() { return wardenId; }
+    public String getName() { return name; }
+    public int getAge() { return age; }
+    public String getMobile() { return mobile; }
+    public String getAssignedHostel() { return assignedHostel; }
+    public String getBlockName() { return blockName; }
+
+    public Date getJoiningDate() {
+        return Dates.toDate(joiningDate);
+    }
+
+    /**
+     * Legacy map view, using the keys returned by DatabaseManager.getAllWardens().
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> warden = new HashMap<>();
+        warden.put("id", wardenId);
+        warden.put("name", name);
+        warden.put("age", age);
+        warden.put("mobile", mobile);
+        warden.put("hostel", assignedHostel);
+        warden.put("block", blockName);
+        warden.put("joiningDate", getJoiningDate());
+        return warden;
+    }
+
+    @Override
+    public String toString() {
+        return wardenId + " - " + name;
+    }
+}
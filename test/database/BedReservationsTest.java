@@ -0,0 +1,210 @@
+package database;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Races many allocations for the beds of one room and checks it is never
+ * overbooked.
+ *
+ * Needs a MySQL server: pass its details as the system properties
+ * {@code hms.test.db.host}, {@code .port}, {@code .user}, {@code .password}
+ * and {@code .name} (in NetBeans, as {@code test-sys-prop.hms.test.db.host=...}
+ * and so on in project.properties). The tests are skipped without them. The
+ * database is created if missing; the test room and students are removed
+ * afterwards.
+ */
+public class BedReservationsTest {
+    private static final String ROOM = "T-BR1";
+    private static final int CAPACITY = 3;
+    private static final int STUDENTS = 40;
+    private static final int THREADS = 16;
+    private static final String ROLL_PREFIX = "TEST-BR-";
+
+    @Before
+    public void setUp() throws SQLException {
+        String name = System.getProperty("hms.test.db.name");
+        assumeTrue("hms.test.db.name is not set", name != null);
+        DatabaseManager.initializeDatabase(
+            System.getProperty("hms.test.db.host", "localhost"),
+            System.getProperty("hms.test.db.port", "3306"),
+            System.getProperty("hms.test.db.user", "root"),
+            System.getProperty("hms.test.db.password", ""),
+            name);
+
+        removeTestRows();
+        try (Connection conn = DatabaseManager.openConnection()) {
+            try (PreparedStatement stmt = conn.prepareStatement(
+                    "INSERT INTO rooms (room_no, room_type, sharing_type, capacity, current_occupancy, block_name, floor_no) " +
+                    "VALUES (?, 'Standard', '4 Sharing', ?, 0, 'Test Block', 9)")) {
+                stmt.setString(1, ROOM);
+                stmt.setInt(2, CAPACITY);
+                stmt.executeUpdate();
+            }
+            try (PreparedStatement stmt = conn.prepareStatement(
+                    "INSERT INTO students (roll_no, name, password) VALUES (?, ?, 'test')")) {
+                for (int i = 0; i < STUDENTS; i++) {
+                    stmt.setString(1, rollNo(i));
+                    stmt.setString(2, "Test Student " + i);
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+            }
+        }
+        DatabaseManager.invalidateRoomIndex();
+    }
+
+    @After
+    public void tearDown() throws SQLException {
+        if (System.getProperty("hms.test.db.name") != null) {
+            removeTestRows();
+            DatabaseManager.invalidateRoomIndex();
+            DatabaseManager.invalidateEntityCaches();
+            DatabaseManager.releaseConnection();
+        }
+    }
+
+    @Test
+    public void concurrentAllocationsNeverExceedCapacity() throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger confirmed = new AtomicInteger();
+        AtomicInteger refused = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        AtomicInteger overheld = new AtomicInteger();
+        AtomicBoolean running = new AtomicBoolean(true);
+
+        // Samples the room while the allocations run: holds may never outnumber free beds
+        Thread sampler = new Thread(() -> {
+            try {
+                while (running.get()) {
+                    if (BedReservations.unheldBeds(ROOM) < 0) {
+                        overheld.incrementAndGet();
+                    }
+                }
+            } catch (SQLException e) {
+                overheld.incrementAndGet();
+            } finally {
+                DatabaseManager.releaseConnection();
+            }
+        }, "reservation-sampler");
+        sampler.start();
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < STUDENTS; i++) {
+                final String rollNo = rollNo(i);
+                futures.add(executor.submit(() -> {
+                    try {
+                        start.await();
+                        Reservation reservation = BedReservations.reserve(ROOM);
+                        if (reservation == null) {
+                            refused.incrementAndGet();
+                            return null;
+                        }
+                        BedReservations.confirm(reservation, rollNo, "Stress test");
+                        confirmed.incrementAndGet();
+                    } catch (SQLException e) {
+                        failed.incrementAndGet();
+                    } finally {
+                        DatabaseManager.releaseConnection();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+            running.set(false);
+            sampler.join();
+        }
+
+        assertEquals("beds on hold outnumbered free beds", 0, overheld.get());
+        assertEquals("a confirmed reservation failed", 0, failed.get());
+        assertEquals(CAPACITY, confirmed.get());
+        assertEquals(STUDENTS - CAPACITY, refused.get());
+        assertEquals(0, BedReservations.held(ROOM));
+
+        try (Connection conn = DatabaseManager.openConnection();
+             PreparedStatement stmt = conn.prepareStatement(
+                 "SELECT capacity, current_occupancy, " +
+                 "(SELECT COUNT(*) FROM students WHERE room_no = ?) AS assigned " +
+                 "FROM rooms WHERE room_no = ?")) {
+            stmt.setString(1, ROOM);
+            stmt.setString(2, ROOM);
+            try (ResultSet rs = stmt.executeQuery()) {
+                assertTrue(rs.next());
+                assertTrue("room is over capacity", rs.getInt("current_occupancy") <= rs.getInt("capacity"));
+                assertEquals(rs.getInt("assigned"), rs.getInt("current_occupancy"));
+                assertEquals(CAPACITY, rs.getInt("assigned"));
+            }
+        }
+    }
+
+    @Test
+    public void heldBedsAreRefusedUntilCancelled() throws SQLException {
+        List<Reservation> holds = new ArrayList<>();
+        for (int i = 0; i < CAPACITY; i++) {
+            Reservation reservation = BedReservations.reserve(ROOM);
+            assertNotNull(reservation);
+            holds.add(reservation);
+        }
+        assertNull(BedReservations.reserve(ROOM));
+        assertEquals(0, BedReservations.unheldBeds(ROOM));
+
+        assertTrue(BedReservations.cancel(holds.get(0)));
+        Reservation again = BedReservations.reserve(ROOM);
+        assertNotNull(again);
+        holds.set(0, again);
+
+        for (Reservation reservation : holds) {
+            assertTrue(BedReservations.cancel(reservation));
+        }
+        assertEquals(0, BedReservations.held(ROOM));
+    }
+
+    private static String rollNo(int i) {
+        return ROLL_PREFIX + i;
+    }
+
+    private static void removeTestRows() throws SQLException {
+        try (Connection conn = DatabaseManager.openConnection()) {
+            String pattern = ROLL_PREFIX + "%";
+            for (String sql : new String[] {
+                    "DELETE FROM room_history WHERE student_id LIKE ?",
+                    "DELETE FROM payment_history WHERE student_id LIKE ?",
+                    "DELETE FROM students WHERE roll_no LIKE ?"}) {
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    stmt.setString(1, pattern);
+                    stmt.executeUpdate();
+                }
+            }
+            try (PreparedStatement stmt = conn.prepareStatement("DELETE FROM rooms WHERE room_no = ?")) {
+                stmt.setString(1, ROOM);
+                stmt.executeUpdate();
+            }
+        }
+    }
+}
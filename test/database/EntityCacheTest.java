@@ -0,0 +1,120 @@
+package database;
+
+import java.sql.SQLException;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks the admission, eviction and invalidation rules of
+ * {@link EntityCache}. Runs without a database.
+ */
+public class EntityCacheTest {
+
+    @Test
+    public void cachedRowsAreServedWithoutReloading() throws SQLException {
+        EntityCache<String, String> cache = new EntityCache<>("test", 16);
+        CountingLoader loader = new CountingLoader();
+
+        assertEquals("row A", cache.get("A", loader));
+        assertEquals("row A", cache.get("A", loader));
+        assertEquals(1, loader.loads);
+        assertEquals(1, cache.getStats().hits);
+        assertEquals(1, cache.getStats().misses);
+    }
+
+    @Test
+    public void missingRowsAreNotCached() throws SQLException {
+        EntityCache<String, String> cache = new EntityCache<>("test", 16);
+        CountingLoader loader = new CountingLoader();
+        loader.missing = true;
+
+        assertNull(cache.get("A", loader));
+        assertNull(cache.get("A", loader));
+        assertEquals(2, loader.loads);
+        assertEquals(0, cache.getStats().size);
+    }
+
+    @Test
+    public void invalidatedRowsAreReloaded() throws SQLException {
+        EntityCache<String, String> cache = new EntityCache<>("test", 16);
+        CountingLoader loader = new CountingLoader();
+        cache.get("A", loader);
+        cache.get("B", loader);
+
+        cache.invalidate("A");
+        cache.get("A", loader);
+        cache.get("B", loader);
+        assertEquals(3, loader.loads);
+
+        cache.invalidateAll();
+        cache.get("A", loader);
+        cache.get("B", loader);
+        assertEquals(5, loader.loads);
+    }
+
+    @Test
+    public void loadRacingAnInvalidationIsNotCached() throws SQLException {
+        EntityCache<String, String> cache = new EntityCache<>("test", 16);
+        int[] loads = {0};
+        // A write to the row commits and publishes while it is being read
+        EntityCache.Loader<String, String> racingLoader = key -> {
+            loads[0]++;
+            cache.invalidate(key);
+            return "stale " + key;
+        };
+
+        assertEquals("stale A", cache.get("A", racingLoader));
+        cache.get("A", racingLoader);
+        assertEquals(2, loads[0]);
+    }
+
+    @Test
+    public void sizeStaysWithinTheMaximum() throws SQLException {
+        EntityCache<String, String> cache = new EntityCache<>("test", 100);
+        CountingLoader loader = new CountingLoader();
+        for (int i = 0; i < 1000; i++) {
+            cache.get("K" + i, loader);
+        }
+
+        EntityCache.Stats stats = cache.getStats();
+        assertTrue("size " + stats.size + " exceeds the maximum", stats.size <= 100);
+        assertTrue(stats.evictions > 0);
+    }
+
+    @Test
+    public void hotRowsSurviveAScan() throws SQLException {
+        EntityCache<String, String> cache = new EntityCache<>("test", 100);
+        CountingLoader loader = new CountingLoader();
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < 50; i++) {
+                cache.get("hot" + i, loader);
+            }
+        }
+
+        // One-off reads of many other rows, such as a scroll through the whole table
+        for (int i = 0; i < 10_000; i++) {
+            cache.get("scan" + i, loader);
+        }
+
+        loader.loads = 0;
+        for (int i = 0; i < 50; i++) {
+            cache.get("hot" + i, loader);
+        }
+        // A plain LRU cache would have lost all 50. Only the row that was still in
+        // the one-entry window when the scan started may be gone.
+        assertTrue(loader.loads + " hot rows reloaded after the scan", loader.loads <= 1);
+    }
+
+    private static final class CountingLoader implements EntityCache.Loader<String, String> {
+        int loads = 0;
+        boolean missing = false;
+
+        @Override
+        public String load(String key) {
+            loads++;
+            return missing ? null : "row " + key;
+        }
+    }
+}
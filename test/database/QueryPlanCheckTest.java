@@ -0,0 +1,213 @@
+package database;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Runs EXPLAIN on the hot queries, using the statements the application
+ * itself runs, and fails if any of them reads its table with a full scan or
+ * without an index, e.g. after an index was dropped or a predicate was
+ * rewritten so MySQL cannot use it.
+ *
+ * On the few rows of the sample data a full scan is often cheaper, so the
+ * test first seeds a few thousand rows and refreshes the table statistics.
+ * Needs a MySQL server, given as for {@link BedReservationsTest}; skipped
+ * without one. The seeded rows are removed afterwards.
+ */
+public class QueryPlanCheckTest {
+    private static final String ROOM_PREFIX = "T-QP-";
+    private static final String ROLL_PREFIX = "TEST-QP-";
+    private static final int ROOMS = 400;
+    private static final int STUDENTS_PER_ROOM = 4;
+    private static final String[] TABLES = {"rooms", "students", "complaints", "payment_history", "room_history"};
+
+    @Before
+    public void setUp() throws SQLException {
+        String name = System.getProperty("hms.test.db.name");
+        assumeTrue("hms.test.db.name is not set", name != null);
+        DatabaseManager.initializeDatabase(
+            System.getProperty("hms.test.db.host", "localhost"),
+            System.getProperty("hms.test.db.port", "3306"),
+            System.getProperty("hms.test.db.user", "root"),
+            System.getProperty("hms.test.db.password", ""),
+            name);
+
+        removeTestRows();
+        try (Connection conn = DatabaseManager.openConnection()) {
+            conn.setAutoCommit(false);
+            // Nearly all seeded rooms share one type, so a rare type is selective
+            try (PreparedStatement stmt = conn.prepareStatement(
+                    "INSERT INTO rooms (room_no, room_type, sharing_type, capacity, current_occupancy, block_name, floor_no) " +
+                    "VALUES (?, ?, ?, ?, ?, 'Test Block', 9)")) {
+                for (int r = 0; r < ROOMS; r++) {
+                    boolean rare = r % 100 == 0;
+                    stmt.setString(1, roomNo(r));
+                    stmt.setString(2, rare ? "Luxury" : "Standard");
+                    stmt.setString(3, rare ? "1 Sharing" : "4 Sharing");
+                    stmt.setInt(4, rare ? 1 : STUDENTS_PER_ROOM);
+                    stmt.setInt(5, rare ? 0 : STUDENTS_PER_ROOM);
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+            }
+            try (PreparedStatement student = conn.prepareStatement(
+                     "INSERT INTO students (roll_no, name, room_no, password) VALUES (?, ?, ?, 'test')");
+                 PreparedStatement complaint = conn.prepareStatement(
+                     "INSERT INTO complaints (student_roll_no, complaint_text, status) VALUES (?, 'Test complaint', 'Resolved')");
+                 PreparedStatement payment = conn.prepareStatement(
+                     "INSERT INTO payment_history (student_id, amount, type, reason) VALUES (?, 100, 'PAYMENT', 'Test')");
+                 PreparedStatement history = conn.prepareStatement(
+                     "INSERT INTO room_history (student_id, room_no) VALUES (?, ?)")) {
+                for (int r = 0; r < ROOMS; r++) {
+                    if (r % 100 == 0) {
+                        continue;
+                    }
+                    for (int i = 0; i < STUDENTS_PER_ROOM; i++) {
+                        String rollNo = rollNo(r * STUDENTS_PER_ROOM + i);
+                        student.setString(1, rollNo);
+                        student.setString(2, "Test Student " + rollNo);
+                        student.setString(3, roomNo(r));
+                        student.addBatch();
+                        complaint.setString(1, rollNo);
+                        payment.setString(1, rollNo);
+                        history.setString(1, rollNo);
+                        history.setString(2, roomNo(r));
+                        for (int k = 0; k < 2; k++) {
+                            complaint.addBatch();
+                            payment.addBatch();
+                        }
+                        history.addBatch();
+                    }
+                }
+                student.executeBatch();
+                complaint.executeBatch();
+                payment.executeBatch();
+                history.executeBatch();
+            }
+            conn.commit();
+            analyzeTables(conn);
+        }
+    }
+
+    @After
+    public void tearDown() throws SQLException {
+        if (System.getProperty("hms.test.db.name") != null) {
+            removeTestRows();
+            DatabaseManager.invalidateRoomIndex();
+            DatabaseManager.invalidateEntityCaches();
+            DatabaseManager.releaseConnection();
+        }
+    }
+
+    @Test
+    public void roomRecountUsesAnIndexOnStudents() throws SQLException {
+        String roomNo = roomNo(1);
+        assertIndexed(OccupancyVerifier.RECOUNT_SQL, "students", "idx_students_room_no", roomNo, roomNo, roomNo);
+    }
+
+    @Test
+    public void complaintsByStatusUseAnIndex() throws SQLException {
+        // Every seeded complaint is resolved, so few rows are pending
+        assertIndexed(DatabaseManager.COMPLAINTS_BY_STATUS_SQL, "c", "idx_complaints_status", "Pending");
+    }
+
+    @Test
+    public void complaintsOfAStudentUseAnIndex() throws SQLException {
+        assertIndexed(DatabaseManager.STUDENT_COMPLAINTS_SQL, "complaints", "idx_complaints_student", rollNo(4));
+    }
+
+    @Test
+    public void paymentSummaryUsesAnIndex() throws SQLException {
+        assertIndexed(DatabaseManager.PAYMENT_SUMMARY_SQL, "payment_history", "idx_payment_history_student",
+                      rollNo(4));
+    }
+
+    @Test
+    public void closingRoomHistoryUsesAnIndex() throws SQLException {
+        assertIndexed(DatabaseManager.CLOSE_ROOM_HISTORY_SQL, "room_history", "idx_room_history_open",
+                      "Test", rollNo(4), roomNo(1));
+    }
+
+    @Test
+    public void availableRoomsOfATypeUseAnIndex() throws SQLException {
+        assertIndexed(DatabaseManager.AVAILABLE_ROOMS_SQL, "rooms", "idx_rooms_type", "Luxury", "1 Sharing");
+    }
+
+    /**
+     * Explains {@code sql} with {@code params} and fails unless every plan
+     * row for {@code table} (its name, or alias, as EXPLAIN reports it) uses
+     * a key other than a full scan. {@code index} is the index added for the
+     * query; the optimizer may pick an equivalent one, such as a foreign key's.
+     */
+    private static void assertIndexed(String sql, String table, String index, String... params)
+            throws SQLException {
+        int rows = 0;
+        try (Connection conn = DatabaseManager.openConnection();
+             PreparedStatement stmt = conn.prepareStatement("EXPLAIN " + sql)) {
+            for (int i = 0; i < params.length; i++) {
+                stmt.setString(i + 1, params[i]);
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    if (!table.equals(rs.getString("table"))) {
+                        continue;
+                    }
+                    String type = rs.getString("type");
+                    String key = rs.getString("key");
+                    String plan = "type=" + type + ", key=" + key + ", possible_keys=" + rs.getString("possible_keys");
+                    if ("ALL".equals(type) || key == null) {
+                        fail("Query on " + table + " does not use " + index + " (" + plan + "): " + sql);
+                    }
+                    rows++;
+                }
+            }
+        }
+        assertTrue("Table " + table + " is not in the plan of: " + sql, rows > 0);
+    }
+
+    private static String roomNo(int i) {
+        return String.format("%s%04d", ROOM_PREFIX, i);
+    }
+
+    private static String rollNo(int i) {
+        return String.format("%s%05d", ROLL_PREFIX, i);
+    }
+
+    // Lets the optimizer see the seeded row counts
+    private static void analyzeTables(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            for (String table : TABLES) {
+                stmt.execute("ANALYZE TABLE " + table);
+            }
+        }
+    }
+
+    private static void removeTestRows() throws SQLException {
+        try (Connection conn = DatabaseManager.openConnection()) {
+            String rollPattern = ROLL_PREFIX + "%";
+            for (String sql : new String[] {
+                    "DELETE FROM room_history WHERE student_id LIKE ?",
+                    "DELETE FROM payment_history WHERE student_id LIKE ?",
+                    "DELETE FROM complaints WHERE student_roll_no LIKE ?",
+                    "DELETE FROM students WHERE roll_no LIKE ?"}) {
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    stmt.setString(1, rollPattern);
+                    stmt.executeUpdate();
+                }
+            }
+            try (PreparedStatement stmt = conn.prepareStatement("DELETE FROM rooms WHERE room_no LIKE ?")) {
+                stmt.setString(1, ROOM_PREFIX + "%");
+                stmt.executeUpdate();
+            }
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package database;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks the BM25 ranking of the in-memory fallback for full-text search.
+ * Runs without a database.
+ */
+public class TextIndexTest {
+
+    @Test
+    public void documentsMatchingMoreQueryWordsRankFirst() {
+        TextIndex index = index(
+            "Water leakage in the bathroom",
+            "No water in the morning",
+            "Leakage near the window",
+            "Fan is not working");
+
+        List<TextIndex.Hit> hits = index.search("water leakage");
+        assertEquals(3, hits.size());
+        assertEquals(1, hits.get(0).id);
+        assertTrue(hits.get(0).score > hits.get(1).score);
+    }
+
+    @Test
+    public void rarerWordsWeighMore() {
+        TextIndex index = index(
+            "Food is cold",
+            "Food is late",
+            "Food is bland",
+            "Mould on the bread");
+
+        // "mould" appears once, "food" in three documents
+        List<TextIndex.Hit> hits = index.search("food mould");
+        assertEquals(4, hits.get(0).id);
+    }
+
+    @Test
+    public void shorterDocumentsRankAboveLongerOnesWithTheSameMatches() {
+        TextIndex index = index(
+            "Broken chair",
+            "Broken chair, wobbly desk, torn curtains and a cracked mirror in the corridor");
+
+        List<TextIndex.Hit> hits = index.search("chair");
+        assertEquals(Arrays.asList(1, 2), ids(hits));
+    }
+
+    @Test
+    public void tiesGoToTheNewerDocument() {
+        TextIndex index = index("Noisy neighbours", "Noisy neighbours", "Noisy neighbours");
+
+        assertEquals(Arrays.asList(3, 2, 1), ids(index.search("noisy")));
+    }
+
+    @Test
+    public void stopwordsCaseAndPunctuationAreIgnored() {
+        TextIndex index = index("The AC is LEAKING!", "Is it on?");
+
+        assertEquals(Arrays.asList(1), ids(index.search("leaking ac")));
+        assertTrue(index.search("the is on").isEmpty());
+        assertEquals(Arrays.asList("ac", "leaking"), TextIndex.tokenize("The AC is LEAKING!"));
+    }
+
+    @Test
+    public void unknownWordsAndEmptyCorpusFindNothing() {
+        assertTrue(index("Lights flicker").search("heater").isEmpty());
+        assertTrue(new TextIndex(new HashMap<>()).search("heater").isEmpty());
+        assertEquals(0, new TextIndex(new HashMap<>()).size());
+    }
+
+    // Documents numbered from 1 in the order given
+    private static TextIndex index(String... texts) {
+        Map<Integer, String> documents = new HashMap<>();
+        for (int i = 0; i < texts.length; i++) {
+            documents.put(i + 1, texts[i]);
+        }
+        return new TextIndex(documents);
+    }
+
+    private static List<Integer> ids(List<TextIndex.Hit> hits) {
+        Integer[] ids = new Integer[hits.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = hits.get(i).id;
+        }
+        return Arrays.asList(ids);
+    }
+}
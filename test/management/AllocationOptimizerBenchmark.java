@@ -0,0 +1,141 @@
+package management;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import model.Room;
+import model.StudentPreference;
+
+/**
+ * Times {@link AllocationOptimizer#plan(List, List)} on synthetic intakes of
+ * increasing size, against a synthetic inventory with about 10% more beds
+ * than students. Runs without a database:
+ *
+ * <pre>java -cp build/classes:build/test/classes management.AllocationOptimizerBenchmark [sizes...]</pre>
+ *
+ * Each size is planned a few times after a warm-up and the median is
+ * reported, with placed and unplaced counts and the satisfaction. Every plan
+ * is checked for overbooked rooms and for students placed twice or lost.
+ */
+public final class AllocationOptimizerBenchmark {
+    private static final int[] DEFAULT_SIZES = {100, 1_000, 10_000, 50_000};
+    private static final int WARMUP_RUNS = 3;
+    private static final int TIMED_RUNS = 5;
+
+    private static final String[] ROOM_TYPES = {"Standard", "Luxury"};
+    private static final String[] SHARING_TYPES = {"1 Sharing", "2 Sharing", "4 Sharing"};
+    private static final int[] CAPACITIES = {1, 2, 4};
+    private static final String[] BLOCKS = {"A Block", "B Block", "C Block", "D Block"};
+
+    // Share of students who ask for roommates
+    private static final double GROUPED_SHARE = 0.3;
+
+    private AllocationOptimizerBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        int[] sizes = DEFAULT_SIZES;
+        if (args.length > 0) {
+            sizes = new int[args.length];
+            for (int i = 0; i < args.length; i++) {
+                sizes[i] = Integer.parseInt(args[i]);
+            }
+        }
+
+        System.out.printf("%10s %8s %10s %10s %10s %13s%n",
+            "students", "rooms", "median ms", "placed", "unplaced", "satisfaction");
+        for (int size : sizes) {
+            Random random = new Random(size);
+            List<Room> inventory = inventory(size + size / 10, random);
+            List<StudentPreference> intake = intake(size, random);
+
+            for (int i = 0; i < WARMUP_RUNS; i++) {
+                AllocationOptimizer.plan(intake, inventory);
+            }
+            long[] millis = new long[TIMED_RUNS];
+            AllocationOptimizer.AllocationPlan plan = null;
+            for (int i = 0; i < TIMED_RUNS; i++) {
+                long start = System.nanoTime();
+                plan = AllocationOptimizer.plan(intake, inventory);
+                millis[i] = (System.nanoTime() - start) / 1_000_000;
+            }
+            Arrays.sort(millis);
+            check(plan, intake, inventory);
+
+            System.out.printf("%,10d %,8d %10d %,10d %,10d %12.1f%%%n",
+                size, inventory.size(), millis[TIMED_RUNS / 2],
+                plan.getAssignments().size(), plan.getUnplaced().size(), plan.getSatisfaction() * 100);
+        }
+    }
+
+    // Rooms of every type, sharing and block, spread over four floors, until there are enough beds
+    private static List<Room> inventory(int beds, Random random) {
+        List<Room> rooms = new ArrayList<>();
+        int total = 0;
+        int number = 0;
+        while (total < beds) {
+            int kind = random.nextInt(SHARING_TYPES.length);
+            int block = random.nextInt(BLOCKS.length);
+            int floor = 1 + random.nextInt(4);
+            // A few rooms start partly occupied by returning students
+            int occupied = random.nextInt(10) == 0 ? random.nextInt(CAPACITIES[kind]) : 0;
+            rooms.add(new Room(String.format("R%06d", number++), ROOM_TYPES[random.nextInt(ROOM_TYPES.length)],
+                SHARING_TYPES[kind], CAPACITIES[kind], occupied, BLOCKS[block], floor));
+            total += CAPACITIES[kind] - occupied;
+        }
+        return rooms;
+    }
+
+    // Students with random preferences; some form groups of two to four who name each other
+    private static List<StudentPreference> intake(int size, Random random) {
+        List<StudentPreference> intake = new ArrayList<>(size);
+        int i = 0;
+        while (i < size) {
+            String roomType = ROOM_TYPES[random.nextInt(ROOM_TYPES.length)];
+            String block = random.nextInt(3) == 0 ? null : BLOCKS[random.nextInt(BLOCKS.length)];
+            int groupSize = random.nextDouble() < GROUPED_SHARE ? 2 + random.nextInt(3) : 1;
+            groupSize = Math.min(groupSize, size - i);
+            String sharingType = groupSize > 2 ? "4 Sharing"
+                : groupSize == 2 ? SHARING_TYPES[1 + random.nextInt(2)]
+                : SHARING_TYPES[random.nextInt(SHARING_TYPES.length)];
+
+            List<String> group = new ArrayList<>(groupSize);
+            for (int j = 0; j < groupSize; j++) {
+                group.add(String.format("S%07d", i + j));
+            }
+            for (String rollNo : group) {
+                List<String> roommates = new ArrayList<>(group);
+                roommates.remove(rollNo);
+                intake.add(new StudentPreference(rollNo, roomType, sharingType, block, roommates));
+            }
+            i += groupSize;
+        }
+        return intake;
+    }
+
+    private static void check(AllocationOptimizer.AllocationPlan plan, List<StudentPreference> intake,
+                              List<Room> inventory) {
+        Map<String, Integer> freeBeds = new HashMap<>();
+        for (Room room : inventory) {
+            freeBeds.put(room.getRoomNo(), room.getCapacity() - room.getCurrentOccupancy());
+        }
+        for (Map.Entry<String, String> entry : plan.getAssignments().entrySet()) {
+            int left = freeBeds.merge(entry.getValue(), -1, Integer::sum);
+            if (left < 0) {
+                throw new IllegalStateException("Room " + entry.getValue() + " is overbooked");
+            }
+        }
+        for (String rollNo : plan.getUnplaced()) {
+            if (plan.getAssignments().containsKey(rollNo)) {
+                throw new IllegalStateException(rollNo + " is both placed and unplaced");
+            }
+        }
+        if (plan.getAssignments().size() + plan.getUnplaced().size() != intake.size()) {
+            throw new IllegalStateException("Plan covers " + (plan.getAssignments().size() + plan.getUnplaced().size())
+                + " of " + intake.size() + " students");
+        }
+    }
+}